@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+import java.util.Random;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.draw2d.graph.OrthogonalRouter;
+import org.eclipse.draw2d.graph.Path;
+
+/**
+ * Routes the wires of a schematic with thousands of gates, placed on a grid
+ * with some jitter, and wired mostly to nearby gates. Measures the time of the
+ * first solve and of the incremental solve after a single gate has been moved.
+ */
+public class BenchmarkOrthogonalRouting {
+
+	private static final int GATE_WIDTH = 40;
+	private static final int GATE_HEIGHT = 30;
+	private static final int GRID = 100;
+	private static final int JITTER = 20;
+	private static final int MOVES = 20;
+
+	public static void main(String[] args) {
+		for (int[] size : new int[][] { { 1000, 3000 }, { 3000, 10000 } }) {
+			// the first run warms up the JIT
+			run(size[0], size[1]);
+			run(size[0], size[1]);
+		}
+	}
+
+	private static void run(int gates, int wires) {
+		int columns = (int) Math.ceil(Math.sqrt(gates));
+		Rectangle[] nodes = new Rectangle[gates];
+		OrthogonalRouter router = new OrthogonalRouter();
+		Random random = new Random(0);
+		for (int i = 0; i < gates; i++) {
+			nodes[i] = new Rectangle(i % columns * GRID + random.nextInt(JITTER),
+					i / columns * GRID + random.nextInt(JITTER), GATE_WIDTH, GATE_HEIGHT);
+			router.addObstacle(nodes[i].getCopy());
+		}
+
+		for (int i = 0; i < wires; i++) {
+			int source = random.nextInt(gates);
+			int column = Math.max(0, Math.min(columns - 1, source % columns + random.nextInt(7) - 3));
+			int row = Math.max(0, Math.min(columns - 1, source / columns + random.nextInt(7) - 3));
+			int target = Math.min(row * columns + column, gates - 1);
+			router.addPath(new Path(nodes[source].getCenter(), nodes[target].getCenter()));
+		}
+
+		long start = System.nanoTime();
+		router.solve();
+		long firstSolve = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < MOVES; i++) {
+			int moved = random.nextInt(gates);
+			Rectangle bounds = nodes[moved].getTranslated(random.nextInt(41) - 20, random.nextInt(41) - 20);
+			router.updateObstacle(nodes[moved].getCopy(), bounds.getCopy());
+			nodes[moved] = bounds;
+			router.solve();
+		}
+		long moveSolve = (System.nanoTime() - start) / MOVES;
+
+		System.out.println(wires + " wires, " + gates + " gates: first solve " + firstSolve / 1000000 //$NON-NLS-1$ //$NON-NLS-2$
+				+ "ms, solve after moving one gate " + moveSolve / 1000000 + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+import java.util.Random;
+
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.draw2d.FreeformLayer;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.RectangleFigure;
+import org.eclipse.draw2d.SWTGraphics;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * Compares the time needed to paint a viewport sized region of a large
+ * FreeformLayer with and without the spatial child index.
+ */
+public class BenchmarkPaintChildren {
+
+	private static final int VIEWPORT_WIDTH = 800;
+	private static final int VIEWPORT_HEIGHT = 600;
+	private static final int RUNS = 50;
+
+	public static void main(String[] args) {
+		Display display = Display.getDefault();
+		Image image = new Image(display, VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+
+		for (int count : new int[] { 1000, 10000, 100000 }) {
+			FreeformLayer plain = createLayer(count);
+			FreeformLayer indexed = createLayer(count);
+			indexed.setChildIndexEnabled(true);
+
+			// warm up
+			paint(image, plain);
+			paint(image, indexed);
+
+			long plainNanos = paint(image, plain);
+			long indexedNanos = paint(image, indexed);
+			System.out.println(count + " children: loop " + plainNanos / RUNS / 1000 + "us, indexed " //$NON-NLS-1$ //$NON-NLS-2$
+					+ indexedNanos / RUNS / 1000 + "us per paint"); //$NON-NLS-1$
+		}
+
+		image.dispose();
+		display.dispose();
+	}
+
+	private static FreeformLayer createLayer(int count) {
+		// Keep the density constant, so that the number of visible figures does
+		// not depend on the total number of figures
+		int extent = (int) Math.sqrt(count) * 60;
+		Random random = new Random(0);
+		FreeformLayer layer = new FreeformLayer();
+		layer.setBounds(new Rectangle(0, 0, extent, extent));
+		for (int i = 0; i < count; i++) {
+			RectangleFigure figure = new RectangleFigure();
+			figure.setBounds(new Rectangle(random.nextInt(extent), random.nextInt(extent), 40, 30));
+			layer.add(figure);
+		}
+		return layer;
+	}
+
+	private static long paint(Image image, FreeformLayer layer) {
+		long start = System.nanoTime();
+		for (int i = 0; i < RUNS; i++) {
+			GC gc = new GC(image);
+			Graphics graphics = new SWTGraphics(gc);
+			layer.paint(graphics);
+			graphics.dispose();
+			gc.dispose();
+		}
+		return System.nanoTime() - start;
+	}
+
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.draw2d.graph.Path;
+import org.eclipse.draw2d.graph.ShortestPathRouter;
+
+/**
+ * Extends the scenarios of ShortestPathRoutingTest to diagrams with thousands
+ * of paths between nearby nodes, and measures the time of the first solve and
+ * of the incremental solve after a single node has been moved, with the paths
+ * solved sequentially and on the common fork join pool.
+ */
+public class BenchmarkShortestPathRouting {
+
+	private static final int NODE_WIDTH = 40;
+	private static final int NODE_HEIGHT = 30;
+	private static final int GRID = 100;
+	private static final int MOVES = 20;
+
+	public static void main(String[] args) {
+		for (int paths : new int[] { 1000, 2000, 4000 }) {
+			run(paths, null);
+			run(paths, ForkJoinPool.commonPool());
+		}
+	}
+
+	private static void run(int paths, Executor executor) {
+		// two paths per node, so that the density stays constant
+		int columns = (int) Math.ceil(Math.sqrt(paths / 2.0));
+		Rectangle[] nodes = new Rectangle[columns * columns];
+		ShortestPathRouter router = new ShortestPathRouter();
+		router.setSolveExecutor(executor);
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = new Rectangle(i % columns * GRID, i / columns * GRID, NODE_WIDTH, NODE_HEIGHT);
+			router.addObstacle(nodes[i].getCopy());
+		}
+
+		Random random = new Random(0);
+		for (int i = 0; i < paths; i++) {
+			int source = random.nextInt(nodes.length);
+			int column = Math.floorMod(source % columns + random.nextInt(7) - 3, columns);
+			int row = Math.floorMod(source / columns + random.nextInt(7) - 3, columns);
+			router.addPath(new Path(nodes[source].getCenter(), nodes[row * columns + column].getCenter()));
+		}
+
+		long start = System.nanoTime();
+		router.solve();
+		long firstSolve = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < MOVES; i++) {
+			int moved = random.nextInt(nodes.length);
+			Rectangle bounds = nodes[moved].getTranslated(random.nextInt(41) - 20, random.nextInt(41) - 20);
+			router.updateObstacle(nodes[moved].getCopy(), bounds.getCopy());
+			nodes[moved] = bounds;
+			router.solve();
+		}
+		long moveSolve = (System.nanoTime() - start) / MOVES;
+
+		System.out.println(paths + " paths, " + nodes.length + " obstacles, " //$NON-NLS-1$ //$NON-NLS-2$
+				+ (executor == null ? "sequential" : "parallel") + ": first solve " + firstSolve / 1000000 //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ "ms, solve after moving one obstacle " + moveSolve / 1000000 + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+import java.util.Random;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.KeyEvent;
+import org.eclipse.swt.events.KeyListener;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.draw2d.FigureCanvas;
+import org.eclipse.draw2d.text.FlowPage;
+import org.eclipse.draw2d.text.ParagraphTextLayout;
+import org.eclipse.draw2d.text.TextFlow;
+
+/**
+ * Measures how long it takes to validate a 100k character text flow after a
+ * single character has been typed, with and without incremental reflow. After
+ * the measurement, typing in the shell inserts characters in the middle of the
+ * document and prints the time needed for each validation.
+ */
+public class BenchmarkTextFlowReflow {
+
+	private static final int DOCUMENT_LENGTH = 100000;
+	private static final int PAGE_WIDTH = 600;
+	private static final int EDITS = 50;
+
+	static final Font FONT = new Font(null, "Times", 12, SWT.NORMAL); //$NON-NLS-1$
+	static TextFlow typing;
+
+	public static void main(String[] args) {
+		final Display display = Display.getDefault();
+		String document = createDocument();
+
+		for (boolean incremental : new boolean[] { false, true }) {
+			FlowPage page = new FlowPage();
+			TextFlow flow = createTextFlow(page, document, incremental);
+			page.setSize(PAGE_WIDTH, 1000);
+			page.validate();
+
+			Random random = new Random(0);
+			long start = System.nanoTime();
+			for (int i = 0; i < EDITS; i++) {
+				String text = flow.getText();
+				int offset = random.nextInt(text.length());
+				flow.setText(text.substring(0, offset) + 'x' + text.substring(offset));
+				page.validate();
+			}
+			long nanos = System.nanoTime() - start;
+			System.out.println((incremental ? "incremental" : "full") + " reflow: " + nanos / EDITS / 1000 //$NON-NLS-1$ //$NON-NLS-2$
+					+ "us per edit"); //$NON-NLS-1$
+		}
+
+		final Shell shell = new Shell(SWT.SHELL_TRIM);
+		shell.setLayout(new FillLayout());
+		FigureCanvas canvas = new FigureCanvas(shell);
+		canvas.setHorizontalScrollBarVisibility(FigureCanvas.NEVER);
+		FlowPage page = new FlowPage();
+		typing = createTextFlow(page, document, true);
+		canvas.setContents(page);
+
+		canvas.addKeyListener(new KeyListener() {
+			@Override
+			public void keyPressed(KeyEvent e) {
+				String text = typing.getText();
+				int middle = text.length() / 2;
+				typing.setText(text.substring(0, middle) + e.character + text.substring(middle));
+				long start = System.nanoTime();
+				page.validate();
+				System.out.println("validated in " + (System.nanoTime() - start) / 1000 + "us"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+
+			@Override
+			public void keyReleased(KeyEvent e) {
+			}
+		});
+
+		shell.setSize(PAGE_WIDTH, 400);
+		shell.open();
+
+		while (!shell.isDisposed()) {
+			if (!display.readAndDispatch()) {
+				display.sleep();
+			}
+		}
+	}
+
+	private static String createDocument() {
+		String[] words = { "lorem", "ipsum", "dolor", "sit", "amet,", "consectetur", "adipiscing", "elit", "sed", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$
+				"do", "eiusmod", "tempor." }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		Random random = new Random(0);
+		StringBuilder document = new StringBuilder(DOCUMENT_LENGTH);
+		while (document.length() < DOCUMENT_LENGTH) {
+			document.append(words[random.nextInt(words.length)]);
+			document.append(random.nextInt(80) == 0 ? '\n' : ' ');
+		}
+		return document.toString();
+	}
+
+	private static TextFlow createTextFlow(FlowPage page, String text, boolean incremental) {
+		TextFlow flow = new TextFlow(text);
+		ParagraphTextLayout layout = new ParagraphTextLayout(flow);
+		layout.setIncremental(incremental);
+		flow.setLayoutManager(layout);
+		flow.setFont(FONT);
+		page.add(flow);
+		return flow;
+	}
+
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+import java.util.Random;
+
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.draw2d.ColorConstants;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.RectangleFigure;
+import org.eclipse.draw2d.SWTGraphics;
+import org.eclipse.draw2d.TiledBackingStore;
+import org.eclipse.draw2d.Viewport;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * Compares the time needed to scroll back and forth over a static diagram of
+ * 50k figures, with and without a tiled backing store.
+ */
+public class BenchmarkTiledScrolling {
+
+	private static final int VIEWPORT_WIDTH = 800;
+	private static final int VIEWPORT_HEIGHT = 600;
+	private static final int FIGURES = 50000;
+	private static final int STEP = 40;
+	private static final int PASSES = 4;
+
+	public static void main(String[] args) {
+		Display display = Display.getDefault();
+		Image image = new Image(display, VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+		Viewport viewport = createViewport();
+
+		for (boolean tiled : new boolean[] { false, true }) {
+			TiledBackingStore store = tiled ? new TiledBackingStore() : null;
+			viewport.setBackingStore(store);
+			// warm up
+			scroll(image, viewport);
+
+			long start = System.nanoTime();
+			int paints = 0;
+			for (int i = 0; i < PASSES; i++) {
+				paints += scroll(image, viewport);
+			}
+			long nanos = System.nanoTime() - start;
+			System.out.print((tiled ? "tiled" : "direct") + ": " + nanos / paints / 1000 + "us per scroll step"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			if (store != null) {
+				System.out.print(", " + store.getRenderedTileCount() + " tiles rendered, " //$NON-NLS-1$ //$NON-NLS-2$
+						+ store.getDrawnTileCount() + " tiles drawn"); //$NON-NLS-1$
+				viewport.setBackingStore(null);
+				store.dispose();
+			}
+			System.out.println();
+		}
+
+		image.dispose();
+		display.dispose();
+	}
+
+	private static Viewport createViewport() {
+		int extent = (int) Math.sqrt(FIGURES) * 60;
+		Random random = new Random(0);
+		Figure contents = new Figure();
+		contents.setBounds(new Rectangle(0, 0, extent, extent));
+		for (int i = 0; i < FIGURES; i++) {
+			RectangleFigure figure = new RectangleFigure();
+			figure.setBackgroundColor(i % 2 == 0 ? ColorConstants.lightBlue : ColorConstants.orange);
+			figure.setBounds(new Rectangle(random.nextInt(extent), random.nextInt(extent), 40, 30));
+			contents.add(figure);
+		}
+		contents.setChildIndexEnabled(true);
+
+		Viewport viewport = new Viewport(true);
+		viewport.setOpaque(true);
+		viewport.setBackgroundColor(ColorConstants.white);
+		viewport.setForegroundColor(ColorConstants.black);
+		viewport.setBounds(new Rectangle(0, 0, VIEWPORT_WIDTH, VIEWPORT_HEIGHT));
+		viewport.setContents(contents);
+		viewport.validate();
+		return viewport;
+	}
+
+	/**
+	 * Scrolls down and back up over the first 2000 pixels, painting the viewport
+	 * after each step.
+	 */
+	private static int scroll(Image image, Viewport viewport) {
+		int paints = 0;
+		for (int y = 0; y <= 2000; y += STEP) {
+			paint(image, viewport, y);
+			paints++;
+		}
+		for (int y = 2000; y >= 0; y -= STEP) {
+			paint(image, viewport, y);
+			paints++;
+		}
+		return paints;
+	}
+
+	private static void paint(Image image, Viewport viewport, int y) {
+		viewport.setViewLocation(0, y);
+		GC gc = new GC(image);
+		Graphics graphics = new SWTGraphics(gc);
+		viewport.paint(graphics);
+		graphics.dispose();
+		gc.dispose();
+	}
+
+}
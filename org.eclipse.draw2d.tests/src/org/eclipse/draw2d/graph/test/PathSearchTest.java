@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.draw2d.graph.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.draw2d.graph.Path;
+import org.eclipse.draw2d.graph.ShortestPathRouter;
+
+import org.junit.Test;
+
+/**
+ * Compares the A* search of a path through its visibility graph with a plain
+ * Dijkstra search of the same graph.
+ */
+@SuppressWarnings("nls")
+public class PathSearchTest {
+
+	private static Object get(Object object, String name) throws ReflectiveOperationException {
+		Field field = object.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		return field.get(object);
+	}
+
+	private static Method getMethod(Class<?> type, String name) {
+		for (Method method : type.getDeclaredMethods()) {
+			if (method.getName().equals(name)) {
+				method.setAccessible(true);
+				return method;
+			}
+		}
+		throw new IllegalArgumentException(name);
+	}
+
+	/**
+	 * Returns the length of the shortest path from the start to the end of the
+	 * given path through the nodes of its visibility graph, or 0 if there is none,
+	 * computed by scanning all nodes for the closest open one.
+	 */
+	private static double dijkstra(Path path) throws ReflectiveOperationException {
+		Map<?, ?> nodes = (Map<?, ?>) get(path, "nodes");
+		Map<Object, Double> costs = new IdentityHashMap<>();
+		List<Object> open = new ArrayList<>();
+		Object source = nodes.get(path.getStartPoint());
+		Object target = nodes.get(path.getEndPoint());
+		costs.put(source, Double.valueOf(0));
+		open.add(source);
+		while (!open.isEmpty()) {
+			Object closest = open.get(0);
+			for (Object node : open) {
+				if (costs.get(node).doubleValue() < costs.get(closest).doubleValue()) {
+					closest = node;
+				}
+			}
+			open.remove(closest);
+			double cost = costs.get(closest).doubleValue();
+			if (closest == target) {
+				return cost;
+			}
+			Point location = (Point) get(closest, "vertex");
+			for (Object neighbor : (List<?>) get(closest, "neighbors")) {
+				double newCost = cost + location.getDistance((Point) get(neighbor, "vertex"));
+				Double previous = costs.get(neighbor);
+				if (previous == null) {
+					open.add(neighbor);
+				}
+				if (previous == null || newCost < previous.doubleValue()) {
+					costs.put(neighbor, Double.valueOf(newCost));
+				}
+			}
+		}
+		return 0;
+	}
+
+	@Test
+	public void testLengthsMatchDijkstra() throws ReflectiveOperationException {
+		Method solvePath = getMethod(ShortestPathRouter.class, "solvePath");
+		Method getCost = getMethod(Path.class, "getCost");
+		Random random = new Random(23);
+		int found = 0;
+		for (int scenario = 0; scenario < 40; scenario++) {
+			ShortestPathRouter router = new ShortestPathRouter();
+			List<Rectangle> obstacles = new ArrayList<>();
+			for (int i = 0; i < 25; i++) {
+				Rectangle obstacle = new Rectangle(random.nextInt(800), random.nextInt(800), 10 + random.nextInt(120),
+						10 + random.nextInt(120));
+				obstacles.add(obstacle);
+				router.addObstacle(obstacle);
+			}
+			Path path = new Path(freePoint(random, obstacles), freePoint(random, obstacles));
+			router.addPath(path);
+			router.solve();
+
+			// search the visibility graph again and keep it for the reference search
+			solvePath.invoke(null, path, get(router, "obstacleIndex"));
+			double cost = ((Double) getCost.invoke(path)).doubleValue();
+			assertEquals(dijkstra(path), cost, 1e-9);
+			if (cost > 0) {
+				found++;
+			}
+		}
+		assertTrue(found > 30);
+	}
+
+	private static Point freePoint(Random random, List<Rectangle> obstacles) {
+		while (true) {
+			Point point = new Point(random.nextInt(900), random.nextInt(900));
+			if (obstacles.stream().noneMatch(obstacle -> obstacle.getExpanded(4, 4).contains(point))) {
+				return point;
+			}
+		}
+	}
+
+	@Test
+	public void testRouteBeyondThreshold() throws ReflectiveOperationException {
+		// the detour around the wall is longer than the threshold oval allows
+		Rectangle wall = new Rectangle(90, -200, 20, 600);
+		ShortestPathRouter router = new ShortestPathRouter();
+		router.addObstacle(wall);
+		Path path = new Path(new Point(0, 100), new Point(200, 100));
+		router.addPath(path);
+		router.solve();
+
+		assertEquals(0, ((Double) get(path, "threshold")).doubleValue(), 0);
+		PointList points = path.getPoints();
+		assertEquals(new Point(0, 100), points.getFirstPoint());
+		assertEquals(new Point(200, 100), points.getLastPoint());
+		assertTrue(points.size() > 2);
+		for (int i = 1; i < points.size() - 1; i++) {
+			// the bend points pass above or below the wall
+			Point bend = points.getPoint(i);
+			assertTrue(bend.y < wall.y || bend.y >= wall.bottom());
+		}
+		double length = 0;
+		for (int i = 0; i < points.size() - 1; i++) {
+			length += points.getPoint(i).getDistance(points.getPoint(i + 1));
+		}
+		assertTrue(length > 1.13 * 200);
+	}
+
+}
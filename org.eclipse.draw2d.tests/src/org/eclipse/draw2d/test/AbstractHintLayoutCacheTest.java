@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.draw2d.AbstractHintLayout;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.Dimension;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class AbstractHintLayoutCacheTest {
+
+	/**
+	 * Counts the calls of {@link #calculatePreferredSize(IFigure, int, int)}.
+	 */
+	private static class CountingLayout extends AbstractHintLayout {
+		int calculations;
+		int layouts;
+		Dimension size = new Dimension(50, 20);
+
+		@Override
+		protected Dimension calculatePreferredSize(IFigure container, int wHint, int hHint) {
+			calculations++;
+			return new Dimension(wHint < 0 ? size.width : wHint, size.height);
+		}
+
+		@Override
+		protected boolean isSensitiveVertically(IFigure container) {
+			return false;
+		}
+
+		@Override
+		public void layout(IFigure container) {
+			layouts++;
+		}
+	}
+
+	/**
+	 * Records whether it has been revalidated.
+	 */
+	private static class RevalidationRecorder extends Figure {
+		boolean revalidated;
+
+		@Override
+		public void revalidate() {
+			revalidated = true;
+			super.revalidate();
+		}
+	}
+
+	private CountingLayout layout;
+	private Figure container;
+
+	@Before
+	public void setUp() {
+		layout = new CountingLayout();
+		container = new Figure();
+		container.setLayoutManager(layout);
+	}
+
+	@Test
+	public void testAlternatingHintsAreCached() {
+		for (int i = 0; i < 10; i++) {
+			assertEquals(new Dimension(100, 20), container.getPreferredSize(100, -1));
+			assertEquals(new Dimension(200, 20), container.getPreferredSize(200, -1));
+			assertEquals(new Dimension(50, 20), container.getPreferredSize(-1, -1));
+		}
+		assertEquals(3, layout.calculations);
+		assertEquals(3, layout.getCacheMissCount());
+		assertEquals(27, layout.getCacheHitCount());
+		// the statistics belong to the layout
+		assertEquals(0, new CountingLayout().getCacheHitCount());
+		layout.resetCacheStatistics();
+		assertEquals(0, layout.getCacheMissCount());
+		assertEquals(0, layout.getCacheHitCount());
+	}
+
+	@Test
+	public void testInsensitiveHintIsIgnored() {
+		container.getPreferredSize(100, 10);
+		container.getPreferredSize(100, 30);
+		assertEquals(1, layout.calculations);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedHintIsEvicted() {
+		for (int w = 1; w <= 5; w++) {
+			container.getPreferredSize(w, -1);
+		}
+		assertEquals(5, layout.calculations);
+		container.getPreferredSize(5, -1);
+		container.getPreferredSize(2, -1);
+		assertEquals(5, layout.calculations);
+		container.getPreferredSize(1, -1);
+		assertEquals(6, layout.calculations);
+	}
+
+	@Test
+	public void testInvalidateFlushesCache() {
+		container.getPreferredSize(100, -1);
+		container.getMinimumSize(100, -1);
+		layout.invalidate();
+		container.getPreferredSize(100, -1);
+		assertEquals(2, layout.calculations);
+	}
+
+	@Test
+	public void testStableSizeStopsRevalidation() {
+		RevalidationRecorder parent = new RevalidationRecorder();
+		parent.add(container);
+		parent.revalidated = false;
+		layout.setSizeStabilityCheck(true);
+		container.getPreferredSize(-1, -1);
+
+		container.revalidate();
+		assertFalse(parent.revalidated);
+		assertEquals(1, layout.getStableRevalidationCount());
+
+		layout.size = new Dimension(60, 20);
+		container.revalidate();
+		assertTrue(parent.revalidated);
+	}
+
+	@Test
+	public void testStabilityCheckIsDisabledByDefault() {
+		RevalidationRecorder parent = new RevalidationRecorder();
+		parent.add(container);
+		parent.revalidated = false;
+		container.getPreferredSize(-1, -1);
+		container.revalidate();
+		assertTrue(parent.revalidated);
+	}
+
+	@Test
+	public void testUnrequestedSizeIsNotStable() {
+		RevalidationRecorder parent = new RevalidationRecorder();
+		parent.add(container);
+		parent.revalidated = false;
+		layout.setSizeStabilityCheck(true);
+		container.revalidate();
+		assertTrue(parent.revalidated);
+	}
+
+}
@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.draw2d.BackgroundLayout;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.LayoutSnapshot;
+import org.eclipse.draw2d.SnapshotLayoutManager;
+import org.eclipse.draw2d.ToolbarLayout;
+import org.eclipse.draw2d.XYLayout;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import org.junit.Test;
+
+public class BackgroundLayoutTest {
+
+	private static IFigure createContainer() {
+		IFigure container = new Figure();
+		container.setBounds(new Rectangle(10, 20, 300, 200));
+		for (int i = 0; i < 10; i++) {
+			Figure child = new Figure();
+			child.setPreferredSize(20 + i * 7, 15 + i * 3);
+			child.setMinimumSize(new Dimension(10, 5));
+			container.add(child);
+		}
+		return container;
+	}
+
+	/**
+	 * Validates the figure and waits for the background layout to be applied.
+	 */
+	private static void validate(IFigure figure) {
+		figure.validate();
+		Display display = Display.getCurrent();
+		if (display != null) {
+			while (display.readAndDispatch()) {
+				// apply pending layouts
+			}
+		}
+	}
+
+	private static void assertSameLayout(IFigure expected, IFigure actual) {
+		assertEquals(expected.getChildren().size(), actual.getChildren().size());
+		for (int i = 0; i < expected.getChildren().size(); i++) {
+			assertEquals(expected.getChildren().get(i).getBounds(), actual.getChildren().get(i).getBounds());
+		}
+	}
+
+	@Test
+	public void testToolbarLayout() {
+		for (boolean horizontal : new boolean[] { false, true }) {
+			IFigure expected = createContainer();
+			ToolbarLayout layout = new ToolbarLayout(horizontal);
+			layout.setSpacing(3);
+			layout.setMinorAlignment(ToolbarLayout.ALIGN_CENTER);
+			expected.setLayoutManager(layout);
+			expected.validate();
+
+			IFigure actual = createContainer();
+			ToolbarLayout delegate = new ToolbarLayout(horizontal);
+			delegate.setSpacing(3);
+			delegate.setMinorAlignment(ToolbarLayout.ALIGN_CENTER);
+			actual.setLayoutManager(new BackgroundLayout(delegate, Runnable::run));
+			validate(actual);
+
+			assertSameLayout(expected, actual);
+		}
+	}
+
+	@Test
+	public void testXYLayout() {
+		IFigure expected = createContainer();
+		expected.setLayoutManager(new XYLayout());
+		IFigure actual = createContainer();
+		actual.setLayoutManager(new BackgroundLayout(new XYLayout(), Runnable::run));
+		for (int i = 0; i < expected.getChildren().size(); i++) {
+			Rectangle constraint = new Rectangle(i * 10, i * 5, i % 2 == 0 ? -1 : 30, -1);
+			expected.setConstraint(expected.getChildren().get(i), constraint);
+			actual.setConstraint(actual.getChildren().get(i), constraint);
+		}
+		expected.validate();
+		validate(actual);
+		assertSameLayout(expected, actual);
+	}
+
+	/**
+	 * Runs the layouts held back by the given executor and applies their results.
+	 */
+	private static void complete(List<Runnable> inFlight) {
+		List<Runnable> tasks = new ArrayList<>(inFlight);
+		inFlight.clear();
+		tasks.forEach(Runnable::run);
+		Display display = Display.getCurrent();
+		while (display.readAndDispatch()) {
+			// apply the computed layouts
+		}
+	}
+
+	@Test
+	public void testResultOfInvalidatedContainerIsDiscarded() {
+		Display.getDefault();
+		List<Runnable> inFlight = new ArrayList<>();
+		IFigure container = createContainer();
+		BackgroundLayout layout = new BackgroundLayout(new XYLayout(), inFlight::add);
+		container.setLayoutManager(layout);
+		IFigure first = container.getChildren().get(0);
+		container.setConstraint(first, new Rectangle(5, 5, 50, 50));
+		container.validate();
+		assertTrue(layout.isLayoutPending());
+		Rectangle before = first.getBounds().getCopy();
+
+		container.setConstraint(first, new Rectangle(100, 100, 50, 50));
+		assertFalse(layout.isLayoutPending());
+		complete(inFlight);
+		assertEquals(1, layout.getDiscardedLayoutCount());
+		assertEquals(before, first.getBounds());
+
+		container.validate();
+		complete(inFlight);
+		assertEquals(1, layout.getDiscardedLayoutCount());
+		assertEquals(new Rectangle(110, 120, 50, 50), first.getBounds());
+	}
+
+	@Test
+	public void testResultOfMovedContainerIsDiscarded() {
+		Display.getDefault();
+		List<Runnable> inFlight = new ArrayList<>();
+		IFigure container = createContainer();
+		BackgroundLayout layout = new BackgroundLayout(new XYLayout(), inFlight::add);
+		container.setLayoutManager(layout);
+		IFigure first = container.getChildren().get(0);
+		container.setConstraint(first, new Rectangle(5, 5, 50, 50));
+		container.validate();
+
+		// a translation does not invalidate the container
+		container.setLocation(new Point(50, 60));
+		complete(inFlight);
+		assertEquals(1, layout.getDiscardedLayoutCount());
+		assertNotEquals(new Rectangle(15, 25, 50, 50), first.getBounds());
+
+		container.validate();
+		complete(inFlight);
+		assertEquals(new Rectangle(55, 65, 50, 50), first.getBounds());
+	}
+
+	@Test
+	public void testRejectedLayoutIsComputedSynchronously() {
+		Display.getDefault();
+		IFigure container = createContainer();
+		BackgroundLayout layout = new BackgroundLayout(new XYLayout(), command -> {
+			throw new RejectedExecutionException();
+		});
+		container.setLayoutManager(layout);
+		IFigure first = container.getChildren().get(0);
+		container.setConstraint(first, new Rectangle(5, 5, 50, 50));
+		container.validate();
+		assertFalse(layout.isLayoutPending());
+		assertEquals(new Rectangle(15, 25, 50, 50), first.getBounds());
+
+		container.setConstraint(first, new Rectangle(100, 100, 50, 50));
+		container.validate();
+		assertEquals(new Rectangle(110, 120, 50, 50), first.getBounds());
+	}
+
+	@Test
+	public void testSnapshotIsDetached() {
+		IFigure container = createContainer();
+		XYLayout layout = new XYLayout();
+		container.setLayoutManager(layout);
+		IFigure first = container.getChildren().get(0);
+		container.setConstraint(first, new Rectangle(5, 5, 50, 50));
+
+		LayoutSnapshot snapshot = layout.createSnapshot(container);
+		container.setConstraint(first, new Rectangle(100, 100, 50, 50));
+		container.setBounds(new Rectangle(0, 0, 400, 400));
+
+		Rectangle[] bounds = layout.computeLayout(snapshot);
+		assertEquals(new Rectangle(15, 25, 50, 50), bounds[0]);
+		assertNull(bounds[1]);
+
+		SnapshotLayoutManager.applyLayout(snapshot, bounds);
+		assertEquals(new Rectangle(15, 25, 50, 50), first.getBounds());
+	}
+
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.draw2d.AbstractRouter;
+import org.eclipse.draw2d.Connection;
+import org.eclipse.draw2d.ConnectionLayer;
+import org.eclipse.draw2d.ConnectionRouter;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.OrthogonalConnectionRouter;
+import org.eclipse.draw2d.PolylineConnection;
+import org.eclipse.draw2d.RoutingListener;
+import org.eclipse.draw2d.ShortestPathConnectionRouter;
+import org.eclipse.draw2d.XYAnchor;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConnectionLayerTest extends Assert {
+
+	private static class CountingRouter extends AbstractRouter {
+		final List<List<Connection>> batches = new ArrayList<>();
+		int routed;
+
+		@Override
+		public void route(Connection connection) {
+			routed++;
+			ConnectionRouter.NULL.route(connection);
+		}
+
+		@Override
+		public void routeAll(List<? extends Connection> connections) {
+			batches.add(new ArrayList<>(connections));
+			super.routeAll(connections);
+		}
+	}
+
+	private ConnectionLayer layer;
+	private CountingRouter router;
+
+	@Before
+	public void setUp() {
+		layer = new ConnectionLayer();
+		router = new CountingRouter();
+		layer.setConnectionRouter(router);
+	}
+
+	private PolylineConnection addConnection(int y) {
+		PolylineConnection conn = new PolylineConnection();
+		conn.setSourceAnchor(new XYAnchor(new Point(0, y)));
+		conn.setTargetAnchor(new XYAnchor(new Point(100, y)));
+		layer.add(conn);
+		return conn;
+	}
+
+	@Test
+	public void testRoutesInvalidConnectionsInOneBatch() {
+		PolylineConnection conn1 = addConnection(0);
+		PolylineConnection conn2 = addConnection(10);
+		PolylineConnection conn3 = addConnection(20);
+		layer.validate();
+
+		assertEquals(List.of(List.of(conn1, conn2, conn3)), router.batches);
+		assertEquals(3, router.routed);
+		assertEquals(new Point(100, 10), conn2.getPoints().getLastPoint());
+		assertEquals(1, layer.getRoutingCycleCount());
+		assertEquals(3, layer.getLastRoutedConnectionCount());
+
+		conn2.revalidate();
+		layer.validate();
+		assertEquals(List.of(conn2), router.batches.get(1));
+		assertEquals(4, router.routed);
+		assertEquals(2, layer.getRoutingCycleCount());
+		assertEquals(1, layer.getLastRoutedConnectionCount());
+		assertEquals(4, layer.getRoutedConnectionCount());
+
+		layer.resetRoutingStatistics();
+		assertEquals(0, layer.getRoutingCycleCount());
+		assertEquals(0, layer.getRoutedConnectionCount());
+	}
+
+	@Test
+	public void testConnectionsWithOwnRouter() {
+		PolylineConnection conn1 = addConnection(0);
+		PolylineConnection conn2 = addConnection(10);
+		CountingRouter other = new CountingRouter();
+		conn2.setConnectionRouter(other);
+		layer.validate();
+
+		assertEquals(List.of(List.of(conn1)), router.batches);
+		assertEquals(List.of(List.of(conn2)), other.batches);
+		assertEquals(1, layer.getRoutingCycleCount());
+		assertEquals(2, layer.getLastRoutedConnectionCount());
+	}
+
+	private static class RecordingListener extends RoutingListener.Stub {
+		final List<String> calls = new ArrayList<>();
+		final boolean consume;
+
+		RecordingListener(boolean consume) {
+			this.consume = consume;
+		}
+
+		@Override
+		public boolean route(Connection connection) {
+			calls.add("route"); //$NON-NLS-1$
+			return consume;
+		}
+
+		@Override
+		public void postRoute(Connection connection) {
+			calls.add("postRoute"); //$NON-NLS-1$
+		}
+	}
+
+	@Test
+	public void testConnectionsWithRoutingListeners() {
+		PolylineConnection conn1 = addConnection(0);
+		PolylineConnection conn2 = addConnection(10);
+		PolylineConnection conn3 = addConnection(20);
+		RecordingListener listener = new RecordingListener(false);
+		RecordingListener consuming = new RecordingListener(true);
+		conn2.addRoutingListener(listener);
+		conn3.addRoutingListener(consuming);
+		layer.validate();
+
+		// batched by the router beneath the listeners
+		assertEquals(List.of(List.of(conn1, conn2)), router.batches);
+		assertEquals(List.of("route", "postRoute"), listener.calls); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(List.of("route", "postRoute"), consuming.calls); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(3, layer.getLastRoutedConnectionCount());
+	}
+
+	@Test
+	public void testShortestPathRouterRoutesBatch() {
+		IFigure container = new Figure();
+		Rectangle obstacle = new Rectangle(40, -50, 20, 200);
+		IFigure child = new Figure();
+		child.setBounds(obstacle);
+		container.add(child);
+		layer.setConnectionRouter(new ShortestPathConnectionRouter(container));
+		List<PolylineConnection> connections = List.of(addConnection(0), addConnection(10), addConnection(20));
+		layer.validate();
+
+		for (PolylineConnection conn : connections) {
+			PointList points = conn.getPoints();
+			assertTrue(points.size() > 2);
+			for (int i = 1; i < points.size() - 1; i++) {
+				Point bend = points.getPoint(i);
+				assertTrue(bend.y < obstacle.y || bend.y >= obstacle.bottom());
+			}
+		}
+		assertEquals(1, layer.getRoutingCycleCount());
+		assertEquals(3, layer.getLastRoutedConnectionCount());
+	}
+
+	@Test
+	public void testObstaclesForgottenWithoutConnections() {
+		IFigure container = new Figure();
+		IFigure child = new Figure();
+		child.setBounds(new Rectangle(40, -50, 20, 200));
+		container.add(child);
+		layer.setConnectionRouter(new OrthogonalConnectionRouter(container));
+		PolylineConnection conn = addConnection(0);
+		layer.validate();
+		assertTrue(conn.getPoints().size() > 2);
+
+		// the child is no longer tracked while there are no connections to route
+		layer.remove(conn);
+		child.setBounds(new Rectangle(40, 100, 20, 20));
+		conn = addConnection(0);
+		layer.validate();
+		assertEquals(2, conn.getPoints().size());
+	}
+
+	@Test
+	public void testConnectionWithoutAnchorIsNotRouted() {
+		PolylineConnection conn = new PolylineConnection();
+		conn.setSourceAnchor(new XYAnchor(new Point(0, 0)));
+		layer.add(conn);
+		layer.validate();
+
+		assertTrue(router.batches.isEmpty());
+		assertEquals(0, layer.getRoutingCycleCount());
+	}
+
+}
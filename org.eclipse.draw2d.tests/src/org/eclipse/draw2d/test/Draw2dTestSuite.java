@@ -14,6 +14,7 @@
 package org.eclipse.draw2d.test;
 
 import org.eclipse.draw2d.graph.test.DirectedGraphLayoutTest;
+import org.eclipse.draw2d.graph.test.PathSearchTest;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -27,18 +28,27 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	FanRouterTest.class,
 	ShortestPathRoutingTest.class,
+	OrthogonalRoutingTest.class,
 	XYLayoutTest.class,
+	BackgroundLayoutTest.class,
+	AbstractHintLayoutCacheTest.class,
+	TiledBackingStoreTest.class,
+	RenderingCacheTest.class,
 	TextFlowWrapTest.class,
+	TextFlowReflowTest.class,
 	LocalOptimizerTest.class,
 	AdvancedGraphicsTests.class,
 	FlowBorderTests.class,
 	GraphicsClipping.class,
 	PaintDamageEraseTest.class,
+	WastedAreaCoalescingPolicyTest.class,
+	FrameIntervalTest.class,
 	LayeredPaneTest.class,
 	ConnectionEndPointMoveTest.class,
 	ImageUtilitiesTest.class,
 	LookAheadTest.class,
 	TextualTests.class,
+	TextExtentCacheTest.class,
 	PointTests.class,
 	DimensionTests.class,
 	PointListTests.class,
@@ -48,6 +58,7 @@ import org.junit.runners.Suite;
 	ThumbnailTest.class,
 	FigurePaintingTest.class,
 	FigureUtilitiesTest.class,
+	FigureChildIndexTest.class,
 	RectangleTest.class,
 	ColorConstantTest.class,
 	RayTest.class,
@@ -57,9 +68,11 @@ import org.junit.runners.Suite;
 	GeometryTest.class,
 	ScalablePolygonShapeTest.class,
 	LayerTest.class,
+	ConnectionLayerTest.class,
 	ShapeTest.class,
 	InsetsTest.class,
 	DirectedGraphLayoutTest.class,
+	PathSearchTest.class,
 	ScrollPaneTests.class
 })
 public class Draw2dTestSuite {
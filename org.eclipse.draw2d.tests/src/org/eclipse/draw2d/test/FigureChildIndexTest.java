@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.FreeformLayer;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.SWTGraphics;
+import org.eclipse.draw2d.TreeSearch;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FigureChildIndexTest {
+
+	private FreeformLayer indexed;
+	private FreeformLayer plain;
+
+	@Before
+	public void setUp() {
+		indexed = new FreeformLayer();
+		plain = new FreeformLayer();
+		indexed.setBounds(new Rectangle(-1000, -1000, 5000, 5000));
+		plain.setBounds(new Rectangle(-1000, -1000, 5000, 5000));
+		indexed.setChildIndexEnabled(true);
+		Random random = new Random(42);
+		for (int i = 0; i < 500; i++) {
+			Rectangle r = new Rectangle(random.nextInt(2000) - 500, random.nextInt(2000) - 500, 5 + random.nextInt(200),
+					5 + random.nextInt(200));
+			indexed.add(createChild(r));
+			plain.add(createChild(r));
+		}
+		// A huge child below all others
+		indexed.add(createChild(new Rectangle(-1000, -1000, 5000, 5000)), 0);
+		plain.add(createChild(new Rectangle(-1000, -1000, 5000, 5000)), 0);
+	}
+
+	private static IFigure createChild(Rectangle bounds) {
+		IFigure child = new Figure();
+		child.setBounds(bounds);
+		return child;
+	}
+
+	private void assertSameHits() {
+		int hits = 0;
+		for (int x = -600; x < 1800; x += 37) {
+			for (int y = -600; y < 1800; y += 41) {
+				assertEquals(indexOf(plain, plain.findFigureAt(x, y)), indexOf(indexed, indexed.findFigureAt(x, y)));
+				assertEquals(indexOf(plain, plain.findMouseEventTargetAt(x, y)),
+						indexOf(indexed, indexed.findMouseEventTargetAt(x, y)));
+				if (indexed.findFigureAt(x, y) != indexed) {
+					hits++;
+				}
+			}
+		}
+		assertTrue(hits > 0);
+	}
+
+	private static int indexOf(IFigure parent, IFigure child) {
+		return parent.getChildren().indexOf(child);
+	}
+
+	@Test
+	public void testHitsMatchUnindexed() {
+		assertTrue(indexed.isChildIndexEnabled());
+		assertFalse(plain.isChildIndexEnabled());
+		assertSameHits();
+	}
+
+	@Test
+	public void testHitsAfterMoveAndRemove() {
+		for (int i = 0; i < 100; i++) {
+			Rectangle r = indexed.getChildren().get(i * 3 + 1).getBounds().getTranslated(300, -250);
+			indexed.getChildren().get(i * 3 + 1).setBounds(r);
+			plain.getChildren().get(i * 3 + 1).setBounds(r);
+		}
+		for (int i = 0; i < 50; i++) {
+			indexed.remove(indexed.getChildren().get(i * 5 + 2));
+			plain.remove(plain.getChildren().get(i * 5 + 2));
+		}
+		indexed.add(createChild(new Rectangle(0, 0, 100, 100)), 10);
+		plain.add(createChild(new Rectangle(0, 0, 100, 100)), 10);
+		assertSameHits();
+	}
+
+	@Test
+	public void testEnableAfterChildrenAdded() {
+		plain.setChildIndexEnabled(true);
+		assertSameHits();
+		plain.setChildIndexEnabled(false);
+		assertSameHits();
+	}
+
+	@Test
+	public void testTreeSearchRespected() {
+		FreeformLayer layer = new FreeformLayer();
+		layer.setBounds(new Rectangle(0, 0, 200, 200));
+		layer.setChildIndexEnabled(true);
+		IFigure bottom = createChild(new Rectangle(0, 0, 100, 100));
+		IFigure top = createChild(new Rectangle(50, 50, 100, 100));
+		layer.add(bottom);
+		layer.add(top);
+		assertSame(top, layer.findFigureAt(60, 60));
+		assertSame(bottom, layer.findFigureAt(60, 60, new TreeSearch() {
+			@Override
+			public boolean accept(IFigure figure) {
+				return figure != top;
+			}
+
+			@Override
+			public boolean prune(IFigure figure) {
+				return false;
+			}
+		}));
+		assertNull(layer.findFigureAt(60, 60, new TreeSearch() {
+			@Override
+			public boolean accept(IFigure figure) {
+				return figure != layer;
+			}
+
+			@Override
+			public boolean prune(IFigure figure) {
+				return figure != layer;
+			}
+		}));
+	}
+
+	@Test
+	public void testNestedQueries() {
+		FreeformLayer layer = new FreeformLayer();
+		layer.setBounds(new Rectangle(0, 0, 400, 400));
+		layer.setChildIndexEnabled(true);
+		IFigure bottom = createChild(new Rectangle(0, 0, 100, 100));
+		IFigure top = createChild(new Rectangle(50, 50, 100, 100));
+		IFigure other = createChild(new Rectangle(300, 300, 50, 50));
+		layer.add(bottom);
+		layer.add(top);
+		layer.add(other);
+		// hit tests the same layer while it is iterating its candidates
+		IFigure[] nested = new IFigure[1];
+		assertSame(bottom, layer.findFigureAt(60, 60, new TreeSearch() {
+			@Override
+			public boolean accept(IFigure figure) {
+				if (figure == top) {
+					nested[0] = layer.findFigureAt(310, 310);
+					return false;
+				}
+				return true;
+			}
+
+			@Override
+			public boolean prune(IFigure figure) {
+				return false;
+			}
+		}));
+		assertSame(other, nested[0]);
+		assertSame(top, layer.findFigureAt(60, 60));
+	}
+
+	@Test
+	public void testPaintSkipsChildrenOutsideClip() {
+		List<IFigure> painted = new ArrayList<>();
+		FreeformLayer layer = new FreeformLayer();
+		layer.setBounds(new Rectangle(0, 0, 400, 400));
+		layer.setChildIndexEnabled(true);
+		List<IFigure> expected = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			IFigure child = new Figure() {
+				@Override
+				protected void paintFigure(Graphics graphics) {
+					painted.add(this);
+				}
+			};
+			child.setBounds(new Rectangle((i % 4) * 100, (i / 4) * 100, 50, 50));
+			layer.add(child);
+			// only the two columns on the left intersect the clip
+			if (i % 4 < 2) {
+				expected.add(child);
+			}
+		}
+
+		Image image = new Image(Display.getDefault(), 400, 400);
+		GC gc = new GC(image);
+		SWTGraphics graphics = new SWTGraphics(gc);
+		try {
+			graphics.setClip(new Rectangle(0, 0, 180, 400));
+			layer.paint(graphics);
+		} finally {
+			graphics.dispose();
+			gc.dispose();
+			image.dispose();
+		}
+		assertEquals(expected, painted);
+	}
+
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import org.eclipse.draw2d.DeferredUpdateManager;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FrameIntervalTest extends Assert {
+
+	private static final int INTERVAL = 20;
+
+	private DeferredUpdateManager manager;
+
+	@Before
+	public void setUp() {
+		manager = new DeferredUpdateManager() {
+			@Override
+			protected void sendUpdateRequest() {
+				// the frames are performed by the test
+			}
+		};
+		manager.setFrameInterval(INTERVAL);
+	}
+
+	/**
+	 * Performs an update which takes at least the given number of milliseconds.
+	 */
+	private void performFrame(long millis) {
+		manager.runWithUpdate(() -> {
+			try {
+				Thread.sleep(millis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		manager.performUpdate();
+	}
+
+	@Test
+	public void testFastFramesKeepTheTarget() {
+		for (int i = 0; i < 3; i++) {
+			performFrame(0);
+			assertEquals(INTERVAL, manager.getCurrentFrameInterval());
+		}
+		assertEquals(0, manager.getDroppedFrameCount());
+		assertEquals(3, manager.getFrameCount());
+	}
+
+	@Test
+	public void testSlowFramesSettleOnDoubledInterval() {
+		// between one and two target intervals
+		performFrame(3 * INTERVAL / 2);
+		assertEquals(2 * INTERVAL, manager.getCurrentFrameInterval());
+		for (int i = 0; i < 3; i++) {
+			performFrame(3 * INTERVAL / 2);
+			assertEquals(2 * INTERVAL, manager.getCurrentFrameInterval());
+		}
+		assertEquals(1, manager.getDroppedFrameCount());
+	}
+
+	@Test
+	public void testBackOffIsBoundedAndRecovers() {
+		for (int i = 0; i < 6; i++) {
+			performFrame(10 * INTERVAL);
+		}
+		assertEquals(8 * INTERVAL, manager.getCurrentFrameInterval());
+		performFrame(0);
+		assertEquals(4 * INTERVAL, manager.getCurrentFrameInterval());
+		performFrame(0);
+		performFrame(0);
+		assertEquals(INTERVAL, manager.getCurrentFrameInterval());
+	}
+
+}
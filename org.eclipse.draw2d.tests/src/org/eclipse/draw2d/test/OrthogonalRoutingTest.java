@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import java.util.List;
+
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.draw2d.graph.OrthogonalRouter;
+import org.eclipse.draw2d.graph.Path;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OrthogonalRoutingTest extends Assert {
+
+	private static final Rectangle source = new Rectangle(0, 100, 60, 40);
+	private static final Rectangle target = new Rectangle(300, 100, 60, 40);
+	private static final Rectangle block = new Rectangle(150, 50, 40, 140);
+
+	private OrthogonalRouter router;
+
+	@Before
+	public void setUp() {
+		router = new OrthogonalRouter();
+	}
+
+	private static void assertOrthogonal(PointList points) {
+		for (int i = 0; i < points.size() - 1; i++) {
+			Point a = points.getPoint(i);
+			Point b = points.getPoint(i + 1);
+			assertTrue("Segment " + a + " " + b + " is not orthogonal", a.x == b.x || a.y == b.y); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private static void assertAvoids(PointList points, Rectangle rect) {
+		for (int i = 0; i < points.size() - 1; i++) {
+			Rectangle segment = new Rectangle(points.getPoint(i), points.getPoint(i + 1));
+			segment.width++;
+			segment.height++;
+			assertFalse("Segment " + segment + " crosses " + rect, segment.intersects(rect)); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private static void assertOnBorder(Point point, Rectangle rect) {
+		assertTrue(rect.contains(point));
+		assertTrue(point.x == rect.x || point.x == rect.right() - 1 || point.y == rect.y
+				|| point.y == rect.bottom() - 1);
+	}
+
+	@Test
+	public void testStraight() {
+		router.addObstacle(source);
+		router.addObstacle(target);
+		Path path = new Path(source.getCenter(), target.getCenter());
+		router.addPath(path);
+		router.solve();
+
+		PointList points = path.getPoints();
+		assertEquals(2, points.size());
+		assertEquals(new Point(59, 120), points.getFirstPoint());
+		assertEquals(new Point(300, 120), points.getLastPoint());
+	}
+
+	@Test
+	public void testAvoidObstacle() {
+		router.addObstacle(source);
+		router.addObstacle(target);
+		router.addObstacle(block);
+		Path path = new Path(source.getCenter(), target.getCenter());
+		router.addPath(path);
+		router.solve();
+
+		PointList points = path.getPoints();
+		assertOrthogonal(points);
+		assertAvoids(points, block);
+		assertOnBorder(points.getFirstPoint(), source);
+		assertOnBorder(points.getLastPoint(), target);
+		// around the top or bottom of the block at the spacing
+		int y = points.getPoint(1).y;
+		assertTrue(y == block.y - router.getSpacing() || y == block.bottom() - 1 + router.getSpacing());
+	}
+
+	@Test
+	public void testBendPoints() {
+		Path path = new Path(new Point(0, 0), new Point(200, 0));
+		PointList bendPoints = new PointList();
+		bendPoints.addPoint(100, 100);
+		path.setBendPoints(bendPoints);
+		router.addPath(path);
+		router.solve();
+
+		PointList points = path.getPoints();
+		assertOrthogonal(points);
+		assertTrue(points.polylineContainsPoint(100, 100, 0));
+	}
+
+	@Test
+	public void testParallelPathsSeparated() {
+		router.addObstacle(source);
+		router.addObstacle(target);
+		Path path1 = new Path(new Point(30, 110), new Point(330, 110));
+		Path path2 = new Path(new Point(30, 110), new Point(330, 110));
+		Path path3 = new Path(new Point(30, 110), new Point(330, 110));
+		router.addPath(path1);
+		router.addPath(path2);
+		router.addPath(path3);
+		router.solve();
+
+		int y1 = path1.getPoints().getFirstPoint().y;
+		int y2 = path2.getPoints().getFirstPoint().y;
+		int y3 = path3.getPoints().getFirstPoint().y;
+		assertEquals(router.getSpacing(), Math.abs(y1 - y2));
+		assertEquals(router.getSpacing(), Math.abs(y2 - y3));
+		assertEquals(2 * router.getSpacing(), Math.abs(y1 - y3));
+		for (Path path : List.of(path1, path2, path3)) {
+			assertOrthogonal(path.getPoints());
+			assertEquals(2, path.getPoints().size());
+		}
+	}
+
+	@Test
+	public void testSqueezedIntoNarrowChannel() {
+		// 30 pixels between the obstacles, too narrow for four paths 10 apart
+		Rectangle upper = new Rectangle(100, 0, 100, 100);
+		Rectangle lower = new Rectangle(100, 130, 100, 100);
+		router.setSpacing(10);
+		router.addObstacle(source);
+		router.addObstacle(target);
+		router.addObstacle(upper);
+		router.addObstacle(lower);
+		Path[] paths = new Path[4];
+		for (int i = 0; i < paths.length; i++) {
+			paths[i] = new Path(new Point(30, 115), new Point(330, 115));
+			router.addPath(paths[i]);
+		}
+		router.solve();
+
+		for (int i = 0; i < paths.length; i++) {
+			PointList points = paths[i].getPoints();
+			assertEquals(2, points.size());
+			assertAvoids(points, upper);
+			assertAvoids(points, lower);
+			for (int j = 0; j < i; j++) {
+				assertNotEquals(points.getFirstPoint().y, paths[j].getPoints().getFirstPoint().y);
+			}
+		}
+	}
+
+	@Test
+	public void testMoveObstacle() {
+		router.addObstacle(source);
+		router.addObstacle(target);
+		Path near = new Path(source.getCenter(), target.getCenter());
+		Path far = new Path(new Point(0, 1000), new Point(300, 1000));
+		router.addPath(near);
+		router.addPath(far);
+		router.solve();
+		PointList farPoints = far.getPoints();
+
+		assertTrue(router.addObstacle(block));
+		assertTrue(near.isDirty);
+		assertFalse(far.isDirty);
+		List<Path> changed = router.solve();
+		assertEquals(List.of(near), changed);
+		assertAvoids(near.getPoints(), block);
+		assertSame(farPoints, far.getPoints());
+
+		Rectangle moved = block.getTranslated(0, 2000);
+		assertTrue(router.updateObstacle(block, moved));
+		router.solve();
+		assertEquals(2, near.getPoints().size());
+
+		assertFalse(router.updateObstacle(moved, moved.getTranslated(10, 0)));
+		assertTrue(router.solve().isEmpty());
+	}
+
+	@Test
+	public void testNoRoute() {
+		// the target is walled in, the path crosses the wall
+		router.addObstacle(new Rectangle(180, -100, 20, 300));
+		router.addObstacle(new Rectangle(380, -100, 20, 300));
+		router.addObstacle(new Rectangle(180, -120, 220, 20));
+		router.addObstacle(new Rectangle(180, 200, 220, 20));
+		Path path = new Path(new Point(0, 50), new Point(300, 150));
+		router.addPath(path);
+		router.solve();
+
+		assertOrthogonal(path.getPoints());
+		assertEquals(new Point(0, 50), path.getPoints().getFirstPoint());
+		assertEquals(new Point(300, 150), path.getPoints().getLastPoint());
+	}
+
+}
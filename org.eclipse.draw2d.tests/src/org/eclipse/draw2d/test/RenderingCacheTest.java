@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import java.util.Map;
+
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.draw2d.ColorConstants;
+import org.eclipse.draw2d.Ellipse;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.LightweightSystem;
+import org.eclipse.draw2d.RectangleFigure;
+import org.eclipse.draw2d.RenderingCache;
+import org.eclipse.draw2d.SWTGraphics;
+import org.eclipse.draw2d.XYLayout;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RenderingCacheTest extends BaseTestCase {
+
+	private static final int SIZE = 200;
+
+	private LightweightSystem lws;
+	private IFigure contents;
+	private Figure gate;
+	private RenderingCache cache;
+
+	@Before
+	public void setUp() {
+		lws = new LightweightSystem();
+		contents = new Figure();
+		contents.setOpaque(true);
+		contents.setBackgroundColor(ColorConstants.white);
+		contents.setForegroundColor(ColorConstants.black);
+		contents.setLayoutManager(new XYLayout());
+		gate = new Figure();
+		gate.setLayoutManager(new XYLayout());
+		for (int i = 0; i < 5; i++) {
+			Ellipse pin = new Ellipse();
+			pin.setBackgroundColor(i % 2 == 0 ? ColorConstants.red : ColorConstants.blue);
+			gate.add(pin, new Rectangle(i * 16, i * 8, 20, 20));
+		}
+		contents.add(gate, new Rectangle(30, 40, 100, 60));
+		lws.setContents(contents);
+		lws.getRootFigure().setBounds(new Rectangle(0, 0, SIZE, SIZE));
+		lws.getRootFigure().validate();
+		cache = lws.getUpdateManager().getRenderingCache();
+	}
+
+	@After
+	public void tearDown() {
+		lws.getUpdateManager().dispose();
+	}
+
+	private Image paint() {
+		Image image = new Image(Display.getDefault(), SIZE, SIZE);
+		GC gc = new GC(image);
+		SWTGraphics graphics = new SWTGraphics(gc);
+		lws.getRootFigure().paint(graphics);
+		graphics.dispose();
+		gc.dispose();
+		return image;
+	}
+
+	private void assertPaintsLikeFigure() {
+		gate.setRenderingCached(false);
+		Image expected = paint();
+		gate.setRenderingCached(true);
+		Image actual = paint();
+		try {
+			assertEquals(expected, actual);
+		} finally {
+			expected.dispose();
+			actual.dispose();
+		}
+	}
+
+	@Test
+	public void testImageIsReused() {
+		gate.setRenderingCached(true);
+		paint().dispose();
+		paint().dispose();
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.size());
+		assertEquals(100 * 60 * 4, cache.getMemoryUsage());
+	}
+
+	@Test
+	public void testTransparentFigure() {
+		assertPaintsLikeFigure();
+	}
+
+	@Test
+	public void testOpaqueFigure() {
+		gate.setOpaque(true);
+		gate.setBackgroundColor(ColorConstants.yellow);
+		assertPaintsLikeFigure();
+	}
+
+	@Test
+	public void testRepaintedDescendantReleasesImage() {
+		gate.setRenderingCached(true);
+		paint().dispose();
+		IFigure pin = gate.getChildren().get(2);
+		pin.setBackgroundColor(ColorConstants.green);
+		cache.notifyDirtyRegions(Map.of(pin, pin.getBounds()));
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getMemoryUsage());
+		assertPaintsLikeFigure();
+	}
+
+	@Test
+	public void testInvalidatedDescendantReleasesImage() {
+		gate.setRenderingCached(true);
+		paint().dispose();
+		gate.getChildren().get(0).revalidate();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testUnrelatedRepaintKeepsImage() {
+		gate.setRenderingCached(true);
+		RectangleFigure other = new RectangleFigure();
+		contents.add(other, new Rectangle(150, 150, 20, 20));
+		contents.validate();
+		paint().dispose();
+		cache.notifyDirtyRegions(Map.of(other, other.getBounds()));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testMemoryBudget() {
+		Figure second = new Figure();
+		second.setOpaque(true);
+		contents.add(second, new Rectangle(0, 120, 100, 60));
+		contents.validate();
+		gate.setRenderingCached(true);
+		second.setRenderingCached(true);
+		cache.setMemoryBudget(100 * 60 * 4);
+		paint().dispose();
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+
+		cache.setMemoryBudget(100);
+		assertEquals(0, cache.size());
+		paint().dispose();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testRemovedFigureReleasesImage() {
+		gate.setRenderingCached(true);
+		paint().dispose();
+		contents.remove(gate);
+		assertEquals(0, cache.size());
+	}
+
+}
@@ -12,6 +12,9 @@
  *******************************************************************************/
 package org.eclipse.draw2d.test;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.PointList;
 import org.eclipse.draw2d.geometry.Rectangle;
@@ -510,6 +513,29 @@ public class ShortestPathRoutingTest extends Assert {
 		doAssertNoPathsSolved();
 	}
 
+	@Test
+	public void testDeltasMoveObstacleAmongManyObstacles() {
+		for (int x = 0; x < 2000; x += 100) {
+			for (int y = 0; y < 2000; y += 100) {
+				routing.addObstacle(new Rectangle(x, y, 40, 40));
+			}
+		}
+		Path a = new Path(new Point(10, 70), new Point(1990, 70));
+		routing.addPath(a);
+		routing.solve();
+		doAssertNumPoints(a.getPoints(), 0);
+
+		assertFalse("A large obstacle far away should not dirty the path", //$NON-NLS-1$
+				routing.addObstacle(new Rectangle(0, 3000, 5000, 500)));
+		assertFalse("A move far away should not dirty the path", //$NON-NLS-1$
+				routing.updateObstacle(new Rectangle(1000, 1000, 40, 40), new Rectangle(1010, 1000, 40, 40)));
+		assertTrue("A move onto the path should dirty it", //$NON-NLS-1$
+				routing.updateObstacle(new Rectangle(1010, 1000, 40, 40), new Rectangle(900, 50, 40, 40)));
+		routing.solve();
+		doAssertNumPoints(a.getPoints(), 2);
+		assertTrue("The path should bend around the moved obstacle", a.getPoints().getPoint(1).y > 90); //$NON-NLS-1$
+	}
+
 	@Test
 	public void testDeltasRemoveObstacleIntersection() {
 		doSetUp(deltaRect, deltaAStart, deltaAEnd, deltaBStart, deltaBEnd);
@@ -549,6 +575,42 @@ public class ShortestPathRoutingTest extends Assert {
 		doTestOffsetShrink();
 	}
 
+	@Test
+	public void testParallelSolve() {
+		ShortestPathRouter sequential = routing;
+		ShortestPathRouter parallel = new ShortestPathRouter();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			parallel.setSolveExecutor(executor);
+			Path[] sequentialPaths = new Path[40];
+			Path[] parallelPaths = new Path[40];
+			for (ShortestPathRouter router : new ShortestPathRouter[] { sequential, parallel }) {
+				for (int x = 0; x < 1000; x += 100) {
+					for (int y = 0; y < 1000; y += 100) {
+						router.addObstacle(new Rectangle(x, y, 40, 30));
+					}
+				}
+				Path[] paths = router == sequential ? sequentialPaths : parallelPaths;
+				for (int i = 0; i < paths.length; i++) {
+					paths[i] = new Path(new Point(i * 23 % 1000, i * 7 % 1000 + 50),
+							new Point(i * 61 % 1000, i * 37 % 1000 + 50));
+					if (i % 5 == 0) {
+						paths[i].setBendPoints(new PointList(new int[] { 470, 580 }));
+					}
+					router.addPath(paths[i]);
+				}
+				router.solve();
+				router.updateObstacle(new Rectangle(500, 500, 40, 30), new Rectangle(450, 560, 40, 30));
+				router.solve();
+			}
+			for (int i = 0; i < sequentialPaths.length; i++) {
+				assertArrayEquals(sequentialPaths[i].getPoints().toIntArray(), parallelPaths[i].getPoints().toIntArray());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	@Test
 	public void testQuadBendHit() {
 		routing.addObstacle(quadBendBottom.getCopy());
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import org.eclipse.swt.graphics.Font;
+
+import org.eclipse.draw2d.FigureUtilities;
+import org.eclipse.draw2d.TextExtentCache;
+import org.eclipse.draw2d.TextUtilities;
+import org.eclipse.draw2d.geometry.Dimension;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TextExtentCacheTest extends BaseTestCase {
+
+	private static final String[] STRINGS = { "", "a", "Hello World", "AVAVAV To", "tab\tbed", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			"line\nbreak", "\u00e4\u00f6\u00fc\u00df", "\u65e5\u672c\u8a9e" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	private final TextExtentCache cache = FigureUtilities.getTextExtentCache();
+
+	@Before
+	public void setUp() {
+		cache.clear();
+		cache.resetStatistics();
+	}
+
+	@After
+	public void tearDown() {
+		cache.setCapacity(TextExtentCache.DEFAULT_CAPACITY);
+		cache.setCharacterWidthTableEnabled(false);
+		cache.clear();
+	}
+
+	private static Dimension[] measure(Font font) {
+		Dimension[] result = new Dimension[STRINGS.length * 2];
+		for (int i = 0; i < STRINGS.length; i++) {
+			result[2 * i] = TextUtilities.INSTANCE.getTextExtents(STRINGS[i], font);
+			result[2 * i + 1] = TextUtilities.INSTANCE.getStringExtents(STRINGS[i], font);
+		}
+		return result;
+	}
+
+	@Test
+	public void testCachedExtentsMatchMeasuredExtents() {
+		cache.setCapacity(0);
+		Dimension[] expected = measure(TAHOMA);
+		cache.setCapacity(TextExtentCache.DEFAULT_CAPACITY);
+		assertArrayEquals(expected, measure(TAHOMA));
+		assertArrayEquals(expected, measure(TAHOMA));
+		assertEquals(STRINGS.length * 2, cache.getMissCount());
+		assertEquals(STRINGS.length * 2, cache.getHitCount());
+	}
+
+	@Test
+	public void testReturnedExtentsAreCopies() {
+		Dimension d = FigureUtilities.getTextExtents("Hello", TAHOMA); //$NON-NLS-1$
+		int width = d.width;
+		d.width = -5;
+		assertEquals(width, FigureUtilities.getTextExtents("Hello", TAHOMA).width); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testCapacity() {
+		cache.setCapacity(4);
+		for (int i = 0; i < 10; i++) {
+			FigureUtilities.getTextWidth(String.valueOf(i), TAHOMA);
+		}
+		assertEquals(4, cache.size());
+		assertEquals(6, cache.getEvictionCount());
+		FigureUtilities.getTextWidth("9", TAHOMA); //$NON-NLS-1$
+		assertEquals(1, cache.getHitCount());
+		FigureUtilities.getTextWidth("0", TAHOMA); //$NON-NLS-1$
+		assertEquals(11, cache.getMissCount());
+	}
+
+	@Test
+	public void testEvict() {
+		FigureUtilities.getTextWidth("Hello", TAHOMA); //$NON-NLS-1$
+		FigureUtilities.getTextWidth("Hello", SERIF); //$NON-NLS-1$
+		cache.evict(TAHOMA);
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testDisposedFontIsEvicted() {
+		Font font = new Font(null, "Serif", 10, 0); //$NON-NLS-1$
+		FigureUtilities.getTextWidth("Hello", font); //$NON-NLS-1$
+		font.dispose();
+		FigureUtilities.getTextWidth("Hello", SERIF); //$NON-NLS-1$
+		Font other = new Font(null, "Serif", 12, 0); //$NON-NLS-1$
+		try {
+			cache.setCapacity(0);
+			int expected = FigureUtilities.getTextWidth("Hello", other); //$NON-NLS-1$
+			cache.setCapacity(TextExtentCache.DEFAULT_CAPACITY);
+			assertEquals(expected, FigureUtilities.getTextWidth("Hello", other)); //$NON-NLS-1$
+		} finally {
+			other.dispose();
+		}
+	}
+
+	@Test
+	public void testCharacterWidthTable() {
+		Font mono = new Font(null, "Monospace", 10, 0); //$NON-NLS-1$
+		try {
+			cache.setCapacity(0);
+			Dimension[] expected = measure(mono);
+			cache.setCapacity(TextExtentCache.DEFAULT_CAPACITY);
+			cache.setCharacterWidthTableEnabled(true);
+			assertArrayEquals(expected, measure(mono));
+		} finally {
+			mono.dispose();
+		}
+	}
+
+}
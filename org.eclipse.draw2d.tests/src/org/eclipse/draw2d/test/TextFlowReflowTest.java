@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.draw2d.text.FlowPage;
+import org.eclipse.draw2d.text.ParagraphTextLayout;
+import org.eclipse.draw2d.text.TextFlow;
+import org.eclipse.draw2d.text.TextFragmentBox;
+
+import org.junit.Test;
+
+public class TextFlowReflowTest extends BaseTestCase {
+
+	private static final String[] WORDS = { "the", "quick", "brown", "fox", "jumps", "over", "a", "lazy", "dog,", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$
+			"antidisestablishmentarianism", "end.\n" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static TextFlow createFlow(FlowPage page, int style, boolean incremental) {
+		TextFlow flow = new TextFlow();
+		ParagraphTextLayout layout = new ParagraphTextLayout(flow, style);
+		layout.setIncremental(incremental);
+		flow.setLayoutManager(layout);
+		flow.setFont(SERIF);
+		page.add(flow);
+		return flow;
+	}
+
+	private static String randomText(Random random, int length) {
+		StringBuilder result = new StringBuilder();
+		while (result.length() < length) {
+			result.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+		}
+		return result.toString();
+	}
+
+	private static void assertSameFragments(TextFlow expected, TextFlow actual) {
+		List<? extends TextFragmentBox> expectedFragments = expected.getFragments();
+		List<? extends TextFragmentBox> actualFragments = actual.getFragments();
+		assertEquals(expectedFragments.size(), actualFragments.size());
+		for (int i = 0; i < expectedFragments.size(); i++) {
+			TextFragmentBox e = expectedFragments.get(i);
+			TextFragmentBox a = actualFragments.get(i);
+			assertEquals(e.offset, a.offset);
+			assertEquals(e.length, a.length);
+			assertEquals(e.getWidth(), a.getWidth());
+			assertEquals(e.getX(), a.getX());
+			assertEquals(e.getBaseline(), a.getBaseline());
+			assertEquals(e.isTruncated(), a.isTruncated());
+		}
+	}
+
+	private static void doTest(int style) {
+		Random random = new Random(42);
+		FlowPage expectedPage = new FlowPage();
+		TextFlow expected = createFlow(expectedPage, style, false);
+		TextFlow expectedTail = createFlow(expectedPage, style, false);
+		FlowPage actualPage = new FlowPage();
+		TextFlow actual = createFlow(actualPage, style, true);
+		TextFlow actualTail = createFlow(actualPage, style, true);
+
+		String text = randomText(random, 5000);
+		for (int i = 0; i < 100; i++) {
+			int width = i % 25 == 0 ? 150 + random.nextInt(200) : expectedPage.getSize().width;
+			int start = random.nextInt(text.length());
+			int end = Math.min(text.length(), start + random.nextInt(20));
+			String insert = randomText(random, random.nextInt(3) * random.nextInt(30));
+			text = text.substring(0, start) + insert + text.substring(end);
+			String tail = i % 10 == 0 ? randomText(random, 20) : expectedTail.getText();
+
+			expected.setText(text);
+			expectedTail.setText(tail);
+			expectedPage.setSize(width, 1000);
+			expectedPage.validate();
+			actual.setText(text);
+			actualTail.setText(tail);
+			actualPage.setSize(width, 1000);
+			actualPage.validate();
+
+			assertSameFragments(expected, actual);
+			assertSameFragments(expectedTail, actualTail);
+		}
+	}
+
+	@Test
+	public void testHardWrapping() {
+		doTest(ParagraphTextLayout.WORD_WRAP_HARD);
+	}
+
+	@Test
+	public void testSoftWrapping() {
+		doTest(ParagraphTextLayout.WORD_WRAP_SOFT);
+	}
+
+	@Test
+	public void testTruncatedWrapping() {
+		doTest(ParagraphTextLayout.WORD_WRAP_TRUNCATE);
+	}
+
+}
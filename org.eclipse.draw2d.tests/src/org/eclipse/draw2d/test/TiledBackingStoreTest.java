@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import java.util.Map;
+
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.draw2d.ColorConstants;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.RectangleFigure;
+import org.eclipse.draw2d.SWTGraphics;
+import org.eclipse.draw2d.TiledBackingStore;
+import org.eclipse.draw2d.Viewport;
+import org.eclipse.draw2d.XYLayout;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TiledBackingStoreTest extends BaseTestCase {
+
+	private static final int VIEWPORT_SIZE = 500;
+
+	private Viewport viewport;
+	private IFigure contents;
+	private TiledBackingStore store;
+
+	@Before
+	public void setUp() {
+		viewport = new Viewport(true);
+		viewport.setBounds(new Rectangle(0, 0, VIEWPORT_SIZE, VIEWPORT_SIZE));
+		viewport.setOpaque(true);
+		viewport.setBackgroundColor(ColorConstants.white);
+		viewport.setForegroundColor(ColorConstants.black);
+		contents = new Figure();
+		contents.setLayoutManager(new XYLayout());
+		for (int i = 0; i < 40; i++) {
+			RectangleFigure child = new RectangleFigure();
+			child.setBackgroundColor(i % 2 == 0 ? ColorConstants.red : ColorConstants.blue);
+			contents.add(child, new Rectangle(i * 47, i * 31, 60, 40));
+		}
+		contents.setBounds(new Rectangle(0, 0, 2000, 2000));
+		viewport.setContents(contents);
+		viewport.validate();
+		store = new TiledBackingStore();
+	}
+
+	@After
+	public void tearDown() {
+		store.dispose();
+	}
+
+	private Image paint() {
+		Image image = new Image(Display.getDefault(), VIEWPORT_SIZE, VIEWPORT_SIZE);
+		GC gc = new GC(image);
+		SWTGraphics graphics = new SWTGraphics(gc);
+		viewport.paint(graphics);
+		graphics.dispose();
+		gc.dispose();
+		return image;
+	}
+
+	private void assertPaintsLikeViewport() {
+		viewport.setBackingStore(null);
+		Image expected = paint();
+		viewport.setBackingStore(store);
+		Image actual = paint();
+		try {
+			assertEquals(expected, actual);
+		} finally {
+			expected.dispose();
+			actual.dispose();
+		}
+	}
+
+	@Test
+	public void testTilesAreReused() {
+		viewport.setBackingStore(store);
+		paint().dispose();
+		assertEquals(4, store.getRenderedTileCount());
+		assertEquals(4, store.getDrawnTileCount());
+
+		paint().dispose();
+		assertEquals(4, store.getRenderedTileCount());
+		assertEquals(8, store.getDrawnTileCount());
+		assertPaintsLikeViewport();
+	}
+
+	@Test
+	public void testScrollingRendersExposedTiles() {
+		viewport.setBackingStore(store);
+		paint().dispose();
+		viewport.setViewLocation(TiledBackingStore.TILE_SIZE, 0);
+		// Scrolling only dirties the viewport itself
+		store.notifyDirtyRegions(Map.of(viewport, viewport.getBounds()));
+		store.resetStatistics();
+		paint().dispose();
+		assertEquals(2, store.getRenderedTileCount());
+		assertPaintsLikeViewport();
+	}
+
+	@Test
+	public void testDirtyRegionInvalidatesTile() {
+		viewport.setBackingStore(store);
+		paint().dispose();
+		IFigure child = contents.getChildren().get(0);
+		child.setBackgroundColor(ColorConstants.green);
+		store.notifyDirtyRegions(Map.of(child, child.getBounds()));
+		store.resetStatistics();
+		paint().dispose();
+		assertEquals(1, store.getRenderedTileCount());
+		assertPaintsLikeViewport();
+	}
+
+	@Test
+	public void testContentsBoundsInvalidateAllTiles() {
+		viewport.setBackingStore(store);
+		paint().dispose();
+		contents.setBounds(new Rectangle(10, 10, 2000, 2000));
+		store.resetStatistics();
+		paint().dispose();
+		assertEquals(4, store.getRenderedTileCount());
+		assertPaintsLikeViewport();
+	}
+
+	@Test
+	public void testLeastRecentlyUsedTilesAreDisposed() {
+		store.dispose();
+		store = new TiledBackingStore(6);
+		viewport.setBackingStore(store);
+		for (int x = 0; x < 1500; x += 100) {
+			viewport.setViewLocation(x, 0);
+			paint().dispose();
+			assertTrue(store.getTileCount() <= 6);
+		}
+		assertPaintsLikeViewport();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testStoreOnTwoViewports() {
+		viewport.setBackingStore(store);
+		new Viewport(true).setBackingStore(store);
+	}
+
+}
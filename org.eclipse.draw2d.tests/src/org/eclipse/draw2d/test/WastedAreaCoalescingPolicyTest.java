@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.draw2d.WastedAreaCoalescingPolicy;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+import org.junit.Test;
+
+public class WastedAreaCoalescingPolicyTest {
+
+	private final WastedAreaCoalescingPolicy policy = new WastedAreaCoalescingPolicy(0.3, 4);
+
+	@Test
+	public void testDistantRegionsAreKept() {
+		List<Rectangle> regions = new ArrayList<>(
+				Arrays.asList(new Rectangle(0, 0, 10, 10), new Rectangle(990, 990, 10, 10)));
+		policy.coalesce(regions);
+		assertEquals(2, regions.size());
+	}
+
+	@Test
+	public void testAdjacentRegionsAreMerged() {
+		List<Rectangle> regions = new ArrayList<>(
+				Arrays.asList(new Rectangle(0, 0, 10, 10), new Rectangle(10, 0, 10, 10), new Rectangle(5, 5, 10, 10)));
+		policy.coalesce(regions);
+		assertEquals(1, regions.size());
+		assertEquals(new Rectangle(0, 0, 20, 15), regions.get(0));
+	}
+
+	@Test
+	public void testQualifyingPairIsMergedBesideSmallerWaste() {
+		// the tiny regions waste less area than the large ones, but half of their
+		// union, while the large regions waste less than 2% of theirs
+		List<Rectangle> regions = new ArrayList<>(Arrays.asList(new Rectangle(0, 0, 1, 1),
+				new Rectangle(3, 0, 1, 1), new Rectangle(100, 100, 100, 100), new Rectangle(110, 110, 100, 100)));
+		policy.coalesce(regions);
+		assertEquals(3, regions.size());
+		assertTrue(regions.contains(new Rectangle(100, 100, 110, 110)));
+		assertTrue(regions.contains(new Rectangle(0, 0, 1, 1)));
+		assertTrue(regions.contains(new Rectangle(3, 0, 1, 1)));
+	}
+
+	@Test
+	public void testMaximumNumberOfRegions() {
+		List<Rectangle> input = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			input.add(new Rectangle(i * 100, (i % 3) * 100, 10, 10));
+		}
+		List<Rectangle> regions = new ArrayList<>(input);
+		policy.coalesce(regions);
+		assertTrue(regions.size() <= 4);
+		for (Rectangle damaged : input) {
+			assertTrue(regions.stream().anyMatch(region -> region.contains(damaged)));
+		}
+	}
+
+}
@@ -31,9 +31,70 @@ import org.eclipse.draw2d.geometry.Dimension;
  */
 public abstract class AbstractHintLayout extends AbstractLayout {
 
+	/**
+	 * The number of hint combinations for which sizes are cached.
+	 */
+	private static final int CACHE_SIZE = 4;
+
+	/**
+	 * Used as the hint for a dimension the layout is not sensitive to.
+	 */
+	private static final int ANY_HINT = Integer.MIN_VALUE;
+
+	private long cacheHits;
+	private long cacheMisses;
+	private long stableRevalidations;
+
 	private Dimension minimumSize = null;
-	private final Dimension cachedPreferredHint = new Dimension(-1, -1);
-	private final Dimension cachedMinimumHint = new Dimension(-1, -1);
+	private SizeCache preferredSizes = new SizeCache();
+	private SizeCache minimumSizes = new SizeCache();
+	private SizeCache previousPreferredSizes = new SizeCache();
+	private SizeCache previousMinimumSizes = new SizeCache();
+	private boolean sizeStabilityCheck;
+
+	/**
+	 * A small most-recently-used cache of sizes keyed by width and height hint.
+	 */
+	private static final class SizeCache {
+		final int[] wHints = new int[CACHE_SIZE];
+		final int[] hHints = new int[CACHE_SIZE];
+		final Dimension[] sizes = new Dimension[CACHE_SIZE];
+		int size;
+
+		Dimension get(int w, int h) {
+			for (int i = 0; i < size; i++) {
+				if (wHints[i] == w && hHints[i] == h) {
+					Dimension result = sizes[i];
+					moveToFront(i, w, h, result);
+					return result;
+				}
+			}
+			return null;
+		}
+
+		void put(int w, int h, Dimension d) {
+			if (size < CACHE_SIZE) {
+				size++;
+			}
+			moveToFront(size - 1, w, h, d);
+		}
+
+		private void moveToFront(int index, int w, int h, Dimension d) {
+			System.arraycopy(wHints, 0, wHints, 1, index);
+			System.arraycopy(hHints, 0, hHints, 1, index);
+			System.arraycopy(sizes, 0, sizes, 1, index);
+			wHints[0] = w;
+			hHints[0] = h;
+			sizes[0] = d;
+		}
+
+		void clear() {
+			for (int i = 0; i < size; i++) {
+				sizes[i] = null;
+			}
+			size = 0;
+		}
+	}
 
 	/**
 	 * Calculates the minimum size using the given width and height hints. This
@@ -54,21 +115,67 @@ public abstract class AbstractHintLayout extends AbstractLayout {
 		return getPreferredSize(container, wHint, hHint);
 	}
 
+	/**
+	 * Returns the number of preferred and minimum size requests to this layout
+	 * which were answered from the cache.
+	 *
+	 * @return the number of cache hits
+	 * @since 3.17
+	 */
+	public long getCacheHitCount() {
+		return cacheHits;
+	}
+
+	/**
+	 * Returns the number of preferred and minimum size requests to this layout
+	 * which had to be calculated.
+	 *
+	 * @return the number of cache misses
+	 * @since 3.17
+	 */
+	public long getCacheMissCount() {
+		return cacheMisses;
+	}
+
+	/**
+	 * Returns the number of times a revalidation stopped at the container of this
+	 * layout because its sizes were unchanged.
+	 *
+	 * @return the number of revalidations which did not reach the parent
+	 * @see #setSizeStabilityCheck(boolean)
+	 * @since 3.17
+	 */
+	public long getStableRevalidationCount() {
+		return stableRevalidations;
+	}
+
+	/**
+	 * Resets the cache statistics of this layout.
+	 *
+	 * @since 3.17
+	 */
+	public void resetCacheStatistics() {
+		cacheHits = 0;
+		cacheMisses = 0;
+		stableRevalidations = 0;
+	}
+
 	/**
 	 * @see org.eclipse.draw2d.LayoutManager#getMinimumSize(IFigure, int, int)
 	 */
 	@Override
 	public Dimension getMinimumSize(IFigure container, int w, int h) {
-		boolean flush = cachedMinimumHint.width != w && isSensitiveHorizontally(container);
-		flush |= cachedMinimumHint.height != h && isSensitiveVertically(container);
-		if (flush) {
-			minimumSize = null;
-			cachedMinimumHint.width = w;
-			cachedMinimumHint.height = h;
-		}
-		if (minimumSize == null) {
-			minimumSize = calculateMinimumSize(container, w, h);
+		int wKey = isSensitiveHorizontally(container) ? w : ANY_HINT;
+		int hKey = isSensitiveVertically(container) ? h : ANY_HINT;
+		Dimension cached = minimumSizes.get(wKey, hKey);
+		if (cached != null) {
+			cacheHits++;
+			minimumSize = cached;
+			return minimumSize;
 		}
+		cacheMisses++;
+		minimumSize = calculateMinimumSize(container, w, h);
+		minimumSizes.put(wKey, hKey, minimumSize);
 		return minimumSize;
 	}
 
@@ -77,14 +184,20 @@ public abstract class AbstractHintLayout extends AbstractLayout {
 	 */
 	@Override
 	public final Dimension getPreferredSize(IFigure container, int w, int h) {
-		boolean flush = cachedPreferredHint.width != w && isSensitiveHorizontally(container);
-		flush |= cachedPreferredHint.height != h && isSensitiveVertically(container);
-		if (flush) {
-			preferredSize = null;
-			cachedPreferredHint.width = w;
-			cachedPreferredHint.height = h;
+		int wKey = isSensitiveHorizontally(container) ? w : ANY_HINT;
+		int hKey = isSensitiveVertically(container) ? h : ANY_HINT;
+		Dimension cached = preferredSizes.get(wKey, hKey);
+		if (cached != null) {
+			cacheHits++;
+			preferredSize = cached;
+			return preferredSize;
 		}
-		return super.getPreferredSize(container, w, h);
+		cacheMisses++;
+		preferredSize = null;
+		Dimension d = super.getPreferredSize(container, w, h);
+		preferredSize = d;
+		preferredSizes.put(wKey, hKey, d);
+		return d;
 	}
 
 	/**
@@ -95,9 +208,69 @@ public abstract class AbstractHintLayout extends AbstractLayout {
 	@Override
 	public void invalidate() {
 		minimumSize = null;
+		if (sizeStabilityCheck) {
+			// Keep the sizes last handed out, until new ones have been requested
+			if (preferredSizes.size > 0) {
+				SizeCache swap = previousPreferredSizes;
+				previousPreferredSizes = preferredSizes;
+				preferredSizes = swap;
+			}
+			if (minimumSizes.size > 0) {
+				SizeCache swap = previousMinimumSizes;
+				previousMinimumSizes = minimumSizes;
+				minimumSizes = swap;
+			}
+		}
+		preferredSizes.clear();
+		minimumSizes.clear();
 		super.invalidate();
 	}
 
+	/**
+	 * Returns <code>true</code> if the container's revalidation may stop at the
+	 * container when its sizes are unchanged.
+	 *
+	 * @return <code>true</code> if the size stability check is enabled
+	 * @see #setSizeStabilityCheck(boolean)
+	 * @since 3.17
+	 */
+	public boolean isSizeStabilityCheck() {
+		return sizeStabilityCheck;
+	}
+
+	/**
+	 * Returns <code>true</code> if the size stability check is enabled and the
+	 * container's preferred and minimum sizes, recomputed for all hints which were
+	 * requested before the last invalidation, are unchanged. Called by
+	 * {@link Figure#revalidate()} after the container has been invalidated.
+	 *
+	 * @param container the layout's container
+	 * @return <code>true</code> if the parent does not need to be revalidated
+	 */
+	boolean isSizeStable(IFigure container) {
+		if (!sizeStabilityCheck || previousPreferredSizes.size == 0) {
+			return false;
+		}
+		if (!isStable(previousPreferredSizes, true, container)
+				|| !isStable(previousMinimumSizes, false, container)) {
+			return false;
+		}
+		stableRevalidations++;
+		return true;
+	}
+
+	private static boolean isStable(SizeCache previous, boolean preferred, IFigure container) {
+		for (int i = 0; i < previous.size; i++) {
+			int w = previous.wHints[i] == ANY_HINT ? -1 : previous.wHints[i];
+			int h = previous.hHints[i] == ANY_HINT ? -1 : previous.hHints[i];
+			Dimension current = preferred ? container.getPreferredSize(w, h) : container.getMinimumSize(w, h);
+			if (!previous.sizes[i].equals(current)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Returns whether this layout manager is sensitive to changes in the horizontal
 	 * hint. By default, this method returns <code>true</code>.
@@ -123,4 +296,25 @@ public abstract class AbstractHintLayout extends AbstractLayout {
 		return true;
 	}
 
+	/**
+	 * Enables the size stability check. When enabled, {@link Figure#revalidate()}
+	 * recomputes the container's preferred and minimum sizes for the hints which
+	 * were requested since the last invalidation. If none of them changed, the
+	 * container's parent layout is unaffected, so only the container is queued for
+	 * validation instead of revalidating the whole parent chain.
+	 * <P>
+	 * This assumes that the container's preferred and minimum sizes are the ones
+	 * calculated by this layout. It is disabled by default.
+	 *
+	 * @param enabled <code>true</code> to enable the check
+	 * @since 3.17
+	 */
+	public void setSizeStabilityCheck(boolean enabled) {
+		sizeStabilityCheck = enabled;
+		if (!enabled) {
+			previousPreferredSizes.clear();
+			previousMinimumSizes.clear();
+		}
+	}
+
 }
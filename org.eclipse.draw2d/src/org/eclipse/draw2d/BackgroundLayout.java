@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * A layout manager which computes the layout of a {@link SnapshotLayoutManager}
+ * on a worker thread. Validation proceeds in three steps:
+ * <ol>
+ * <li>When the container is laid out, a {@link LayoutSnapshot} is taken on the
+ * UI thread and the container is considered valid. Its children keep their
+ * current bounds for now.</li>
+ * <li>The new bounds are computed from the snapshot using the given
+ * {@link Executor}.</li>
+ * <li>The result is applied to all children at once on the UI thread, after
+ * which the children are validated.</li>
+ * </ol>
+ * If the container is invalidated, a constraint changes or a child is removed
+ * while a layout is being computed, the result is stale and discarded. Since the
+ * container has been invalidated in that case, a new layout is computed once it
+ * is validated again.
+ * <P>
+ * Preferred and minimum sizes are still computed synchronously by the
+ * delegate. If there is no display on the calling thread, the layout is
+ * computed and applied immediately, as it is if the executor rejects it.
+ *
+ * @since 3.17
+ */
+public class BackgroundLayout implements LayoutManager {
+
+	private final SnapshotLayoutManager delegate;
+	private final Executor executor;
+
+	/**
+	 * Incremented whenever a change makes a computed layout stale.
+	 */
+	private int generation;
+	private int pendingGeneration = -1;
+	private int discardedLayouts;
+
+	/**
+	 * Creates a new background layout.
+	 *
+	 * @param delegate the layout manager computing the layout
+	 * @param executor the executor on which layouts are computed
+	 */
+	public BackgroundLayout(SnapshotLayoutManager delegate, Executor executor) {
+		this.delegate = delegate;
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns the layout manager computing the layout.
+	 *
+	 * @return the delegate
+	 */
+	public SnapshotLayoutManager getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * Returns the number of computed layouts which were discarded because they
+	 * were stale.
+	 *
+	 * @return the number of discarded layouts
+	 */
+	public int getDiscardedLayoutCount() {
+		return discardedLayouts;
+	}
+
+	/**
+	 * Returns <code>true</code> while a layout is being computed for the current
+	 * state of the container.
+	 *
+	 * @return <code>true</code> if a layout is pending
+	 */
+	public boolean isLayoutPending() {
+		return pendingGeneration == generation;
+	}
+
+	/**
+	 * @see LayoutManager#getConstraint(IFigure)
+	 */
+	@Override
+	public Object getConstraint(IFigure child) {
+		return delegate.getConstraint(child);
+	}
+
+	/**
+	 * @see LayoutManager#getMinimumSize(IFigure, int, int)
+	 */
+	@Override
+	public Dimension getMinimumSize(IFigure container, int wHint, int hHint) {
+		return delegate.getMinimumSize(container, wHint, hHint);
+	}
+
+	/**
+	 * @see LayoutManager#getPreferredSize(IFigure, int, int)
+	 */
+	@Override
+	public Dimension getPreferredSize(IFigure container, int wHint, int hHint) {
+		return delegate.getPreferredSize(container, wHint, hHint);
+	}
+
+	/**
+	 * @see LayoutManager#invalidate()
+	 */
+	@Override
+	public void invalidate() {
+		generation++;
+		delegate.invalidate();
+	}
+
+	/**
+	 * Takes a snapshot of the container and schedules the computation of its
+	 * layout, unless one is already pending for the current state.
+	 *
+	 * @see LayoutManager#layout(IFigure)
+	 */
+	@Override
+	public void layout(IFigure container) {
+		if (isLayoutPending()) {
+			return;
+		}
+		LayoutSnapshot snapshot = delegate.createSnapshot(container);
+		Display display = Display.getCurrent();
+		if (display == null) {
+			SnapshotLayoutManager.applyLayout(snapshot, delegate.computeLayout(snapshot));
+			return;
+		}
+		int snapshotGeneration = generation;
+		pendingGeneration = snapshotGeneration;
+		try {
+			executor.execute(() -> {
+				Rectangle[] bounds;
+				try {
+					bounds = delegate.computeLayout(snapshot);
+				} catch (RuntimeException e) {
+					// Retried synchronously, so that the failure surfaces on the UI thread
+					bounds = null;
+				}
+				Rectangle[] result = bounds;
+				if (!display.isDisposed()) {
+					display.asyncExec(() -> apply(snapshot, result, snapshotGeneration));
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// Shut down or saturated, no result would ever arrive
+			pendingGeneration = -1;
+			SnapshotLayoutManager.applyLayout(snapshot, delegate.computeLayout(snapshot));
+		}
+	}
+
+	private void apply(LayoutSnapshot snapshot, Rectangle[] bounds, int snapshotGeneration) {
+		if (pendingGeneration == snapshotGeneration) {
+			pendingGeneration = -1;
+		}
+		IFigure container = snapshot.getContainer();
+		if (snapshotGeneration != generation) {
+			// The container has been invalidated and will be laid out again
+			discardedLayouts++;
+			return;
+		}
+		if (!container.getChildren().equals(snapshot.getChildren())
+				|| !container.getClientArea().equals(snapshot.getClientArea())) {
+			// Moved without being invalidated
+			discardedLayouts++;
+			container.revalidate();
+			return;
+		}
+		if (bounds == null) {
+			delegate.layout(container);
+		} else {
+			SnapshotLayoutManager.applyLayout(snapshot, bounds);
+		}
+		container.getChildren().forEach(IFigure::validate);
+	}
+
+	/**
+	 * @see LayoutManager#remove(IFigure)
+	 */
+	@Override
+	public void remove(IFigure child) {
+		generation++;
+		delegate.remove(child);
+	}
+
+	/**
+	 * @see LayoutManager#setConstraint(IFigure, Object)
+	 */
+	@Override
+	public void setConstraint(IFigure child, Object constraint) {
+		generation++;
+		delegate.setConstraint(child, constraint);
+	}
+
+}
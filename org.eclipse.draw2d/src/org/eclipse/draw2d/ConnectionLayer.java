@@ -14,11 +14,21 @@
  *******************************************************************************/
 package org.eclipse.draw2d;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.swt.SWT;
 
 /**
  * Layer designed specifically to handle the presence of connections. This is
  * done due to the necessity of having a router for the connections added.
+ * <p>
+ * When the layer is validated, its invalid {@link PolylineConnection
+ * PolylineConnections} are routed in one pass per router with
+ * {@link ConnectionRouter#routeAll(List)}, before they are laid out. The time
+ * spent routing is recorded for each such routing cycle.
  */
 public class ConnectionLayer extends FreeformLayer {
 
@@ -29,6 +39,12 @@ public class ConnectionLayer extends FreeformLayer {
 	 */
 	protected ConnectionRouter connectionRouter;
 
+	private long routingCycles;
+	private long routedConnections;
+	private long totalRoutingNanos;
+	private long lastRoutingNanos;
+	private int lastRoutedConnections;
+
 	/**
 	 * Adds the given figure with the given contraint at the given index. If the
 	 * figure is a {@link Connection}, its {@link ConnectionRouter} is set.
@@ -49,6 +65,59 @@ public class ConnectionLayer extends FreeformLayer {
 		}
 	}
 
+	/**
+	 * Returns the average time in milliseconds spent routing connections in a
+	 * routing cycle.
+	 *
+	 * @return the average routing time in milliseconds
+	 * @since 3.17
+	 */
+	public double getAverageRoutingTime() {
+		return routingCycles == 0 ? 0 : totalRoutingNanos / (routingCycles * 1_000_000d);
+	}
+
+	/**
+	 * Returns the number of connections routed in the last routing cycle.
+	 *
+	 * @return the number of connections routed in the last cycle
+	 * @since 3.17
+	 */
+	public int getLastRoutedConnectionCount() {
+		return lastRoutedConnections;
+	}
+
+	/**
+	 * Returns the time in milliseconds spent routing connections in the last
+	 * routing cycle.
+	 *
+	 * @return the last routing time in milliseconds
+	 * @since 3.17
+	 */
+	public double getLastRoutingTime() {
+		return lastRoutingNanos / 1_000_000d;
+	}
+
+	/**
+	 * Returns the number of connections routed in all routing cycles.
+	 *
+	 * @return the number of routed connections
+	 * @since 3.17
+	 */
+	public long getRoutedConnectionCount() {
+		return routedConnections;
+	}
+
+	/**
+	 * Returns the number of validations of this layer which routed at least one
+	 * connection.
+	 *
+	 * @return the number of routing cycles
+	 * @since 3.17
+	 */
+	public long getRoutingCycleCount() {
+		return routingCycles;
+	}
+
 	/**
 	 * Returns the ConnectionRouter being used by this layer.
 	 *
@@ -81,9 +150,79 @@ public class ConnectionLayer extends FreeformLayer {
 		if (figure instanceof Connection conn) {
 			conn.setConnectionRouter(null);
 		}
+		if (figure instanceof PolylineConnection conn) {
+			conn.routedByLayer = false;
+		}
 		super.remove(figure);
 	}
 
+	/**
+	 * Resets the routing statistics.
+	 *
+	 * @since 3.17
+	 */
+	public void resetRoutingStatistics() {
+		routingCycles = 0;
+		routedConnections = 0;
+		totalRoutingNanos = 0;
+		lastRoutingNanos = 0;
+		lastRoutedConnections = 0;
+	}
+
+	/**
+	 * Routes the invalid connections in one pass per router. The connections are
+	 * marked as routed, so that they do not route themselves again when they are
+	 * laid out.
+	 */
+	private void routeInvalidConnections() {
+		Map<ConnectionRouter, List<PolylineConnection>> batches = new LinkedHashMap<>();
+		for (IFigure child : getChildren()) {
+			if (child instanceof PolylineConnection conn && conn.needsRouting()) {
+				batches.computeIfAbsent(conn.getConnectionRouter(), router -> new ArrayList<>()).add(conn);
+			}
+		}
+		if (batches.isEmpty()) {
+			return;
+		}
+		long start = System.nanoTime();
+		int count = 0;
+		for (Map.Entry<ConnectionRouter, List<PolylineConnection>> batch : batches.entrySet()) {
+			routeBatch(batch.getKey(), batch.getValue());
+			count += batch.getValue().size();
+		}
+		lastRoutingNanos = System.nanoTime() - start;
+		lastRoutedConnections = count;
+		routingCycles++;
+		routedConnections += count;
+		totalRoutingNanos += lastRoutingNanos;
+	}
+
+	/**
+	 * Routes the given connections, which share the given router, in one pass. The
+	 * routing listeners of the connections are notified before and after the
+	 * whole batch, and the connections which a listener routes itself are left
+	 * out of the batch.
+	 */
+	private static void routeBatch(ConnectionRouter router, List<PolylineConnection> connections) {
+		List<PolylineConnection> batch = new ArrayList<>(connections.size());
+		for (PolylineConnection conn : connections) {
+			PolylineConnection.RoutingNotifier notifier = conn.getRoutingNotifier();
+			if (notifier == null || !notifier.preRoute(conn)) {
+				batch.add(conn);
+			}
+		}
+		if (!batch.isEmpty()) {
+			router.routeAll(batch);
+		}
+		for (PolylineConnection conn : connections) {
+			PolylineConnection.RoutingNotifier notifier = conn.getRoutingNotifier();
+			if (notifier != null) {
+				notifier.postRoute(conn);
+			}
+			conn.routedByLayer = true;
+		}
+	}
+
 	/**
 	 * Sets the ConnectionRouter for this layer. This router is set as the
 	 * ConnectionRouter for all the child connections of this Layer.
@@ -113,4 +252,19 @@ public class ConnectionLayer extends FreeformLayer {
 		this.antialias = antialias;
 	}
 
+	/**
+	 * Routes all invalid connections of this layer in one pass per router before
+	 * validating the layer and its children.
+	 *
+	 * @see ConnectionRouter#routeAll(List)
+	 * @since 3.17
+	 */
+	@Override
+	public void validate() {
+		if (!isValid()) {
+			routeInvalidConnections();
+		}
+		super.validate();
+	}
+
 }
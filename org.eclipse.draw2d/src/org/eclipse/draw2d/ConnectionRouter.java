@@ -12,6 +12,8 @@
  *******************************************************************************/
 package org.eclipse.draw2d;
 
+import java.util.List;
+
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.PointList;
 
@@ -47,6 +49,22 @@ public interface ConnectionRouter {
 	 */
 	void route(Connection connection);
 
+	/**
+	 * Routes the given connections in one pass. A {@link ConnectionLayer} calls
+	 * this once per validation with all of its invalid connections which use this
+	 * router, in the order of its children, instead of letting each connection
+	 * call {@link #route(Connection)} when it is laid out. Routers which keep state
+	 * across connections, such as a spatial index of the routed segments, may
+	 * override this to update that state once for the whole batch. The default
+	 * implementation routes each connection in turn.
+	 *
+	 * @param connections the connections to route
+	 * @since 3.17
+	 */
+	default void routeAll(List<? extends Connection> connections) {
+		connections.forEach(this::route);
+	}
+
 	/**
 	 * Removes the Connection from this router.
 	 *
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.List;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * A policy used by the {@link DeferredUpdateManager} to decide how the damaged
+ * regions of an update are combined before they are repainted. Every rectangle
+ * left in the list after {@link #coalesce(List)} returns is repainted
+ * separately.
+ *
+ * @see DeferredUpdateManager#setDamageCoalescingPolicy(DamageCoalescingPolicy)
+ * @since 3.17
+ */
+public interface DamageCoalescingPolicy {
+
+	/**
+	 * Combines the given damaged regions. The list may be modified in place, by
+	 * removing, adding or changing rectangles, as long as the remaining rectangles
+	 * cover every region passed in. All rectangles are in absolute coordinates and
+	 * are never empty.
+	 *
+	 * @param regions the damaged regions, modified in place
+	 */
+	void coalesce(List<Rectangle> regions);
+
+}
@@ -49,6 +49,9 @@ public class DeferredUpdateManager extends UpdateManager {
 
 	private Rectangle damage;
 	private Map<IFigure, Rectangle> dirtyRegions = new HashMap<>();
+	private Map<IFigure, Rectangle> spareDirtyRegions = new HashMap<>();
+	private final List<Rectangle> damagedRegions = new ArrayList<>();
+	private DamageCoalescingPolicy coalescingPolicy;
 
 	private GraphicsSource graphicsSource;
 	private final List<IFigure> invalidFigures = new ArrayList<>();
@@ -59,6 +62,19 @@ public class DeferredUpdateManager extends UpdateManager {
 	private boolean validating;
 	private RunnableChain afterUpdate;
 
+	private int frameInterval;
+	private int currentFrameInterval;
+	private long lastFrameStart;
+	private long frameCount;
+	private long totalFrameNanos;
+	private long droppedFrames;
+	private long coalescedRequests;
+
+	/**
+	 * The factor by which the frame interval may grow when frames overrun.
+	 */
+	private static final int MAX_BACK_OFF = 8;
+
 	private static class RunnableChain {
 		RunnableChain next;
 		Runnable run;
@@ -190,6 +206,7 @@ public class DeferredUpdateManager extends UpdateManager {
 			return;
 		}
 		updating = true;
+		long start = System.nanoTime();
 		try {
 			performValidation();
 			updateQueued = false;
@@ -204,9 +221,133 @@ public class DeferredUpdateManager extends UpdateManager {
 			}
 		} finally {
 			updating = false;
+			frameCompleted(start, System.nanoTime());
+		}
+	}
+
+	/**
+	 * Updates the frame statistics and, if the frame rate is capped, adapts the
+	 * frame interval. An overrunning frame doubles the interval up to
+	 * {@link #MAX_BACK_OFF} times the target. A frame which would also fit into
+	 * half of the interval halves it back towards the target, so that a workload
+	 * between one and two intervals settles on the doubled interval instead of
+	 * alternating between the two.
+	 */
+	private void frameCompleted(long start, long end) {
+		long cost = end - start;
+		lastFrameStart = start;
+		frameCount++;
+		totalFrameNanos += cost;
+		if (frameInterval <= 0) {
+			return;
+		}
+		if (cost > currentFrameInterval * 1_000_000L) {
+			droppedFrames++;
+			currentFrameInterval = Math.min(currentFrameInterval * 2, frameInterval * MAX_BACK_OFF);
+		} else if (2 * cost <= currentFrameInterval * 1_000_000L) {
+			currentFrameInterval = Math.max(frameInterval, currentFrameInterval / 2);
 		}
 	}
 
+	/**
+	 * Returns the average time in milliseconds spent in {@link #performUpdate()}.
+	 *
+	 * @return the average frame cost in milliseconds
+	 * @since 3.17
+	 */
+	public double getAverageFrameTime() {
+		return frameCount == 0 ? 0 : totalFrameNanos / (frameCount * 1_000_000d);
+	}
+
+	/**
+	 * Returns the frame interval in milliseconds currently in effect, which is
+	 * larger than the target frame interval while updates take longer than the
+	 * target. <code>0</code> if the frame rate is not capped.
+	 *
+	 * @return the current frame interval
+	 * @see #setFrameInterval(int)
+	 * @since 3.17
+	 */
+	public int getCurrentFrameInterval() {
+		return currentFrameInterval;
+	}
+
+	/**
+	 * Returns the number of requests for an update which were absorbed by an
+	 * already queued update.
+	 *
+	 * @return the number of coalesced update requests
+	 * @since 3.17
+	 */
+	public long getCoalescedRequestCount() {
+		return coalescedRequests;
+	}
+
+	/**
+	 * Returns the number of frames which took longer than the current frame
+	 * interval. Always <code>0</code> if the frame rate is not capped.
+	 *
+	 * @return the number of dropped frames
+	 * @since 3.17
+	 */
+	public long getDroppedFrameCount() {
+		return droppedFrames;
+	}
+
+	/**
+	 * Returns the number of updates performed.
+	 *
+	 * @return the number of frames
+	 * @since 3.17
+	 */
+	public long getFrameCount() {
+		return frameCount;
+	}
+
+	/**
+	 * Returns the target frame interval in milliseconds, or <code>0</code> if
+	 * updates are performed as soon as possible.
+	 *
+	 * @return the target frame interval
+	 * @since 3.17
+	 */
+	public int getFrameInterval() {
+		return frameInterval;
+	}
+
+	/**
+	 * Resets the frame statistics.
+	 *
+	 * @since 3.17
+	 */
+	public void resetFrameStatistics() {
+		frameCount = 0;
+		totalFrameNanos = 0;
+		droppedFrames = 0;
+		coalescedRequests = 0;
+	}
+
+	/**
+	 * Caps the rate at which updates are performed. If the interval is positive,
+	 * validation and repainting requested within one interval after the start of
+	 * the previous update are batched into a single update, which is scheduled
+	 * using {@link Display#timerExec(int, Runnable)}. If an update takes longer
+	 * than the interval, the interval is temporarily increased to give the event
+	 * loop room for user input. If <code>0</code>, which is the default, updates
+	 * are posted using {@link Display#asyncExec(Runnable)} as soon as work is
+	 * queued.
+	 *
+	 * @param millis the target frame interval in milliseconds, e.g. 16 for 60 fps
+	 * @since 3.17
+	 */
+	public void setFrameInterval(int millis) {
+		if (millis < 0) {
+			throw new IllegalArgumentException("Frame interval must not be negative"); //$NON-NLS-1$
+		}
+		frameInterval = millis;
+		currentFrameInterval = millis;
+	}
+
 	/**
 	 * @see UpdateManager#performValidation()
 	 */
@@ -250,19 +391,31 @@ public class DeferredUpdateManager extends UpdateManager {
 		if (!updateQueued) {
 			sendUpdateRequest();
 			updateQueued = true;
+		} else {
+			coalescedRequests++;
 		}
 	}
 
 	/**
 	 * Fires the <code>UpdateRequest</code> to the current display asynchronously.
+	 * If the frame rate is capped, the request is delayed until the current frame
+	 * interval has passed since the start of the previous update.
 	 *
 	 * @since 3.2
+	 * @see #setFrameInterval(int)
 	 */
 	protected void sendUpdateRequest() {
 		Display display = Display.getCurrent();
 		if (display == null) {
 			throw new SWTException(SWT.ERROR_THREAD_INVALID_ACCESS);
 		}
+		if (frameInterval > 0) {
+			long elapsed = (System.nanoTime() - lastFrameStart) / 1_000_000L;
+			if (elapsed < currentFrameInterval) {
+				display.timerExec((int) (currentFrameInterval - elapsed), new UpdateRequest());
+				return;
+			}
+		}
 		display.asyncExec(new UpdateRequest());
 	}
 
@@ -280,8 +433,16 @@ public class DeferredUpdateManager extends UpdateManager {
 	 * Repaints the dirty regions on the update queue and calls
 	 * {@link UpdateManager#firePainting(Rectangle, Map)}, unless there are no dirty
 	 * regions.
+	 * <P>
+	 * Without a {@link DamageCoalescingPolicy}, the union of all dirty regions is
+	 * repainted at once. Otherwise the dirty regions are combined by the policy
+	 * and each resulting region is repainted separately. In both cases listeners
+	 * are notified once, with the union of all dirty regions.
 	 */
 	protected void repairDamage() {
+		if (!dirtyRegions.isEmpty()) {
+			fireDirtyRegions(dirtyRegions);
+		}
 		dirtyRegions.forEach((figure, contribution) -> {
 			IFigure walker = figure.getParent();
 			// A figure can't paint beyond its own bounds
@@ -296,24 +457,49 @@ public class DeferredUpdateManager extends UpdateManager {
 			} else {
 				damage.union(contribution);
 			}
+			if (coalescingPolicy != null && !contribution.isEmpty()) {
+				damagedRegions.add(contribution);
+			}
 		});
 
 		if (!dirtyRegions.isEmpty()) {
 			Map<IFigure, Rectangle> oldRegions = dirtyRegions;
-			dirtyRegions = new HashMap<>();
-			firePainting(damage, oldRegions);
+			if (coalescingPolicy == null) {
+				dirtyRegions = new HashMap<>();
+				firePainting(damage, oldRegions);
+			} else {
+				// With a policy the maps are swapped and reused, see
+				// UpdateListener#notifyPainting
+				dirtyRegions = spareDirtyRegions;
+				firePainting(damage, oldRegions);
+				oldRegions.clear();
+				spareDirtyRegions = oldRegions;
+			}
 		}
 
 		if (damage != null && !damage.isEmpty()) {
-			Graphics graphics = getGraphics(damage);
-			if (graphics != null) {
-				root.paint(graphics);
-				releaseGraphics(graphics);
+			if (coalescingPolicy == null) {
+				repaintRegion(damage);
+			} else {
+				coalescingPolicy.coalesce(damagedRegions);
+				for (Rectangle region : damagedRegions) {
+					damage = region;
+					repaintRegion(region);
+				}
 			}
 		}
+		damagedRegions.clear();
 		damage = null;
 	}
 
+	private void repaintRegion(Rectangle region) {
+		Graphics graphics = getGraphics(region);
+		if (graphics != null) {
+			root.paint(graphics);
+			releaseGraphics(graphics);
+		}
+	}
+
 	/**
 	 * Adds the given runnable and queues an update if an update is not under
 	 * progress.
@@ -328,6 +514,22 @@ public class DeferredUpdateManager extends UpdateManager {
 		}
 	}
 
+	/**
+	 * Sets the policy used to combine the dirty regions of an update before they
+	 * are repainted. If <code>null</code>, which is the default, the union of all
+	 * dirty regions is repainted at once. While a policy is installed, the map of
+	 * dirty regions passed to
+	 * {@link UpdateListener#notifyPainting(Rectangle, Map)} is reused between
+	 * frames.
+	 *
+	 * @param policy the coalescing policy or <code>null</code>
+	 * @see WastedAreaCoalescingPolicy
+	 * @since 3.17
+	 */
+	public void setDamageCoalescingPolicy(DamageCoalescingPolicy policy) {
+		coalescingPolicy = policy;
+	}
+
 	/**
 	 * Sets the graphics source.
 	 *
@@ -130,6 +130,9 @@ public class Figure implements IFigure {
 
 	private AncestorHelper ancestorHelper;
 
+	private SpatialChildIndex childIndex;
+	private boolean renderingCached;
+
 	/**
 	 * Calls {@link #add(IFigure, Object, int)} with -1 as the index.
 	 *
@@ -171,6 +174,10 @@ public class Figure implements IFigure {
 		}
 		figure.setParent(this);
 
+		if (childIndex != null) {
+			childIndex.add(figure);
+		}
+
 		if (layoutManager != null) {
 			layoutManager.setConstraint(figure, constraint);
 		}
@@ -380,6 +387,24 @@ public class Figure implements IFigure {
 		x = PRIVATE_POINT.x;
 		y = PRIVATE_POINT.y;
 
+		if (childIndex != null) {
+			IFigure[] candidates = childIndex.query(x, y);
+			try {
+				for (int i = 0; candidates[i] != null; i++) {
+					IFigure fig = candidates[i];
+					if (fig.isVisible()) {
+						fig = fig.findFigureAt(x, y, search);
+						if (fig != null) {
+							return fig;
+						}
+					}
+				}
+			} finally {
+				childIndex.release(candidates);
+			}
+			return null;
+		}
+
 		for (IFigure fig : getChildrenRevIterable()) {
 			if (fig.isVisible()) {
 				fig = fig.findFigureAt(x, y, search);
@@ -486,17 +511,36 @@ public class Figure implements IFigure {
 			return null;
 		}
 
-		for (IFigure fig : getChildrenRevIterable()) {
-			if (fig.isVisible() && fig.isEnabled() && fig.containsPoint(x, y)) {
-				fig = fig.findMouseEventTargetAt(x, y);
-				if (fig != null) {
-					return fig;
+		if (childIndex != null) {
+			IFigure[] candidates = childIndex.query(x, y);
+			try {
+				for (int i = 0; candidates[i] != null; i++) {
+					IFigure fig = findMouseEventTargetInChild(candidates[i], x, y);
+					if (fig != null) {
+						return fig;
+					}
 				}
+			} finally {
+				childIndex.release(candidates);
+			}
+			return null;
+		}
+		for (IFigure child : getChildrenRevIterable()) {
+			IFigure fig = findMouseEventTargetInChild(child, x, y);
+			if (fig != null) {
+				return fig;
 			}
 		}
 		return null;
 	}
 
+	private static IFigure findMouseEventTargetInChild(IFigure child, int x, int y) {
+		if (child.isVisible() && child.isEnabled() && child.containsPoint(x, y)) {
+			return child.findMouseEventTargetAt(x, y);
+		}
+		return null;
+	}
+
 	/**
 	 * Notifies to all {@link CoordinateListener}s that this figure's local
 	 * coordinate system has changed in a way which affects the absolute bounds of
@@ -1080,6 +1124,9 @@ public class Figure implements IFigure {
 			layoutManager.invalidate();
 		}
 		setValid(false);
+		if (renderingCached) {
+			releaseCachedRendering();
+		}
 	}
 
 	/**
@@ -1091,6 +1138,18 @@ public class Figure implements IFigure {
 		children.forEach(IFigure::invalidateTree);
 	}
 
+	/**
+	 * Returns <code>true</code> if this Figure maintains a spatial index over its
+	 * children.
+	 *
+	 * @return <code>true</code> if the children are indexed
+	 * @see #setChildIndexEnabled(boolean)
+	 * @since 3.17
+	 */
+	public boolean isChildIndexEnabled() {
+		return childIndex != null;
+	}
+
 	/**
 	 * @see IFigure#isCoordinateSystem()
 	 */
@@ -1147,6 +1206,17 @@ public class Figure implements IFigure {
 		return (flags & FLAG_OPAQUE) != 0;
 	}
 
+	/**
+	 * Returns <code>true</code> if this Figure is painted from a cached image.
+	 *
+	 * @return <code>true</code> if the rendering is cached
+	 * @see #setRenderingCached(boolean)
+	 * @since 3.17
+	 */
+	public boolean isRenderingCached() {
+		return renderingCached;
+	}
+
 	/**
 	 * @see IFigure#isRequestFocusEnabled()
 	 */
@@ -1225,6 +1295,18 @@ public class Figure implements IFigure {
 			graphics.setFont(getLocalFont());
 		}
 
+		if (renderingCached && getUpdateManager() != NO_MANAGER
+				&& getUpdateManager().getRenderingCache().paint(this, graphics)) {
+			return;
+		}
+		paintDirectly(graphics);
+	}
+
+	/**
+	 * Paints this Figure, its children and its border without using a cached
+	 * image.
+	 */
+	void paintDirectly(Graphics graphics) {
 		graphics.pushState();
 		try {
 			paintFigure(graphics);
@@ -1261,25 +1343,54 @@ public class Figure implements IFigure {
 	 * @since 2.0
 	 */
 	protected void paintChildren(Graphics graphics) {
-		for (IFigure child : children) {
-			if (child.isVisible()) {
-				// determine clipping areas for child
-				Rectangle[] clipping = null;
-				if (clippingStrategy != null) {
-					clipping = clippingStrategy.getClip(child);
-				} else {
-					// default clipping behaviour is to clip at bounds
-					clipping = new Rectangle[] { child.getBounds() };
-				}
-				// child may now paint inside the clipping areas
-				for (Rectangle element : clipping) {
-					if (element.intersects(graphics.getClip(Rectangle.SINGLETON))) {
-						graphics.clipRect(element);
-						child.paint(graphics);
-						graphics.restoreState();
+		// The clip is restored after each child, so it only needs to be read once
+		Rectangle clip = graphics.getClip(new Rectangle());
+		if (clippingStrategy != null) {
+			for (IFigure child : children) {
+				if (child.isVisible()) {
+					// child may now paint inside the clipping areas
+					for (Rectangle element : clippingStrategy.getClip(child)) {
+						if (element.intersects(clip)) {
+							graphics.clipRect(element);
+							child.paint(graphics);
+							graphics.restoreState();
+						}
 					}
 				}
 			}
+		} else if (childIndex != null) {
+			// only visit the children near the clip, candidates are topmost first
+			IFigure[] candidates = childIndex.query(clip);
+			try {
+				int count = 0;
+				while (candidates[count] != null) {
+					count++;
+				}
+				for (int i = count - 1; i >= 0; i--) {
+					paintChild(graphics, candidates[i], clip);
+				}
+			} finally {
+				childIndex.release(candidates);
+			}
+		} else {
+			for (IFigure child : children) {
+				paintChild(graphics, child, clip);
+			}
+		}
+	}
+
+	/**
+	 * Paints a single child using the default clipping behaviour, which is to clip
+	 * at the child's bounds.
+	 */
+	private static void paintChild(Graphics graphics, IFigure child, Rectangle clip) {
+		if (child.isVisible()) {
+			Rectangle bounds = child.getBounds();
+			if (bounds.intersects(clip)) {
+				graphics.clipRect(bounds);
+				child.paint(graphics);
+				graphics.restoreState();
+			}
 		}
 	}
 
@@ -1388,6 +1499,9 @@ public class Figure implements IFigure {
 		figure.erase();
 		figure.setParent(null);
 		children.remove(figure);
+		if (childIndex != null) {
+			childIndex.remove(figure);
+		}
 		revalidate();
 	}
 
@@ -1492,11 +1606,21 @@ public class Figure implements IFigure {
 		eventListeners.removeListener(MouseMotionListener.class, listener);
 	}
 
+	private void releaseCachedRendering() {
+		UpdateManager manager = getUpdateManager();
+		if (manager != NO_MANAGER) {
+			manager.getRenderingCache().invalidate(this);
+		}
+	}
+
 	/**
 	 * Called prior to this figure's removal from its parent
 	 */
 	@Override
 	public void removeNotify() {
+		if (renderingCached) {
+			releaseCachedRendering();
+		}
 		children.forEach(IFigure::removeNotify);
 		if (internalGetEventDispatcher() != null) {
 			internalGetEventDispatcher().requestRemoveFocus(this);
@@ -1573,13 +1697,23 @@ public class Figure implements IFigure {
 	@Override
 	public void revalidate() {
 		invalidate();
-		if (getParent() == null || isValidationRoot()) {
+		if (getParent() == null || isValidationRoot() || isSizeStable()) {
 			getUpdateManager().addInvalidFigure(this);
 		} else {
 			getParent().revalidate();
 		}
 	}
 
+	/**
+	 * Returns <code>true</code> if this figure's sizes are known to be unaffected
+	 * by its invalidation, so that its parent does not need to be revalidated.
+	 *
+	 * @see AbstractHintLayout#setSizeStabilityCheck(boolean)
+	 */
+	private boolean isSizeStable() {
+		return getLayoutManager() instanceof AbstractHintLayout layout && layout.isSizeStable(this);
+	}
+
 	/**
 	 * @see IFigure#setBackgroundColor(Color)
 	 */
@@ -1658,6 +1792,37 @@ public class Figure implements IFigure {
 		}
 	}
 
+	/**
+	 * Enables or disables the spatial index over this Figure's children. When
+	 * enabled, {@link #findFigureAt(int, int, TreeSearch)} and
+	 * {@link #findMouseEventTargetAt(int, int)} only visit the children whose
+	 * bounds are near the given point, instead of every child. Likewise,
+	 * {@link #paintChildren(Graphics)} only visits the children intersecting the
+	 * current clip, unless a custom {@link IClippingStrategy} is set. This is
+	 * intended for containers with a large number of children, such as a
+	 * {@link FreeformLayer} holding the nodes of a big diagram.
+	 * <P>
+	 * The index is kept up to date as children are added, removed or moved. The
+	 * z-order of the children and the {@link TreeSearch} semantics are unchanged.
+	 * Children which accept points further than a few pixels outside of their
+	 * bounds in {@link IFigure#containsPoint(int, int)} may be missed.
+	 *
+	 * @param enabled <code>true</code> to index the children
+	 * @since 3.17
+	 */
+	public void setChildIndexEnabled(boolean enabled) {
+		if (enabled == (childIndex != null)) {
+			return;
+		}
+		if (enabled) {
+			childIndex = new SpatialChildIndex(this, SpatialChildIndex.DEFAULT_CELL_SIZE,
+					SpatialChildIndex.DEFAULT_TOLERANCE);
+		} else {
+			childIndex.dispose();
+			childIndex = null;
+		}
+	}
+
 	/**
 	 * Sets the direction of any {@link Orientable} children. Allowable values for
 	 * <code>dir</code> are found in {@link PositionConstants}.
@@ -1914,6 +2079,33 @@ public class Figure implements IFigure {
 		setPreferredSize(new Dimension(w, h));
 	}
 
+	/**
+	 * Sets whether this Figure is painted from a cached image. The Figure, its
+	 * children and its border are rendered into an image at the current scale,
+	 * which is drawn instead of painting them again. The image is reused until
+	 * this Figure or one of its descendants is repainted or invalidated, or the
+	 * scale changes. This is intended for static figures which are expensive to
+	 * paint. Disabled by default.
+	 * <P>
+	 * The images of all figures of a {@link LightweightSystem} share the memory
+	 * budget of its {@link RenderingCache}. Figures which are not added to a
+	 * LightweightSystem are always painted directly.
+	 *
+	 * @param cached <code>true</code> to cache the rendering of this Figure
+	 * @see UpdateManager#getRenderingCache()
+	 * @since 3.17
+	 */
+	public void setRenderingCached(boolean cached) {
+		if (renderingCached == cached) {
+			return;
+		}
+		if (!cached) {
+			releaseCachedRendering();
+		}
+		renderingCached = cached;
+		repaint();
+	}
+
 	/**
 	 * @see IFigure#setRequestFocusEnabled(boolean)
 	 */
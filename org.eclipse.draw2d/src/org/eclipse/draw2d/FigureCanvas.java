@@ -76,6 +76,7 @@ public class FigureCanvas extends Canvas {
 	private int vBarVisibility = AUTOMATIC;
 	private int hBarVisibility = AUTOMATIC;
 	private Viewport viewport;
+	private TiledBackingStore backingStore;
 	private Font font;
 	private int hBarOffset;
 	private int vBarOffset;
@@ -222,6 +223,17 @@ public class FigureCanvas extends Canvas {
 		return font;
 	}
 
+	/**
+	 * Returns the backing store from which the viewport is painted.
+	 *
+	 * @return the backing store or <code>null</code> if it is disabled
+	 * @see #setBackingStoreEnabled(boolean)
+	 * @since 3.17
+	 */
+	public TiledBackingStore getBackingStore() {
+		return backingStore;
+	}
+
 	/**
 	 * @return the horizontal scrollbar visibility.
 	 */
@@ -273,6 +285,8 @@ public class FigureCanvas extends Canvas {
 			}
 		});
 
+		addDisposeListener(event -> setBackingStoreEnabled(false));
+
 		getHorizontalBar().addSelectionListener(new SelectionAdapter() {
 			@Override
 			public void widgetSelected(SelectionEvent event) {
@@ -486,6 +500,33 @@ public class FigureCanvas extends Canvas {
 		}
 	}
 
+	/**
+	 * Enables or disables painting the viewport from a {@link TiledBackingStore}.
+	 * When enabled, the contents are rendered into image tiles which are reused
+	 * until their figures are repainted, so that scrolling a large static diagram
+	 * mostly draws images. Disabled by default.
+	 *
+	 * @param enabled <code>true</code> to paint from a backing store
+	 * @since 3.17
+	 */
+	public void setBackingStoreEnabled(boolean enabled) {
+		if (enabled == (backingStore != null)) {
+			return;
+		}
+		if (enabled) {
+			backingStore = new TiledBackingStore();
+			getViewport().setBackingStore(backingStore);
+			getLightweightSystem().getUpdateManager().addUpdateListener(backingStore);
+		} else {
+			getLightweightSystem().getUpdateManager().removeUpdateListener(backingStore);
+			if (viewport != null) {
+				viewport.setBackingStore(null);
+			}
+			backingStore.dispose();
+			backingStore = null;
+		}
+	}
+
 	/**
 	 * Sets the given border on the LightweightSystem's root figure.
 	 *
@@ -554,10 +595,14 @@ public class FigureCanvas extends Canvas {
 	public void setViewport(Viewport vp) {
 		if (viewport != null) {
 			unhookViewport();
+			viewport.setBackingStore(null);
 		}
 		viewport = vp;
 		lws.setContents(viewport);
 		hookViewport();
+		if (backingStore != null) {
+			viewport.setBackingStore(backingStore);
+		}
 	}
 
 	private static int verifyScrollBarOffset(RangeModel model, int value) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
@@ -34,6 +34,7 @@ public class FigureUtilities {
 	private static Font appliedFont;
 	private static FontMetrics metrics;
 	private static Color ghostFillColor = new Color(null, 31, 31, 31);
+	private static final TextExtentCache extentCache = new TextExtentCache();
 
 	/**
 	 * Returns a new Color the same as the passed color in a darker hue.
@@ -93,6 +94,16 @@ public class FigureUtilities {
 		return getGC().textExtent(s);
 	}
 
+	/**
+	 * Returns the cache used to look up text and string extents.
+	 *
+	 * @return the text extent cache
+	 * @since 3.17
+	 */
+	public static TextExtentCache getTextExtentCache() {
+		return extentCache;
+	}
+
 	/**
 	 * Returns the highest ancestor for the given figure
 	 *
@@ -131,7 +142,7 @@ public class FigureUtilities {
 	 * @since 2.0
 	 */
 	public static Dimension getTextExtents(String text, Font f) {
-		return new Dimension(getTextDimension(text, f));
+		return new Dimension(extentCache.getExtents(text, f, true));
 	}
 
 	/**
@@ -143,7 +154,7 @@ public class FigureUtilities {
 	 * @since 2.0
 	 */
 	public static Dimension getStringExtents(String s, Font f) {
-		return new Dimension(getStringDimension(s, f));
+		return new Dimension(extentCache.getExtents(s, f, false));
 	}
 
 	/**
@@ -156,9 +167,7 @@ public class FigureUtilities {
 	 * @since 2.0
 	 */
 	public static void getTextExtents(String s, Font f, Dimension result) {
-		org.eclipse.swt.graphics.Point pt = getTextDimension(s, f);
-		result.width = pt.x;
-		result.height = pt.y;
+		result.setSize(extentCache.getExtents(s, f, true));
 	}
 
 	/**
@@ -170,7 +179,7 @@ public class FigureUtilities {
 	 * @since 2.0
 	 */
 	public static int getTextWidth(String s, Font f) {
-		return getTextDimension(s, f).x;
+		return extentCache.getExtents(s, f, true).width;
 	}
 
 	/**
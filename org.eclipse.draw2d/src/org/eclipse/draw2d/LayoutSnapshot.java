@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.List;
+
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * The state of a container and its children which a
+ * {@link SnapshotLayoutManager} needs to compute a layout. A snapshot is created
+ * on the UI thread and must contain copies of all values, so that the layout can
+ * be computed without accessing any figure. Layout managers which need
+ * additional state may subclass this class.
+ *
+ * @since 3.17
+ */
+public class LayoutSnapshot {
+
+	private final IFigure container;
+	private final List<IFigure> children;
+	private final Rectangle clientArea;
+	private final Dimension[] preferredSizes;
+	private final Dimension[] minimumSizes;
+	private final Dimension[] maximumSizes;
+	private final Object[] constraints;
+
+	/**
+	 * Creates a snapshot of the given container's client area and children. The
+	 * sizes and constraints of the children are initially <code>null</code>.
+	 *
+	 * @param container the container being laid out
+	 */
+	public LayoutSnapshot(IFigure container) {
+		this.container = container;
+		this.children = List.copyOf(container.getChildren());
+		this.clientArea = container.getClientArea().getCopy();
+		int size = children.size();
+		preferredSizes = new Dimension[size];
+		minimumSizes = new Dimension[size];
+		maximumSizes = new Dimension[size];
+		constraints = new Object[size];
+	}
+
+	/**
+	 * Returns the container. Must only be accessed on the UI thread.
+	 *
+	 * @return the container
+	 */
+	public IFigure getContainer() {
+		return container;
+	}
+
+	/**
+	 * Returns the children of the container at the time of the snapshot. Must only
+	 * be accessed on the UI thread.
+	 *
+	 * @return the children
+	 */
+	public List<IFigure> getChildren() {
+		return children;
+	}
+
+	/**
+	 * Returns the number of children.
+	 *
+	 * @return the number of children
+	 */
+	public int getChildCount() {
+		return children.size();
+	}
+
+	/**
+	 * Returns a copy of the container's client area at the time of the snapshot.
+	 *
+	 * @return the client area
+	 */
+	public Rectangle getClientArea() {
+		return clientArea;
+	}
+
+	/**
+	 * Returns the constraint recorded for the child at the given index.
+	 *
+	 * @param index the child index
+	 * @return the constraint or <code>null</code>
+	 */
+	public Object getConstraint(int index) {
+		return constraints[index];
+	}
+
+	/**
+	 * Returns the maximum size recorded for the child at the given index.
+	 *
+	 * @param index the child index
+	 * @return the maximum size or <code>null</code>
+	 */
+	public Dimension getMaximumSize(int index) {
+		return maximumSizes[index];
+	}
+
+	/**
+	 * Returns the minimum size recorded for the child at the given index.
+	 *
+	 * @param index the child index
+	 * @return the minimum size or <code>null</code>
+	 */
+	public Dimension getMinimumSize(int index) {
+		return minimumSizes[index];
+	}
+
+	/**
+	 * Returns the preferred size recorded for the child at the given index.
+	 *
+	 * @param index the child index
+	 * @return the preferred size or <code>null</code>
+	 */
+	public Dimension getPreferredSize(int index) {
+		return preferredSizes[index];
+	}
+
+	/**
+	 * Records the constraint of the child at the given index. Mutable constraints
+	 * must be copied.
+	 *
+	 * @param index      the child index
+	 * @param constraint the constraint
+	 */
+	public void setConstraint(int index, Object constraint) {
+		constraints[index] = constraint;
+	}
+
+	/**
+	 * Records a copy of the maximum size of the child at the given index.
+	 *
+	 * @param index the child index
+	 * @param size  the maximum size
+	 */
+	public void setMaximumSize(int index, Dimension size) {
+		maximumSizes[index] = size.getCopy();
+	}
+
+	/**
+	 * Records a copy of the minimum size of the child at the given index.
+	 *
+	 * @param index the child index
+	 * @param size  the minimum size
+	 */
+	public void setMinimumSize(int index, Dimension size) {
+		minimumSizes[index] = size.getCopy();
+	}
+
+	/**
+	 * Records a copy of the preferred size of the child at the given index.
+	 *
+	 * @param index the child index
+	 * @param size  the preferred size
+	 */
+	public void setPreferredSize(int index, Dimension size) {
+		preferredSizes[index] = size.getCopy();
+	}
+
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.List;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.draw2d.graph.OrthogonalRouter;
+import org.eclipse.draw2d.graph.Path;
+
+/**
+ * Routes multiple connections with horizontal and vertical segments around the
+ * children of a given container figure. Connections which share a channel
+ * between the children are kept apart by the spacing. Unlike the
+ * {@link ManhattanConnectionRouter}, the connections avoid the children, and
+ * when a child moves only the connections near its old and new bounds are
+ * routed again.
+ * <P>
+ * The connections start and end at the border of the children which contain
+ * the reference points of their anchors, so the anchors should be centered on
+ * their figures, like a {@link ChopboxAnchor}.
+ *
+ * @see OrthogonalRouter
+ * @since 3.17
+ */
+public final class OrthogonalConnectionRouter extends AbstractRouter {
+
+	private final OrthogonalRouter algorithm = new OrthogonalRouter();
+	private final RoutingTracker tracker;
+
+	/**
+	 * Creates a new orthogonal router with the given container. The container
+	 * contains all the figures which will be treated as obstacles for the
+	 * connections to avoid. Any time a child of the container moves, the
+	 * connections near it will be revalidated to process the new obstacle
+	 * locations. The connections being routed must not be contained within the
+	 * container.
+	 *
+	 * @param container the container
+	 */
+	public OrthogonalConnectionRouter(IFigure container) {
+		tracker = new RoutingTracker(container) {
+			@Override
+			void addObstacle(Rectangle bounds) {
+				algorithm.addObstacle(bounds);
+			}
+
+			@Override
+			boolean removeObstacle(Rectangle bounds) {
+				return algorithm.removeObstacle(bounds);
+			}
+
+			@Override
+			boolean updateObstacle(Rectangle oldBounds, Rectangle newBounds) {
+				return algorithm.updateObstacle(oldBounds, newBounds);
+			}
+
+			@Override
+			void addPath(Path path) {
+				algorithm.addPath(path);
+			}
+
+			@Override
+			void removePath(Path path) {
+				algorithm.removePath(path);
+			}
+
+			@Override
+			List<Path> solvePaths() {
+				return algorithm.solve();
+			}
+		};
+	}
+
+	/**
+	 * Gets the constraint for the given {@link Connection}. The constraint is the
+	 * list of bend points the connection passes through.
+	 *
+	 * @param connection The connection whose constraint we are retrieving
+	 * @return The constraint
+	 */
+	@Override
+	public List<Bendpoint> getConstraint(Connection connection) {
+		return tracker.getConstraint(connection);
+	}
+
+	/**
+	 * Returns the spacing maintained between connections, and between connections
+	 * and the children of the container. The default value is 4.
+	 *
+	 * @return the connection spacing
+	 */
+	public int getSpacing() {
+		return algorithm.getSpacing();
+	}
+
+	/**
+	 * @see ConnectionRouter#invalidate(Connection)
+	 */
+	@Override
+	public void invalidate(Connection connection) {
+		tracker.invalidate(connection);
+	}
+
+	/**
+	 * @see ConnectionRouter#remove(Connection)
+	 */
+	@Override
+	public void remove(Connection connection) {
+		tracker.remove(connection);
+	}
+
+	/**
+	 * @see ConnectionRouter#route(Connection)
+	 */
+	@Override
+	public void route(Connection conn) {
+		routeStaleConnections();
+	}
+
+	/**
+	 * Routes the given connections, which have been invalidated and are therefore
+	 * stale, together with all other stale connections in a single solve.
+	 *
+	 * @see ConnectionRouter#routeAll(List)
+	 */
+	@Override
+	public void routeAll(List<? extends Connection> connections) {
+		routeStaleConnections();
+	}
+
+	private void routeStaleConnections() {
+		if (tracker.isDirty()) {
+			tracker.setIgnoreInvalidate(true);
+			for (Path path : tracker.solve()) {
+				Connection current = (Connection) path.data;
+				current.revalidate();
+				current.setPoints(path.getPoints().getCopy());
+			}
+			tracker.setIgnoreInvalidate(false);
+		}
+	}
+
+	/**
+	 * @see ConnectionRouter#setConstraint(Connection, Object)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public void setConstraint(Connection connection, Object constraint) {
+		tracker.setConstraint(connection, (List<Bendpoint>) constraint);
+	}
+
+	/**
+	 * Sets the spacing maintained between connections, and between connections and
+	 * the children of the container. Connections which share a channel that is too
+	 * narrow for this spacing are squeezed together uniformly. The default value
+	 * is 4.
+	 *
+	 * @param spacing the connection spacing
+	 */
+	public void setSpacing(int spacing) {
+		algorithm.setSpacing(spacing);
+		tracker.rerouteAll();
+	}
+
+	/**
+	 * Returns the container which contains the figures the connections are routed
+	 * around.
+	 *
+	 * @return the container
+	 */
+	public IFigure getContainer() {
+		return tracker.getContainer();
+	}
+
+}
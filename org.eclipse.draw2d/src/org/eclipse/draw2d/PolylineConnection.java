@@ -37,6 +37,11 @@ public class PolylineConnection extends Polyline implements Connection, AnchorLi
 	private ConnectionAnchor startAnchor;
 	private ConnectionAnchor endAnchor;
 	private ConnectionRouter connectionRouter = ConnectionRouter.NULL;
+	/**
+	 * Whether the connection layer has already routed this connection in the
+	 * current validation, so that {@link #layout()} does not route it again.
+	 */
+	boolean routedByLayer;
 	private RotatableDecoration startArrow;
 	private RotatableDecoration endArrow;
 
@@ -178,7 +183,9 @@ public class PolylineConnection extends Polyline implements Connection, AnchorLi
 	 */
 	@Override
 	public void layout() {
-		if (getSourceAnchor() != null && getTargetAnchor() != null) {
+		if (routedByLayer) {
+			routedByLayer = false;
+		} else if (getSourceAnchor() != null && getTargetAnchor() != null) {
 			connectionRouter.route(this);
 		}
 
@@ -354,6 +361,25 @@ public class PolylineConnection extends Polyline implements Connection, AnchorLi
 		}
 	}
 
+	/**
+	 * Returns the wrapper around the connection router which notifies the routing
+	 * listeners, or <code>null</code> if there are no routing listeners.
+	 */
+	RoutingNotifier getRoutingNotifier() {
+		if (connectionRouter instanceof RoutingNotifier routingNotifier) {
+			return routingNotifier;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns whether this connection needs to be routed, which is when it is
+	 * invalid and both of its anchors are set.
+	 */
+	boolean needsRouting() {
+		return !isValid() && getSourceAnchor() != null && getTargetAnchor() != null;
+	}
+
 	private void unhookTargetAnchor() {
 		if (getTargetAnchor() != null) {
 			getTargetAnchor().removeAnchorListener(this);
@@ -383,14 +409,28 @@ public class PolylineConnection extends Polyline implements Connection, AnchorLi
 
 		@Override
 		public void route(Connection connection) {
+			if (!preRoute(connection)) {
+				realRouter.route(connection);
+			}
+			postRoute(connection);
+		}
+
+		/**
+		 * Notifies the listeners that the given connection is about to be routed by
+		 * the real router and returns whether one of them has routed it instead.
+		 */
+		boolean preRoute(Connection connection) {
 			boolean consumed = false;
 			for (RoutingListener listener : listeners) {
 				consumed |= listener.route(connection);
 			}
-			if (!consumed) {
-				realRouter.route(connection);
-			}
+			return consumed;
+		}
 
+		/**
+		 * Notifies the listeners that the given connection has been routed.
+		 */
+		void postRoute(Connection connection) {
 			listeners.forEach(listener -> listener.postRoute(connection));
 		}
 
@@ -0,0 +1,409 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * Holds the images of figures whose rendering is cached, see
+ * {@link Figure#setRenderingCached(boolean)}. There is one cache per
+ * {@link UpdateManager}, and therefore per {@link LightweightSystem}, which is
+ * returned by {@link UpdateManager#getRenderingCache()}. All images of a cache
+ * share a memory budget. When an image does not fit into the budget, the least
+ * recently painted images are disposed.
+ * <P>
+ * An image is rendered at the absolute scale of the {@link Graphics} and reused
+ * until the figure or one of its descendants is repainted or invalidated, its
+ * size or the scale changes, or the font and colors inherited from its parent
+ * change. Images of figures which are not opaque are rendered twice, on a white
+ * and on a black background, to recover their transparency.
+ * <P>
+ * The cache must only be accessed on the UI thread.
+ *
+ * @since 3.17
+ */
+public final class RenderingCache implements UpdateListener {
+
+	/**
+	 * The default memory budget in bytes.
+	 */
+	public static final long DEFAULT_MEMORY_BUDGET = 32L * 1024 * 1024;
+
+	private static final int BYTES_PER_PIXEL = 4;
+
+	private static final class Entry {
+		final Image image;
+		final double scale;
+		final int width;
+		final int height;
+		final long bytes;
+		final Font font;
+		final Color foreground;
+		final Color background;
+
+		Entry(Image image, double scale, Rectangle bounds, long bytes, Graphics graphics) {
+			this.image = image;
+			this.scale = scale;
+			this.width = bounds.width;
+			this.height = bounds.height;
+			this.bytes = bytes;
+			this.font = graphics.getFont();
+			this.foreground = graphics.getForegroundColor();
+			this.background = graphics.getBackgroundColor();
+		}
+
+		boolean matches(double scale, Rectangle bounds, Graphics graphics) {
+			return this.scale == scale && width == bounds.width && height == bounds.height
+					&& Objects.equals(font, graphics.getFont())
+					&& Objects.equals(foreground, graphics.getForegroundColor())
+					&& Objects.equals(background, graphics.getBackgroundColor());
+		}
+	}
+
+	private final Map<IFigure, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long budget = DEFAULT_MEMORY_BUDGET;
+	private long usage;
+	private boolean rendering;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	RenderingCache() {
+	}
+
+	/**
+	 * Disposes all cached images.
+	 */
+	public void clear() {
+		entries.values().forEach(entry -> entry.image.dispose());
+		entries.clear();
+		usage = 0;
+	}
+
+	/**
+	 * Returns the number of images which were disposed to respect the memory
+	 * budget.
+	 *
+	 * @return the number of evictions
+	 */
+	public long getEvictionCount() {
+		return evictions;
+	}
+
+	/**
+	 * Returns the number of times a figure was painted from its cached image.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * Returns the memory budget in bytes.
+	 *
+	 * @return the memory budget
+	 */
+	public long getMemoryBudget() {
+		return budget;
+	}
+
+	/**
+	 * Returns the approximate number of bytes used by the cached images.
+	 *
+	 * @return the memory usage
+	 */
+	public long getMemoryUsage() {
+		return usage;
+	}
+
+	/**
+	 * Returns the number of times a figure had to be rendered, either into a new
+	 * image or directly because its image would not fit into the budget.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * Disposes the cached image of the given figure, if there is one.
+	 *
+	 * @param figure the figure
+	 */
+	public void invalidate(IFigure figure) {
+		Entry entry = entries.remove(figure);
+		if (entry != null) {
+			entry.image.dispose();
+			usage -= entry.bytes;
+		}
+	}
+
+	/**
+	 * Disposes the cached images of the dirty figures and their ancestors.
+	 *
+	 * @see UpdateListener#notifyDirtyRegions(Map)
+	 */
+	@Override
+	public void notifyDirtyRegions(Map<IFigure, Rectangle> dirtyRegions) {
+		if (entries.isEmpty()) {
+			return;
+		}
+		for (IFigure figure : dirtyRegions.keySet()) {
+			for (IFigure f = figure; f != null; f = f.getParent()) {
+				invalidate(f);
+			}
+		}
+	}
+
+	/**
+	 * @see UpdateListener#notifyPainting(Rectangle, Map)
+	 */
+	@Override
+	public void notifyPainting(Rectangle damage, Map<IFigure, Rectangle> dirtyRegions) {
+		// images are disposed before the dirty regions are translated
+	}
+
+	/**
+	 * @see UpdateListener#notifyValidating()
+	 */
+	@Override
+	public void notifyValidating() {
+		// invalidated figures dispose their images themselves
+	}
+
+	/**
+	 * Resets the statistics of this cache.
+	 */
+	public void resetStatistics() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	/**
+	 * Sets the memory budget in bytes. A budget of 0 disables the cache.
+	 *
+	 * @param budget the memory budget
+	 */
+	public void setMemoryBudget(long budget) {
+		if (budget < 0) {
+			throw new IllegalArgumentException("Budget must not be negative"); //$NON-NLS-1$
+		}
+		this.budget = budget;
+		evict(0);
+	}
+
+	/**
+	 * Returns the number of cached images.
+	 *
+	 * @return the number of cached images
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Paints the given figure from its cached image, rendering the image first if
+	 * necessary. Returns <code>false</code> if the figure must be painted
+	 * directly instead.
+	 */
+	boolean paint(Figure figure, Graphics graphics) {
+		Display display = Display.getCurrent();
+		Rectangle bounds = figure.getBounds();
+		if (rendering || display == null || bounds.isEmpty()) {
+			// Nested figures are part of the image which is being rendered
+			return false;
+		}
+		double scale = graphics.getAbsoluteScale();
+		Entry entry = entries.get(figure);
+		if (entry != null && !entry.matches(scale, bounds, graphics)) {
+			invalidate(figure);
+			entry = null;
+		}
+		if (entry == null) {
+			misses++;
+			int width = (int) Math.ceil(bounds.width * scale);
+			int height = (int) Math.ceil(bounds.height * scale);
+			long bytes = (long) width * height * BYTES_PER_PIXEL;
+			if (bytes > budget) {
+				return false;
+			}
+			evict(bytes);
+			entry = new Entry(render(display, figure, graphics, scale, width, height), scale, bounds, bytes,
+					graphics);
+			entries.put(figure, entry);
+			usage += bytes;
+		} else {
+			hits++;
+		}
+		if (scale == 1.0) {
+			graphics.drawImage(entry.image, bounds.x, bounds.y);
+		} else {
+			org.eclipse.swt.graphics.Rectangle size = entry.image.getBounds();
+			graphics.drawImage(entry.image, 0, 0, size.width, size.height, bounds.x, bounds.y, bounds.width,
+					bounds.height);
+		}
+		return true;
+	}
+
+	/**
+	 * Disposes all images, called when the update manager is disposed.
+	 */
+	void dispose() {
+		clear();
+	}
+
+	/**
+	 * Disposes the least recently painted images until the given number of bytes
+	 * fits into the budget.
+	 */
+	private void evict(long bytes) {
+		Iterator<Entry> iter = entries.values().iterator();
+		while (usage + bytes > budget && iter.hasNext()) {
+			Entry entry = iter.next();
+			iter.remove();
+			entry.image.dispose();
+			usage -= entry.bytes;
+			evictions++;
+		}
+	}
+
+	private Image render(Display display, Figure figure, Graphics graphics, double scale, int width, int height) {
+		if (figure.isOpaque()) {
+			Image image = new Image(display, width, height);
+			render(image, figure, graphics, scale, null);
+			return image;
+		}
+		Image onWhite = new Image(display, width, height);
+		Image onBlack = new Image(display, width, height);
+		try {
+			render(onWhite, figure, graphics, scale, display.getSystemColor(SWT.COLOR_WHITE));
+			render(onBlack, figure, graphics, scale, display.getSystemColor(SWT.COLOR_BLACK));
+			return new Image(display, extractAlpha(onWhite.getImageData(), onBlack.getImageData()));
+		} finally {
+			onWhite.dispose();
+			onBlack.dispose();
+		}
+	}
+
+	private void render(Image image, Figure figure, Graphics graphics, double scale, Color fill) {
+		Rectangle bounds = figure.getBounds();
+		GC gc = new GC(image);
+		SWTGraphics imageGraphics = new SWTGraphics(gc);
+		rendering = true;
+		try {
+			if (scale != 1.0) {
+				imageGraphics.scale(scale);
+			}
+			imageGraphics.translate(-bounds.x, -bounds.y);
+			if (fill != null) {
+				imageGraphics.setBackgroundColor(fill);
+				imageGraphics.fillRectangle(bounds);
+			}
+			if (graphics.getAntialias() != SWT.DEFAULT) {
+				imageGraphics.setAntialias(graphics.getAntialias());
+			}
+			if (graphics.getTextAntialias() != SWT.DEFAULT) {
+				imageGraphics.setTextAntialias(graphics.getTextAntialias());
+			}
+			imageGraphics.setFont(graphics.getFont());
+			imageGraphics.setForegroundColor(graphics.getForegroundColor());
+			imageGraphics.setBackgroundColor(graphics.getBackgroundColor());
+			imageGraphics.clipRect(bounds);
+			figure.paintDirectly(imageGraphics);
+		} finally {
+			rendering = false;
+			imageGraphics.dispose();
+			gc.dispose();
+		}
+	}
+
+	/**
+	 * Computes the colors and transparency of an image from renderings on a white
+	 * and on a black background. The difference between both renderings is the
+	 * amount of background showing through.
+	 */
+	private static ImageData extractAlpha(ImageData onWhite, ImageData onBlack) {
+		int width = onWhite.width;
+		int height = onWhite.height;
+		ImageData result = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		int[] white = new int[width];
+		int[] black = new int[width];
+		int[] pixels = new int[width];
+		byte[] alphas = new byte[width];
+		for (int y = 0; y < height; y++) {
+			onWhite.getPixels(0, y, width, white, 0);
+			onBlack.getPixels(0, y, width, black, 0);
+			for (int x = 0; x < width; x++) {
+				int w = toRGB(onWhite.palette, white[x]);
+				int b = toRGB(onBlack.palette, black[x]);
+				int red = b >> 16 & 0xFF;
+				int green = b >> 8 & 0xFF;
+				int blue = b & 0xFF;
+				int alpha = 255 - ((w >> 16 & 0xFF) - red + (w >> 8 & 0xFF) - green + (w & 0xFF) - blue) / 3;
+				alpha = Math.max(0, Math.min(255, alpha));
+				alphas[x] = (byte) alpha;
+				pixels[x] = alpha == 0 ? 0
+						: unpremultiply(red, alpha) << 16 | unpremultiply(green, alpha) << 8
+								| unpremultiply(blue, alpha);
+			}
+			result.setPixels(0, y, width, pixels, 0);
+			result.setAlphas(0, y, width, alphas, 0);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the color of a pixel as 0xRRGGBB. Unlike
+	 * {@link PaletteData#getRGB(int)}, this does not allocate an {@link RGB} for
+	 * every pixel of a direct palette.
+	 */
+	private static int toRGB(PaletteData palette, int pixel) {
+		if (palette.isDirect) {
+			return channel(pixel, palette.redMask, palette.redShift) << 16
+					| channel(pixel, palette.greenMask, palette.greenShift) << 8
+					| channel(pixel, palette.blueMask, palette.blueShift);
+		}
+		RGB rgb = palette.colors[pixel];
+		return rgb.red << 16 | rgb.green << 8 | rgb.blue;
+	}
+
+	private static int channel(int pixel, int mask, int shift) {
+		int value = pixel & mask;
+		return shift < 0 ? value >>> -shift : value << shift;
+	}
+
+	private static int unpremultiply(int component, int alpha) {
+		return Math.min(255, component * 255 / alpha);
+	}
+
+}
@@ -0,0 +1,324 @@
+/*******************************************************************************
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *     Eclipse contributors - extracted from ShortestPathConnectionRouter
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.draw2d.graph.Path;
+
+/**
+ * Tracks the children of a container as obstacles and the connections routed
+ * around them, for the routers which route connections around the children of
+ * a container. The children are only tracked while there are connections to
+ * route. Subclasses forward the obstacles and paths to the routing algorithm.
+ *
+ * @see ShortestPathConnectionRouter
+ * @see OrthogonalConnectionRouter
+ */
+abstract class RoutingTracker {
+
+	private class LayoutTracker extends LayoutListener.Stub {
+		@Override
+		public void postLayout(IFigure container) {
+			processLayout();
+		}
+
+		@Override
+		public void remove(IFigure child) {
+			removeChild(child);
+		}
+
+		@Override
+		public void setConstraint(IFigure child, Object constraint) {
+			addChild(child);
+		}
+	}
+
+	private final Map<Connection, List<Bendpoint>> constraintMap = new HashMap<>();
+	private Map<IFigure, Rectangle> figuresToBounds;
+	private Map<Connection, Path> connectionToPaths;
+	private boolean isDirty;
+	private final IFigure container;
+	private final Set<Connection> staleConnections = new HashSet<>();
+	private final LayoutListener listener = new LayoutTracker();
+
+	private final FigureListener figureListener = source -> {
+		Rectangle newBounds = source.getBounds().getCopy();
+		if (updateObstacle(figuresToBounds.get(source), newBounds)) {
+			queueSomeRouting();
+			isDirty = true;
+		}
+
+		figuresToBounds.put(source, newBounds);
+	};
+	private boolean ignoreInvalidate;
+
+	/**
+	 * Creates a tracker for the children of the given container.
+	 *
+	 * @param container the container whose children are obstacles
+	 */
+	RoutingTracker(IFigure container) {
+		this.container = container;
+	}
+
+	/**
+	 * Adds an obstacle to the routing algorithm.
+	 */
+	abstract void addObstacle(Rectangle bounds);
+
+	/**
+	 * Removes an obstacle from the routing algorithm and returns whether this
+	 * affects any path.
+	 */
+	abstract boolean removeObstacle(Rectangle bounds);
+
+	/**
+	 * Moves an obstacle of the routing algorithm and returns whether this affects
+	 * any path.
+	 */
+	abstract boolean updateObstacle(Rectangle oldBounds, Rectangle newBounds);
+
+	/**
+	 * Adds a path to the routing algorithm.
+	 */
+	abstract void addPath(Path path);
+
+	/**
+	 * Removes a path from the routing algorithm.
+	 */
+	abstract void removePath(Path path);
+
+	/**
+	 * Routes the dirty paths of the routing algorithm and returns the paths which
+	 * have changed.
+	 */
+	abstract List<Path> solvePaths();
+
+	private void addChild(IFigure child) {
+		if (connectionToPaths == null) {
+			return;
+		}
+		if (figuresToBounds.containsKey(child)) {
+			return;
+		}
+		Rectangle bounds = child.getBounds().getCopy();
+		addObstacle(bounds);
+		figuresToBounds.put(child, bounds);
+		child.addFigureListener(figureListener);
+		isDirty = true;
+	}
+
+	private void hookAll() {
+		figuresToBounds = new HashMap<>();
+		container.getChildren().forEach(this::addChild);
+		container.addLayoutListener(listener);
+	}
+
+	private void unhookAll() {
+		container.removeLayoutListener(listener);
+		if (figuresToBounds != null) {
+			Iterator<Map.Entry<IFigure, Rectangle>> entryItr = figuresToBounds.entrySet().iterator();
+			while (entryItr.hasNext()) {
+				// Must use iterator's remove to avoid concurrent modification
+				Map.Entry<IFigure, Rectangle> entry = entryItr.next();
+				entryItr.remove();
+				entry.getKey().removeFigureListener(figureListener);
+				removeObstacle(entry.getValue());
+			}
+			figuresToBounds = null;
+		}
+	}
+
+	private void removeChild(IFigure child) {
+		if (connectionToPaths == null) {
+			return;
+		}
+		Rectangle bounds = figuresToBounds.remove(child);
+		if (bounds == null) {
+			return;
+		}
+		child.removeFigureListener(figureListener);
+		if (removeObstacle(bounds)) {
+			isDirty = true;
+			queueSomeRouting();
+		}
+	}
+
+	List<Bendpoint> getConstraint(Connection connection) {
+		return constraintMap.get(connection);
+	}
+
+	void setConstraint(Connection connection, List<Bendpoint> constraint) {
+		// Connection.setConstraint() already calls revalidate, so we know that a
+		// route() call will follow.
+		staleConnections.add(connection);
+		constraintMap.put(connection, constraint);
+		isDirty = true;
+	}
+
+	IFigure getContainer() {
+		return container;
+	}
+
+	void invalidate(Connection connection) {
+		if (ignoreInvalidate) {
+			return;
+		}
+		staleConnections.add(connection);
+		isDirty = true;
+	}
+
+	private void processLayout() {
+		if (staleConnections.isEmpty()) {
+			return;
+		}
+		staleConnections.iterator().next().revalidate();
+	}
+
+	private void processStaleConnections() {
+		Iterator<Connection> iter = staleConnections.iterator();
+		if (iter.hasNext() && connectionToPaths == null) {
+			connectionToPaths = new HashMap<>();
+			hookAll();
+		}
+
+		while (iter.hasNext()) {
+			Connection conn = iter.next();
+
+			Path path = connectionToPaths.get(conn);
+			if (path == null) {
+				path = new Path(conn);
+				connectionToPaths.put(conn, path);
+				addPath(path);
+			}
+
+			List<Bendpoint> constraint = getConstraint(conn);
+			if (constraint == null) {
+				constraint = Collections.emptyList();
+			}
+
+			Point start = conn.getSourceAnchor().getReferencePoint().getCopy();
+			Point end = conn.getTargetAnchor().getReferencePoint().getCopy();
+
+			container.translateToRelative(start);
+			container.translateToRelative(end);
+
+			path.setStartPoint(start);
+			path.setEndPoint(end);
+
+			if (!constraint.isEmpty()) {
+				PointList bends = new PointList(constraint.size());
+				constraint.forEach(bp -> bends.addPoint(bp.getLocation()));
+				path.setBendPoints(bends);
+			} else {
+				path.setBendPoints(null);
+			}
+
+			isDirty |= path.isDirty;
+		}
+		staleConnections.clear();
+	}
+
+	/**
+	 * Revalidates one of the routed connections, so that a route() call follows.
+	 */
+	private void queueSomeRouting() {
+		if (connectionToPaths == null || connectionToPaths.isEmpty()) {
+			return;
+		}
+		try {
+			ignoreInvalidate = true;
+			connectionToPaths.keySet().iterator().next().revalidate();
+		} finally {
+			ignoreInvalidate = false;
+		}
+	}
+
+	void remove(Connection connection) {
+		staleConnections.remove(connection);
+		constraintMap.remove(connection);
+		if (connectionToPaths == null) {
+			return;
+		}
+		Path path = connectionToPaths.remove(connection);
+		if (path == null) {
+			return;
+		}
+		removePath(path);
+		isDirty = true;
+		if (connectionToPaths.isEmpty()) {
+			unhookAll();
+			connectionToPaths = null;
+		} else {
+			// Make sure one of the remaining is revalidated so that we can
+			// re-route again.
+			queueSomeRouting();
+		}
+	}
+
+	/**
+	 * Hands the stale connections to the routing algorithm and routes the dirty
+	 * paths, unless nothing is dirty.
+	 *
+	 * @return the paths which have changed
+	 */
+	List<Path> solve() {
+		if (!isDirty) {
+			return Collections.emptyList();
+		}
+		processStaleConnections();
+		isDirty = false;
+		return solvePaths();
+	}
+
+	/**
+	 * Marks the routing as dirty and revalidates one of the routed connections, so
+	 * that all paths are routed again.
+	 */
+	void rerouteAll() {
+		isDirty = true;
+		queueSomeRouting();
+	}
+
+	boolean hasMoreConnections() {
+		return connectionToPaths != null && !connectionToPaths.isEmpty();
+	}
+
+	boolean containsConnection(Connection conn) {
+		return connectionToPaths != null && connectionToPaths.containsKey(conn);
+	}
+
+	boolean isDirty() {
+		return isDirty;
+	}
+
+	void setIgnoreInvalidate(boolean b) {
+		ignoreInvalidate = b;
+	}
+
+	boolean shouldIgnoreInvalidate() {
+		return ignoreInvalidate;
+	}
+
+}
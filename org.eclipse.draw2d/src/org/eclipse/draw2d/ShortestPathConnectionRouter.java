@@ -12,13 +12,7 @@
  *******************************************************************************/
 package org.eclipse.draw2d;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.PointList;
@@ -36,42 +30,8 @@ import org.eclipse.draw2d.graph.ShortestPathRouter;
  */
 public final class ShortestPathConnectionRouter extends AbstractRouter {
 
-	private class LayoutTracker extends LayoutListener.Stub {
-		@Override
-		public void postLayout(IFigure container) {
-			processLayout();
-		}
-
-		@Override
-		public void remove(IFigure child) {
-			removeChild(child);
-		}
-
-		@Override
-		public void setConstraint(IFigure child, Object constraint) {
-			addChild(child);
-		}
-	}
-
-	private final Map<Connection, List<Bendpoint>> constraintMap = new HashMap<>();
-	private Map<IFigure, Rectangle> figuresToBounds;
-	private Map<Connection, Path> connectionToPaths;
-	private boolean isDirty;
 	private ShortestPathRouter algorithm = new ShortestPathRouter();
-	private final IFigure container;
-	private final Set<Connection> staleConnections = new HashSet<>();
-	private final LayoutListener listener = new LayoutTracker();
-
-	private final FigureListener figureListener = source -> {
-		Rectangle newBounds = source.getBounds().getCopy();
-		if (algorithm.updateObstacle(figuresToBounds.get(source), newBounds)) {
-			queueSomeRouting();
-			isDirty = true;
-		}
-
-		figuresToBounds.put(source, newBounds);
-	};
-	private boolean ignoreInvalidate;
+	private final RoutingTracker tracker;
 
 	/**
 	 * Creates a new shortest path router with the given container. The container
@@ -83,43 +43,38 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 	 * @param container the container
 	 */
 	public ShortestPathConnectionRouter(IFigure container) {
-		isDirty = false;
 		algorithm = new ShortestPathRouter();
-		this.container = container;
-	}
+		tracker = new RoutingTracker(container) {
+			@Override
+			void addObstacle(Rectangle bounds) {
+				algorithm.addObstacle(bounds);
+			}
 
-	void addChild(IFigure child) {
-		if (connectionToPaths == null) {
-			return;
-		}
-		if (figuresToBounds.containsKey(child)) {
-			return;
-		}
-		Rectangle bounds = child.getBounds().getCopy();
-		algorithm.addObstacle(bounds);
-		figuresToBounds.put(child, bounds);
-		child.addFigureListener(figureListener);
-		isDirty = true;
-	}
+			@Override
+			boolean removeObstacle(Rectangle bounds) {
+				return algorithm.removeObstacle(bounds);
+			}
 
-	private void hookAll() {
-		figuresToBounds = new HashMap<>();
-		container.getChildren().forEach(this::addChild);
-		container.addLayoutListener(listener);
-	}
+			@Override
+			boolean updateObstacle(Rectangle oldBounds, Rectangle newBounds) {
+				return algorithm.updateObstacle(oldBounds, newBounds);
+			}
 
-	private void unhookAll() {
-		container.removeLayoutListener(listener);
-		if (figuresToBounds != null) {
-			Iterator<IFigure> figureItr = figuresToBounds.keySet().iterator();
-			while (figureItr.hasNext()) {
-				// Must use iterator's remove to avoid concurrent modification
-				IFigure child = figureItr.next();
-				figureItr.remove();
-				removeChild(child);
+			@Override
+			void addPath(Path path) {
+				algorithm.addPath(path);
 			}
-			figuresToBounds = null;
-		}
+
+			@Override
+			void removePath(Path path) {
+				algorithm.removePath(path);
+			}
+
+			@Override
+			List<Path> solvePaths() {
+				return algorithm.solve();
+			}
+		};
 	}
 
 	/**
@@ -132,7 +87,7 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 	 */
 	@Override
 	public List<Bendpoint> getConstraint(Connection connection) {
-		return constraintMap.get(connection);
+		return tracker.getConstraint(connection);
 	}
 
 	/**
@@ -151,74 +106,7 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 	 */
 	@Override
 	public void invalidate(Connection connection) {
-		if (ignoreInvalidate) {
-			return;
-		}
-		staleConnections.add(connection);
-		isDirty = true;
-	}
-
-	private void processLayout() {
-		if (staleConnections.isEmpty()) {
-			return;
-		}
-		staleConnections.iterator().next().revalidate();
-	}
-
-	private void processStaleConnections() {
-		Iterator<Connection> iter = staleConnections.iterator();
-		if (iter.hasNext() && connectionToPaths == null) {
-			connectionToPaths = new HashMap<>();
-			hookAll();
-		}
-
-		while (iter.hasNext()) {
-			Connection conn = iter.next();
-
-			Path path = connectionToPaths.get(conn);
-			if (path == null) {
-				path = new Path(conn);
-				connectionToPaths.put(conn, path);
-				algorithm.addPath(path);
-			}
-
-			List<Bendpoint> constraint = getConstraint(conn);
-			if (constraint == null) {
-				constraint = Collections.emptyList();
-			}
-
-			Point start = conn.getSourceAnchor().getReferencePoint().getCopy();
-			Point end = conn.getTargetAnchor().getReferencePoint().getCopy();
-
-			container.translateToRelative(start);
-			container.translateToRelative(end);
-
-			path.setStartPoint(start);
-			path.setEndPoint(end);
-
-			if (!constraint.isEmpty()) {
-				PointList bends = new PointList(constraint.size());
-				constraint.forEach(bp -> bends.addPoint(bp.getLocation()));
-				path.setBendPoints(bends);
-			} else {
-				path.setBendPoints(null);
-			}
-
-			isDirty |= path.isDirty;
-		}
-		staleConnections.clear();
-	}
-
-	void queueSomeRouting() {
-		if (connectionToPaths == null || connectionToPaths.isEmpty()) {
-			return;
-		}
-		try {
-			ignoreInvalidate = true;
-			connectionToPaths.keySet().iterator().next().revalidate();
-		} finally {
-			ignoreInvalidate = false;
-		}
+		tracker.invalidate(connection);
 	}
 
 	/**
@@ -226,36 +114,7 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 	 */
 	@Override
 	public void remove(Connection connection) {
-		staleConnections.remove(connection);
-		constraintMap.remove(connection);
-		if (connectionToPaths == null) {
-			return;
-		}
-		Path path = connectionToPaths.remove(connection);
-		algorithm.removePath(path);
-		isDirty = true;
-		if (connectionToPaths.isEmpty()) {
-			unhookAll();
-			connectionToPaths = null;
-		} else {
-			// Make sure one of the remaining is revalidated so that we can
-			// re-route again.
-			queueSomeRouting();
-		}
-	}
-
-	void removeChild(IFigure child) {
-		if (connectionToPaths == null) {
-			return;
-		}
-		Rectangle bounds = child.getBounds().getCopy();
-		boolean change = algorithm.removeObstacle(bounds);
-		figuresToBounds.remove(child);
-		child.removeFigureListener(figureListener);
-		if (change) {
-			isDirty = true;
-			queueSomeRouting();
-		}
+		tracker.remove(connection);
 	}
 
 	/**
@@ -263,11 +122,25 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 	 */
 	@Override
 	public void route(Connection conn) {
-		if (isDirty) {
-			ignoreInvalidate = true;
-			processStaleConnections();
-			isDirty = false;
-			for (Path path : algorithm.solve()) {
+		routeStaleConnections();
+	}
+
+	/**
+	 * Routes the given connections, which have been invalidated and are therefore
+	 * stale, together with all other stale connections in a single solve.
+	 *
+	 * @see ConnectionRouter#routeAll(List)
+	 * @since 3.17
+	 */
+	@Override
+	public void routeAll(List<? extends Connection> connections) {
+		routeStaleConnections();
+	}
+
+	private void routeStaleConnections() {
+		if (tracker.isDirty()) {
+			tracker.setIgnoreInvalidate(true);
+			for (Path path : tracker.solve()) {
 				Connection current = (Connection) path.data;
 				current.revalidate();
 
@@ -287,7 +160,7 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 
 				current.setPoints(points);
 			}
-			ignoreInvalidate = false;
+			tracker.setIgnoreInvalidate(false);
 		}
 	}
 
@@ -298,13 +171,7 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 	 * @since 3.5
 	 */
 	public List<Path> getPathsAfterRouting() {
-		if (isDirty) {
-			processStaleConnections();
-			isDirty = false;
-			return algorithm.solve();
-
-		}
-		return Collections.emptyList();
+		return tracker.solve();
 	}
 
 	/**
@@ -313,11 +180,7 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 	@SuppressWarnings("unchecked")
 	@Override
 	public void setConstraint(Connection connection, Object constraint) {
-		// Connection.setConstraint() already calls revalidate, so we know that a
-		// route() call will follow.
-		staleConnections.add(connection);
-		constraintMap.put(connection, (List<Bendpoint>) constraint);
-		isDirty = true;
+		tracker.setConstraint(connection, (List<Bendpoint>) constraint);
 	}
 
 	/**
@@ -337,7 +200,7 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 	 * @since 3.5
 	 */
 	public boolean hasMoreConnections() {
-		return connectionToPaths != null && !connectionToPaths.isEmpty();
+		return tracker.hasMoreConnections();
 	}
 
 	/**
@@ -345,7 +208,7 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 	 * @since 3.5
 	 */
 	public IFigure getContainer() {
-		return container;
+		return tracker.getContainer();
 	}
 
 	/**
@@ -355,7 +218,7 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 	 * @since 3.5
 	 */
 	public void setIgnoreInvalidate(boolean b) {
-		ignoreInvalidate = b;
+		tracker.setIgnoreInvalidate(b);
 	}
 
 	/**
@@ -365,7 +228,7 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 	 * @since 3.5
 	 */
 	public boolean shouldIgnoreInvalidate() {
-		return ignoreInvalidate;
+		return tracker.shouldIgnoreInvalidate();
 	}
 
 	/**
@@ -376,7 +239,7 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 	 * @since 3.5
 	 */
 	public boolean isDirty() {
-		return isDirty;
+		return tracker.isDirty();
 	}
 
 	/**
@@ -388,7 +251,7 @@ public final class ShortestPathConnectionRouter extends AbstractRouter {
 	 * @since 3.5
 	 */
 	public boolean containsConnection(Connection conn) {
-		return connectionToPaths != null && connectionToPaths.containsKey(conn);
+		return tracker.containsConnection(conn);
 	}
 
 }
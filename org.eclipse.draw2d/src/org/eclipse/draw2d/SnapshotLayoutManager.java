@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * A layout manager whose layout is split into two steps, so that the second step
+ * can be performed away from the UI thread:
+ * <ol>
+ * <li>{@link #createSnapshot(IFigure)} records everything the layout depends on,
+ * such as the client area, the constraints and the sizes of the children. It is
+ * called on the UI thread.</li>
+ * <li>{@link #computeLayout(LayoutSnapshot)} computes the new bounds of the
+ * children from the snapshot alone. It may be called on any thread and must
+ * neither access figures nor modify the state of the layout manager.</li>
+ * </ol>
+ * {@link #layout(IFigure)} is expected to be equivalent to computing the layout
+ * of a new snapshot and applying the result immediately.
+ *
+ * @see BackgroundLayout
+ * @since 3.17
+ */
+public interface SnapshotLayoutManager extends LayoutManager {
+
+	/**
+	 * Records the state needed to lay out the given container.
+	 *
+	 * @param container the container to be laid out
+	 * @return the snapshot
+	 */
+	LayoutSnapshot createSnapshot(IFigure container);
+
+	/**
+	 * Computes the bounds of the children recorded in the given snapshot. The
+	 * returned array is indexed like {@link LayoutSnapshot#getChildren()}. A
+	 * <code>null</code> entry leaves the bounds of the corresponding child
+	 * unchanged.
+	 *
+	 * @param snapshot the snapshot
+	 * @return the new bounds of the children
+	 */
+	Rectangle[] computeLayout(LayoutSnapshot snapshot);
+
+	/**
+	 * Applies the bounds computed for the given snapshot to the children.
+	 *
+	 * @param snapshot the snapshot
+	 * @param bounds   the bounds returned by {@link #computeLayout(LayoutSnapshot)}
+	 */
+	static void applyLayout(LayoutSnapshot snapshot, Rectangle[] bounds) {
+		for (int i = 0; i < bounds.length; i++) {
+			if (bounds[i] != null) {
+				snapshot.getChildren().get(i).setBounds(bounds[i]);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,313 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.draw2d.internal.UniformGrid;
+
+/**
+ * A uniform grid over the children of a figure. The grid is maintained
+ * incrementally as children are added, removed or moved and is used to find the
+ * children which may contain a point or intersect a rectangle without visiting
+ * every child.
+ * <P>
+ * The index is conservative: a child is reported whenever its bounds, expanded
+ * by the hit tolerance, touch the queried area. Candidates are always returned
+ * in reverse z-order (topmost child first), so that callers can use the same
+ * iteration logic as when walking the children list directly.
+ * <P>
+ * Queries do not allocate: the candidates are written into a buffer owned by
+ * the index, which the caller hands back with {@link #release(IFigure[])} once
+ * it is done iterating. A query made while the buffer is still in use, for
+ * instance by a child painting or hit testing through the host, gets a buffer of
+ * its own.
+ *
+ * @since 3.17
+ */
+final class SpatialChildIndex implements FigureListener {
+
+	/**
+	 * The default edge length of a grid cell.
+	 */
+	static final int DEFAULT_CELL_SIZE = 128;
+
+	/**
+	 * The default amount by which a child's bounds are expanded. Some figures,
+	 * such as {@link Polyline}, accept hits slightly outside of their bounds.
+	 */
+	static final int DEFAULT_TOLERANCE = 8;
+
+	/**
+	 * Children covering more cells than this are not distributed into the grid
+	 * but kept in a separate list which is checked on every query.
+	 */
+	private static final int MAX_CELLS_PER_CHILD = 64;
+
+	private static final class Entry {
+		final IFigure figure;
+		int z;
+		int stamp;
+		int minCol;
+		int minRow;
+		int maxCol;
+		int maxRow;
+
+		Entry(IFigure figure) {
+			this.figure = figure;
+		}
+	}
+
+	/**
+	 * Collects the children of the visited cells which touch the queried area.
+	 */
+	private final class Collector implements UniformGrid.CellVisitor<Entry> {
+		int x1;
+		int y1;
+		int x2;
+		int y2;
+		int count;
+
+		void reset(int left, int top, int right, int bottom) {
+			x1 = left;
+			y1 = top;
+			x2 = right;
+			y2 = bottom;
+			count = 0;
+			stamp++;
+		}
+
+		@Override
+		public void visit(UniformGrid.Cell<Entry> cell) {
+			for (int i = 0; i < cell.size(); i++) {
+				Entry entry = cell.get(i);
+				if (entry.stamp == stamp) {
+					continue;
+				}
+				Rectangle b = entry.figure.getBounds();
+				if (b.x - tolerance > x2 || b.y - tolerance > y2 || b.x + b.width + tolerance <= x1
+						|| b.y + b.height + tolerance <= y1) {
+					continue;
+				}
+				entry.stamp = stamp;
+				if (count == scratch.length) {
+					Entry[] grown = new Entry[count * 2];
+					System.arraycopy(scratch, 0, grown, 0, count);
+					scratch = grown;
+				}
+				scratch[count++] = entry;
+			}
+		}
+	}
+
+	private final Figure host;
+	private final int tolerance;
+	private final Map<IFigure, Entry> entries = new IdentityHashMap<>();
+	private final UniformGrid<Entry> grid;
+	private final Collector collector = new Collector();
+
+	private boolean orderValid = true;
+	private int stamp;
+	private Entry[] scratch = new Entry[16];
+	private IFigure[] results = new IFigure[16];
+
+	/**
+	 * Creates an index over the current children of the given figure.
+	 *
+	 * @param host      the figure whose children are indexed
+	 * @param cellSize  the edge length of a grid cell
+	 * @param tolerance the amount by which child bounds are expanded
+	 */
+	SpatialChildIndex(Figure host, int cellSize, int tolerance) {
+		this.host = host;
+		this.grid = new UniformGrid<>(cellSize, MAX_CELLS_PER_CHILD);
+		this.tolerance = Math.max(0, tolerance);
+		host.getChildren().forEach(this::add);
+	}
+
+	/**
+	 * Starts tracking the given child. Must be called after the child has been
+	 * added to the host's children list.
+	 *
+	 * @param child the new child
+	 */
+	void add(IFigure child) {
+		Entry entry = new Entry(child);
+		List<? extends IFigure> children = host.getChildren();
+		if (orderValid && children.get(children.size() - 1) == child) {
+			entry.z = children.size() - 1;
+		} else {
+			orderValid = false;
+		}
+		entries.put(child, entry);
+		insert(entry);
+		child.addFigureListener(this);
+	}
+
+	/**
+	 * Stops tracking the given child.
+	 *
+	 * @param child the removed child
+	 */
+	void remove(IFigure child) {
+		Entry entry = entries.remove(child);
+		if (entry == null) {
+			return;
+		}
+		child.removeFigureListener(this);
+		delete(entry);
+		orderValid = false;
+	}
+
+	/**
+	 * Stops tracking all children.
+	 */
+	void dispose() {
+		entries.keySet().forEach(child -> child.removeFigureListener(this));
+		entries.clear();
+		grid.clear();
+	}
+
+	/**
+	 * @see FigureListener#figureMoved(IFigure)
+	 */
+	@Override
+	public void figureMoved(IFigure source) {
+		Entry entry = entries.get(source);
+		if (entry == null) {
+			return;
+		}
+		Rectangle b = source.getBounds();
+		int minCol = grid.cellOf(b.x - tolerance);
+		int minRow = grid.cellOf(b.y - tolerance);
+		int maxCol = grid.cellOf(b.x + b.width + tolerance);
+		int maxRow = grid.cellOf(b.y + b.height + tolerance);
+		if (minCol == entry.minCol && minRow == entry.minRow && maxCol == entry.maxCol
+				&& maxRow == entry.maxRow) {
+			return;
+		}
+		delete(entry);
+		insert(entry);
+	}
+
+	/**
+	 * Returns the children which may contain the given point, topmost first. The
+	 * point is in the coordinate system of the host's children.
+	 *
+	 * @param x the x coordinate
+	 * @param y the y coordinate
+	 * @return the candidate children in reverse z-order, followed by
+	 *         <code>null</code>; to be handed back with {@link #release(IFigure[])}
+	 */
+	IFigure[] query(int x, int y) {
+		collector.reset(x, y, x, y);
+		UniformGrid.Cell<Entry> cell = grid.getCell(grid.cellOf(x), grid.cellOf(y));
+		if (cell != null) {
+			collector.visit(cell);
+		}
+		collector.visit(grid.getOversized());
+		return sorted(collector.count);
+	}
+
+	/**
+	 * Returns the children whose bounds may intersect the given rectangle, topmost
+	 * first. The rectangle is in the coordinate system of the host's children.
+	 *
+	 * @param rect the area being queried
+	 * @return the candidate children in reverse z-order, followed by
+	 *         <code>null</code>; to be handed back with {@link #release(IFigure[])}
+	 */
+	IFigure[] query(Rectangle rect) {
+		if (rect.isEmpty()) {
+			return sorted(0);
+		}
+		int x2 = rect.x + rect.width - 1;
+		int y2 = rect.y + rect.height - 1;
+		collector.reset(rect.x, rect.y, x2, y2);
+		grid.visit(grid.cellOf(rect.x), grid.cellOf(rect.y), grid.cellOf(x2), grid.cellOf(y2), collector);
+		return sorted(collector.count);
+	}
+
+	/**
+	 * Hands back the buffer returned by a query, so that the next query can reuse
+	 * it. The buffer must not be used afterwards.
+	 *
+	 * @param result the buffer returned by {@link #query(int, int)} or
+	 *               {@link #query(Rectangle)}
+	 */
+	void release(IFigure[] result) {
+		for (int i = 0; result[i] != null; i++) {
+			result[i] = null;
+		}
+		if (results == null || results.length < result.length) {
+			results = result;
+		}
+	}
+
+	/**
+	 * Returns the number of indexed children.
+	 *
+	 * @return the number of children
+	 */
+	int size() {
+		return entries.size();
+	}
+
+	private IFigure[] sorted(int count) {
+		IFigure[] result = results;
+		if (result == null || result.length <= count) {
+			result = new IFigure[Math.max(count + 1, 16)];
+		} else {
+			results = null;
+		}
+		if (count > 0 && !orderValid) {
+			List<? extends IFigure> children = host.getChildren();
+			for (int i = 0; i < children.size(); i++) {
+				entries.get(children.get(i)).z = i;
+			}
+			orderValid = true;
+		}
+		// Insertion sort, candidate lists are short
+		for (int i = 1; i < count; i++) {
+			Entry entry = scratch[i];
+			int j = i - 1;
+			while (j >= 0 && scratch[j].z < entry.z) {
+				scratch[j + 1] = scratch[j];
+				j--;
+			}
+			scratch[j + 1] = entry;
+		}
+		for (int i = 0; i < count; i++) {
+			result[i] = scratch[i].figure;
+			scratch[i] = null;
+		}
+		return result;
+	}
+
+	private void insert(Entry entry) {
+		Rectangle b = entry.figure.getBounds();
+		entry.minCol = grid.cellOf(b.x - tolerance);
+		entry.minRow = grid.cellOf(b.y - tolerance);
+		entry.maxCol = grid.cellOf(b.x + b.width + tolerance);
+		entry.maxRow = grid.cellOf(b.y + b.height + tolerance);
+		grid.add(entry, entry.minCol, entry.minRow, entry.maxCol, entry.maxRow);
+	}
+
+	private void delete(Entry entry) {
+		grid.remove(entry, entry.minCol, entry.minRow, entry.maxCol, entry.maxRow);
+	}
+
+}
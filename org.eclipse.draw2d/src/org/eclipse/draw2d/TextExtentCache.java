@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.swt.graphics.Font;
+
+import org.eclipse.draw2d.geometry.Dimension;
+
+/**
+ * A bounded least-recently-used cache of text extents, keyed by font and
+ * string. It is used by the text measuring methods of {@link FigureUtilities}
+ * and therefore by {@link TextUtilities#INSTANCE} and the flow figures. The
+ * shared instance is returned by {@link FigureUtilities#getTextExtentCache()}
+ * and must only be accessed on the UI thread.
+ * <P>
+ * Since fonts do not notify their disposal, entries of a disposed font are
+ * dropped lazily when the font is next used. Clients which dispose a font whose
+ * handle may be reused by a new font should call {@link #evict(Font)}.
+ * <P>
+ * Optionally, the extents of Latin-1 text without tabs or line delimiters can be
+ * computed from a per-character width table. The table is only used for fonts
+ * whose advance widths are verified to add up, like most monospaced fonts.
+ *
+ * @since 3.17
+ */
+public final class TextExtentCache {
+
+	/**
+	 * The default maximum number of cached extents.
+	 */
+	public static final int DEFAULT_CAPACITY = 2048;
+
+	/**
+	 * Longer strings are measured without being cached.
+	 */
+	private static final int MAX_CACHED_LENGTH = 256;
+
+	/**
+	 * Fonts are checked for disposal whenever this many fonts are known.
+	 */
+	private static final int FONT_PRUNE_THRESHOLD = 32;
+
+	private static final int TABLE_SIZE = 256;
+
+	private static final class FontEntry {
+		final Font font;
+		/** The width of each character or -1 if not yet measured. */
+		int[] charWidths;
+		int lineHeight;
+		boolean tableChecked;
+
+		FontEntry(Font font) {
+			this.font = font;
+		}
+	}
+
+	private static final class Key {
+		final FontEntry font;
+		final String string;
+		final boolean expandTabs;
+		final int hash;
+
+		Key(FontEntry font, String string, boolean expandTabs) {
+			this.font = font;
+			this.string = string;
+			this.expandTabs = expandTabs;
+			hash = (System.identityHashCode(font) * 31 + string.hashCode()) * 2 + (expandTabs ? 1 : 0);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key other)) {
+				return false;
+			}
+			return font == other.font && expandTabs == other.expandTabs && string.equals(other.string);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	private final Map<Font, FontEntry> fonts = new HashMap<>();
+	private final Map<Key, Dimension> extents = new LinkedHashMap<>(64, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Dimension> eldest) {
+			if (size() > capacity) {
+				evictions++;
+				return true;
+			}
+			return false;
+		}
+	};
+
+	private int capacity = DEFAULT_CAPACITY;
+	private boolean charWidthTable;
+	private long hits;
+	private long misses;
+	private long tableHits;
+	private long evictions;
+
+	TextExtentCache() {
+	}
+
+	/**
+	 * Removes all cached extents.
+	 */
+	public void clear() {
+		extents.clear();
+		fonts.clear();
+	}
+
+	/**
+	 * Removes all cached extents of the given font. Should be called when a font
+	 * is disposed whose handle may be reused.
+	 *
+	 * @param font the font
+	 */
+	public void evict(Font font) {
+		FontEntry entry = fonts.remove(font);
+		if (entry != null) {
+			evict(entry);
+		}
+	}
+
+	private void evict(FontEntry entry) {
+		Iterator<Key> iter = extents.keySet().iterator();
+		while (iter.hasNext()) {
+			if (iter.next().font == entry) {
+				iter.remove();
+				evictions++;
+			}
+		}
+	}
+
+	/**
+	 * Returns the maximum number of cached extents.
+	 *
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the number of extents which were removed to respect the capacity or
+	 * because their font was evicted.
+	 *
+	 * @return the number of evictions
+	 */
+	public long getEvictionCount() {
+		return evictions;
+	}
+
+	/**
+	 * Returns the number of extents which were answered from the cache.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of extents which had to be measured.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * Returns the number of extents which were computed from a character width
+	 * table.
+	 *
+	 * @return the number of width table hits
+	 */
+	public long getTableHitCount() {
+		return tableHits;
+	}
+
+	/**
+	 * Returns <code>true</code> if character width tables are used.
+	 *
+	 * @return <code>true</code> if character width tables are enabled
+	 * @see #setCharacterWidthTableEnabled(boolean)
+	 */
+	public boolean isCharacterWidthTableEnabled() {
+		return charWidthTable;
+	}
+
+	/**
+	 * Resets the statistics of this cache.
+	 */
+	public void resetStatistics() {
+		hits = 0;
+		misses = 0;
+		tableHits = 0;
+		evictions = 0;
+	}
+
+	/**
+	 * Sets the maximum number of cached extents. A capacity of 0 disables the
+	 * cache.
+	 *
+	 * @param capacity the capacity
+	 */
+	public void setCapacity(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Capacity must not be negative"); //$NON-NLS-1$
+		}
+		this.capacity = capacity;
+		Iterator<Key> iter = extents.keySet().iterator();
+		for (int size = extents.size(); size > capacity; size--) {
+			iter.next();
+			iter.remove();
+			evictions++;
+		}
+	}
+
+	/**
+	 * Enables the computation of extents from per-character width tables. A
+	 * font's table is used for Latin-1 text without tabs or line delimiters, and
+	 * only if the width of a sample string matches the sum of its character
+	 * widths. Disabled by default.
+	 *
+	 * @param enabled <code>true</code> to enable character width tables
+	 */
+	public void setCharacterWidthTableEnabled(boolean enabled) {
+		charWidthTable = enabled;
+	}
+
+	/**
+	 * Returns the number of cached extents.
+	 *
+	 * @return the number of cached extents
+	 */
+	public int size() {
+		return extents.size();
+	}
+
+	/**
+	 * Returns the extents of the given string. The result must not be modified.
+	 *
+	 * @param s          the string
+	 * @param f          the font
+	 * @param expandTabs <code>true</code> to expand tabs and line delimiters
+	 * @return the extents
+	 */
+	Dimension getExtents(String s, Font f, boolean expandTabs) {
+		if (capacity == 0 || f == null) {
+			return measure(s, f, expandTabs);
+		}
+		FontEntry entry = getFontEntry(f);
+		if (charWidthTable) {
+			Dimension d = getTableExtents(entry, s);
+			if (d != null) {
+				tableHits++;
+				return d;
+			}
+		}
+		if (s.length() > MAX_CACHED_LENGTH) {
+			misses++;
+			return measure(s, f, expandTabs);
+		}
+		Key key = new Key(entry, s, expandTabs);
+		Dimension d = extents.get(key);
+		if (d != null) {
+			hits++;
+			return d;
+		}
+		misses++;
+		d = measure(s, f, expandTabs);
+		extents.put(key, d);
+		return d;
+	}
+
+	private FontEntry getFontEntry(Font f) {
+		FontEntry entry = fonts.get(f);
+		if (entry != null && entry.font.isDisposed()) {
+			// The handle has been reused by another font
+			fonts.remove(f);
+			evict(entry);
+			entry = null;
+		}
+		if (entry == null) {
+			if (fonts.size() >= FONT_PRUNE_THRESHOLD) {
+				pruneDisposedFonts();
+			}
+			entry = new FontEntry(f);
+			fonts.put(f, entry);
+		}
+		return entry;
+	}
+
+	private void pruneDisposedFonts() {
+		Iterator<FontEntry> iter = fonts.values().iterator();
+		while (iter.hasNext()) {
+			FontEntry entry = iter.next();
+			if (entry.font.isDisposed()) {
+				iter.remove();
+				evict(entry);
+			}
+		}
+	}
+
+	private Dimension getTableExtents(FontEntry entry, String s) {
+		if (!entry.tableChecked) {
+			initTable(entry);
+		}
+		if (entry.charWidths == null || s.isEmpty()) {
+			return null;
+		}
+		int width = 0;
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c >= TABLE_SIZE || Character.isISOControl(c)) {
+				return null;
+			}
+			int w = entry.charWidths[c];
+			if (w < 0) {
+				w = entry.charWidths[c] = measure(String.valueOf(c), entry.font, false).width;
+			}
+			width += w;
+		}
+		return new Dimension(width, entry.lineHeight);
+	}
+
+	/**
+	 * Creates the character width table of the given font, if its widths add up
+	 * for sample strings which are commonly kerned in proportional fonts.
+	 */
+	private static void initTable(FontEntry entry) {
+		entry.tableChecked = true;
+		int[] widths = new int[TABLE_SIZE];
+		Arrays.fill(widths, -1);
+		int height = -1;
+		for (String pair : new String[] { "iW", "AV", "To" }) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			int pairWidth = 0;
+			for (int i = 0; i < pair.length(); i++) {
+				Dimension d = measure(pair.substring(i, i + 1), entry.font, false);
+				if (height != -1 && d.height != height) {
+					return;
+				}
+				height = d.height;
+				widths[pair.charAt(i)] = d.width;
+				pairWidth += d.width;
+			}
+			Dimension sample = measure(pair.repeat(8), entry.font, false);
+			if (sample.width != 8 * pairWidth || sample.height != height) {
+				return;
+			}
+		}
+		entry.charWidths = widths;
+		entry.lineHeight = height;
+	}
+
+	private static Dimension measure(String s, Font f, boolean expandTabs) {
+		if (expandTabs) {
+			return new Dimension(FigureUtilities.getTextDimension(s, f));
+		}
+		return new Dimension(FigureUtilities.getStringDimension(s, f));
+	}
+
+}
@@ -0,0 +1,390 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * A retained-mode cache of the contents of a {@link Viewport}. The contents are
+ * rendered into square image tiles, which are drawn instead of painting the
+ * figures again. Tiles are kept per absolute scale of the {@link Graphics}, so
+ * that zooming back to a previous scale reuses its tiles. The least recently
+ * used tiles are disposed once more than the maximum number of tiles exist.
+ * <P>
+ * Tiles are invalidated with the dirty regions reported by the
+ * {@link UpdateManager}, so the store must be registered as an update listener
+ * in addition to being set on the viewport using
+ * {@link Viewport#setBackingStore(TiledBackingStore)}.
+ * {@link FigureCanvas#setBackingStoreEnabled(boolean)} does both. The store is
+ * only used by viewports which use graphics translation. Tiles are opaque and
+ * filled with the background color of the viewport.
+ * <P>
+ * A backing store holds native resources and must be disposed when it is no
+ * longer used.
+ *
+ * @since 3.17
+ */
+public class TiledBackingStore implements UpdateListener {
+
+	/**
+	 * The width and height of a tile, in the coordinates of the viewport's
+	 * contents.
+	 */
+	public static final int TILE_SIZE = 256;
+
+	/**
+	 * The default maximum number of tiles.
+	 */
+	public static final int DEFAULT_MAX_TILES = 64;
+
+	private static final class Key {
+		final double scale;
+		final int column;
+		final int row;
+
+		Key(double scale, int column, int row) {
+			this.scale = scale;
+			this.column = column;
+			this.row = row;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key other)) {
+				return false;
+			}
+			return column == other.column && row == other.row && scale == other.scale;
+		}
+
+		@Override
+		public int hashCode() {
+			return (Double.hashCode(scale) * 31 + column) * 31 + row;
+		}
+	}
+
+	private static final class Tile {
+		final Image image;
+		boolean dirty = true;
+
+		Tile(Image image) {
+			this.image = image;
+		}
+	}
+
+	private final int maxTiles;
+	private final Map<Key, Tile> tiles = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Tile> eldest) {
+			if (size() > maxTiles) {
+				eldest.getValue().image.dispose();
+				return true;
+			}
+			return false;
+		}
+	};
+
+	private Viewport viewport;
+
+	/**
+	 * The state the tiles were rendered for. If any of it changes, all tiles are
+	 * invalidated.
+	 */
+	private IFigure renderedContents;
+	private final Rectangle renderedContentsBounds = new Rectangle();
+	private Color renderedBackground;
+
+	private long renderedTiles;
+	private long drawnTiles;
+
+	/**
+	 * Creates a backing store with at most {@link #DEFAULT_MAX_TILES} tiles.
+	 */
+	public TiledBackingStore() {
+		this(DEFAULT_MAX_TILES);
+	}
+
+	/**
+	 * Creates a backing store with at most the given number of tiles. Each tile
+	 * takes up about <code>TILE_SIZE * TILE_SIZE * 4</code> bytes at a scale of
+	 * 1.
+	 *
+	 * @param maxTiles the maximum number of tiles
+	 */
+	public TiledBackingStore(int maxTiles) {
+		if (maxTiles < 1) {
+			throw new IllegalArgumentException("At least one tile is required"); //$NON-NLS-1$
+		}
+		this.maxTiles = maxTiles;
+	}
+
+	/**
+	 * Disposes all tiles. The store may still be used afterwards, in which case
+	 * tiles are rendered again.
+	 */
+	public void dispose() {
+		tiles.values().forEach(tile -> tile.image.dispose());
+		tiles.clear();
+	}
+
+	/**
+	 * Returns the maximum number of tiles.
+	 *
+	 * @return the maximum number of tiles
+	 */
+	public int getMaxTiles() {
+		return maxTiles;
+	}
+
+	/**
+	 * Returns the number of tiles which have been drawn onto the viewport.
+	 *
+	 * @return the number of drawn tiles
+	 */
+	public long getDrawnTileCount() {
+		return drawnTiles;
+	}
+
+	/**
+	 * Returns the number of times a tile has been rendered by painting the
+	 * figures.
+	 *
+	 * @return the number of rendered tiles
+	 */
+	public long getRenderedTileCount() {
+		return renderedTiles;
+	}
+
+	/**
+	 * Returns the number of existing tiles, including invalid ones.
+	 *
+	 * @return the number of tiles
+	 */
+	public int getTileCount() {
+		return tiles.size();
+	}
+
+	/**
+	 * Returns the viewport this store is set on.
+	 *
+	 * @return the viewport or <code>null</code>
+	 */
+	public Viewport getViewport() {
+		return viewport;
+	}
+
+	/**
+	 * Invalidates all tiles.
+	 */
+	public void invalidate() {
+		tiles.values().forEach(tile -> tile.dirty = true);
+	}
+
+	/**
+	 * Invalidates the tiles intersecting the given rectangle, which is in the
+	 * coordinates of the viewport's contents.
+	 *
+	 * @param rect the rectangle to invalidate
+	 */
+	public void invalidate(Rectangle rect) {
+		if (rect.isEmpty() || tiles.isEmpty()) {
+			return;
+		}
+		int firstColumn = Math.floorDiv(rect.x, TILE_SIZE);
+		int lastColumn = Math.floorDiv(rect.right() - 1, TILE_SIZE);
+		int firstRow = Math.floorDiv(rect.y, TILE_SIZE);
+		int lastRow = Math.floorDiv(rect.bottom() - 1, TILE_SIZE);
+		// Iterating the tiles does not change their access order
+		for (Map.Entry<Key, Tile> entry : tiles.entrySet()) {
+			Key key = entry.getKey();
+			if (key.column >= firstColumn && key.column <= lastColumn && key.row >= firstRow && key.row <= lastRow) {
+				entry.getValue().dirty = true;
+			}
+		}
+	}
+
+	/**
+	 * Resets the statistics of this store.
+	 */
+	public void resetStatistics() {
+		renderedTiles = 0;
+		drawnTiles = 0;
+	}
+
+	/**
+	 * Invalidates the tiles covered by dirty regions of the viewport's
+	 * descendants. Dirty regions of the viewport itself, which are caused by
+	 * scrolling, leave the tiles untouched.
+	 *
+	 * @see UpdateListener#notifyDirtyRegions(Map)
+	 */
+	@Override
+	public void notifyDirtyRegions(Map<IFigure, Rectangle> dirtyRegions) {
+		if (viewport == null || tiles.isEmpty()) {
+			return;
+		}
+		Rectangle rect = new Rectangle();
+		dirtyRegions.forEach((figure, region) -> {
+			rect.setBounds(region).intersect(figure.getBounds());
+			IFigure walker = figure.getParent();
+			while (walker != viewport && walker != null && !rect.isEmpty()) {
+				walker.translateToParent(rect);
+				rect.intersect(walker.getBounds());
+				walker = walker.getParent();
+			}
+			if (walker == viewport && figure != viewport) {
+				invalidate(rect);
+			}
+		});
+	}
+
+	/**
+	 * @see UpdateListener#notifyPainting(Rectangle, Map)
+	 */
+	@Override
+	public void notifyPainting(Rectangle damage, Map<IFigure, Rectangle> dirtyRegions) {
+		// tiles are invalidated before the dirty regions are translated
+	}
+
+	/**
+	 * @see UpdateListener#notifyValidating()
+	 */
+	@Override
+	public void notifyValidating() {
+		// layout changes are reported as dirty regions
+	}
+
+	/**
+	 * Paints the children of the viewport from the tiles intersecting the clip,
+	 * rendering the invalid and missing ones first. The graphics is in the
+	 * coordinates of the viewport's contents.
+	 */
+	void paint(Graphics graphics) {
+		Display display = Display.getCurrent();
+		if (display == null) {
+			viewport.paintChildrenDirectly(graphics);
+			return;
+		}
+		checkRenderedState();
+		double scale = graphics.getAbsoluteScale();
+		Rectangle clip = graphics.getClip(new Rectangle());
+		int firstColumn = Math.floorDiv(clip.x, TILE_SIZE);
+		int lastColumn = Math.floorDiv(clip.right() - 1, TILE_SIZE);
+		int firstRow = Math.floorDiv(clip.y, TILE_SIZE);
+		int lastRow = Math.floorDiv(clip.bottom() - 1, TILE_SIZE);
+		if ((long) (lastColumn - firstColumn + 1) * (lastRow - firstRow + 1) > maxTiles) {
+			// The tiles would evict each other while being painted
+			viewport.paintChildrenDirectly(graphics);
+			return;
+		}
+		for (int row = firstRow; row <= lastRow; row++) {
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				Tile tile = getTile(display, new Key(scale, column, row));
+				int x = column * TILE_SIZE;
+				int y = row * TILE_SIZE;
+				if (scale == 1.0) {
+					graphics.drawImage(tile.image, x, y);
+				} else {
+					org.eclipse.swt.graphics.Rectangle size = tile.image.getBounds();
+					graphics.drawImage(tile.image, 0, 0, size.width, size.height, x, y, TILE_SIZE, TILE_SIZE);
+				}
+				drawnTiles++;
+			}
+		}
+	}
+
+	/**
+	 * Invalidates all tiles if the contents of the viewport have been replaced or
+	 * moved, or if its background has changed. These changes are reported as
+	 * dirty regions of the viewport itself, which cannot be told apart from
+	 * scrolling.
+	 */
+	private void checkRenderedState() {
+		IFigure contents = viewport.getContents();
+		Rectangle contentsBounds = contents == null || !contents.isVisible() ? null : contents.getBounds();
+		Color background = viewport.getBackgroundColor();
+		if (contents != renderedContents || (contentsBounds == null ? !renderedContentsBounds.isEmpty()
+				: !contentsBounds.equals(renderedContentsBounds)) || !Objects.equals(background, renderedBackground)) {
+			invalidate();
+			renderedContents = contents;
+			if (contentsBounds == null) {
+				renderedContentsBounds.setBounds(0, 0, 0, 0);
+			} else {
+				renderedContentsBounds.setBounds(contentsBounds);
+			}
+			renderedBackground = background;
+		}
+	}
+
+	private Tile getTile(Display display, Key key) {
+		Tile tile = tiles.get(key);
+		if (tile == null) {
+			int size = (int) Math.ceil(TILE_SIZE * key.scale);
+			tile = new Tile(new Image(display, size, size));
+			tiles.put(key, tile);
+		}
+		if (tile.dirty) {
+			render(tile, key);
+			tile.dirty = false;
+		}
+		return tile;
+	}
+
+	private void render(Tile tile, Key key) {
+		Rectangle rect = new Rectangle(key.column * TILE_SIZE, key.row * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+		GC gc = new GC(tile.image);
+		SWTGraphics graphics = new SWTGraphics(gc);
+		try {
+			if (key.scale != 1.0) {
+				graphics.scale(key.scale);
+			}
+			graphics.translate(-rect.x, -rect.y);
+			graphics.clipRect(rect);
+			graphics.setFont(viewport.getFont());
+			graphics.setForegroundColor(viewport.getForegroundColor());
+			if (viewport.getBackgroundColor() != null) {
+				graphics.setBackgroundColor(viewport.getBackgroundColor());
+				graphics.fillRectangle(rect);
+			}
+			graphics.pushState();
+			viewport.paintChildrenDirectly(graphics);
+			graphics.popState();
+		} finally {
+			graphics.dispose();
+			gc.dispose();
+		}
+		renderedTiles++;
+	}
+
+	/**
+	 * Called when this store is set on the given viewport or removed from it.
+	 */
+	void setViewport(Viewport viewport) {
+		if (this.viewport != viewport) {
+			this.viewport = viewport;
+			renderedContents = null;
+			dispose();
+		}
+	}
+
+}
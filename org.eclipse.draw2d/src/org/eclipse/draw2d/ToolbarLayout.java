@@ -17,6 +17,7 @@ import java.util.List;
 import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Insets;
 import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.draw2d.geometry.Transposer;
 
 /**
  * Arranges figures in a single row or column. Orientation can be set to produce
@@ -26,7 +27,7 @@ import org.eclipse.draw2d.geometry.Rectangle;
  * child's preferred size is smaller than the row's or column's minor dimension,
  * the layout can be configured to stretch the child.
  */
-public class ToolbarLayout extends OrderedLayout {
+public class ToolbarLayout extends OrderedLayout implements SnapshotLayoutManager {
 
 	/**
 	 * Constant for horizontal alignment
@@ -277,31 +278,104 @@ public class ToolbarLayout extends OrderedLayout {
 	public void layout(IFigure parent) {
 		List<? extends IFigure> children = parent.getChildren();
 		int numChildren = children.size();
-		Rectangle clientArea = transposer.t(parent.getClientArea());
-		int x = clientArea.x;
-		int y = clientArea.y;
-		int availableHeight = clientArea.height;
+		Rectangle clientArea = parent.getClientArea();
+		int wHint = getWidthHint(clientArea);
+		int hHint = getHeightHint(clientArea);
 
 		Dimension[] prefSizes = new Dimension[numChildren];
 		Dimension[] minSizes = new Dimension[numChildren];
+		Dimension[] maxSizes = new Dimension[numChildren];
+		for (int i = 0; i < numChildren; i++) {
+			IFigure child = children.get(i);
+			prefSizes[i] = transposer.t(getChildPreferredSize(child, wHint, hHint));
+			minSizes[i] = transposer.t(getChildMinimumSize(child, wHint, hHint));
+			maxSizes[i] = transposer.t(child.getMaximumSize());
+		}
 
-		// Calculate the width and height hints. If it's a vertical
-		// ToolBarLayout,
-		// then ignore the height hint (set it to -1); otherwise, ignore the
-		// width hint. These hints will be passed to the children of the parent
-		// figure when getting their preferred size.
-		int wHint = -1;
-		int hHint = -1;
-		if (isHorizontal()) {
-			hHint = parent.getClientArea(Rectangle.SINGLETON).height;
-		} else {
-			wHint = parent.getClientArea(Rectangle.SINGLETON).width;
+		Rectangle[] bounds = layoutChildren(transposer, clientArea, prefSizes, minSizes, maxSizes, getSpacing(),
+				getMinorAlignment(), isStretchMinorAxis());
+		for (int i = 0; i < numChildren; i++) {
+			children.get(i).setBounds(bounds[i]);
+		}
+	}
+
+	/**
+	 * Records the preferred, minimum and maximum sizes of the children together
+	 * with the current settings of this layout. Subclasses which override
+	 * {@link #layout(IFigure)} must override this method and
+	 * {@link #computeLayout(LayoutSnapshot)} accordingly before they can be used
+	 * with a {@link BackgroundLayout}.
+	 *
+	 * @see SnapshotLayoutManager#createSnapshot(IFigure)
+	 * @since 3.17
+	 */
+	@Override
+	public LayoutSnapshot createSnapshot(IFigure parent) {
+		ToolbarSnapshot snapshot = new ToolbarSnapshot(parent, this);
+		int wHint = getWidthHint(snapshot.getClientArea());
+		int hHint = getHeightHint(snapshot.getClientArea());
+		for (int i = 0; i < snapshot.getChildCount(); i++) {
+			IFigure child = snapshot.getChildren().get(i);
+			snapshot.setPreferredSize(i, getChildPreferredSize(child, wHint, hHint));
+			snapshot.setMinimumSize(i, getChildMinimumSize(child, wHint, hHint));
+			snapshot.setMaximumSize(i, child.getMaximumSize());
+		}
+		return snapshot;
+	}
+
+	/**
+	 * @see SnapshotLayoutManager#computeLayout(LayoutSnapshot)
+	 * @since 3.17
+	 */
+	@Override
+	public Rectangle[] computeLayout(LayoutSnapshot layoutSnapshot) {
+		ToolbarSnapshot snapshot = (ToolbarSnapshot) layoutSnapshot;
+		Transposer snapshotTransposer = snapshot.transposer;
+		int numChildren = snapshot.getChildCount();
+		Dimension[] prefSizes = new Dimension[numChildren];
+		Dimension[] minSizes = new Dimension[numChildren];
+		Dimension[] maxSizes = new Dimension[numChildren];
+		for (int i = 0; i < numChildren; i++) {
+			prefSizes[i] = snapshotTransposer.t(snapshot.getPreferredSize(i));
+			minSizes[i] = snapshotTransposer.t(snapshot.getMinimumSize(i));
+			maxSizes[i] = snapshotTransposer.t(snapshot.getMaximumSize(i));
 		}
+		return layoutChildren(snapshotTransposer, snapshot.getClientArea(), prefSizes, minSizes, maxSizes, snapshot.spacing,
+				snapshot.minorAlignment, snapshot.stretchMinorAxis);
+	}
+
+	/**
+	 * Calculate the width and height hints. If it's a vertical ToolBarLayout, then
+	 * ignore the height hint (set it to -1); otherwise, ignore the width hint.
+	 * These hints will be passed to the children of the parent figure when getting
+	 * their preferred size.
+	 */
+	private int getWidthHint(Rectangle clientArea) {
+		return isHorizontal() ? -1 : clientArea.width;
+	}
+
+	private int getHeightHint(Rectangle clientArea) {
+		return isHorizontal() ? clientArea.height : -1;
+	}
+
+	/**
+	 * Computes the bounds of the children from their transposed preferred, minimum
+	 * and maximum sizes. Used by both the synchronous and the snapshot layout, so
+	 * that they place the children alike.
+	 */
+	private static Rectangle[] layoutChildren(Transposer transposer, Rectangle untransposedClientArea,
+			Dimension[] prefSizes, Dimension[] minSizes, Dimension[] maxSizes, int spacing, int minorAlignment,
+			boolean stretchMinorAxis) {
+		int numChildren = prefSizes.length;
+		Rectangle clientArea = transposer.t(untransposedClientArea);
+		int x = clientArea.x;
+		int y = clientArea.y;
+		int availableHeight = clientArea.height;
+		Rectangle[] result = new Rectangle[numChildren];
 
 		/*
 		 * Calculate sum of preferred heights of all children(totalHeight). Calculate
-		 * sum of minimum heights of all children(minHeight). Cache Preferred Sizes and
-		 * Minimum Sizes of all children.
+		 * sum of minimum heights of all children(minHeight).
 		 *
 		 * totalHeight is the sum of the preferred heights of all children
 		 * totalMinHeight is the sum of the minimum heights of all children
@@ -309,22 +383,16 @@ public class ToolbarLayout extends OrderedLayout {
 		 * preferred heights and minimum heights. (This is used as a ratio to calculate
 		 * how much each child will shrink).
 		 */
-		IFigure child;
 		int totalHeight = 0;
 		int totalMinHeight = 0;
 		int prefMinSumHeight = 0;
 
 		for (int i = 0; i < numChildren; i++) {
-			child = children.get(i);
-
-			prefSizes[i] = transposer.t(getChildPreferredSize(child, wHint, hHint));
-			minSizes[i] = transposer.t(getChildMinimumSize(child, wHint, hHint));
-
 			totalHeight += prefSizes[i].height;
 			totalMinHeight += minSizes[i].height;
 		}
-		totalHeight += (numChildren - 1) * getSpacing();
-		totalMinHeight += (numChildren - 1) * getSpacing();
+		totalHeight += (numChildren - 1) * spacing;
+		totalMinHeight += (numChildren - 1) * spacing;
 		prefMinSumHeight = totalHeight - totalMinHeight;
 		/*
 		 * The total amount that the children must be shrunk is the sum of the preferred
@@ -348,20 +416,19 @@ public class ToolbarLayout extends OrderedLayout {
 			int minWidth = minSizes[i].width;
 			Rectangle newBounds = new Rectangle(x, y, prefWidth, prefHeight);
 
-			child = children.get(i);
 			if (prefMinSumHeight != 0) {
 				amntShrinkCurrentHeight = (prefHeight - minHeight) * amntShrinkHeight / (prefMinSumHeight);
 			}
 
-			int width = Math.min(prefWidth, transposer.t(child.getMaximumSize()).width);
-			if (isStretchMinorAxis()) {
-				width = transposer.t(child.getMaximumSize()).width;
+			int width = Math.min(prefWidth, maxSizes[i].width);
+			if (stretchMinorAxis) {
+				width = maxSizes[i].width;
 			}
 			width = Math.max(minWidth, Math.min(clientArea.width, width));
 			newBounds.width = width;
 
 			int adjust = clientArea.width - width;
-			switch (getMinorAlignment()) {
+			switch (minorAlignment) {
 			case ALIGN_TOPLEFT:
 				adjust = 0;
 				break;
@@ -375,11 +442,31 @@ public class ToolbarLayout extends OrderedLayout {
 			}
 			newBounds.x += adjust;
 			newBounds.height -= amntShrinkCurrentHeight;
-			child.setBounds(transposer.t(newBounds));
+			result[i] = transposer.t(newBounds);
 
 			amntShrinkHeight -= amntShrinkCurrentHeight;
 			prefMinSumHeight -= (prefHeight - minHeight);
-			y += newBounds.height + getSpacing();
+			y += newBounds.height + spacing;
+		}
+		return result;
+	}
+
+	/**
+	 * Captures the settings of the layout, so that they can't change while the
+	 * layout is computed.
+	 */
+	private static final class ToolbarSnapshot extends LayoutSnapshot {
+		final Transposer transposer;
+		final int spacing;
+		final int minorAlignment;
+		final boolean stretchMinorAxis;
+
+		ToolbarSnapshot(IFigure container, ToolbarLayout layout) {
+			super(container);
+			transposer = new Transposer(layout.transposer.isEnabled());
+			spacing = layout.getSpacing();
+			minorAlignment = layout.getMinorAlignment();
+			stretchMinorAxis = layout.isStretchMinorAxis();
 		}
 	}
 
@@ -29,6 +29,12 @@ public interface UpdateListener {
 	 * {@link org.eclipse.draw2d.parts.Thumbnail}, notification still needs to
 	 * occur. The map of dirty regions is passed to allow the listener to determine
 	 * if it needs to update, for instance when a particular figure is painting.
+	 * <p>
+	 * If a {@link DamageCoalescingPolicy} is installed on the
+	 * {@link DeferredUpdateManager}, the map is reused for later frames and is
+	 * cleared as soon as this method returns, so listeners must copy it if they
+	 * need its contents afterwards. Without a policy, a new map is passed for every
+	 * frame.
 	 *
 	 * @param damage       The area being painted
 	 * @param dirtyRegions a Map of figures to their dirty regions
@@ -40,6 +46,19 @@ public interface UpdateListener {
 	 */
 	void notifyValidating();
 
+	/**
+	 * Notifies the listener of the dirty regions which are about to be repainted,
+	 * before they are clipped and translated to the root figure. Each rectangle is
+	 * in the same coordinate system as the bounds of its figure. Listeners must
+	 * neither modify nor keep a reference to the map or its rectangles.
+	 *
+	 * @param dirtyRegions a Map of figures to their dirty regions
+	 * @since 3.17
+	 */
+	default void notifyDirtyRegions(Map<IFigure, Rectangle> dirtyRegions) {
+		// may be overwritten by implementors
+	}
+
 	/**
 	 * An empty implementation of {@list UpdateListener} for convenience.
 	 *
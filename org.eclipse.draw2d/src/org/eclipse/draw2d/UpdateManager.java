@@ -47,6 +47,7 @@ public abstract class UpdateManager {
 
 	private final List<UpdateListener> listeners = new ArrayList<>();
 	private boolean disposed;
+	private RenderingCache renderingCache;
 
 	/**
 	 * Adds the dirty region defined by the coordinates on the IFigure
@@ -104,6 +105,36 @@ public abstract class UpdateManager {
 	 */
 	public void dispose() {
 		disposed = true;
+		if (renderingCache != null) {
+			renderingCache.dispose();
+		}
+	}
+
+	/**
+	 * Returns the cache holding the images of the figures whose rendering is
+	 * cached. The cache is created when first requested.
+	 *
+	 * @return the rendering cache
+	 * @see Figure#setRenderingCached(boolean)
+	 * @since 3.17
+	 */
+	public RenderingCache getRenderingCache() {
+		if (renderingCache == null) {
+			renderingCache = new RenderingCache();
+			addUpdateListener(renderingCache);
+		}
+		return renderingCache;
+	}
+
+	/**
+	 * Notifies listeners of the dirty regions which are about to be repainted,
+	 * before they are clipped and translated to the root figure.
+	 *
+	 * @param dirtyRegions map of dirty regions to figures
+	 * @since 3.17
+	 */
+	protected void fireDirtyRegions(Map<IFigure, Rectangle> dirtyRegions) {
+		listeners.forEach(localListener -> localListener.notifyDirtyRegions(dirtyRegions));
 	}
 
 	/**
@@ -34,6 +34,7 @@ public class Viewport extends Figure implements PropertyChangeListener {
 	private boolean trackHeight = false;
 	private boolean ignoreScroll = false;
 	private RangeModel horiztonalRangeModel = null, verticalRangeModel = null;
+	private TiledBackingStore backingStore;
 
 	{
 		setLayoutManager(new ViewportLayout());
@@ -69,6 +70,16 @@ public class Viewport extends Figure implements PropertyChangeListener {
 		return rect;
 	}
 
+	/**
+	 * Returns the backing store from which the contents are painted.
+	 *
+	 * @return the backing store or <code>null</code>
+	 * @since 3.17
+	 */
+	public TiledBackingStore getBackingStore() {
+		return backingStore;
+	}
+
 	/**
 	 * Returns the view, which is the contents of the {@link ScrollPane} associated
 	 * with this Viewport.
@@ -168,6 +179,28 @@ public class Viewport extends Figure implements PropertyChangeListener {
 		}
 	}
 
+	/**
+	 * Paints the children from the backing store, if there is one and graphics
+	 * translation is used.
+	 *
+	 * @see Figure#paintChildren(Graphics)
+	 */
+	@Override
+	protected void paintChildren(Graphics graphics) {
+		if (backingStore != null && useGraphicsTranslate()) {
+			backingStore.paint(graphics);
+		} else {
+			super.paintChildren(graphics);
+		}
+	}
+
+	/**
+	 * Paints the children without using the backing store.
+	 */
+	void paintChildrenDirectly(Graphics graphics) {
+		super.paintChildren(graphics);
+	}
+
 	/**
 	 * @see org.eclipse.draw2d.Figure#isCoordinateSystem()
 	 */
@@ -232,6 +265,33 @@ public class Viewport extends Figure implements PropertyChangeListener {
 		}
 	}
 
+	/**
+	 * Sets the backing store from which the contents are painted. The store is
+	 * only used if this viewport uses graphics translation, and it must also be
+	 * registered as a listener of the {@link UpdateManager}. A store can only be
+	 * set on one viewport at a time.
+	 *
+	 * @param store the backing store or <code>null</code>
+	 * @see TiledBackingStore
+	 * @since 3.17
+	 */
+	public void setBackingStore(TiledBackingStore store) {
+		if (backingStore == store) {
+			return;
+		}
+		if (store != null && store.getViewport() != null) {
+			throw new IllegalArgumentException("The backing store is already set on a viewport"); //$NON-NLS-1$
+		}
+		if (backingStore != null) {
+			backingStore.setViewport(null);
+		}
+		backingStore = store;
+		if (backingStore != null) {
+			backingStore.setViewport(this);
+		}
+		repaint();
+	}
+
 	/**
 	 * Toggles the Viewport's ability to resize itself automatically when its view
 	 * is decreased in size in the vertical direction. This is disabled by default.
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d;
+
+import java.util.List;
+
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * A {@link DamageCoalescingPolicy} which only merges two regions if their union
+ * does not cover too much undamaged area. The wasted area of a merge is the area
+ * of the union which is covered by neither of the two regions. Two regions are
+ * merged if the wasted area is at most the given fraction of the union's area.
+ * <P>
+ * To bound the number of paint passes, the two regions with the least wasted
+ * area are merged regardless of the threshold while there are more than the
+ * maximum number of regions.
+ *
+ * @since 3.17
+ */
+public class WastedAreaCoalescingPolicy implements DamageCoalescingPolicy {
+
+	/**
+	 * The default fraction of a merged region which may be wasted.
+	 */
+	public static final double DEFAULT_WASTE_RATIO = 0.3;
+
+	/**
+	 * The default maximum number of regions.
+	 */
+	public static final int DEFAULT_MAX_REGIONS = 8;
+
+	private final double wasteRatio;
+	private final int maxRegions;
+
+	/**
+	 * Creates a policy with the default waste ratio and maximum number of regions.
+	 */
+	public WastedAreaCoalescingPolicy() {
+		this(DEFAULT_WASTE_RATIO, DEFAULT_MAX_REGIONS);
+	}
+
+	/**
+	 * Creates a policy with the given waste ratio and maximum number of regions.
+	 *
+	 * @param wasteRatio the fraction of a merged region, between 0 and 1, which may
+	 *                   be undamaged
+	 * @param maxRegions the maximum number of regions to be painted separately
+	 */
+	public WastedAreaCoalescingPolicy(double wasteRatio, int maxRegions) {
+		if (wasteRatio < 0 || wasteRatio > 1) {
+			throw new IllegalArgumentException("Waste ratio must be between 0 and 1"); //$NON-NLS-1$
+		}
+		if (maxRegions < 1) {
+			throw new IllegalArgumentException("At least one region is required"); //$NON-NLS-1$
+		}
+		this.wasteRatio = wasteRatio;
+		this.maxRegions = maxRegions;
+	}
+
+	/**
+	 * @see DamageCoalescingPolicy#coalesce(List)
+	 */
+	@Override
+	public void coalesce(List<Rectangle> regions) {
+		// Add the regions one by one, so that at most maxRegions + 1 regions are
+		// compared against each other
+		int count = 0;
+		for (int i = 0; i < regions.size(); i++) {
+			regions.set(count, regions.get(i));
+			count = merge(regions, count + 1);
+		}
+		regions.subList(count, regions.size()).clear();
+	}
+
+	/**
+	 * Merges the regions in the range [0, count) until no two of them qualify for
+	 * a merge and returns the new number of regions. The pair with the smallest
+	 * fraction of wasted area is merged if that fraction is within the waste
+	 * ratio. While there are too many regions, the pair with the least wasted area
+	 * is merged instead.
+	 */
+	private int merge(List<Rectangle> regions, int count) {
+		while (count > 1) {
+			int bestI = -1;
+			int bestJ = -1;
+			double bestWaste = Double.MAX_VALUE;
+			int bestRatioI = -1;
+			int bestRatioJ = -1;
+			double bestRatio = Double.MAX_VALUE;
+			for (int i = 0; i < count; i++) {
+				for (int j = i + 1; j < count; j++) {
+					Rectangle a = regions.get(i);
+					Rectangle b = regions.get(j);
+					double waste = getWastedArea(a, b);
+					if (waste < bestWaste) {
+						bestWaste = waste;
+						bestI = i;
+						bestJ = j;
+					}
+					double union = getUnionArea(a, b);
+					double ratio = union == 0 ? 0 : waste / union;
+					if (ratio < bestRatio) {
+						bestRatio = ratio;
+						bestRatioI = i;
+						bestRatioJ = j;
+					}
+				}
+			}
+			if (count <= maxRegions) {
+				if (bestRatio > wasteRatio) {
+					return count;
+				}
+				bestI = bestRatioI;
+				bestJ = bestRatioJ;
+			}
+			regions.set(bestI, regions.get(bestI).getUnion(regions.get(bestJ)));
+			regions.set(bestJ, regions.get(count - 1));
+			count--;
+		}
+		return count;
+	}
+
+	private static double getWastedArea(Rectangle a, Rectangle b) {
+		double covered = area(a) + area(b) - area(a.getIntersection(b));
+		return getUnionArea(a, b) - covered;
+	}
+
+	private static double getUnionArea(Rectangle a, Rectangle b) {
+		double width = Math.max(a.right(), b.right()) - (double) Math.min(a.x, b.x);
+		double height = Math.max(a.bottom(), b.bottom()) - (double) Math.min(a.y, b.y);
+		return width * height;
+	}
+
+	private static double area(Rectangle r) {
+		return (double) r.width * r.height;
+	}
+
+}
@@ -26,7 +26,7 @@ import org.eclipse.draw2d.internal.Messages;
  * using the XY Layout algorithm. This lays out the components using the layout
  * constraints as defined by each component.
  */
-public class XYLayout extends AbstractConstraintLayout {
+public class XYLayout extends AbstractConstraintLayout implements SnapshotLayoutManager {
 	private static final Logger LOGGER = Logger.getLogger(XYLayout.class);
 
 	/**
@@ -92,19 +92,74 @@ public class XYLayout extends AbstractConstraintLayout {
 			if (bounds == null) {
 				continue;
 			}
+			f.setBounds(resolveSize(f, bounds).getTranslated(offset));
+		}
+	}
 
-			if (bounds.width == -1 || bounds.height == -1) {
-				Dimension preferredSize = f.getPreferredSize(bounds.width, bounds.height);
-				bounds = bounds.getCopy();
-				if (bounds.width == -1) {
-					bounds.width = preferredSize.width;
-				}
-				if (bounds.height == -1) {
-					bounds.height = preferredSize.height;
-				}
+	/**
+	 * Returns the given constraint, or a copy of it with a width or height of -1
+	 * replaced by the child's preferred width or height.
+	 */
+	private static Rectangle resolveSize(IFigure f, Rectangle bounds) {
+		if (bounds.width == -1 || bounds.height == -1) {
+			Dimension preferredSize = f.getPreferredSize(bounds.width, bounds.height);
+			bounds = bounds.getCopy();
+			if (bounds.width == -1) {
+				bounds.width = preferredSize.width;
+			}
+			if (bounds.height == -1) {
+				bounds.height = preferredSize.height;
+			}
+		}
+		return bounds;
+	}
+
+	/**
+	 * Records the constraint of each child, with a width or height of -1 replaced
+	 * by the child's preferred width or height.
+	 *
+	 * @see SnapshotLayoutManager#createSnapshot(IFigure)
+	 * @since 3.17
+	 */
+	@Override
+	public LayoutSnapshot createSnapshot(IFigure parent) {
+		LayoutSnapshot snapshot = new OriginSnapshot(parent, getOrigin(parent));
+		for (int i = 0; i < snapshot.getChildCount(); i++) {
+			IFigure f = snapshot.getChildren().get(i);
+			Rectangle bounds = (Rectangle) getConstraint(f);
+			if (bounds == null) {
+				continue;
 			}
-			bounds = bounds.getTranslated(offset);
-			f.setBounds(bounds);
+
+			Rectangle resolved = resolveSize(f, bounds);
+			snapshot.setConstraint(i, resolved == bounds ? bounds.getCopy() : resolved);
+		}
+		return snapshot;
+	}
+
+	/**
+	 * @see SnapshotLayoutManager#computeLayout(LayoutSnapshot)
+	 * @since 3.17
+	 */
+	@Override
+	public Rectangle[] computeLayout(LayoutSnapshot snapshot) {
+		Point offset = ((OriginSnapshot) snapshot).origin;
+		Rectangle[] result = new Rectangle[snapshot.getChildCount()];
+		for (int i = 0; i < result.length; i++) {
+			Rectangle bounds = (Rectangle) snapshot.getConstraint(i);
+			if (bounds != null) {
+				result[i] = bounds.getTranslated(offset);
+			}
+		}
+		return result;
+	}
+
+	private static final class OriginSnapshot extends LayoutSnapshot {
+		final Point origin;
+
+		OriginSnapshot(IFigure container, Point origin) {
+			super(container);
+			this.origin = origin.getCopy();
 		}
 	}
 
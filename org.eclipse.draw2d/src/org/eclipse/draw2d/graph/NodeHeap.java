@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.graph;
+
+import java.util.Arrays;
+
+/**
+ * A binary min heap of node ids for the shortest path searches of the routers.
+ * It holds the ids of the nodes which have been reached but not yet made
+ * permanent, keyed by the estimated length of the shortest path through them.
+ * The key of a node can only be lowered. Nodes with equal keys are ordered by
+ * their id, so that the searches are deterministic.
+ *
+ * @since 3.17
+ */
+final class NodeHeap {
+
+	private final int[] heap;
+	private final double[] keys;
+	private final int[] positions;
+	private int size;
+
+	/**
+	 * Creates an empty heap for the node ids from <code>0</code> to
+	 * <code>capacity - 1</code>.
+	 *
+	 * @param capacity the number of nodes
+	 */
+	NodeHeap(int capacity) {
+		heap = new int[capacity];
+		keys = new double[capacity];
+		positions = new int[capacity];
+		Arrays.fill(positions, -1);
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Adds the node with the given id, or lowers its key if it is already in the
+	 * heap.
+	 */
+	void offer(int id, double key) {
+		int i = positions[id];
+		if (i < 0) {
+			i = size++;
+		}
+		siftUp(i, id, key);
+	}
+
+	int poll() {
+		int top = heap[0];
+		positions[top] = -1;
+		size--;
+		if (size > 0) {
+			siftDown(heap[size], keys[size]);
+		}
+		return top;
+	}
+
+	private void siftUp(int i, int id, double key) {
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (keys[parent] < key || (keys[parent] == key && heap[parent] < id)) {
+				break;
+			}
+			move(parent, i);
+			i = parent;
+		}
+		set(i, id, key);
+	}
+
+	private void siftDown(int id, double key) {
+		int i = 0;
+		int half = size >>> 1;
+		while (i < half) {
+			int child = 2 * i + 1;
+			int right = child + 1;
+			if (right < size
+					&& (keys[right] < keys[child] || (keys[right] == keys[child] && heap[right] < heap[child]))) {
+				child = right;
+			}
+			if (key < keys[child] || (key == keys[child] && id < heap[child])) {
+				break;
+			}
+			move(child, i);
+			i = child;
+		}
+		set(i, id, key);
+	}
+
+	private void move(int from, int to) {
+		set(to, heap[from], keys[from]);
+	}
+
+	private void set(int i, int id, double key) {
+		heap[i] = id;
+		keys[i] = key;
+		positions[id] = i;
+	}
+
+}
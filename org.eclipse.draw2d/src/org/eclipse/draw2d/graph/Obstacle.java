@@ -28,6 +28,8 @@ import org.eclipse.draw2d.geometry.Rectangle;
 class Obstacle extends Rectangle {
 
 	boolean exclude;
+	/** The position of this obstacle in the order in which obstacles were added. */
+	int order;
 	Vertex topLeft;
 	Vertex topRight;
 	Vertex bottomLeft;
@@ -60,20 +62,23 @@ class Obstacle extends Rectangle {
 		return router.getSpacing();
 	}
 
-	private static void growVertex(Vertex vertex) {
+	private static int growVertex(Vertex vertex) {
 		if (vertex.totalCount > 0) {
-			vertex.grow();
+			return Math.abs(vertex.grow());
 		}
+		return 0;
 	}
 
 	/**
 	 * Grows all vertices on this obstacle.
+	 *
+	 * @return how far the farthest vertex has moved along each axis
 	 */
-	void growVertices() {
-		growVertex(topLeft);
-		growVertex(topRight);
-		growVertex(bottomLeft);
-		growVertex(bottomRight);
+	int growVertices() {
+		int growth = growVertex(topLeft);
+		growth = Math.max(growth, growVertex(topRight));
+		growth = Math.max(growth, growVertex(bottomLeft));
+		return Math.max(growth, growVertex(bottomRight));
 	}
 
 	/**
@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.graph;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.internal.UniformGrid;
+
+/**
+ * A uniform grid over the obstacles of a {@link ShortestPathRouter}. It is
+ * maintained incrementally as obstacles are added and removed and is used to
+ * find the obstacles which may intersect a rectangle or lie close to a segment
+ * without visiting every obstacle.
+ * <P>
+ * The index is conservative: callers still have to test the candidates. The
+ * candidates are returned in the order in which the obstacles were added, so
+ * that callers which stop at the first hit behave as when walking the list of
+ * all obstacles. Queries do not modify the index and may run concurrently.
+ *
+ * @since 3.17
+ */
+final class ObstacleIndex {
+
+	/**
+	 * The default edge length of a grid cell.
+	 */
+	static final int DEFAULT_CELL_SIZE = 128;
+
+	/**
+	 * Obstacles covering more cells than this are not distributed into the grid
+	 * but kept in a separate list which is checked on every query.
+	 */
+	private static final int MAX_CELLS_PER_OBSTACLE = 64;
+
+	/**
+	 * Longer candidate lists, as returned for large query rectangles, are sorted
+	 * with a merge sort instead of an insertion sort.
+	 */
+	private static final int INSERTION_SORT_LIMIT = 32;
+
+	private static final Comparator<Obstacle> BY_ORDER = Comparator.comparingInt(obs -> obs.order);
+
+	private static final Obstacle[] NO_OBSTACLES = {};
+
+	/**
+	 * The candidates collected by a single query.
+	 */
+	private static final class Candidates implements UniformGrid.CellVisitor<Obstacle> {
+		Obstacle[] obstacles = new Obstacle[16];
+		int size;
+		int x1;
+		int y1;
+		int x2;
+		int y2;
+
+		Candidates within(int left, int top, int right, int bottom) {
+			x1 = left;
+			y1 = top;
+			x2 = right;
+			y2 = bottom;
+			return this;
+		}
+
+		@Override
+		public void visit(UniformGrid.Cell<Obstacle> cell) {
+			for (int i = 0; i < cell.size(); i++) {
+				Obstacle obs = cell.get(i);
+				if (obs.x > x2 || obs.y > y2 || obs.x + obs.width <= x1 || obs.y + obs.height <= y1) {
+					continue;
+				}
+				if (size == obstacles.length) {
+					Obstacle[] grown = new Obstacle[size * 2];
+					System.arraycopy(obstacles, 0, grown, 0, size);
+					obstacles = grown;
+				}
+				obstacles[size++] = obs;
+			}
+		}
+
+		Obstacle[] sorted() {
+			if (size == 0) {
+				return NO_OBSTACLES;
+			}
+			if (size > INSERTION_SORT_LIMIT) {
+				Arrays.sort(obstacles, 0, size, BY_ORDER);
+			} else {
+				// Insertion sort, most candidate lists are short
+				for (int i = 1; i < size; i++) {
+					Obstacle obs = obstacles[i];
+					int j = i - 1;
+					while (j >= 0 && obstacles[j].order > obs.order) {
+						obstacles[j + 1] = obstacles[j];
+						j--;
+					}
+					obstacles[j + 1] = obs;
+				}
+			}
+			// Obstacles spanning several cells are found more than once
+			int distinct = 1;
+			for (int i = 1; i < size; i++) {
+				if (obstacles[i] != obstacles[distinct - 1]) {
+					obstacles[distinct++] = obstacles[i];
+				}
+			}
+			Obstacle[] result = new Obstacle[distinct];
+			System.arraycopy(obstacles, 0, result, 0, distinct);
+			return result;
+		}
+	}
+
+	private final UniformGrid<Obstacle> grid;
+
+	/**
+	 * Creates an empty index.
+	 *
+	 * @param cellSize the edge length of a grid cell
+	 */
+	ObstacleIndex(int cellSize) {
+		grid = new UniformGrid<>(cellSize, MAX_CELLS_PER_OBSTACLE);
+	}
+
+	/**
+	 * Adds the given obstacle.
+	 *
+	 * @param obs the obstacle
+	 */
+	void add(Obstacle obs) {
+		grid.add(obs, grid.cellOf(obs.x), grid.cellOf(obs.y), grid.cellOf(obs.x + Math.max(obs.width, 1) - 1),
+				grid.cellOf(obs.y + Math.max(obs.height, 1) - 1));
+	}
+
+	/**
+	 * Removes the given obstacle, whose bounds must not have changed since it was
+	 * added.
+	 *
+	 * @param obs the obstacle
+	 */
+	void remove(Obstacle obs) {
+		grid.remove(obs, grid.cellOf(obs.x), grid.cellOf(obs.y), grid.cellOf(obs.x + Math.max(obs.width, 1) - 1),
+				grid.cellOf(obs.y + Math.max(obs.height, 1) - 1));
+	}
+
+	/**
+	 * Returns the obstacles which may intersect the given rectangle, in the order
+	 * in which they were added.
+	 *
+	 * @param x1 the left edge of the rectangle
+	 * @param y1 the top edge of the rectangle
+	 * @param x2 the right edge of the rectangle, inclusive
+	 * @param y2 the bottom edge of the rectangle, inclusive
+	 * @return the candidate obstacles
+	 */
+	Obstacle[] query(int x1, int y1, int x2, int y2) {
+		Candidates candidates = new Candidates().within(x1, y1, x2, y2);
+		grid.visit(grid.cellOf(x1), grid.cellOf(y1), grid.cellOf(x2), grid.cellOf(y2), candidates);
+		return candidates.sorted();
+	}
+
+	/**
+	 * Returns the obstacles which may contain the given point, in the order in
+	 * which they were added.
+	 *
+	 * @param p the point
+	 * @return the candidate obstacles
+	 */
+	Obstacle[] query(Point p) {
+		return query(p.x, p.y, p.x, p.y);
+	}
+
+	/**
+	 * Returns the obstacles which may come closer than the given margin to the
+	 * segment between the given points, in the order in which they were added.
+	 * Only the cells along the segment are visited, so that long diagonal segments
+	 * do not visit the whole area they span.
+	 *
+	 * @param a      the start of the segment
+	 * @param b      the end of the segment
+	 * @param margin the distance in each direction by which the segment is grown
+	 * @return the candidate obstacles
+	 */
+	Obstacle[] query(Point a, Point b, int margin) {
+		int left = Math.min(a.x, b.x);
+		int right = Math.max(a.x, b.x);
+		if (a.x == b.x || a.y == b.y) {
+			return query(left - margin, Math.min(a.y, b.y) - margin, right + margin, Math.max(a.y, b.y) + margin);
+		}
+		Candidates candidates = new Candidates();
+		int cellSize = grid.getCellSize();
+		double slope = (double) (b.y - a.y) / (b.x - a.x);
+		int maxCol = grid.cellOf(right + margin);
+		for (int col = grid.cellOf(left - margin); col <= maxCol; col++) {
+			int x1 = Math.max(left - margin, col * cellSize);
+			int x2 = Math.min(right + margin, col * cellSize + cellSize - 1);
+			// the part of the segment which may come within the margin of this column
+			int sx1 = Math.max(left, x1 - margin);
+			int sx2 = Math.min(right, x2 + margin);
+			double ya = a.y + (sx1 - a.x) * slope;
+			double yb = a.y + (sx2 - a.x) * slope;
+			int y1 = (int) Math.floor(Math.min(ya, yb)) - margin - 1;
+			int y2 = (int) Math.ceil(Math.max(ya, yb)) + margin + 1;
+			int maxRow = grid.cellOf(y2);
+			for (int row = grid.cellOf(y1); row <= maxRow; row++) {
+				UniformGrid.Cell<Obstacle> cell = grid.getCell(col, row);
+				if (cell != null) {
+					candidates.within(x1, y1, x2, y2).visit(cell);
+				}
+			}
+		}
+		candidates.within(left - margin, Math.min(a.y, b.y) - margin, right + margin, Math.max(a.y, b.y) + margin)
+				.visit(grid.getOversized());
+		return candidates.sorted();
+	}
+
+}
@@ -0,0 +1,837 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * Routes a collection of {@link Path Paths} around rectangular obstacles with
+ * horizontal and vertical segments only. This class maintains a list of paths
+ * and obstacles. Updates can be made to the paths and/or obstacles, and then an
+ * incremental solve can be invoked.
+ * <P>
+ * Each dirty path is routed separately on a sparse orthogonal grid, whose lines
+ * run along the obstacles at the path spacing and through the endpoints of the
+ * path. The grid only covers a window around the endpoints, which is enlarged
+ * until a route is found, so that the cost of routing a path depends on the
+ * obstacles near it rather than on the size of the diagram. Among the routes
+ * of equal length, the one with the fewest bends is chosen. Obstacles which
+ * contain the start or end point of a path are crossed by the path, and the
+ * path is clipped at their border.
+ * <P>
+ * Once all paths have been routed, the segments which share a grid line and
+ * overlap are moved apart into separate tracks, by the spacing where there is
+ * enough room between the obstacles, and squeezed together uniformly where
+ * there is not. Bend points of a path are passed through in order, but may be
+ * shifted by this nudging.
+ * <P>
+ * Adding, removing or moving an obstacle only dirties the paths whose route
+ * comes within the spacing of the obstacle's bounds. If no route is found
+ * within a window of {@value #MAX_GRID_NODES} grid nodes, the path is routed
+ * with a single bend, ignoring the obstacles.
+ * <P>
+ * This class is not intended to be subclassed.
+ *
+ * @since 3.17
+ */
+public class OrthogonalRouter {
+
+	/**
+	 * The largest number of grid nodes to search for a single route.
+	 */
+	private static final int MAX_GRID_NODES = 1 << 20;
+
+	/**
+	 * The smallest distance by which the search window extends beyond the
+	 * endpoints.
+	 */
+	private static final int MIN_WINDOW_MARGIN = 32;
+
+	private static final int[] NO_ROUTE = {};
+
+	private static final int HORIZONTAL = 0;
+	private static final int VERTICAL = 1;
+
+	/**
+	 * The raw route of a path on the grid, before it is nudged.
+	 */
+	private static final class Route {
+		/** the x and y coordinates of the corners, including start and end */
+		int[] corners;
+		/** the obstacle at the start which the path is clipped to, or null */
+		Obstacle source;
+		/** the obstacle at the end which the path is clipped to, or null */
+		Obstacle target;
+		/** the bounds of the corners, grown by the spacing */
+		Rectangle bounds;
+	}
+
+	private int spacing = 4;
+	private final List<Path> userPaths = new ArrayList<>();
+	private final Map<Path, Route> routes = new HashMap<>();
+	private final List<Obstacle> userObstacles = new ArrayList<>();
+	private final ObstacleIndex obstacleIndex = new ObstacleIndex(ObstacleIndex.DEFAULT_CELL_SIZE);
+	private final Rectangle extent = new Rectangle();
+	private int nextObstacleOrder;
+
+	/**
+	 * Adds an obstacle with the given bounds to the obstacles.
+	 *
+	 * @param rect the bounds of this obstacle
+	 * @return <code>true</code> if the added obstacle has dirtied one or more paths
+	 */
+	public boolean addObstacle(Rectangle rect) {
+		// the vertices of the obstacle are only used by the ShortestPathRouter
+		Obstacle obs = new Obstacle(rect, null);
+		obs.order = nextObstacleOrder++;
+		userObstacles.add(obs);
+		obstacleIndex.add(obs);
+		if (userObstacles.size() == 1) {
+			extent.setBounds(obs);
+		} else {
+			extent.union(obs);
+		}
+		return dirtyPathsNear(obs);
+	}
+
+	/**
+	 * Adds a path to the routing.
+	 *
+	 * @param path the path to add.
+	 */
+	public void addPath(Path path) {
+		userPaths.add(path);
+		path.isDirty = true;
+	}
+
+	/**
+	 * Returns the spacing maintained between paths, and between paths and
+	 * obstacles.
+	 *
+	 * @return the path spacing
+	 * @see #setSpacing(int)
+	 */
+	public int getSpacing() {
+		return spacing;
+	}
+
+	/**
+	 * Removes the obstacle with the rectangle's bounds from the routing.
+	 *
+	 * @param rect the bounds of the obstacle to remove
+	 * @return <code>true</code> if the removal has dirtied one or more paths
+	 */
+	public boolean removeObstacle(Rectangle rect) {
+		for (Obstacle obs : obstacleIndex.query(rect.x, rect.y, rect.right() - 1, rect.bottom() - 1)) {
+			if (obs.equals(rect)) {
+				userObstacles.remove(userObstacles.indexOf(obs));
+				obstacleIndex.remove(obs);
+				return dirtyPathsNear(obs);
+			}
+		}
+		throw new IllegalArgumentException("No obstacle with the bounds " + rect); //$NON-NLS-1$
+	}
+
+	/**
+	 * Removes the given path from the routing.
+	 *
+	 * @param path the path to remove.
+	 * @return <code>true</code> if the removal may have affected one of the
+	 *         remaining paths
+	 */
+	public boolean removePath(Path path) {
+		userPaths.remove(path);
+		routes.remove(path);
+		return true;
+	}
+
+	/**
+	 * Sets the spacing maintained between paths, and between paths and obstacles.
+	 * The default value is 4. When this value can not be satisfied, paths will be
+	 * squeezed together uniformly.
+	 *
+	 * @param spacing the path spacing
+	 */
+	public void setSpacing(int spacing) {
+		if (spacing < 0) {
+			throw new IllegalArgumentException("Spacing must not be negative"); //$NON-NLS-1$
+		}
+		if (this.spacing != spacing) {
+			this.spacing = spacing;
+			userPaths.forEach(path -> path.isDirty = true);
+		}
+	}
+
+	/**
+	 * Routes the dirty paths and nudges the segments of all paths apart.
+	 *
+	 * @return the paths whose points have changed
+	 */
+	public List<Path> solve() {
+		for (Path path : userPaths) {
+			if (path.isDirty || !routes.containsKey(path)) {
+				routes.put(path, route(path));
+				path.isDirty = false;
+			}
+		}
+
+		List<Path> changed = new ArrayList<>();
+		Map<Path, int[]> nudged = nudge();
+		for (Path path : userPaths) {
+			PointList points = toPoints(path, nudged.get(path));
+			if (!Arrays.equals(points.toIntArray(), path.points.toIntArray())) {
+				path.points = points;
+				changed.add(path);
+			}
+		}
+		return Collections.unmodifiableList(changed);
+	}
+
+	/**
+	 * Updates the position of an existing obstacle.
+	 *
+	 * @param oldBounds the old bounds(used to find the obstacle)
+	 * @param newBounds the new bounds
+	 * @return <code>true</code> if the change the current results to become stale
+	 */
+	public boolean updateObstacle(Rectangle oldBounds, Rectangle newBounds) {
+		boolean result = removeObstacle(oldBounds);
+		result |= addObstacle(newBounds);
+		return result;
+	}
+
+	/**
+	 * Dirties the paths whose route comes within the spacing of the given bounds.
+	 */
+	private boolean dirtyPathsNear(Rectangle bounds) {
+		boolean result = false;
+		for (Path path : userPaths) {
+			Route route = routes.get(path);
+			if (!path.isDirty && route != null && route.bounds.intersects(bounds)) {
+				path.isDirty = result = true;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Routes the given path through its bend points.
+	 */
+	private Route route(Path path) {
+		List<Point> waypoints = new ArrayList<>();
+		waypoints.add(path.getStartPoint());
+		PointList bendPoints = path.getBendPoints();
+		if (bendPoints != null) {
+			for (int i = 0; i < bendPoints.size(); i++) {
+				waypoints.add(bendPoints.getPoint(i));
+			}
+		}
+		waypoints.add(path.getEndPoint());
+
+		Route route = new Route();
+		route.source = smallestObstacleAt(waypoints.get(0));
+		route.target = smallestObstacleAt(waypoints.get(waypoints.size() - 1));
+
+		int[] corners = { waypoints.get(0).x, waypoints.get(0).y };
+		for (int w = 1; w < waypoints.size(); w++) {
+			Point from = waypoints.get(w - 1);
+			Point to = waypoints.get(w);
+			int[] leg = routeLeg(from.x, from.y, to.x, to.y);
+			corners = append(corners, leg);
+		}
+		route.corners = corners;
+
+		Rectangle bounds = new Rectangle(corners[0], corners[1], 1, 1);
+		for (int i = 2; i < corners.length; i += 2) {
+			bounds.union(corners[i], corners[i + 1]);
+		}
+		route.bounds = bounds.expand(spacing, spacing);
+		return route;
+	}
+
+	/**
+	 * Appends the corners of a leg to the corners of the previous legs. The first
+	 * corner of the leg is the last corner of the previous legs. Corners which do
+	 * not bend are dropped.
+	 */
+	private static int[] append(int[] corners, int[] leg) {
+		int[] result = Arrays.copyOf(corners, corners.length + leg.length - 2);
+		int size = corners.length;
+		for (int i = 2; i < leg.length; i += 2) {
+			int x = leg[i];
+			int y = leg[i + 1];
+			if (x == result[size - 2] && y == result[size - 1]) {
+				continue;
+			}
+			if (size >= 4) {
+				int px = result[size - 4];
+				int py = result[size - 3];
+				if ((px == result[size - 2] && px == x) || (py == result[size - 1] && py == y)) {
+					// the previous corner lies on a straight line
+					size -= 2;
+				}
+			}
+			result[size++] = x;
+			result[size++] = y;
+		}
+		return Arrays.copyOf(result, size);
+	}
+
+	/**
+	 * Returns the smallest obstacle which contains the given point, or
+	 * <code>null</code>.
+	 */
+	private Obstacle smallestObstacleAt(Point p) {
+		Obstacle result = null;
+		for (Obstacle obs : obstacleIndex.query(p)) {
+			if (obs.contains(p) && (result == null
+					|| (long) obs.width * obs.height < (long) result.width * result.height)) {
+				result = obs;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Routes a single leg between two points, enlarging the search window until a
+	 * route is found.
+	 *
+	 * @return the corners of the route, including the given points
+	 */
+	private int[] routeLeg(int sx, int sy, int tx, int ty) {
+		if (sx == tx && sy == ty) {
+			return new int[] { sx, sy };
+		}
+		int margin = Math.max(MIN_WINDOW_MARGIN, 4 * spacing);
+		Rectangle all = extent.getExpanded(spacing + 1, spacing + 1);
+		while (true) {
+			Rectangle window = new Rectangle(Math.min(sx, tx) - margin, Math.min(sy, ty) - margin,
+					Math.abs(tx - sx) + 2 * margin + 1, Math.abs(ty - sy) + 2 * margin + 1);
+			int[] corners = search(window, sx, sy, tx, ty);
+			if (corners != null && corners.length > 0) {
+				return corners;
+			}
+			if (corners == null || window.contains(all)) {
+				// larger windows have at least as many grid nodes, and no route
+				// is found beyond the obstacles
+				break;
+			}
+			margin *= 4;
+		}
+		// no route, or too many grid nodes
+		if (sx == tx || sy == ty) {
+			return new int[] { sx, sy, tx, ty };
+		}
+		return new int[] { sx, sy, tx, sy, tx, ty };
+	}
+
+	/**
+	 * Searches the shortest route with the fewest bends within the given window on
+	 * the grid of the obstacles in the window, with A*.
+	 *
+	 * @return the corners of the route, an empty array if there is none, or
+	 *         <code>null</code> if the window has too many grid nodes
+	 */
+	private int[] search(Rectangle window, int sx, int sy, int tx, int ty) {
+		int x1 = window.x;
+		int y1 = window.y;
+		int x2 = window.right() - 1;
+		int y2 = window.bottom() - 1;
+		Obstacle[] candidates = obstacleIndex.query(x1, y1, x2, y2);
+
+		// the blocked interior of each obstacle, grown by the spacing unless that
+		// would cover one of the endpoints
+		int[] blocked = new int[4 * candidates.length];
+		int numBlocked = 0;
+		int[] xs = new int[2 * candidates.length + 4];
+		int[] ys = new int[2 * candidates.length + 4];
+		int numXs = 0;
+		int numYs = 0;
+		xs[numXs++] = x1;
+		xs[numXs++] = x2;
+		xs[numXs++] = sx;
+		xs[numXs++] = tx;
+		ys[numYs++] = y1;
+		ys[numYs++] = y2;
+		ys[numYs++] = sy;
+		ys[numYs++] = ty;
+		for (Obstacle obs : candidates) {
+			if (obs.contains(sx, sy) || obs.contains(tx, ty)) {
+				continue;
+			}
+			int left = obs.x - spacing;
+			int top = obs.y - spacing;
+			int right = obs.x + obs.width - 1 + spacing;
+			int bottom = obs.y + obs.height - 1 + spacing;
+			if (isInside(sx, sy, left, top, right, bottom) || isInside(tx, ty, left, top, right, bottom)) {
+				left = obs.x - 1;
+				top = obs.y - 1;
+				right = obs.x + obs.width;
+				bottom = obs.y + obs.height;
+			}
+			blocked[numBlocked++] = left;
+			blocked[numBlocked++] = top;
+			blocked[numBlocked++] = right;
+			blocked[numBlocked++] = bottom;
+			if (left >= x1) {
+				xs[numXs++] = left;
+			}
+			if (right <= x2) {
+				xs[numXs++] = right;
+			}
+			if (top >= y1) {
+				ys[numYs++] = top;
+			}
+			if (bottom <= y2) {
+				ys[numYs++] = bottom;
+			}
+		}
+		xs = sortedDistinct(xs, numXs);
+		ys = sortedDistinct(ys, numYs);
+		int w = xs.length;
+		int h = ys.length;
+		if ((long) w * h > MAX_GRID_NODES) {
+			return null;
+		}
+
+		// hBlocked[j * w + i] blocks the edge from (i, j) to (i + 1, j), and
+		// vBlocked[j * w + i] the edge from (i, j) to (i, j + 1)
+		int[] hBlocked = new int[(w + 1) * (h + 1)];
+		int[] vBlocked = new int[(w + 1) * (h + 1)];
+		for (int b = 0; b < numBlocked; b += 4) {
+			// the grid lines strictly inside the blocked area
+			int iLow = upperBound(xs, blocked[b]);
+			int iHigh = lowerBound(xs, blocked[b + 2]) - 1;
+			int jLow = upperBound(ys, blocked[b + 1]);
+			int jHigh = lowerBound(ys, blocked[b + 3]) - 1;
+			mark(hBlocked, w, Math.max(iLow - 1, 0), iHigh, jLow, jHigh);
+			mark(vBlocked, w, iLow, iHigh, Math.max(jLow - 1, 0), jHigh);
+		}
+		accumulate(hBlocked, w + 1, h + 1);
+		accumulate(vBlocked, w + 1, h + 1);
+
+		int start = Arrays.binarySearch(ys, sy) * w + Arrays.binarySearch(xs, sx);
+		int goalI = Arrays.binarySearch(xs, tx);
+		int goalJ = Arrays.binarySearch(ys, ty);
+		int bendCost = 4 * spacing + 4;
+
+		// the states are the grid nodes in each of the two orientations
+		int[] costs = new int[2 * w * h];
+		int[] parents = new int[2 * w * h];
+		boolean[] settled = new boolean[2 * w * h];
+		Arrays.fill(costs, Integer.MAX_VALUE);
+		NodeHeap open = new NodeHeap(2 * w * h);
+		for (int o = HORIZONTAL; o <= VERTICAL; o++) {
+			int state = 2 * start + o;
+			costs[state] = 0;
+			parents[state] = -1;
+			open.offer(state, key(0, estimate(xs[start % w], ys[start / w], o, tx, ty, bendCost)));
+		}
+
+		int goal = -1;
+		while (!open.isEmpty()) {
+			int state = open.poll();
+			settled[state] = true;
+			int node = state >> 1;
+			int o = state & 1;
+			int i = node % w;
+			int j = node / w;
+			if (i == goalI && j == goalJ) {
+				goal = state;
+				break;
+			}
+			int cost = costs[state];
+			// bend
+			relax(state, 2 * node + (1 - o), cost + bendCost, costs, parents, settled, open, xs, ys, w, tx, ty,
+					bendCost);
+			if (o == HORIZONTAL) {
+				if (i > 0 && hBlocked[j * (w + 1) + i - 1] == 0) {
+					relax(state, 2 * (node - 1), cost + xs[i] - xs[i - 1], costs, parents, settled, open, xs, ys, w,
+							tx, ty, bendCost);
+				}
+				if (i < w - 1 && hBlocked[j * (w + 1) + i] == 0) {
+					relax(state, 2 * (node + 1), cost + xs[i + 1] - xs[i], costs, parents, settled, open, xs, ys, w,
+							tx, ty, bendCost);
+				}
+			} else {
+				if (j > 0 && vBlocked[(j - 1) * (w + 1) + i] == 0) {
+					relax(state, 2 * (node - w) + 1, cost + ys[j] - ys[j - 1], costs, parents, settled, open, xs, ys,
+							w, tx, ty, bendCost);
+				}
+				if (j < h - 1 && vBlocked[j * (w + 1) + i] == 0) {
+					relax(state, 2 * (node + w) + 1, cost + ys[j + 1] - ys[j], costs, parents, settled, open, xs, ys,
+							w, tx, ty, bendCost);
+				}
+			}
+		}
+		if (goal < 0) {
+			return NO_ROUTE;
+		}
+
+		// walk back from the goal, keeping the nodes where the orientation changes
+		int[] corners = new int[8];
+		int size = 0;
+		corners[size++] = tx;
+		corners[size++] = ty;
+		for (int state = goal; parents[state] >= 0; state = parents[state]) {
+			int parent = parents[state];
+			if ((parent >> 1) == (state >> 1) && parents[parent] >= 0) {
+				int node = parent >> 1;
+				if (size == corners.length) {
+					corners = Arrays.copyOf(corners, 2 * size);
+				}
+				corners[size++] = xs[node % w];
+				corners[size++] = ys[node / w];
+			}
+		}
+		if (size + 2 > corners.length) {
+			corners = Arrays.copyOf(corners, size + 2);
+		}
+		corners[size++] = sx;
+		corners[size++] = sy;
+		int[] result = new int[size];
+		for (int c = 0; c < size; c += 2) {
+			result[c] = corners[size - c - 2];
+			result[c + 1] = corners[size - c - 1];
+		}
+		return result;
+	}
+
+	private static void relax(int from, int to, int cost, int[] costs, int[] parents, boolean[] settled,
+			NodeHeap open, int[] xs, int[] ys, int w, int tx, int ty, int bendCost) {
+		if (settled[to] || cost >= costs[to]) {
+			return;
+		}
+		costs[to] = cost;
+		parents[to] = from;
+		int node = to >> 1;
+		open.offer(to, key(cost, estimate(xs[node % w], ys[node / w], to & 1, tx, ty, bendCost)));
+	}
+
+	/**
+	 * Returns the key of a state in the open set. Among the states with the same
+	 * estimated total cost, the one closest to the target is expanded first, so
+	 * that A* does not explore every shortest route in the rectangle between the
+	 * endpoints.
+	 */
+	private static double key(int cost, int estimate) {
+		return cost + estimate + estimate / (double) Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Returns a lower bound for the cost of the route from the given point in the
+	 * given orientation to the target: the Manhattan distance, plus a bend if the
+	 * target cannot be reached without one.
+	 */
+	private static int estimate(int x, int y, int orientation, int tx, int ty, int bendCost) {
+		int distance = Math.abs(tx - x) + Math.abs(ty - y);
+		if (x != tx && y != ty) {
+			return distance + bendCost;
+		}
+		if ((x == tx && y != ty && orientation == HORIZONTAL) || (y == ty && x != tx && orientation == VERTICAL)) {
+			return distance + bendCost;
+		}
+		return distance;
+	}
+
+	private static boolean isInside(int x, int y, int left, int top, int right, int bottom) {
+		return x > left && x < right && y > top && y < bottom;
+	}
+
+	/**
+	 * Adds one to the given range of a two dimensional difference array with rows
+	 * of <code>w + 1</code> entries.
+	 */
+	private static void mark(int[] diff, int w, int iLow, int iHigh, int jLow, int jHigh) {
+		if (iLow > iHigh || jLow > jHigh) {
+			return;
+		}
+		int stride = w + 1;
+		diff[jLow * stride + iLow]++;
+		diff[jLow * stride + iHigh + 1]--;
+		diff[(jHigh + 1) * stride + iLow]--;
+		diff[(jHigh + 1) * stride + iHigh + 1]++;
+	}
+
+	/**
+	 * Turns a two dimensional difference array into the values it describes.
+	 */
+	private static void accumulate(int[] diff, int stride, int rows) {
+		for (int j = 0; j < rows; j++) {
+			int row = j * stride;
+			for (int i = 1; i < stride; i++) {
+				diff[row + i] += diff[row + i - 1];
+			}
+			if (j > 0) {
+				for (int i = 0; i < stride; i++) {
+					diff[row + i] += diff[row - stride + i];
+				}
+			}
+		}
+	}
+
+	private static int[] sortedDistinct(int[] values, int length) {
+		Arrays.sort(values, 0, length);
+		int size = 0;
+		for (int i = 0; i < length; i++) {
+			if (size == 0 || values[size - 1] != values[i]) {
+				values[size++] = values[i];
+			}
+		}
+		return Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * Returns the index of the first value greater than the given one.
+	 */
+	private static int upperBound(int[] values, int value) {
+		int index = Arrays.binarySearch(values, value);
+		return index >= 0 ? index + 1 : -index - 1;
+	}
+
+	/**
+	 * Returns the index of the first value greater than or equal to the given one.
+	 */
+	private static int lowerBound(int[] values, int value) {
+		int index = Arrays.binarySearch(values, value);
+		return index >= 0 ? index : -index - 1;
+	}
+
+	/**
+	 * Moves the overlapping segments of all routes which share a grid line apart.
+	 *
+	 * @return the nudged corners of each path
+	 */
+	private Map<Path, int[]> nudge() {
+		Map<Path, int[]> nudged = new HashMap<>();
+		List<int[]> segments = new ArrayList<>();
+		List<int[]> cornersOfRoute = new ArrayList<>();
+		List<Route> routeList = new ArrayList<>();
+		for (Path path : userPaths) {
+			Route route = routes.get(path);
+			int[] corners = route.corners.clone();
+			nudged.put(path, corners);
+			int r = routeList.size();
+			routeList.add(route);
+			cornersOfRoute.add(corners);
+			int last = corners.length / 2 - 2;
+			for (int s = 0; s <= last; s++) {
+				if ((s == 0 && route.source == null) || (s == last && route.target == null)) {
+					// segments at free endpoints stay where they are
+					continue;
+				}
+				int ax = corners[2 * s];
+				int ay = corners[2 * s + 1];
+				int bx = corners[2 * s + 2];
+				int by = corners[2 * s + 3];
+				if (ay == by && ax != bx) {
+					segments.add(new int[] { HORIZONTAL, ay, Math.min(ax, bx), Math.max(ax, bx), r, s });
+				} else if (ax == bx && ay != by) {
+					segments.add(new int[] { VERTICAL, ax, Math.min(ay, by), Math.max(ay, by), r, s });
+				}
+			}
+		}
+
+		// group the segments by orientation and line, ordered along the line
+		segments.sort((a, b) -> {
+			for (int k = 0; k < 3; k++) {
+				if (a[k] != b[k]) {
+					return Integer.compare(a[k], b[k]);
+				}
+			}
+			return 0;
+		});
+		int[] offsets = new int[segments.size()];
+		int groupStart = 0;
+		while (groupStart < segments.size()) {
+			int[] first = segments.get(groupStart);
+			int groupEnd = groupStart + 1;
+			while (groupEnd < segments.size() && segments.get(groupEnd)[0] == first[0]
+					&& segments.get(groupEnd)[1] == first[1]) {
+				groupEnd++;
+			}
+			nudgeChannel(segments, groupStart, groupEnd, offsets);
+			groupStart = groupEnd;
+		}
+
+		for (int k = 0; k < segments.size(); k++) {
+			int[] segment = segments.get(k);
+			int offset = offsets[k];
+			if (offset == 0) {
+				continue;
+			}
+			Route route = routeList.get(segment[4]);
+			int[] corners = cornersOfRoute.get(segment[4]);
+			int s = segment[5];
+			int axis = segment[0] == HORIZONTAL ? 1 : 0;
+			offset = clampToEndpointObstacles(route, corners, s, axis, offset);
+			corners[2 * s + axis] += offset;
+			corners[2 * s + 2 + axis] += offset;
+		}
+		return nudged;
+	}
+
+	/**
+	 * Assigns the overlapping segments on one grid line to separate tracks and
+	 * computes the offset of each track, within the room the obstacles next to the
+	 * line leave.
+	 */
+	private void nudgeChannel(List<int[]> segments, int from, int to, int[] offsets) {
+		// greedy interval partitioning, the segments are sorted by their start
+		int[] tracks = new int[to - from];
+		int[] trackEnds = new int[to - from];
+		int numTracks = 0;
+		int low = Integer.MAX_VALUE;
+		int high = Integer.MIN_VALUE;
+		for (int k = from; k < to; k++) {
+			int[] segment = segments.get(k);
+			int track = 0;
+			while (track < numTracks && trackEnds[track] >= segment[2]) {
+				track++;
+			}
+			if (track == numTracks) {
+				numTracks++;
+			}
+			trackEnds[track] = segment[3];
+			tracks[k - from] = track;
+			low = Math.min(low, segment[2]);
+			high = Math.max(high, segment[3]);
+		}
+		if (numTracks == 1) {
+			return;
+		}
+
+		// the room on either side of the line, up to the nearest obstacles which
+		// the line does not cross
+		int line = segments.get(from)[1];
+		boolean horizontal = segments.get(from)[0] == HORIZONTAL;
+		int limit = numTracks * spacing + spacing;
+		int before = limit;
+		int after = limit;
+		Obstacle[] near = horizontal ? obstacleIndex.query(low, line - limit, high, line + limit)
+				: obstacleIndex.query(line - limit, low, line + limit, high);
+		for (Obstacle obs : near) {
+			int obsLow = horizontal ? obs.y : obs.x;
+			int obsHigh = obsLow + (horizontal ? obs.height : obs.width) - 1;
+			if (obsLow > line) {
+				after = Math.min(after, obsLow - line);
+			} else if (obsHigh < line) {
+				before = Math.min(before, line - obsHigh);
+			}
+		}
+		int room = (before - 1) + (after - 1);
+		int step = spacing;
+		int firstOffset;
+		if ((numTracks - 1) * step <= room) {
+			firstOffset = -(numTracks - 1) * step / 2;
+			firstOffset = Math.max(firstOffset, -(before - 1));
+			firstOffset = Math.min(firstOffset, (after - 1) - (numTracks - 1) * step);
+		} else {
+			step = Math.max(room, 0) / (numTracks - 1);
+			firstOffset = -(before - 1);
+		}
+		for (int k = from; k < to; k++) {
+			offsets[k] = firstOffset + tracks[k - from] * step;
+		}
+	}
+
+	/**
+	 * Limits the offset of the first and last segment of a route, so that its
+	 * endpoints stay within the obstacles they are clipped to.
+	 */
+	private static int clampToEndpointObstacles(Route route, int[] corners, int s, int axis, int offset) {
+		int last = corners.length / 2 - 2;
+		if (s == 0 && route.source != null) {
+			offset = clamp(route.source, corners[axis], axis, offset);
+		}
+		if (s == last && route.target != null) {
+			offset = clamp(route.target, corners[corners.length - 2 + axis], axis, offset);
+		}
+		return offset;
+	}
+
+	private static int clamp(Obstacle obs, int value, int axis, int offset) {
+		int low = axis == 0 ? obs.x : obs.y;
+		int high = low + (axis == 0 ? obs.width : obs.height) - 1;
+		return Math.max(low - value, Math.min(high - value, offset));
+	}
+
+	/**
+	 * Clips the nudged corners of the given path at the obstacles which contain its
+	 * endpoints and returns them as a point list.
+	 */
+	private PointList toPoints(Path path, int[] corners) {
+		Route route = routes.get(path);
+		int first = 0;
+		int last = corners.length / 2 - 1;
+		int startX = corners[0];
+		int startY = corners[1];
+		int endX = corners[2 * last];
+		int endY = corners[2 * last + 1];
+		if (route.source != null) {
+			// the first segment which leaves the source
+			while (first < last && route.source.contains(corners[2 * first + 2], corners[2 * first + 3])) {
+				first++;
+			}
+			if (first < last) {
+				int[] exit = exitPoint(route.source, corners, first, first + 1);
+				startX = exit[0];
+				startY = exit[1];
+			}
+		}
+		if (route.target != null) {
+			while (last > first && route.target.contains(corners[2 * last - 2], corners[2 * last - 1])) {
+				last--;
+			}
+			if (last > first) {
+				int[] exit = exitPoint(route.target, corners, last, last - 1);
+				endX = exit[0];
+				endY = exit[1];
+			}
+		}
+		PointList points = new PointList(last - first + 1);
+		points.addPoint(startX, startY);
+		for (int c = first + 1; c < last; c++) {
+			points.addPoint(corners[2 * c], corners[2 * c + 1]);
+		}
+		points.addPoint(endX, endY);
+		return points;
+	}
+
+	/**
+	 * Returns the point where the segment from the corner inside the given
+	 * obstacle to the corner outside of it crosses the obstacle's border.
+	 */
+	private static int[] exitPoint(Obstacle obs, int[] corners, int inside, int outside) {
+		int x = corners[2 * inside];
+		int y = corners[2 * inside + 1];
+		int ox = corners[2 * outside];
+		int oy = corners[2 * outside + 1];
+		if (oy == y) {
+			x = ox > x ? obs.x + obs.width - 1 : obs.x;
+		} else {
+			y = oy > y ? obs.y + obs.height - 1 : obs.y;
+		}
+		return new int[] { x, y };
+	}
+
+}
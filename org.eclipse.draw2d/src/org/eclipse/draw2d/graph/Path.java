@@ -15,12 +15,15 @@ package org.eclipse.draw2d.graph;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.draw2d.PositionConstants;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
 
 /**
  * A Path representation for the ShortestPathRouting. A Path has a start and end
@@ -53,6 +56,35 @@ public class Path {
 
 	}
 
+	/**
+	 * The state of a vertex in the shortest path search of one path. It is kept
+	 * apart from the vertex, which is shared by the searches of all paths, so that
+	 * the searches do not interfere with each other.
+	 */
+	private static final class Node {
+		final Vertex vertex;
+		/** The position of this node in the order in which the nodes were created. */
+		final int id;
+		final List<Node> neighbors = new ArrayList<>();
+		boolean isPermanent;
+		Node label;
+		double cost;
+
+		Node(Vertex vertex, int id) {
+			this.vertex = vertex;
+			this.id = id;
+		}
+
+		boolean isNeighbor(Vertex other) {
+			for (Node neighbor : neighbors) {
+				if (neighbor.vertex.equals(other)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
 	private static final Point CURRENT = new Point();
 	private static final double EPSILON = 1.04;
 	private static final Point NEXT = new Point();
@@ -91,7 +123,9 @@ public class Path {
 	private Path subPath;
 	double threshold;
 	Set<Obstacle> visibleObstacles;
-	Set<Vertex> visibleVertices;
+	private final Map<Vertex, Node> nodes = new IdentityHashMap<>();
+	/** The id of the next node created in the visibility graph. */
+	private int nextNodeId;
 
 	/**
 	 * Constructs a new path.
@@ -102,7 +136,6 @@ public class Path {
 		segments = new ArrayList<>();
 		grownSegments = new ArrayList<>();
 		points = new PointList();
-		visibleVertices = new HashSet<>();
 		stack = new SegmentStack();
 		visibleObstacles = new HashSet<>();
 		excludedObstacles = new ArrayList<>();
@@ -260,20 +293,20 @@ public class Path {
 	 * segment is outside the threshold oval. Then it compares the segment against
 	 * all obstacles. If it is clean, the segment is finally added to the graph.
 	 *
-	 * @param segment      the segment
-	 * @param exclude1     an obstacle to exclude from the search
-	 * @param exclude2     another obstacle to exclude from the search
-	 * @param allObstacles the list of all obstacles
+	 * @param segment   the segment
+	 * @param exclude1  an obstacle to exclude from the search
+	 * @param exclude2  another obstacle to exclude from the search
+	 * @param obstacles the index of all obstacles
 	 */
-	private void addSegment(Segment segment, Obstacle exclude1, Obstacle exclude2, List<Obstacle> allObstacles) {
+	private void addSegment(Segment segment, Obstacle exclude1, Obstacle exclude2, ObstacleIndex obstacles) {
 		if (threshold != 0 && (segment.end.getDistance(end) + segment.end.getDistance(start) > threshold
 				|| segment.start.getDistance(end) + segment.start.getDistance(start) > threshold)) {
 			return;
 		}
 
-		for (Obstacle obs : allObstacles) {
+		for (Obstacle obs : obstacles.query(segment.start, segment.end, 1)) {
 
-			if (obs == exclude1 || obs == exclude2 || obs.exclude) {
+			if (obs == exclude1 || obs == exclude2 || excludedObstacles.contains(obs)) {
 				continue;
 			}
 
@@ -479,21 +512,22 @@ public class Path {
 	*/
 	void cleanup() {
 		// segments.clear();
-		visibleVertices.clear();
+		nodes.clear();
+		nextNodeId = 0;
 	}
 
 	/**
 	 * Begins the creation of the visibility graph with the first segment
 	 *
-	 * @param allObstacles list of all obstacles
+	 * @param obstacles the index of all obstacles
 	 */
-	private void createVisibilityGraph(List<Obstacle> allObstacles) {
+	private void createVisibilityGraph(ObstacleIndex obstacles) {
 		stack.push(null);
 		stack.push(null);
 		stack.push(new Segment(start, end));
 
 		while (!stack.isEmpty()) {
-			addSegment(stack.pop(), stack.popObstacle(), stack.popObstacle(), allObstacles);
+			addSegment(stack.pop(), stack.popObstacle(), stack.popObstacle(), obstacles);
 		}
 	}
 
@@ -507,16 +541,16 @@ public class Path {
 		if (!labelGraph()) {
 			return false;
 		}
-		Vertex vertex = end;
-		prevCostRatio = end.cost / start.getDistance(end);
+		Node vertex = nodes.get(end);
+		prevCostRatio = vertex.cost / start.getDistance(end);
 
-		Vertex nextVertex;
-		while (!vertex.equals(start)) {
+		Node nextVertex;
+		while (!vertex.vertex.equals(start)) {
 			nextVertex = vertex.label;
 			if (nextVertex == null) {
 				return false;
 			}
-			Segment s = new Segment(nextVertex, vertex);
+			Segment s = new Segment(nextVertex.vertex, vertex.vertex);
 			segments.add(s);
 			vertex = nextVertex;
 		}
@@ -525,11 +559,23 @@ public class Path {
 		return true;
 	}
 
+	/**
+	 * Returns the length of the shortest path found by the last search, or
+	 * <code>0</code> if the end has not been reached.
+	 *
+	 * @return the cost of the end vertex
+	 */
+	double getCost() {
+		Node node = nodes.get(end);
+		return node == null ? 0 : node.cost;
+	}
+
 	/**
 	 * Resets all necessary fields for a solve.
 	 */
 	void fullReset() {
-		visibleVertices.clear();
+		nodes.clear();
+		nextNodeId = 0;
 		segments.clear();
 		if (prevCostRatio == 0) {
 			double distance = start.getDistance(end);
@@ -545,13 +591,13 @@ public class Path {
 	 * Creates the visibility graph and returns whether or not a shortest path could
 	 * be determined.
 	 *
-	 * @param allObstacles the list of all obstacles
+	 * @param obstacles the index of all obstacles
 	 * @return true if a shortest path was found
 	 */
-	boolean generateShortestPath(List<Obstacle> allObstacles) {
-		createVisibilityGraph(allObstacles);
+	boolean generateShortestPath(ObstacleIndex obstacles) {
+		createVisibilityGraph(obstacles);
 
-		if (visibleVertices.isEmpty()) {
+		if (nodes.isEmpty()) {
 			return false;
 		}
 
@@ -646,51 +692,52 @@ public class Path {
 	}
 
 	/**
-	 * Labels the visibility graph to assist in finding the shortest path
+	 * Labels the visibility graph to assist in finding the shortest path. The
+	 * vertices are made permanent in the order of the length of the shortest path
+	 * from the start through them to the end, estimated by the straight line
+	 * distance to the end (A*). The search stops as soon as the end is permanent,
+	 * and does not follow paths which cannot be shorter than the threshold.
 	 *
-	 * @return false if there was a gap in the visibility graph
+	 * @return false if the end cannot be reached within the threshold
 	 */
 	private boolean labelGraph() {
-		int numPermanentNodes = 1;
-		Vertex vertex = start;
-		Vertex neighborVertex = null;
-		vertex.isPermanent = true;
-		double newCost;
-		while (numPermanentNodes != visibleVertices.size()) {
-			List<Vertex> neighbors = vertex.neighbors;
-			if (neighbors == null) {
-				return false;
+		Node source = nodes.get(start);
+		Node target = nodes.get(end);
+		if (source == null || target == null) {
+			return false;
+		}
+		Node[] byId = new Node[nextNodeId];
+		for (Node node : nodes.values()) {
+			byId[node.id] = node;
+		}
+
+		NodeHeap open = new NodeHeap(byId.length);
+		open.offer(source.id, start.getDistance(end));
+		while (!open.isEmpty()) {
+			Node vertex = byId[open.poll()];
+			vertex.isPermanent = true;
+			if (vertex == target) {
+				return true;
 			}
 			// label neighbors if they have a new shortest path
-			for (Vertex neighbor : neighbors) {
-				neighborVertex = neighbor;
-				if (!neighborVertex.isPermanent) {
-					newCost = vertex.cost + vertex.getDistance(neighborVertex);
-					if (neighborVertex.label == null) {
-						neighborVertex.label = vertex;
-						neighborVertex.cost = newCost;
-					} else if (neighborVertex.cost > newCost) {
-						neighborVertex.label = vertex;
-						neighborVertex.cost = newCost;
-					}
+			for (Node neighbor : vertex.neighbors) {
+				if (neighbor.isPermanent) {
+					continue;
 				}
-			}
-			// find the next none-permanent, labeled vertex with smallest cost
-			double smallestCost = 0;
-			Vertex tempVertex = null;
-			for (Vertex visibleVertex : visibleVertices) {
-				tempVertex = visibleVertex;
-				if (!tempVertex.isPermanent && tempVertex.label != null
-						&& (tempVertex.cost < smallestCost || smallestCost == 0)) {
-					smallestCost = tempVertex.cost;
-					vertex = tempVertex;
+				double newCost = vertex.cost + vertex.vertex.getDistance(neighbor.vertex);
+				if (neighbor.label != null && neighbor.cost <= newCost) {
+					continue;
+				}
+				double estimate = newCost + neighbor.vertex.getDistance(end);
+				if (threshold != 0 && estimate > threshold) {
+					continue;
 				}
+				neighbor.label = vertex;
+				neighbor.cost = newCost;
+				open.offer(neighbor.id, estimate);
 			}
-			// set the new vertex to permanent.
-			vertex.isPermanent = true;
-			numPermanentNodes++;
 		}
-		return true;
+		return false;
 	}
 
 	/**
@@ -699,20 +746,29 @@ public class Path {
 	 * @param segment the segment to add
 	 */
 	private void linkVertices(Segment segment) {
-		if (segment.start.neighbors == null) {
-			segment.start.neighbors = new ArrayList<>();
-		}
-		if (segment.end.neighbors == null) {
-			segment.end.neighbors = new ArrayList<>();
-		}
+		Node startNode = getNode(segment.start);
+		Node endNode = getNode(segment.end);
 
-		if (!segment.start.neighbors.contains(segment.end)) {
-			segment.start.neighbors.add(segment.end);
-			segment.end.neighbors.add(segment.start);
+		if (!startNode.isNeighbor(segment.end)) {
+			startNode.neighbors.add(endNode);
+			endNode.neighbors.add(startNode);
 		}
+	}
 
-		visibleVertices.add(segment.start);
-		visibleVertices.add(segment.end);
+	/**
+	 * Returns the node of the given vertex in the visibility graph, which is
+	 * created if necessary.
+	 *
+	 * @param vertex the vertex
+	 * @return the node of the vertex
+	 */
+	private Node getNode(Vertex vertex) {
+		Node node = nodes.get(vertex);
+		if (node == null) {
+			node = new Node(vertex, nextNodeId++);
+			nodes.put(vertex, node);
+		}
+		return node;
 	}
 
 	/**
@@ -741,40 +797,30 @@ public class Path {
 	}
 
 	/**
-	 * Refreshes the exclude field on the obstacles in the list. Excludes all
-	 * obstacles that contain the start or end point for this path.
+	 * Refreshes the list of obstacles that contain the start or end point for this
+	 * path, which the path is allowed to cross.
 	 *
-	 * @param allObstacles list of all obstacles
+	 * @param obstacles the index of all obstacles
 	 */
-	void refreshExcludedObstacles(List<Obstacle> allObstacles) {
+	void refreshExcludedObstacles(ObstacleIndex obstacles) {
 		excludedObstacles.clear();
 
-		for (Obstacle o : allObstacles) {
-			o.exclude = false;
-
-			if (o.contains(start)) {
-				if (o.containsProper(start)) {
-					o.exclude = true;
-				} else {
-					/*
-					 * $TODO Check for corners. If the path begins exactly at the corner of an
-					 * obstacle, the exclude should also be true.
-					 *
-					 * Or, change segment intersection so that two segments that share an endpoint
-					 * do not intersect.
-					 */
-				}
-			}
-
-			if (o.contains(end)) {
-				if (o.containsProper(end)) {
-					o.exclude = true;
-				} else {
-					// check for corners. See above statement.
-				}
+		for (Obstacle o : obstacles.query(start)) {
+			if (o.containsProper(start) && !excludedObstacles.contains(o)) {
+				excludedObstacles.add(o);
 			}
-
-			if (o.exclude && !excludedObstacles.contains(o)) {
+			/*
+			 * $TODO Check for corners. If the path begins exactly at the corner of an
+			 * obstacle, the exclude should also be true.
+			 *
+			 * Or, change segment intersection so that two segments that share an endpoint
+			 * do not intersect.
+			 */
+		}
+
+		for (Obstacle o : obstacles.query(end)) {
+			// check for corners. See above statement.
+			if (o.containsProper(end) && !excludedObstacles.contains(o)) {
 				excludedObstacles.add(o);
 			}
 		}
@@ -847,6 +893,13 @@ public class Path {
 			return false;
 		}
 
+		// the path can only be affected if its bounds come close to the obstacle
+		Rectangle bounds = points.getBounds();
+		if (obs.x > bounds.right() + 1 || obs.y > bounds.bottom() + 1 || obs.right() < bounds.x - 1
+				|| obs.bottom() < bounds.y - 1) {
+			return false;
+		}
+
 		Segment seg1 = new Segment(obs.topLeft, obs.bottomRight);
 		Segment seg2 = new Segment(obs.topRight, obs.bottomLeft);
 
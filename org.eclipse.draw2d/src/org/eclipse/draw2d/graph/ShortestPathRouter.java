@@ -18,6 +18,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import org.eclipse.draw2d.PositionConstants;
 import org.eclipse.draw2d.geometry.Point;
@@ -38,6 +41,18 @@ import org.eclipse.draw2d.geometry.Rectangle;
  * number of paths, n is the number of obstacles, and s is the average number of
  * segments in each path's final solution.
  * <P>
+ * The obstacles are kept in a spatial index, so that intersection tests only
+ * visit the obstacles near a segment. Adding, removing or moving an obstacle
+ * only dirties the paths whose current route or visibility graph comes close to
+ * the obstacle's old or new bounds, and only the dirty paths are routed again
+ * by the next solve.
+ * <P>
+ * The shortest path searches of the dirty paths are independent of each other.
+ * If an executor has been set with {@link #setSolveExecutor(Executor)}, they run
+ * concurrently on it, while the obstacles are left unchanged. The offsetting,
+ * ordering and bending of the paths then runs once on the calling thread, so
+ * that the result is the same as when solving sequentially.
+ * <P>
  * This class is not intended to be subclassed.
  *
  * @author Whitney Sorenson
@@ -75,6 +90,10 @@ public class ShortestPathRouter {
 	private List<Path> subPaths;
 
 	private final List<Obstacle> userObstacles;
+	private final ObstacleIndex obstacleIndex;
+	private int nextObstacleOrder;
+	private int maxGrowth;
+	private Executor solveExecutor;
 	private final List<Path> userPaths;
 	private final List<Path> workingPaths;
 
@@ -86,6 +105,7 @@ public class ShortestPathRouter {
 		workingPaths = new ArrayList<>();
 		pathsToChildPaths = new HashMap<>();
 		userObstacles = new ArrayList<>();
+		obstacleIndex = new ObstacleIndex(ObstacleIndex.DEFAULT_CELL_SIZE);
 	}
 
 	/**
@@ -161,7 +181,7 @@ public class ShortestPathRouter {
 
 		int xDist, yDist;
 
-		for (Obstacle obs : userObstacles) {
+		for (Obstacle obs : obstacleIndex.query(r.x, r.y, r.right() - 1, r.bottom() - 1)) {
 			if (obs != vertex.obs && r.intersects(obs)) {
 				int pos = obs.getPosition(vertex);
 				if (pos == 0) {
@@ -323,8 +343,9 @@ public class ShortestPathRouter {
 	 */
 	private void growObstaclesPass() {
 		// grow obstacles
+		maxGrowth = 0;
 		for (Obstacle userObstacle : userObstacles) {
-			userObstacle.growVertices();
+			maxGrowth = Math.max(maxGrowth, userObstacle.growVertices());
 		}
 
 		// go through paths and test segments
@@ -364,7 +385,9 @@ public class ShortestPathRouter {
 	 * @param obs the obstacle
 	 */
 	private boolean internalAddObstacle(Obstacle obs) {
+		obs.order = nextObstacleOrder++;
 		userObstacles.add(obs);
+		obstacleIndex.add(obs);
 		return testAndDirtyPaths(obs);
 	}
 
@@ -377,15 +400,16 @@ public class ShortestPathRouter {
 	private boolean internalRemoveObstacle(Rectangle rect) {
 		Obstacle obs = null;
 		int index = -1;
-		for (int i = 0; i < userObstacles.size(); i++) {
-			obs = userObstacles.get(i);
-			if (obs.equals(rect)) {
-				index = i;
+		for (Obstacle candidate : obstacleIndex.query(rect.x, rect.y, rect.right() - 1, rect.bottom() - 1)) {
+			if (candidate.equals(rect)) {
+				obs = candidate;
+				index = userObstacles.indexOf(obs);
 				break;
 			}
 		}
 
 		userObstacles.remove(index);
+		obstacleIndex.remove(obs);
 
 		boolean result = false;
 		result |= dirtyPathsOn(obs.bottomLeft);
@@ -622,15 +646,6 @@ public class ShortestPathRouter {
 		return true;
 	}
 
-	/**
-	 * Resets exclude field on all obstacles
-	 */
-	private void resetObstacleExclusions() {
-		for (Obstacle userObstacle : userObstacles) {
-			userObstacle.exclude = false;
-		}
-	}
-
 	/**
 	 * Resets all vertices found on paths and obstacles.
 	 */
@@ -645,6 +660,34 @@ public class ShortestPathRouter {
 		}
 	}
 
+	/**
+	 * Returns the executor on which the shortest path searches of the dirty paths
+	 * run.
+	 *
+	 * @return the executor, or <code>null</code> if the paths are solved
+	 *         sequentially on the calling thread
+	 * @see #setSolveExecutor(Executor)
+	 * @since 3.17
+	 */
+	public Executor getSolveExecutor() {
+		return solveExecutor;
+	}
+
+	/**
+	 * Sets the executor on which {@link #solve()} runs the shortest path searches
+	 * of the dirty paths, each as a separate task. The calling thread waits until
+	 * all searches have completed. The paths and obstacles must not be changed
+	 * while a solve is running. The default is <code>null</code>, which solves the
+	 * paths sequentially on the calling thread. The solution does not depend on
+	 * the executor.
+	 *
+	 * @param executor the executor, or <code>null</code>
+	 * @since 3.17
+	 */
+	public void setSolveExecutor(Executor executor) {
+		this.solveExecutor = executor;
+	}
+
 	/**
 	 * Sets the default spacing between paths. The spacing is the minimum distance
 	 * that path should be offset from other paths or obstacles. The default value
@@ -697,8 +740,6 @@ public class ShortestPathRouter {
 	 * @return number of dirty paths
 	 */
 	private int solveDirtyPaths() {
-		int numSolved = 0;
-
 		for (Path path : userPaths) {
 			if (!path.isDirty) {
 				continue;
@@ -722,35 +763,62 @@ public class ShortestPathRouter {
 			refreshChildrenEndpoints(path, children);
 		}
 
+		List<Path> dirtyPaths = new ArrayList<>();
 		for (Path path : workingPaths) {
-			path.refreshExcludedObstacles(userObstacles);
-			if (!path.isDirty) {
+			path.refreshExcludedObstacles(obstacleIndex);
+			if (path.isDirty) {
+				dirtyPaths.add(path);
+			} else {
 				path.resetPartial();
-				continue;
 			}
+		}
 
-			numSolved++;
-			path.fullReset();
-
-			boolean pathFoundCheck = path.generateShortestPath(userObstacles);
-			if (!pathFoundCheck || path.end.cost > path.threshold) {
-				// path not found, or path found was too long
-				resetVertices();
-				path.fullReset();
-				path.threshold = 0;
-				pathFoundCheck = path.generateShortestPath(userObstacles);
+		if (solveExecutor == null || dirtyPaths.size() < 2) {
+			for (Path path : dirtyPaths) {
+				solvePath(path, obstacleIndex);
+			}
+		} else {
+			// the searches only read the obstacles and each writes to its own path
+			CompletableFuture<?>[] searches = new CompletableFuture<?>[dirtyPaths.size()];
+			for (int i = 0; i < searches.length; i++) {
+				Path path = dirtyPaths.get(i);
+				searches[i] = CompletableFuture.runAsync(() -> solvePath(path, obstacleIndex), solveExecutor);
+			}
+			try {
+				CompletableFuture.allOf(searches).join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				if (e.getCause() instanceof Error error) {
+					throw error;
+				}
+				throw e;
 			}
-
-			resetVertices();
 		}
 
-		resetObstacleExclusions();
+		resetVertices();
 
-		if (numSolved == 0) {
-			resetVertices();
-		}
+		return dirtyPaths.size();
+	}
+
+	/**
+	 * Finds the shortest path for the given path, first within its threshold and,
+	 * if no path is found there, without one.
+	 *
+	 * @param path      the path
+	 * @param obstacles the index of all obstacles
+	 */
+	private static void solvePath(Path path, ObstacleIndex obstacles) {
+		path.fullReset();
 
-		return numSolved;
+		boolean pathFoundCheck = path.generateShortestPath(obstacles);
+		if (!pathFoundCheck || path.getCost() > path.threshold) {
+			// path not found, or path found was too long
+			path.fullReset();
+			path.threshold = 0;
+			path.generateShortestPath(obstacles);
+		}
 	}
 
 	/**
@@ -824,7 +892,7 @@ public class ShortestPathRouter {
 	 * @return 1 if new segments have been inserted
 	 */
 	private int testOffsetSegmentForIntersections(Segment segment, int index, Path path) {
-		for (Obstacle obs : userObstacles) {
+		for (Obstacle obs : obstacleIndex.query(segment.start, segment.end, maxGrowth + getSpacing() + 1)) {
 
 			if (segment.end.obs == obs || segment.start.obs == obs || obs.exclude) {
 				continue;
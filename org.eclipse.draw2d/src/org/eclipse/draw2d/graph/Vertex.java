@@ -38,12 +38,6 @@ class Vertex extends Point {
 	static final int INNIE = 1;
 	static final int OUTIE = 2;
 
-	// for shortest path
-	List<Vertex> neighbors;
-	boolean isPermanent = false;
-	Vertex label;
-	double cost = 0;
-
 	// for routing
 	int nearestObstacle = 0;
 	double offset = 0;
@@ -130,15 +124,9 @@ class Vertex extends Point {
 		totalCount = 0;
 		type = NOT_SET;
 		count = 0;
-		cost = 0;
 		offset = getSpacing();
 		nearestObstacle = 0;
-		label = null;
 		nearestObstacleChecked = false;
-		isPermanent = false;
-		if (neighbors != null) {
-			neighbors.clear();
-		}
 		if (cachedCosines != null) {
 			cachedCosines.clear();
 		}
@@ -184,8 +172,10 @@ class Vertex extends Point {
 
 	/**
 	 * Grows this vertex by its offset to its maximum size.
+	 *
+	 * @return the distance by which the vertex has moved along each axis
 	 */
-	void grow() {
+	int grow() {
 		int modifier;
 
 		if (nearestObstacle == 0) {
@@ -204,6 +194,7 @@ class Vertex extends Point {
 		} else {
 			x -= modifier;
 		}
+		return modifier;
 	}
 
 	/**
@@ -0,0 +1,351 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.draw2d.internal;
+
+/**
+ * A sparse uniform grid of square cells, which holds the items covering each
+ * cell. It backs the spatial indexes of the children of a figure and of the
+ * obstacles of a router. Items covering more than a given number of cells are
+ * not distributed into the grid but kept in a separate cell, which every query
+ * has to visit.
+ * <P>
+ * The grid does not know the bounds of its items, so the same range of cells
+ * must be given when an item is removed as when it was added.
+ * <P>
+ * The cells are kept in an open addressing hash table with primitive keys, so
+ * that looking up a cell does not allocate.
+ *
+ * @param <T> the type of the items
+ */
+public final class UniformGrid<T> {
+
+	/**
+	 * The items of one cell, in the order in which they were added.
+	 *
+	 * @param <T> the type of the items
+	 */
+	public static final class Cell<T> {
+		private Object[] items = new Object[4];
+		private int size;
+
+		/**
+		 * Returns the number of items in this cell.
+		 *
+		 * @return the number of items
+		 */
+		public int size() {
+			return size;
+		}
+
+		/**
+		 * Returns the item at the given index.
+		 *
+		 * @param index the index, less than {@link #size()}
+		 * @return the item
+		 */
+		@SuppressWarnings("unchecked")
+		public T get(int index) {
+			return (T) items[index];
+		}
+
+		void add(T item) {
+			if (size == items.length) {
+				Object[] grown = new Object[size * 2];
+				System.arraycopy(items, 0, grown, 0, size);
+				items = grown;
+			}
+			items[size++] = item;
+		}
+
+		void remove(T item) {
+			for (int i = 0; i < size; i++) {
+				if (items[i] == item) {
+					System.arraycopy(items, i + 1, items, i, size - i - 1);
+					items[--size] = null;
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Visits the cells found by a query.
+	 *
+	 * @param <T> the type of the items
+	 */
+	public interface CellVisitor<T> {
+		/**
+		 * Called for each non-empty cell which is found.
+		 *
+		 * @param cell the cell
+		 */
+		void visit(Cell<T> cell);
+	}
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final int cellSize;
+	private final int maxCellsPerItem;
+	private final Cell<T> oversized = new Cell<>();
+
+	/**
+	 * The keys and cells of the hash table, which uses linear probing. A slot is
+	 * free if its cell is <code>null</code>.
+	 */
+	private long[] keys = new long[INITIAL_CAPACITY];
+	private Cell<T>[] cells = newTable(INITIAL_CAPACITY);
+	private int shift = Long.SIZE - Integer.numberOfTrailingZeros(INITIAL_CAPACITY);
+	private int cellCount;
+
+	/**
+	 * Creates an empty grid.
+	 *
+	 * @param cellSize        the edge length of a cell
+	 * @param maxCellsPerItem the largest number of cells an item is added to
+	 */
+	public UniformGrid(int cellSize, int maxCellsPerItem) {
+		if (cellSize <= 0) {
+			throw new IllegalArgumentException("Cell size must be positive"); //$NON-NLS-1$
+		}
+		this.cellSize = cellSize;
+		this.maxCellsPerItem = maxCellsPerItem;
+	}
+
+	/**
+	 * Returns the column or row of the cells which contain the given coordinate.
+	 *
+	 * @param coordinate the x or y coordinate
+	 * @return the column or row
+	 */
+	public int cellOf(int coordinate) {
+		return Math.floorDiv(coordinate, cellSize);
+	}
+
+	/**
+	 * Returns the edge length of a cell.
+	 *
+	 * @return the cell size
+	 */
+	public int getCellSize() {
+		return cellSize;
+	}
+
+	/**
+	 * Returns whether an item covering the given range of cells is kept in the
+	 * separate cell of oversized items.
+	 *
+	 * @param minCol the first column
+	 * @param minRow the first row
+	 * @param maxCol the last column, inclusive
+	 * @param maxRow the last row, inclusive
+	 * @return <code>true</code> if the range covers too many cells
+	 */
+	public boolean isOversized(int minCol, int minRow, int maxCol, int maxRow) {
+		return ((long) maxCol - minCol + 1) * ((long) maxRow - minRow + 1) > maxCellsPerItem;
+	}
+
+	/**
+	 * Adds the given item to the given range of cells.
+	 *
+	 * @param item   the item
+	 * @param minCol the first column
+	 * @param minRow the first row
+	 * @param maxCol the last column, inclusive
+	 * @param maxRow the last row, inclusive
+	 */
+	public void add(T item, int minCol, int minRow, int maxCol, int maxRow) {
+		if (isOversized(minCol, minRow, maxCol, maxRow)) {
+			oversized.add(item);
+			return;
+		}
+		for (int col = minCol; col <= maxCol; col++) {
+			for (int row = minRow; row <= maxRow; row++) {
+				long key = key(col, row);
+				int slot = find(key);
+				if (cells[slot] == null) {
+					if (2 * (cellCount + 1) > cells.length) {
+						rehash(cells.length * 2);
+						slot = find(key);
+					}
+					keys[slot] = key;
+					cells[slot] = new Cell<>();
+					cellCount++;
+				}
+				cells[slot].add(item);
+			}
+		}
+	}
+
+	/**
+	 * Removes the given item from the given range of cells, which must be the
+	 * range it was added to.
+	 *
+	 * @param item   the item
+	 * @param minCol the first column
+	 * @param minRow the first row
+	 * @param maxCol the last column, inclusive
+	 * @param maxRow the last row, inclusive
+	 */
+	public void remove(T item, int minCol, int minRow, int maxCol, int maxRow) {
+		if (isOversized(minCol, minRow, maxCol, maxRow)) {
+			oversized.remove(item);
+			return;
+		}
+		for (int col = minCol; col <= maxCol; col++) {
+			for (int row = minRow; row <= maxRow; row++) {
+				int slot = find(key(col, row));
+				Cell<T> cell = cells[slot];
+				if (cell != null) {
+					cell.remove(item);
+					if (cell.size == 0) {
+						delete(slot);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all items.
+	 */
+	public void clear() {
+		keys = new long[INITIAL_CAPACITY];
+		cells = newTable(INITIAL_CAPACITY);
+		shift = Long.SIZE - Integer.numberOfTrailingZeros(INITIAL_CAPACITY);
+		cellCount = 0;
+		oversized.size = 0;
+		oversized.items = new Object[4];
+	}
+
+	/**
+	 * Returns the cell at the given column and row, or <code>null</code> if it is
+	 * empty.
+	 *
+	 * @param col the column
+	 * @param row the row
+	 * @return the cell or <code>null</code>
+	 */
+	public Cell<T> getCell(int col, int row) {
+		return cells[find(key(col, row))];
+	}
+
+	/**
+	 * Returns the cell of the items which cover too many cells to be added to
+	 * each of them.
+	 *
+	 * @return the cell of oversized items
+	 */
+	public Cell<T> getOversized() {
+		return oversized;
+	}
+
+	/**
+	 * Visits the non-empty cells within the given range of cells, followed by the
+	 * cell of oversized items. When the range covers more cells than the hash table
+	 * has slots, all non-empty cells are visited instead, so callers have to test
+	 * the items of each cell against the queried area.
+	 *
+	 * @param minCol  the first column
+	 * @param minRow  the first row
+	 * @param maxCol  the last column, inclusive
+	 * @param maxRow  the last row, inclusive
+	 * @param visitor the visitor
+	 */
+	public void visit(int minCol, int minRow, int maxCol, int maxRow, CellVisitor<T> visitor) {
+		long covered = ((long) maxCol - minCol + 1) * ((long) maxRow - minRow + 1);
+		if (covered > cells.length) {
+			// Cheaper to scan the table than to look up every covered cell
+			for (Cell<T> cell : cells) {
+				if (cell != null) {
+					visitor.visit(cell);
+				}
+			}
+		} else {
+			for (int col = minCol; col <= maxCol; col++) {
+				for (int row = minRow; row <= maxRow; row++) {
+					Cell<T> cell = cells[find(key(col, row))];
+					if (cell != null) {
+						visitor.visit(cell);
+					}
+				}
+			}
+		}
+		if (oversized.size > 0) {
+			visitor.visit(oversized);
+		}
+	}
+
+	/**
+	 * Returns the slot holding the given key, or the free slot where it would be
+	 * inserted.
+	 */
+	private int find(long key) {
+		int mask = cells.length - 1;
+		// the keys are mixed, so their high bits are spread best
+		int slot = (int) (key >>> shift);
+		while (cells[slot] != null && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Frees the given slot and moves the following keys of its probe sequence up,
+	 * so that lookups need no markers for deleted keys.
+	 */
+	private void delete(int slot) {
+		int mask = cells.length - 1;
+		int free = slot;
+		int next = (free + 1) & mask;
+		while (cells[next] != null) {
+			int home = (int) (keys[next] >>> shift);
+			// move the key up unless its home slot lies cyclically in (free, next]
+			if (((next - home) & mask) >= ((next - free) & mask)) {
+				keys[free] = keys[next];
+				cells[free] = cells[next];
+				free = next;
+			}
+			next = (next + 1) & mask;
+		}
+		cells[free] = null;
+		cellCount--;
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		Cell<T>[] oldCells = cells;
+		keys = new long[capacity];
+		cells = newTable(capacity);
+		shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+		for (int i = 0; i < oldCells.length; i++) {
+			if (oldCells[i] != null) {
+				int slot = find(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				cells[slot] = oldCells[i];
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> Cell<T>[] newTable(int capacity) {
+		return new Cell[capacity];
+	}
+
+	private static long key(int col, int row) {
+		// Folding the halves to col ^ row would collide for many cells of a grid, so
+		// the bits are mixed by a bijective multiplication
+		long cell = ((long) col << 32) | (row & 0xFFFFFFFFL);
+		return cell * 0x9E3779B97F4A7C15L;
+	}
+
+}
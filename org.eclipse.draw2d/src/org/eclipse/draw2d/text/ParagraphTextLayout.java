@@ -12,7 +12,9 @@
  *******************************************************************************/
 package org.eclipse.draw2d.text;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import org.eclipse.swt.graphics.Font;
 
@@ -42,7 +44,27 @@ public class ParagraphTextLayout extends TextLayout {
 	 */
 	public static final int WORD_WRAP_TRUNCATE = 2;
 
+	/**
+	 * The number of characters after the text consumed by the next fragment which
+	 * are assumed to influence the wrapping of a fragment.
+	 */
+	private static final int DEPENDENCY_MARGIN = 16;
+
+	/**
+	 * The number of trailing fragments which are never reused. Their wrapping may
+	 * depend on the width of the figures following the text flow.
+	 */
+	private static final int LOOKAHEAD_FRAGMENTS = 4;
+
 	private int wrappingStyle = WORD_WRAP_HARD;
+	private boolean incremental = true;
+
+	/**
+	 * The state of the last layout, or <code>null</code> if it cannot be reused.
+	 */
+	private String layoutText;
+	private Font layoutFont;
+	private FlowUtilities layoutUtilities;
 
 	/**
 	 * Constructs a new ParagraphTextLayout on the specified TextFlow.
@@ -167,6 +189,18 @@ public class ParagraphTextLayout extends TextLayout {
 
 		SegmentLookahead lookahead = new SegmentLookahead(segments, border == null ? 0 : border.getRightMargin());
 		int seg;
+		FlowUtilities flowUtilities = textFlow.getFlowUtilities();
+
+		boolean reusable = border == null && textFlow.getBidiInfo() == null;
+		if (reusable && incremental && layoutText != null && Objects.equals(font, layoutFont)
+				&& flowUtilities == layoutUtilities) {
+			reflow(textFlow, fragments, lookahead, font, flowUtilities);
+			layoutText = textFlow.getText();
+			return;
+		}
+		layoutText = reusable ? textFlow.getText() : null;
+		layoutFont = font;
+		layoutUtilities = flowUtilities;
 
 		if (border != null) {
 			fragment = getFragment(fragIndex, fragments);
@@ -181,7 +215,6 @@ public class ParagraphTextLayout extends TextLayout {
 			context.addToCurrentLine(fragment);
 		}
 
-		FlowUtilities flowUtilities = textFlow.getFlowUtilities();
 		for (seg = 0; seg < segments.length; seg++) {
 			segment = segments[seg];
 			lookahead.setIndex(seg);
@@ -193,8 +226,10 @@ public class ParagraphTextLayout extends TextLayout {
 				fragment.offset = offset;
 				fragment.setBidiLevel(levelInfo[seg * 2]);
 
+				fragment.wrapWidth = getWrapWidth(context);
 				advance = flowUtilities.wrapFragmentInContext(fragment, segment, context, lookahead, font,
 						wrappingStyle);
+				fragment.advance = advance;
 				segment = segment.substring(advance);
 				offset += advance;
 				if ((segment.length() > 0 || fragment.length < advance) || fragment.isTruncated()) {
@@ -219,4 +254,129 @@ public class ParagraphTextLayout extends TextLayout {
 		}
 	}
 
+	private static int getWrapWidth(FlowContext context) {
+		if (context.isCurrentLineOccupied()) {
+			return TextFragmentBox.NOT_REUSABLE;
+		}
+		return context.getRemainingLineWidth();
+	}
+
+	/**
+	 * Returns <code>true</code> if the text flow is laid out incrementally after
+	 * its text has changed.
+	 *
+	 * @return <code>true</code> if incremental reflow is enabled
+	 * @since 3.17
+	 */
+	public boolean isIncremental() {
+		return incremental;
+	}
+
+	/**
+	 * Lays out the text flow after its text has changed, reusing the fragments of
+	 * the previous layout where possible. Fragments before the change are reused
+	 * if the text they depend on and the line they start on are unchanged. After
+	 * the change, lines are wrapped again until a line starts at the same
+	 * position in the unchanged remainder of the text as before, with the same
+	 * width. The previous layout is reused from there on, so that only the lines
+	 * around the change are measured. The last few fragments, which may depend on
+	 * the figures following the text flow, are always wrapped again.
+	 * <P>
+	 * This is only used for text flows without bidi text and border.
+	 */
+	private void reflow(TextFlow textFlow, List<TextFragmentBox> fragments, SegmentLookahead lookahead, Font font,
+			FlowUtilities flowUtilities) {
+		String text = textFlow.getText();
+		String oldText = layoutText;
+		int length = text.length();
+		int oldLength = oldText.length();
+		int limit = Math.min(length, oldLength);
+		int prefix = 0;
+		while (prefix < limit && text.charAt(prefix) == oldText.charAt(prefix)) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < limit - prefix && text.charAt(length - suffix - 1) == oldText.charAt(oldLength - suffix - 1)) {
+			suffix++;
+		}
+		int delta = length - oldLength;
+		int oldChangeEnd = oldLength - suffix;
+
+		List<TextFragmentBox> previous = new ArrayList<>(fragments);
+		fragments.clear();
+		int reusableCount = previous.size() - LOOKAHEAD_FRAGMENTS;
+		int candidate = 0;
+
+		FlowContext context = getContext();
+		TextFragmentBox fragment;
+		int offset = 0;
+		int advance;
+		do {
+			fragment = null;
+			if (!context.isCurrentLineOccupied()) {
+				int position = -1;
+				while (candidate < reusableCount) {
+					position = getReusedOffset(previous, candidate, prefix, oldChangeEnd, delta, oldLength);
+					if (position >= offset) {
+						break;
+					}
+					candidate++;
+				}
+				if (candidate < reusableCount && position == offset
+						&& previous.get(candidate).wrapWidth == context.getRemainingLineWidth()) {
+					fragment = previous.get(candidate++);
+				}
+			}
+			if (fragment != null) {
+				fragment.offset = offset;
+				context.addToCurrentLine(fragment);
+				advance = fragment.advance;
+			} else {
+				fragment = new TextFragmentBox(textFlow);
+				fragment.offset = offset;
+				fragment.setBidiLevel(-1);
+				fragment.wrapWidth = getWrapWidth(context);
+				lookahead.setIndex(0);
+				advance = flowUtilities.wrapFragmentInContext(fragment, text.substring(offset), context, lookahead,
+						font, wrappingStyle);
+				fragment.advance = advance;
+			}
+			fragments.add(fragment);
+			offset += advance;
+			if (offset < length || fragment.length < advance || fragment.isTruncated()) {
+				context.endLine();
+			}
+		} while (offset < length || (!fragment.isTruncated() && fragment.length < advance));
+	}
+
+	/**
+	 * Returns the offset in the current text at which the given fragment of the
+	 * previous layout can be reused, or -1 if its text may have changed.
+	 */
+	private static int getReusedOffset(List<TextFragmentBox> previous, int index, int prefix, int oldChangeEnd,
+			int delta, int oldLength) {
+		int oldOffset = previous.get(index).offset;
+		if (oldOffset >= oldChangeEnd) {
+			// The remaining text is unchanged
+			return oldOffset + delta;
+		}
+		int dependencyEnd = index + 2 < previous.size() ? previous.get(index + 2).offset : oldLength;
+		if (dependencyEnd + DEPENDENCY_MARGIN <= prefix) {
+			return oldOffset;
+		}
+		return -1;
+	}
+
+	/**
+	 * Enables incremental reflow. If enabled, only the lines around a change of
+	 * the text are wrapped again. Enabled by default.
+	 *
+	 * @param value <code>true</code> to enable incremental reflow
+	 * @since 3.17
+	 */
+	public void setIncremental(boolean value) {
+		incremental = value;
+		layoutText = null;
+	}
+
 }
@@ -30,6 +30,19 @@ public class TextFragmentBox extends ContentBox {
 	private TextFlow textflow;
 	private boolean truncated;
 
+	/**
+	 * The remaining line width when the fragment was last wrapped, or
+	 * {@link #NOT_REUSABLE} if the line was already occupied.
+	 */
+	int wrapWidth = NOT_REUSABLE;
+
+	/**
+	 * The number of characters consumed when the fragment was last wrapped.
+	 */
+	int advance;
+
+	static final int NOT_REUSABLE = Integer.MIN_VALUE;
+
 	/**
 	 * Creates a new TextFragmentBox for the given text flow.
 	 *
@@ -16,6 +16,8 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionEvent;
@@ -37,6 +39,8 @@ import org.eclipse.zest.layouts.LayoutAlgorithm;
 import org.eclipse.zest.layouts.LayoutEntity;
 import org.eclipse.zest.layouts.LayoutRelationship;
 import org.eclipse.zest.layouts.LayoutStyles;
+import org.eclipse.zest.layouts.algorithms.AbstractLayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.LayoutSnapshot;
 import org.eclipse.zest.layouts.algorithms.TreeLayoutAlgorithm;
 import org.eclipse.zest.layouts.constraints.LayoutConstraint;
 
@@ -117,6 +121,8 @@ public class Graph extends FigureCanvas implements IContainer {
 	private ZestRootLayer zestRootLayer;
 
 	private boolean hasPendingLayoutRequest;
+	private Executor layoutExecutor;
+	private CompletableFuture<LayoutSnapshot> pendingLayout;
 	private boolean enableHideNodes;
 
 	/**
@@ -374,6 +380,7 @@ public class Graph extends FigureCanvas implements IContainer {
 	 */
 	@Override
 	public void dispose() {
+		cancelPendingLayout();
 		release();
 		super.dispose();
 	}
@@ -407,6 +414,7 @@ public class Graph extends FigureCanvas implements IContainer {
 	 */
 	@Override
 	public void setLayoutAlgorithm(LayoutAlgorithm algorithm, boolean applyLayout) {
+		cancelPendingLayout();
 		this.layoutAlgorithm = algorithm;
 		if (applyLayout) {
 			applyLayout();
@@ -417,6 +425,34 @@ public class Graph extends FigureCanvas implements IContainer {
 		return this.layoutAlgorithm;
 	}
 
+	/**
+	 * Sets the executor on which the layout algorithm computes the layout of this
+	 * graph. If an executor is set and the layout algorithm extends
+	 * {@link AbstractLayoutAlgorithm}, the layout works on a snapshot of the nodes
+	 * and connections, so that the UI thread is not blocked, and all computed
+	 * positions are applied at once when it is done. A layout which is still
+	 * running is cancelled and never applied when nodes or connections are added
+	 * or removed, when the layout algorithm is changed or when another layout is
+	 * started. If no executor is set, which is the default, the layout is computed
+	 * on the UI thread.
+	 *
+	 * @param executor the executor for the layout, or <code>null</code>
+	 * @since 1.13
+	 */
+	public void setLayoutExecutor(Executor executor) {
+		this.layoutExecutor = executor;
+	}
+
+	/**
+	 * Returns the executor on which the layout is computed, if any.
+	 *
+	 * @return the executor for the layout, or <code>null</code>
+	 * @since 1.13
+	 */
+	public Executor getLayoutExecutor() {
+		return layoutExecutor;
+	}
+
 	/**
 	 * Finds a figure at the location X, Y in the graph
 	 *
@@ -1055,6 +1091,7 @@ public class Graph extends FigureCanvas implements IContainer {
 		PolylineConnection sourceContainerConnectionFigure = connection.getSourceContainerConnectionFigure();
 		PolylineConnection targetContainerConnectionFigure = connection.getTargetContainerConnectionFigure();
 		connection.removeFigure();
+		cancelPendingLayout();
 		this.getConnections().remove(connection);
 		figure2ItemMap.remove(figure);
 		if (sourceContainerConnectionFigure != null) {
@@ -1074,6 +1111,7 @@ public class Graph extends FigureCanvas implements IContainer {
 				figure.getParent().remove(figure);
 			}
 		}
+		cancelPendingLayout();
 		this.getNodes().remove(node);
 		if (this.getSelection() != null) {
 			this.getSelection().remove(node);
@@ -1082,6 +1120,7 @@ public class Graph extends FigureCanvas implements IContainer {
 	}
 
 	void addConnection(GraphConnection connection, boolean addToEdgeLayer) {
+		cancelPendingLayout();
 		connections.add(connection);
 		if (addToEdgeLayer) {
 			zestRootLayer.addConnection(connection.getFigure());
@@ -1107,11 +1146,13 @@ public class Graph extends FigureCanvas implements IContainer {
 	 */
 
 	void addNode(GraphNode node) {
+		cancelPendingLayout();
 		nodes.add(node);
 		zestRootLayer.addNode(node.getNodeFigure());
 	}
 
 	void addNode(GraphContainer graphContainer) {
+		cancelPendingLayout();
 		nodes.add(graphContainer);
 		zestRootLayer.addNode(graphContainer.getNodeFigure());
 	}
@@ -1185,6 +1226,7 @@ public class Graph extends FigureCanvas implements IContainer {
 
 	private void applyLayoutInternal() {
 		hasPendingLayoutRequest = false;
+		cancelPendingLayout();
 
 		if (this.getNodes().isEmpty()) {
 			return;
@@ -1220,6 +1262,24 @@ public class Graph extends FigureCanvas implements IContainer {
 		LayoutRelationship[] connectionsToLayout = getConnectionsToLayout(nodes);
 		LayoutEntity[] nodesToLayout = getNodesToLayout(getNodes());
 
+		if (layoutExecutor != null && layoutAlgorithm instanceof AbstractLayoutAlgorithm algorithm) {
+			Display display = getDisplay();
+			CompletableFuture<LayoutSnapshot> layout = algorithm.computeLayout(nodesToLayout, connectionsToLayout, 0,
+					0, d.width, d.height, layoutExecutor);
+			pendingLayout = layout;
+			layout.whenComplete((snapshot, e) -> {
+				if (display.isDisposed()) {
+					return;
+				}
+				if (snapshot != null) {
+					display.asyncExec(() -> applySnapshot(layout, snapshot));
+				} else if (e != null && !layout.isCancelled()) {
+					display.asyncExec(() -> rethrowLayoutFailure(layout, e));
+				}
+			});
+			return;
+		}
+
 		try {
 			if ((nodeStyle & ZestStyles.NODES_NO_LAYOUT_ANIMATION) == 0) {
 				Animation.markBegin();
@@ -1236,6 +1296,51 @@ public class Graph extends FigureCanvas implements IContainer {
 
 	}
 
+	/**
+	 * Applies the positions computed by a layout in the background in a single
+	 * update, unless the layout has been cancelled in the meantime.
+	 */
+	private void applySnapshot(CompletableFuture<LayoutSnapshot> layout, LayoutSnapshot snapshot) {
+		if (isDisposed() || pendingLayout != layout) {
+			return;
+		}
+		pendingLayout = null;
+		if ((nodeStyle & ZestStyles.NODES_NO_LAYOUT_ANIMATION) == 0) {
+			Animation.markBegin();
+		}
+		snapshot.apply();
+		if ((nodeStyle & ZestStyles.NODES_NO_LAYOUT_ANIMATION) == 0) {
+			Animation.run(ANIMATION_TIME);
+		}
+		getLightweightSystem().getUpdateManager().performUpdate();
+	}
+
+	/**
+	 * Rethrows the failure of a layout computed in the background on the UI
+	 * thread, where it reaches the exception handler of the event loop, unless the
+	 * layout has been cancelled or replaced in the meantime.
+	 */
+	private void rethrowLayoutFailure(CompletableFuture<LayoutSnapshot> layout, Throwable failure) {
+		if (isDisposed() || pendingLayout != layout) {
+			return;
+		}
+		pendingLayout = null;
+		if (failure instanceof RuntimeException runtimeException) {
+			throw runtimeException;
+		}
+		if (failure instanceof Error error) {
+			throw error;
+		}
+		throw new IllegalStateException("Background layout failed", failure); //$NON-NLS-1$
+	}
+
+	private void cancelPendingLayout() {
+		if (pendingLayout != null) {
+			pendingLayout.cancel(false);
+			pendingLayout = null;
+		}
+	}
+
 	interface MyRunnable extends Runnable {
 		public boolean isVisible();
 	}
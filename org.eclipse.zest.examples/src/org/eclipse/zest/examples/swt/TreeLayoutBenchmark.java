@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.zest.examples.swt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.zest.layouts.InvalidLayoutConfiguration;
+import org.eclipse.zest.layouts.LayoutEntity;
+import org.eclipse.zest.layouts.LayoutRelationship;
+import org.eclipse.zest.layouts.LayoutStyles;
+import org.eclipse.zest.layouts.algorithms.TreeLayoutAlgorithm;
+import org.eclipse.zest.layouts.exampleStructures.SimpleNode;
+import org.eclipse.zest.layouts.exampleStructures.SimpleRelationship;
+
+/**
+ * Compares the time needed by the tree layout with and without the tidy tree
+ * layout on generated deep and wide trees. The original layout is only run on
+ * the smaller trees, since its running time grows quadratically.
+ */
+public class TreeLayoutBenchmark {
+
+	private static final int LARGEST_ORIGINAL_TREE = 1000;
+
+	public static void main(String[] args) throws InvalidLayoutConfiguration {
+		for (int size : new int[] { 1000, 10000, 100000 }) {
+			run("deep", size, 2); //$NON-NLS-1$
+			run("wide", size, 50); //$NON-NLS-1$
+		}
+	}
+
+	private static void run(String shape, int size, int maxChildren) throws InvalidLayoutConfiguration {
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		LayoutEntity[] nodes = createTree(size, maxChildren, relationships);
+		String original = size > LARGEST_ORIGINAL_TREE ? "-" : layout(nodes, relationships, false) + "ms"; //$NON-NLS-1$ //$NON-NLS-2$
+		long tidy = layout(nodes, relationships, true);
+		System.out.println(size + " nodes, " + shape + ": original " + original + ", tidy " + tidy + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	/**
+	 * Creates a random tree in which every node is a child of one of the last
+	 * nodes, so that trees with few children per node are deep.
+	 */
+	private static LayoutEntity[] createTree(int size, int maxChildren, List<LayoutRelationship> relationships) {
+		Random random = new Random(size);
+		LayoutEntity[] nodes = new LayoutEntity[size];
+		int[] childCount = new int[size];
+		int parent = 0;
+		for (int i = 0; i < size; i++) {
+			nodes[i] = new SimpleNode("node" + i, 0, 0, 10, 10); //$NON-NLS-1$
+			if (i > 0) {
+				relationships.add(new SimpleRelationship(nodes[parent], nodes[i], false));
+				if (++childCount[parent] >= 1 + random.nextInt(maxChildren)) {
+					parent = i - random.nextInt(Math.min(i, maxChildren));
+				}
+			}
+		}
+		return nodes;
+	}
+
+	private static long layout(LayoutEntity[] nodes, List<LayoutRelationship> relationships, boolean tidy)
+			throws InvalidLayoutConfiguration {
+		TreeLayoutAlgorithm algorithm = new TreeLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		algorithm.setTidy(tidy);
+		LayoutRelationship[] array = relationships.toArray(new LayoutRelationship[0]);
+		// warm up
+		algorithm.applyLayout(nodes, array, 0, 0, 1000, 1000, false, false);
+		long start = System.nanoTime();
+		algorithm.applyLayout(nodes, array, 0, 0, 1000, 1000, false, false);
+		return (System.nanoTime() - start) / 1000000;
+	}
+
+}
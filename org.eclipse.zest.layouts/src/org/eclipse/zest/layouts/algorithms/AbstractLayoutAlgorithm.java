@@ -18,7 +18,12 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import org.eclipse.zest.layouts.Filter;
 import org.eclipse.zest.layouts.InvalidLayoutConfiguration;
@@ -107,13 +112,24 @@ public abstract class AbstractLayoutAlgorithm implements LayoutAlgorithm, Stoppa
 	/** A list of LayoutRelationship objects to be added. */
 	private final List<LayoutRelationship> relationshipsToAdd = new ArrayList<>();
 
-	protected boolean layoutStopped = true;
+	protected volatile boolean layoutStopped = true;
+
+	/**
+	 * Marks the threads which run a layout of a {@link LayoutSnapshot}, so that
+	 * the algorithms, including nested ones, may be applied there.
+	 */
+	private static final ThreadLocal<Boolean> SNAPSHOT_LAYOUT = new ThreadLocal<>();
+
+	/** The pending result of the snapshot layout which is running, if any. */
+	private volatile CompletableFuture<LayoutSnapshot> snapshotLayout;
 
 	protected int layout_styles = 0;
 
 	// Child classes can set to false to retain node shapes and sizes
 	protected boolean resizeEntitiesAfterLayout = true;
 
+	private boolean incremental;
+
 	/**
 	 * Initializes the abstract layout algorithm.
 	 *
@@ -214,6 +230,31 @@ public abstract class AbstractLayoutAlgorithm implements LayoutAlgorithm, Stoppa
 
 	public abstract void setLayoutArea(double x, double y, double width, double height);
 
+	/**
+	 * Sets whether a layout starts from the result of the previous layout by this
+	 * algorithm, instead of from scratch. In an incremental layout, entities which
+	 * were laid out before keep their current locations as far as possible, and
+	 * only the entities which were added or whose relationships changed are moved.
+	 * Algorithms which cannot lay out incrementally ignore this setting.
+	 *
+	 * @param incremental <code>true</code> to lay out incrementally
+	 * @since 1.6
+	 */
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+
+	/**
+	 * Returns whether a layout starts from the result of the previous layout.
+	 *
+	 * @return <code>true</code> if layouts are incremental
+	 * @see #setIncremental(boolean)
+	 * @since 1.6
+	 */
+	public boolean isIncremental() {
+		return incremental;
+	}
+
 	/**
 	 * Determines if the configuration is valid for this layout
 	 *
@@ -442,18 +483,98 @@ public abstract class AbstractLayoutAlgorithm implements LayoutAlgorithm, Stoppa
 
 			// If we are running synchronously then we have to stop this at some
 			// point? right?
-			setupLayout(entitiesToLayout, relationshipsToConsider, x, y, width, height);
-			preLayoutAlgorithm(internalNodes, internalRelationships, internalX, internalY, internalWidth,
-					internalHeight);
-			fireProgressStarted(getTotalNumberOfLayoutSteps());
-
-			applyLayoutInternal(internalNodes, internalRelationships, internalX, internalY, internalWidth,
-					internalHeight);
-			stop();
+			runLayout(entitiesToLayout, relationshipsToConsider, x, y, width, height);
 		}
 
 	}
 
+	private void runLayout(LayoutEntity[] entitiesToLayout, LayoutRelationship[] relationshipsToConsider, double x,
+			double y, double width, double height) {
+		setupLayout(entitiesToLayout, relationshipsToConsider, x, y, width, height);
+		preLayoutAlgorithm(internalNodes, internalRelationships, internalX, internalY, internalWidth, internalHeight);
+		fireProgressStarted(getTotalNumberOfLayoutSteps());
+
+		applyLayoutInternal(internalNodes, internalRelationships, internalX, internalY, internalWidth,
+				internalHeight);
+		stop();
+	}
+
+	/**
+	 * Computes a layout of the given entities and relationships on the given
+	 * executor, so that a long running layout does not block the thread which owns
+	 * them, usually the UI thread. This method must be called on the thread which
+	 * created this algorithm. Before it returns, it takes a {@link LayoutSnapshot}
+	 * of the entities and relationships, which is laid out synchronously on the
+	 * executor; filters, comparators and progress listeners see the copies of the
+	 * snapshot and are called on the executor's thread.
+	 * <p>
+	 * The returned future completes with the snapshot once the layout is done. The
+	 * given entities and relationships are not changed until
+	 * {@link LayoutSnapshot#apply()} is called on their thread. Cancelling the
+	 * future, for example because the graph has changed, stops the layout at its
+	 * next iteration without waiting for it.
+	 *
+	 * @param entitiesToLayout        the entities to lay out
+	 * @param relationshipsToConsider the relationships between the entities
+	 * @param x                       the left side of the layout area
+	 * @param y                       the top side of the layout area
+	 * @param width                   the width of the layout area
+	 * @param height                  the height of the layout area
+	 * @param executor                the executor which runs the layout
+	 * @return the snapshot with the computed positions
+	 * @since 1.6
+	 */
+	public CompletableFuture<LayoutSnapshot> computeLayout(LayoutEntity[] entitiesToLayout,
+			LayoutRelationship[] relationshipsToConsider, double x, double y, double width, double height,
+			Executor executor) {
+		checkThread();
+		LayoutSnapshot snapshot = new LayoutSnapshot(entitiesToLayout, relationshipsToConsider);
+		CompletableFuture<LayoutSnapshot> result = new CompletableFuture<>();
+		result.whenComplete((s, e) -> {
+			// stop() would wait for the running layout
+			if (result.isCancelled() && snapshotLayout == result) {
+				layoutStopped = true;
+			}
+		});
+		executor.execute(() -> {
+			SNAPSHOT_LAYOUT.set(Boolean.TRUE);
+			try {
+				computeLayout(snapshot, x, y, width, height, result);
+				result.complete(snapshot);
+			} catch (Throwable e) {
+				result.completeExceptionally(e);
+			} finally {
+				SNAPSHOT_LAYOUT.remove();
+			}
+		});
+		return result;
+	}
+
+	private synchronized void computeLayout(LayoutSnapshot snapshot, double x, double y, double width, double height,
+			CompletableFuture<LayoutSnapshot> result) throws InvalidLayoutConfiguration {
+		if (result.isDone()) {
+			return;
+		}
+		this.internalAsynchronous = false;
+		this.internalContinuous = false;
+		if (!isValidConfiguration(false, false)) {
+			throw new InvalidLayoutConfiguration();
+		}
+		clearBendPoints(snapshot.getRelationshipCopies());
+		this.layoutStopped = false;
+		// a cancellation either sees this layout or is seen here
+		snapshotLayout = result;
+		if (result.isCancelled()) {
+			layoutStopped = true;
+		}
+		lastProgressEventFired = Calendar.getInstance();
+		try {
+			runLayout(snapshot.getEntityCopies(), snapshot.getRelationshipCopies(), x, y, width, height);
+		} finally {
+			snapshotLayout = null;
+		}
+	}
+
 	/**
 	 * Clear out all old bend points before doing a layout
 	 */
@@ -576,22 +697,10 @@ public abstract class AbstractLayoutAlgorithm implements LayoutAlgorithm, Stoppa
 	 */
 	public static boolean verifyInput(LayoutEntity[] entitiesToLayout, LayoutRelationship[] relationshipsToConsider) {
 		boolean stillValid = true;
+		Set<LayoutEntity> entities = new HashSet<>(Arrays.asList(entitiesToLayout));
 		for (LayoutRelationship relationship : relationshipsToConsider) {
-			LayoutEntity source = relationship.getSourceInLayout();
-			LayoutEntity destination = relationship.getDestinationInLayout();
-			boolean containsSrc = false;
-			boolean containsDest = false;
-			int j = 0;
-			while (j < entitiesToLayout.length && !(containsSrc && containsDest)) {
-				if (entitiesToLayout[j].equals(source)) {
-					containsSrc = true;
-				}
-				if (entitiesToLayout[j].equals(destination)) {
-					containsDest = true;
-				}
-				j++;
-			}
-			stillValid = containsSrc && containsDest;
+			stillValid = entities.contains(relationship.getSourceInLayout())
+					&& entities.contains(relationship.getDestinationInLayout());
 		}
 		return stillValid;
 	}
@@ -867,26 +976,65 @@ public abstract class AbstractLayoutAlgorithm implements LayoutAlgorithm, Stoppa
 	private static DisplayIndependentDimension getMinimumDistance(InternalNode[] entitiesToLayout) {
 		DisplayIndependentDimension horAndVertdistance = new DisplayIndependentDimension(Double.MAX_VALUE,
 				Double.MAX_VALUE);
+		int count = entitiesToLayout.length;
+		double[] xs = new double[count];
+		// two more entries for the bounds of the queried range
+		double[] ys = new double[count + 2];
+		Integer[] byX = new Integer[count];
+		for (int i = 0; i < count; i++) {
+			xs[i] = entitiesToLayout[i].getInternalX();
+			ys[i] = entitiesToLayout[i].getInternalY();
+			byX[i] = Integer.valueOf(i);
+		}
+		Arrays.sort(byX, (a, b) -> Double.compare(xs[a.intValue()], xs[b.intValue()]));
+		int lower = count;
+		int upper = count + 1;
+		TreeSet<Integer> byY = new TreeSet<>((a, b) -> {
+			int result = Double.compare(ys[a.intValue()], ys[b.intValue()]);
+			if (result != 0 || a.equals(b)) {
+				return result;
+			}
+			if (a.intValue() == lower || b.intValue() == upper) {
+				return -1;
+			}
+			if (a.intValue() == upper || b.intValue() == lower) {
+				return 1;
+			}
+			return a.compareTo(b);
+		});
+
+		// Sweep over the nodes from left to right, comparing each node only to the
+		// nodes which are closer than the minimum distance found so far in both
+		// directions. Of several pairs at the minimum distance, the pair with the
+		// lowest indices is used.
 		double minDistance = Double.MAX_VALUE; // the minimum distance between all the nodes
-		// TODO: Very Slow!
-		for (int i = 0; i < entitiesToLayout.length; i++) {
-			InternalNode layoutEntity1 = entitiesToLayout[i];
-			double x1 = layoutEntity1.getInternalX();
-			double y1 = layoutEntity1.getInternalY();
-			for (int j = i + 1; j < entitiesToLayout.length; j++) {
-				InternalNode layoutEntity2 = entitiesToLayout[j];
-				double x2 = layoutEntity2.getInternalX();
-				double y2 = layoutEntity2.getInternalY();
-				double distanceX = Math.abs(x1 - x2);
-				double distanceY = Math.abs(y1 - y2);
+		int first = -1;
+		int second = -1;
+		int left = 0;
+		for (int k = 0; k < count && minDistance > 0; k++) {
+			int i = byX[k].intValue();
+			while (xs[i] - xs[byX[left].intValue()] > minDistance) {
+				byY.remove(byX[left++]);
+			}
+			ys[lower] = ys[i] - minDistance;
+			ys[upper] = ys[i] + minDistance;
+			for (Integer candidate : byY.subSet(Integer.valueOf(lower), Integer.valueOf(upper))) {
+				int j = candidate.intValue();
+				double distanceX = Math.abs(xs[i] - xs[j]);
+				double distanceY = Math.abs(ys[i] - ys[j]);
 				double distance = Math.sqrt(Math.pow(distanceX, 2) + Math.pow(distanceY, 2));
-
-				if (distance < minDistance) {
+				int pairFirst = Math.min(i, j);
+				int pairSecond = Math.max(i, j);
+				if (distance < minDistance || distance == minDistance
+						&& (pairFirst < first || pairFirst == first && pairSecond < second)) {
 					minDistance = distance;
+					first = pairFirst;
+					second = pairSecond;
 					horAndVertdistance.width = distanceX;
 					horAndVertdistance.height = distanceY;
 				}
 			}
+			byY.add(byX[k]);
 		}
 		return horAndVertdistance;
 	}
@@ -948,13 +1096,26 @@ public abstract class AbstractLayoutAlgorithm implements LayoutAlgorithm, Stoppa
 		}
 	}
 
+	/**
+	 * Creates the event fired to the progress listeners. Subclasses may return a
+	 * more specific event.
+	 *
+	 * @param currentStep        The current step completed.
+	 * @param totalNumberOfSteps The total number of steps in the algorithm.
+	 * @return the progress event
+	 * @since 1.6
+	 */
+	protected ProgressEvent createProgressEvent(int currentStep, int totalNumberOfSteps) {
+		return new ProgressEvent(currentStep, totalNumberOfSteps);
+	}
+
 	protected void fireProgressStarted(int totalNumberOfSteps) {
-		ProgressEvent event = new ProgressEvent(0, totalNumberOfSteps);
+		ProgressEvent event = createProgressEvent(0, totalNumberOfSteps);
 		List.copyOf(progressListeners).forEach(listener -> listener.progressStarted(event));
 	}
 
 	protected void fireProgressEnded(int totalNumberOfSteps) {
-		ProgressEvent event = new ProgressEvent(totalNumberOfSteps, totalNumberOfSteps);
+		ProgressEvent event = createProgressEvent(totalNumberOfSteps, totalNumberOfSteps);
 		List.copyOf(progressListeners).forEach(listener -> listener.progressEnded(event));
 	}
 
@@ -962,7 +1123,7 @@ public abstract class AbstractLayoutAlgorithm implements LayoutAlgorithm, Stoppa
 	 * @since 1.5
 	 */
 	protected void fireProgressUpdated(int currentStep, int totalNumberOfSteps) {
-		ProgressEvent event = new ProgressEvent(currentStep, totalNumberOfSteps);
+		ProgressEvent event = createProgressEvent(currentStep, totalNumberOfSteps);
 		List.copyOf(progressListeners).forEach(listener -> listener.progressUpdated(event));
 	}
 
@@ -989,7 +1150,7 @@ public abstract class AbstractLayoutAlgorithm implements LayoutAlgorithm, Stoppa
 	}
 
 	private void checkThread() {
-		if (this.creationThread != Thread.currentThread()) {
+		if (this.creationThread != Thread.currentThread() && SNAPSHOT_LAYOUT.get() == null) {
 			throw new RuntimeException("Invalid Thread Access."); //$NON-NLS-1$
 		}
 	}
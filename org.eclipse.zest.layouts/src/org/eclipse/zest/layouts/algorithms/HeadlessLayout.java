@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.zest.layouts.algorithms;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.eclipse.zest.layouts.InvalidLayoutConfiguration;
+
+/**
+ * A graph given in primitive arrays, which can be laid out by any of the layout
+ * algorithms without a display and without creating an entity object for each
+ * node. The nodes are identified by their index, from <code>0</code> to
+ * <code>n - 1</code>, and edge <code>e</code> leads from node
+ * <code>sources[e]</code> to node <code>destinations[e]</code>.
+ * <p>
+ * Headless layouts are immutable and may be laid out by several threads at the
+ * same time, as long as every thread uses its own algorithm. The bend points
+ * computed by an algorithm are not reported.
+ *
+ * @since 1.6
+ */
+public final class HeadlessLayout {
+
+	private final double[] xs;
+	private final double[] ys;
+	private final double[] widths;
+	private final double[] heights;
+	private final int[] sources;
+	private final int[] destinations;
+	private final int[] weights;
+
+	/**
+	 * Creates a graph with the given node sizes and edges, in which all nodes are
+	 * initially located at the origin.
+	 *
+	 * @param widths       the width of each node
+	 * @param heights      the height of each node
+	 * @param sources      the source node of each edge
+	 * @param destinations the destination node of each edge
+	 * @throws IllegalArgumentException if the arrays have different lengths or an
+	 *                                  edge refers to a node which does not exist
+	 */
+	public HeadlessLayout(double[] widths, double[] heights, int[] sources, int[] destinations) {
+		this(null, null, widths, heights, sources, destinations, null);
+	}
+
+	/**
+	 * Creates a graph with the given initial node locations, node sizes and
+	 * weighted edges. The initial locations are used by algorithms which refine
+	 * them, such as an incremental {@link SpringLayoutAlgorithm}.
+	 *
+	 * @param xs           the initial x coordinate of each node, or
+	 *                     <code>null</code> for the origin
+	 * @param ys           the initial y coordinate of each node, or
+	 *                     <code>null</code> for the origin
+	 * @param widths       the width of each node
+	 * @param heights      the height of each node
+	 * @param sources      the source node of each edge
+	 * @param destinations the destination node of each edge
+	 * @param weights      the weight of each edge, or <code>null</code> for a
+	 *                     weight of <code>1</code>
+	 * @throws IllegalArgumentException if the arrays have different lengths or an
+	 *                                  edge refers to a node which does not exist
+	 */
+	public HeadlessLayout(double[] xs, double[] ys, double[] widths, double[] heights, int[] sources,
+			int[] destinations, int[] weights) {
+		int count = widths.length;
+		if (heights.length != count || (xs != null && xs.length != count) || (ys != null && ys.length != count)) {
+			throw new IllegalArgumentException("The node arrays must have the same length"); //$NON-NLS-1$
+		}
+		if (destinations.length != sources.length || (weights != null && weights.length != sources.length)) {
+			throw new IllegalArgumentException("The edge arrays must have the same length"); //$NON-NLS-1$
+		}
+		for (int e = 0; e < sources.length; e++) {
+			if (sources[e] < 0 || sources[e] >= count || destinations[e] < 0 || destinations[e] >= count) {
+				throw new IllegalArgumentException("Edge " + e + " refers to a node which does not exist"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		this.xs = xs == null ? new double[count] : xs.clone();
+		this.ys = ys == null ? new double[count] : ys.clone();
+		this.widths = widths.clone();
+		this.heights = heights.clone();
+		this.sources = sources.clone();
+		this.destinations = destinations.clone();
+		if (weights == null) {
+			this.weights = new int[sources.length];
+			Arrays.fill(this.weights, 1);
+		} else {
+			this.weights = weights.clone();
+		}
+	}
+
+	/**
+	 * Returns the number of nodes of this graph.
+	 *
+	 * @return the number of nodes
+	 */
+	public int getNodeCount() {
+		return widths.length;
+	}
+
+	/**
+	 * Returns the number of edges of this graph.
+	 *
+	 * @return the number of edges
+	 */
+	public int getEdgeCount() {
+		return sources.length;
+	}
+
+	/**
+	 * Lays out this graph synchronously with the given algorithm within the given
+	 * bounds. The algorithm must have been created by the calling thread and must
+	 * not be used by any other thread at the same time.
+	 *
+	 * @param algorithm the layout algorithm
+	 * @param x         the left side of the layout area
+	 * @param y         the top side of the layout area
+	 * @param width     the width of the layout area
+	 * @param height    the height of the layout area
+	 * @return the bounds of the nodes: the x coordinate, y coordinate, width and
+	 *         height of node <code>i</code> are at the indices <code>4 * i</code>
+	 *         to <code>4 * i + 3</code>
+	 * @throws InvalidLayoutConfiguration if the algorithm cannot run synchronously
+	 */
+	public double[] layout(AbstractLayoutAlgorithm algorithm, double x, double y, double width, double height)
+			throws InvalidLayoutConfiguration {
+		LayoutSnapshot snapshot = new LayoutSnapshot(xs.clone(), ys.clone(), widths.clone(), heights.clone(), sources,
+				destinations, weights);
+		algorithm.applyLayout(snapshot.getEntityCopies(), snapshot.getRelationshipCopies(), x, y, width, height, false,
+				false);
+		double[] bounds = new double[4 * widths.length];
+		for (int i = 0; i < widths.length; i++) {
+			bounds[4 * i] = snapshot.getX(i);
+			bounds[4 * i + 1] = snapshot.getY(i);
+			bounds[4 * i + 2] = snapshot.getWidth(i);
+			bounds[4 * i + 3] = snapshot.getHeight(i);
+		}
+		return bounds;
+	}
+
+	/**
+	 * Lays out all given graphs within the given bounds, in parallel on the common
+	 * fork join pool. Every graph is laid out by a new algorithm, which the given
+	 * supplier creates on the thread which runs the layout.
+	 *
+	 * @param graphs     the graphs to lay out
+	 * @param algorithms creates the layout algorithm for each graph
+	 * @param x          the left side of the layout area
+	 * @param y          the top side of the layout area
+	 * @param width      the width of the layout area
+	 * @param height     the height of the layout area
+	 * @return the bounds of the nodes of each graph, in the form returned by
+	 *         {@link #layout(AbstractLayoutAlgorithm, double, double, double, double)}
+	 * @throws IllegalArgumentException if the algorithms cannot run synchronously
+	 */
+	public static double[][] layoutAll(HeadlessLayout[] graphs,
+			Supplier<? extends AbstractLayoutAlgorithm> algorithms, double x, double y, double width, double height) {
+		double[][] bounds = new double[graphs.length][];
+		IntStream.range(0, graphs.length).parallel().forEach(g -> {
+			try {
+				bounds[g] = graphs[g].layout(algorithms.get(), x, y, width, height);
+			} catch (InvalidLayoutConfiguration e) {
+				throw new IllegalArgumentException(e);
+			}
+		});
+		return bounds;
+	}
+
+}
@@ -0,0 +1,399 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.zest.layouts.algorithms;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.zest.layouts.LayoutBendPoint;
+import org.eclipse.zest.layouts.LayoutEntity;
+import org.eclipse.zest.layouts.LayoutRelationship;
+import org.eclipse.zest.layouts.constraints.BasicEdgeConstraints;
+import org.eclipse.zest.layouts.constraints.BasicEntityConstraint;
+import org.eclipse.zest.layouts.constraints.LayoutConstraint;
+
+/**
+ * A copy of a set of entities and relationships which can be laid out on any
+ * thread, together with the positions the layout computed for them. The copy
+ * is taken on the thread which owns the entities and relationships. It contains
+ * their locations, sizes, graph data and their basic entity and edge
+ * constraints; all other constraints are left empty. The computed positions are
+ * kept in primitive arrays until {@link #apply()} sets them on the original
+ * entities and relationships in one pass.
+ * <p>
+ * Snapshots without originals back the primitive array layouts of
+ * {@link HeadlessLayout}.
+ *
+ * @see AbstractLayoutAlgorithm#computeLayout(LayoutEntity[],
+ *      LayoutRelationship[], double, double, double, double,
+ *      java.util.concurrent.Executor)
+ * @since 1.6
+ */
+public final class LayoutSnapshot {
+
+	private final LayoutEntity[] entities;
+	private final LayoutRelationship[] relationships;
+	private final LayoutEntity[] entityCopies;
+	private final LayoutRelationship[] relationshipCopies;
+
+	private final double[] xs;
+	private final double[] ys;
+	private final double[] widths;
+	private final double[] heights;
+	private final boolean[] moved;
+	private final boolean[] resized;
+	private final BasicEntityConstraint[] entityConstraints;
+
+	private final LayoutBendPoint[][] bendPoints;
+	private final int[] weights;
+	private final boolean[] bidirectional;
+
+	/**
+	 * Copies the given entities and relationships. Must be called on the thread
+	 * which owns them.
+	 */
+	LayoutSnapshot(LayoutEntity[] entities, LayoutRelationship[] relationships) {
+		this.entities = entities.clone();
+		this.relationships = relationships.clone();
+		int count = entities.length;
+		xs = new double[count];
+		ys = new double[count];
+		widths = new double[count];
+		heights = new double[count];
+		moved = new boolean[count];
+		resized = new boolean[count];
+		entityConstraints = new BasicEntityConstraint[count];
+		entityCopies = new LayoutEntity[count];
+		Map<LayoutEntity, LayoutEntity> copies = new HashMap<>();
+		for (int i = 0; i < count; i++) {
+			LayoutEntity entity = entities[i];
+			xs[i] = entity.getXInLayout();
+			ys[i] = entity.getYInLayout();
+			widths[i] = entity.getWidthInLayout();
+			heights[i] = entity.getHeightInLayout();
+			entityConstraints[i] = new BasicEntityConstraint();
+			entity.populateLayoutConstraint(entityConstraints[i]);
+			entityCopies[i] = new EntityCopy(i, entity.getGraphData());
+			copies.putIfAbsent(entity, entityCopies[i]);
+		}
+		bendPoints = new LayoutBendPoint[relationships.length][];
+		weights = new int[relationships.length];
+		bidirectional = new boolean[relationships.length];
+		relationshipCopies = new LayoutRelationship[relationships.length];
+		BasicEdgeConstraints edgeConstraint = new BasicEdgeConstraints();
+		for (int r = 0; r < relationships.length; r++) {
+			LayoutRelationship relationship = relationships[r];
+			edgeConstraint.clear();
+			relationship.populateLayoutConstraint(edgeConstraint);
+			weights[r] = edgeConstraint.weight;
+			bidirectional[r] = edgeConstraint.isBiDirectional;
+			// endpoints which are not among the entities are rejected by the layout
+			relationshipCopies[r] = new RelationshipCopy(r, copies.get(relationship.getSourceInLayout()),
+					copies.get(relationship.getDestinationInLayout()), relationship.getGraphData());
+		}
+	}
+
+	/**
+	 * Creates a snapshot without originals of the graph given by the locations and
+	 * sizes of its nodes and the endpoints and weights of its edges. The arrays are
+	 * used as they are.
+	 */
+	LayoutSnapshot(double[] xs, double[] ys, double[] widths, double[] heights, int[] sources, int[] destinations,
+			int[] weights) {
+		this.entities = null;
+		this.relationships = null;
+		this.xs = xs;
+		this.ys = ys;
+		this.widths = widths;
+		this.heights = heights;
+		int count = xs.length;
+		moved = new boolean[count];
+		resized = new boolean[count];
+		entityConstraints = null;
+		entityCopies = new LayoutEntity[count];
+		for (int i = 0; i < count; i++) {
+			entityCopies[i] = new EntityCopy(i, null);
+		}
+		bendPoints = new LayoutBendPoint[sources.length][];
+		this.weights = weights;
+		bidirectional = new boolean[sources.length];
+		relationshipCopies = new LayoutRelationship[sources.length];
+		for (int r = 0; r < sources.length; r++) {
+			relationshipCopies[r] = new RelationshipCopy(r, entityCopies[sources[r]], entityCopies[destinations[r]],
+					null);
+		}
+	}
+
+	/**
+	 * Returns the copies of the entities which are laid out in place of the
+	 * originals.
+	 */
+	LayoutEntity[] getEntityCopies() {
+		return entityCopies;
+	}
+
+	/**
+	 * Returns the copies of the relationships which are laid out in place of the
+	 * originals.
+	 */
+	LayoutRelationship[] getRelationshipCopies() {
+		return relationshipCopies;
+	}
+
+	/**
+	 * Returns the original entity of the given entity if it is a copy in a
+	 * snapshot of original entities, otherwise the entity itself. Layouts which
+	 * keep state between runs, such as incremental layouts, key it on the result,
+	 * as every snapshot has new copies.
+	 */
+	static LayoutEntity getOriginal(LayoutEntity entity) {
+		if (entity instanceof EntityCopy copy && copy.getSnapshot().entities != null) {
+			return copy.getSnapshot().entities[copy.index];
+		}
+		return entity;
+	}
+
+	/**
+	 * Returns the original entities, in the order in which they were given.
+	 *
+	 * @return the entities
+	 */
+	public LayoutEntity[] getEntities() {
+		return entities.clone();
+	}
+
+	/**
+	 * Returns the original relationships, in the order in which they were given.
+	 *
+	 * @return the relationships
+	 */
+	public LayoutRelationship[] getRelationships() {
+		return relationships.clone();
+	}
+
+	/**
+	 * Returns the x coordinate computed for the entity with the given index.
+	 *
+	 * @param index the index of the entity
+	 * @return the x coordinate
+	 */
+	public double getX(int index) {
+		return xs[index];
+	}
+
+	/**
+	 * Returns the y coordinate computed for the entity with the given index.
+	 *
+	 * @param index the index of the entity
+	 * @return the y coordinate
+	 */
+	public double getY(int index) {
+		return ys[index];
+	}
+
+	/**
+	 * Returns the width computed for the entity with the given index.
+	 *
+	 * @param index the index of the entity
+	 * @return the width
+	 */
+	public double getWidth(int index) {
+		return widths[index];
+	}
+
+	/**
+	 * Returns the height computed for the entity with the given index.
+	 *
+	 * @param index the index of the entity
+	 * @return the height
+	 */
+	public double getHeight(int index) {
+		return heights[index];
+	}
+
+	/**
+	 * Sets the computed locations, sizes and bend points on the original entities
+	 * and relationships, just like a synchronous layout would have. Must be called
+	 * on the thread which owns them, typically the UI thread.
+	 */
+	public void apply() {
+		for (LayoutRelationship relationship : relationships) {
+			relationship.clearBendPoints();
+		}
+		for (int i = 0; i < entities.length; i++) {
+			if (moved[i]) {
+				entities[i].setLocationInLayout(xs[i], ys[i]);
+			}
+			if (resized[i]) {
+				entities[i].setSizeInLayout(widths[i], heights[i]);
+			}
+		}
+		for (int r = 0; r < relationships.length; r++) {
+			if (bendPoints[r] != null) {
+				relationships[r].setBendPoints(bendPoints[r]);
+			}
+		}
+	}
+
+	private final class EntityCopy implements LayoutEntity {
+		private final int index;
+		private Object graphData;
+		private Object layoutInformation;
+
+		EntityCopy(int index, Object graphData) {
+			this.index = index;
+			this.graphData = graphData;
+		}
+
+		LayoutSnapshot getSnapshot() {
+			return LayoutSnapshot.this;
+		}
+
+		@Override
+		public int compareTo(Object o) {
+			return Integer.compare(index, ((EntityCopy) o).index);
+		}
+
+		@Override
+		public void setGraphData(Object o) {
+			this.graphData = o;
+		}
+
+		@Override
+		public Object getGraphData() {
+			return graphData;
+		}
+
+		@Override
+		public void setLocationInLayout(double x, double y) {
+			xs[index] = x;
+			ys[index] = y;
+			moved[index] = true;
+		}
+
+		@Override
+		public void setSizeInLayout(double width, double height) {
+			widths[index] = width;
+			heights[index] = height;
+			resized[index] = true;
+		}
+
+		@Override
+		public double getXInLayout() {
+			return xs[index];
+		}
+
+		@Override
+		public double getYInLayout() {
+			return ys[index];
+		}
+
+		@Override
+		public double getWidthInLayout() {
+			return widths[index];
+		}
+
+		@Override
+		public double getHeightInLayout() {
+			return heights[index];
+		}
+
+		@Override
+		public Object getLayoutInformation() {
+			return layoutInformation;
+		}
+
+		@Override
+		public void setLayoutInformation(Object internalEntity) {
+			this.layoutInformation = internalEntity;
+		}
+
+		@Override
+		public void populateLayoutConstraint(LayoutConstraint constraint) {
+			if (entityConstraints != null && constraint instanceof BasicEntityConstraint basicConstraint) {
+				BasicEntityConstraint copy = entityConstraints[index];
+				basicConstraint.hasPreferredLocation = copy.hasPreferredLocation;
+				basicConstraint.preferredX = copy.preferredX;
+				basicConstraint.preferredY = copy.preferredY;
+				basicConstraint.hasPreferredSize = copy.hasPreferredSize;
+				basicConstraint.preferredWidth = copy.preferredWidth;
+				basicConstraint.preferredHeight = copy.preferredHeight;
+			}
+		}
+	}
+
+	private final class RelationshipCopy implements LayoutRelationship {
+		private final int index;
+		private final LayoutEntity source;
+		private final LayoutEntity destination;
+		private Object graphData;
+		private Object layoutInformation;
+
+		RelationshipCopy(int index, LayoutEntity source, LayoutEntity destination, Object graphData) {
+			this.index = index;
+			this.source = source;
+			this.destination = destination;
+			this.graphData = graphData;
+		}
+
+		@Override
+		public void setGraphData(Object o) {
+			this.graphData = o;
+		}
+
+		@Override
+		public Object getGraphData() {
+			return graphData;
+		}
+
+		@Override
+		public LayoutEntity getSourceInLayout() {
+			return source;
+		}
+
+		@Override
+		public LayoutEntity getDestinationInLayout() {
+			return destination;
+		}
+
+		@Override
+		public void setLayoutInformation(Object layoutInformation) {
+			this.layoutInformation = layoutInformation;
+		}
+
+		@Override
+		public Object getLayoutInformation() {
+			return layoutInformation;
+		}
+
+		@Override
+		public void setBendPoints(LayoutBendPoint[] points) {
+			bendPoints[index] = points;
+		}
+
+		@Override
+		public void clearBendPoints() {
+			bendPoints[index] = null;
+		}
+
+		@Override
+		public void populateLayoutConstraint(LayoutConstraint constraint) {
+			if (constraint instanceof BasicEdgeConstraints edgeConstraint) {
+				edgeConstraint.isBiDirectional = bidirectional[index];
+				edgeConstraint.weight = weights[index];
+			}
+		}
+	}
+
+}
@@ -0,0 +1,502 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.zest.layouts.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.zest.layouts.LayoutStyles;
+import org.eclipse.zest.layouts.algorithms.internal.BarnesHutTree;
+import org.eclipse.zest.layouts.algorithms.internal.StepLengthController;
+import org.eclipse.zest.layouts.dataStructures.DisplayIndependentRectangle;
+import org.eclipse.zest.layouts.dataStructures.InternalNode;
+import org.eclipse.zest.layouts.dataStructures.InternalRelationship;
+
+/**
+ * A force directed layout for large graphs which does not start from a random
+ * placement of all nodes. The graph is first coarsened repeatedly by collapsing
+ * a matching of its edges, where the pairs of nodes connected by the heaviest
+ * edges are merged into one node. The coarsest graph is laid out from a random
+ * placement. Then the positions of each level are interpolated onto the next
+ * finer level, where they only need a few iterations of refinement. Each
+ * refinement uses springs between the related nodes and a Barnes-Hut
+ * approximation of the repulsion between all nodes, with an adaptive step
+ * length.
+ * <p>
+ * The layout is not continuous. It is deterministic for a given
+ * {@link #setRandomSeed(long) seed}.
+ *
+ * @since 1.6
+ */
+public class MultilevelLayoutAlgorithm extends AbstractLayoutAlgorithm {
+
+	/**
+	 * The default number of nodes of the coarsest graph.
+	 */
+	public static final int DEFAULT_COARSEST_SIZE = 20;
+
+	/**
+	 * The default maximum number of iterations for refining each level.
+	 */
+	public static final int DEFAULT_ITERATIONS = 60;
+
+	/**
+	 * A coarser level must have at most this fraction of the nodes of the finer
+	 * level, otherwise the coarsening stops.
+	 */
+	private static final double MAX_COARSENING_RATIO = 0.8;
+
+	/**
+	 * The coarsest level is laid out from scratch, so it may need more iterations.
+	 */
+	private static final int COARSEST_ITERATIONS_FACTOR = 5;
+
+	private static final double THETA = 0.8;
+
+	/**
+	 * The strength of the repulsion relative to the springs.
+	 */
+	private static final double REPULSION = 0.2;
+
+	private static final double COOLING = 0.9;
+
+	/**
+	 * The refinement of a level stops when the step length falls below this
+	 * fraction of the natural spring length.
+	 */
+	private static final double TOLERANCE = 0.01;
+
+	private static final double MIN_DISTANCE = 0.001;
+
+	/**
+	 * The graph at one level of coarsening, with its edges in compressed sparse
+	 * row form in both directions.
+	 */
+	private static final class Level {
+		final int count;
+		final int[] start;
+		final int[] targets;
+		final double[] weights;
+		final int[] mass;
+		final double[] xs;
+		final double[] ys;
+		/** The node of the next coarser level each node is merged into. */
+		int[] coarseNodes;
+
+		Level(int count, int[] start, int[] targets, double[] weights, int[] mass) {
+			this.count = count;
+			this.start = start;
+			this.targets = targets;
+			this.weights = weights;
+			this.mass = mass;
+			this.xs = new double[count];
+			this.ys = new double[count];
+		}
+	}
+
+	private int coarsestSize = DEFAULT_COARSEST_SIZE;
+
+	private int iterations = DEFAULT_ITERATIONS;
+
+	private long randomSeed;
+
+	private int levelCount;
+
+	private int currentLevel;
+
+	/**
+	 * Creates a multilevel layout algorithm with the given styles.
+	 *
+	 * @param styles the styles
+	 * @see LayoutStyles
+	 */
+	public MultilevelLayoutAlgorithm(int styles) {
+		super(styles);
+	}
+
+	/**
+	 * Creates a multilevel layout algorithm with no style.
+	 */
+	public MultilevelLayoutAlgorithm() {
+		this(LayoutStyles.NONE);
+	}
+
+	/**
+	 * Sets the number of nodes below which the graph is not coarsened further.
+	 *
+	 * @param size the number of nodes of the coarsest graph, at least 2
+	 */
+	public void setCoarsestSize(int size) {
+		if (size < 2) {
+			throw new IllegalArgumentException("The coarsest size must be at least 2"); //$NON-NLS-1$
+		}
+		coarsestSize = size;
+	}
+
+	/**
+	 * Returns the number of nodes below which the graph is not coarsened further.
+	 *
+	 * @return the number of nodes of the coarsest graph
+	 */
+	public int getCoarsestSize() {
+		return coarsestSize;
+	}
+
+	/**
+	 * Sets the maximum number of iterations for refining each level. The coarsest
+	 * level may use a few times as many.
+	 *
+	 * @param iterations the number of iterations, at least 1
+	 */
+	public void setIterations(int iterations) {
+		if (iterations < 1) {
+			throw new IllegalArgumentException("The number of iterations must be positive"); //$NON-NLS-1$
+		}
+		this.iterations = iterations;
+	}
+
+	/**
+	 * Returns the maximum number of iterations for refining each level.
+	 *
+	 * @return the number of iterations
+	 */
+	public int getIterations() {
+		return iterations;
+	}
+
+	/**
+	 * Sets the seed used for the matchings and the initial placement. The same
+	 * input with the same seed always results in the same layout.
+	 *
+	 * @param seed the seed
+	 */
+	public void setRandomSeed(long seed) {
+		randomSeed = seed;
+	}
+
+	/**
+	 * Returns the number of levels of the most recent layout, including the graph
+	 * itself.
+	 *
+	 * @return the number of levels
+	 */
+	public int getLevelCount() {
+		return levelCount;
+	}
+
+	@Override
+	public void setLayoutArea(double x, double y, double width, double height) {
+		// the layout is not continuous
+	}
+
+	@Override
+	protected boolean isValidConfiguration(boolean asynchronous, boolean continuous) {
+		return !continuous;
+	}
+
+	@Override
+	protected void preLayoutAlgorithm(InternalNode[] entitiesToLayout, InternalRelationship[] relationshipsToConsider,
+			double x, double y, double width, double height) {
+		levelCount = 0;
+		currentLevel = 0;
+	}
+
+	@Override
+	protected void applyLayoutInternal(InternalNode[] entitiesToLayout, InternalRelationship[] relationshipsToConsider,
+			double boundsX, double boundsY, double boundsWidth, double boundsHeight) {
+		if (entitiesToLayout.length == 0) {
+			return;
+		}
+		Random random = new Random(randomSeed);
+		List<Level> levels = new ArrayList<>();
+		Level level = createLevel(entitiesToLayout, relationshipsToConsider);
+		levels.add(level);
+		while (level.count > coarsestSize) {
+			Level coarse = coarsen(level, random);
+			if (coarse.count > MAX_COARSENING_RATIO * level.count) {
+				level.coarseNodes = null;
+				break;
+			}
+			levels.add(coarse);
+			level = coarse;
+		}
+		levelCount = levels.size();
+
+		double side = Math.sqrt(level.count);
+		for (int i = 0; i < level.count; i++) {
+			level.xs[i] = random.nextDouble() * side;
+			level.ys[i] = random.nextDouble() * side;
+		}
+		refine(level, COARSEST_ITERATIONS_FACTOR * iterations);
+		currentLevel = 1;
+		fireProgressEvent(currentLevel, levelCount);
+
+		for (int l = levels.size() - 2; l >= 0 && !layoutStopped; l--) {
+			interpolate(levels.get(l), levels.get(l + 1), random);
+			refine(levels.get(l), iterations);
+			currentLevel++;
+			fireProgressEvent(currentLevel, levelCount);
+		}
+
+		Level finest = levels.get(0);
+		for (int i = 0; i < entitiesToLayout.length; i++) {
+			entitiesToLayout[i].setInternalLocation(finest.xs[i], finest.ys[i]);
+		}
+		defaultFitWithinBounds(entitiesToLayout,
+				new DisplayIndependentRectangle(boundsX, boundsY, boundsWidth, boundsHeight));
+		updateLayoutLocations(entitiesToLayout);
+	}
+
+	@Override
+	protected void postLayoutAlgorithm(InternalNode[] entitiesToLayout,
+			InternalRelationship[] relationshipsToConsider) {
+		// nothing to clean up, the levels are local to the layout
+	}
+
+	@Override
+	protected int getTotalNumberOfLayoutSteps() {
+		return levelCount;
+	}
+
+	@Override
+	protected int getCurrentLayoutStep() {
+		return currentLevel;
+	}
+
+	/**
+	 * Creates the finest level from the relationships between the given nodes.
+	 * Relationships between the same nodes are combined, relationships of a node
+	 * to itself or to other nodes are ignored.
+	 */
+	private static Level createLevel(InternalNode[] entitiesToLayout, InternalRelationship[] relationshipsToConsider) {
+		int count = entitiesToLayout.length;
+		Map<InternalNode, Integer> indices = new IdentityHashMap<>(count);
+		for (int i = 0; i < count; i++) {
+			indices.put(entitiesToLayout[i], Integer.valueOf(i));
+		}
+		int[] sources = new int[2 * relationshipsToConsider.length];
+		int[] targets = new int[sources.length];
+		double[] weights = new double[sources.length];
+		int edges = 0;
+		for (InternalRelationship relationship : relationshipsToConsider) {
+			Integer source = indices.get(relationship.getSource());
+			Integer destination = indices.get(relationship.getDestination());
+			if (source == null || destination == null || source.equals(destination)) {
+				continue;
+			}
+			double weight = relationship.getWeight();
+			weight = weight <= 0 ? 0.1 : weight;
+			sources[edges] = source.intValue();
+			targets[edges] = destination.intValue();
+			weights[edges++] = weight;
+			sources[edges] = destination.intValue();
+			targets[edges] = source.intValue();
+			weights[edges++] = weight;
+		}
+		int[] mass = new int[count];
+		Arrays.fill(mass, 1);
+		return createLevel(count, sources, targets, weights, edges, mass);
+	}
+
+	/**
+	 * Creates a level from a list of directed edges, combining the edges between
+	 * the same nodes.
+	 */
+	private static Level createLevel(int count, int[] sources, int[] targets, double[] weights, int edges,
+			int[] mass) {
+		int[] start = new int[count + 1];
+		for (int edge = 0; edge < edges; edge++) {
+			start[sources[edge] + 1]++;
+		}
+		for (int i = 0; i < count; i++) {
+			start[i + 1] += start[i];
+		}
+		int[] rowTargets = new int[edges];
+		double[] rowWeights = new double[edges];
+		int[] next = Arrays.copyOf(start, count);
+		for (int edge = 0; edge < edges; edge++) {
+			int slot = next[sources[edge]]++;
+			rowTargets[slot] = targets[edge];
+			rowWeights[slot] = weights[edge];
+		}
+
+		int[] lastSlot = new int[count];
+		Arrays.fill(lastSlot, -1);
+		int[] compactStart = new int[count + 1];
+		int size = 0;
+		for (int i = 0; i < count; i++) {
+			compactStart[i] = size;
+			for (int slot = start[i]; slot < start[i + 1]; slot++) {
+				int j = rowTargets[slot];
+				if (lastSlot[j] >= compactStart[i]) {
+					rowWeights[lastSlot[j]] += rowWeights[slot];
+				} else {
+					lastSlot[j] = size;
+					rowTargets[size] = j;
+					rowWeights[size] = rowWeights[slot];
+					size++;
+				}
+			}
+		}
+		compactStart[count] = size;
+		return new Level(count, compactStart, Arrays.copyOf(rowTargets, size), Arrays.copyOf(rowWeights, size),
+				mass);
+	}
+
+	/**
+	 * Creates the next coarser level by merging each node with the unmatched
+	 * neighbor it is most heavily connected to, relative to their masses. The
+	 * nodes are visited in random order.
+	 */
+	private static Level coarsen(Level level, Random random) {
+		int count = level.count;
+		int[] order = new int[count];
+		for (int i = 0; i < count; i++) {
+			order[i] = i;
+		}
+		for (int i = count - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int swap = order[i];
+			order[i] = order[j];
+			order[j] = swap;
+		}
+
+		int[] coarseNodes = new int[count];
+		Arrays.fill(coarseNodes, -1);
+		int[] coarseMass = new int[count];
+		int coarseCount = 0;
+		for (int i : order) {
+			if (coarseNodes[i] >= 0) {
+				continue;
+			}
+			int match = -1;
+			double best = 0;
+			for (int edge = level.start[i]; edge < level.start[i + 1]; edge++) {
+				int j = level.targets[edge];
+				double score = level.weights[edge] / (level.mass[i] + level.mass[j]);
+				if (coarseNodes[j] < 0 && score > best) {
+					match = j;
+					best = score;
+				}
+			}
+			coarseNodes[i] = coarseCount;
+			coarseMass[coarseCount] = level.mass[i];
+			if (match >= 0) {
+				coarseNodes[match] = coarseCount;
+				coarseMass[coarseCount] += level.mass[match];
+			}
+			coarseCount++;
+		}
+		level.coarseNodes = coarseNodes;
+
+		int edges = level.targets.length;
+		int[] sources = new int[edges];
+		int[] targets = new int[edges];
+		double[] weights = new double[edges];
+		int coarseEdges = 0;
+		for (int i = 0; i < count; i++) {
+			for (int edge = level.start[i]; edge < level.start[i + 1]; edge++) {
+				int source = coarseNodes[i];
+				int target = coarseNodes[level.targets[edge]];
+				if (source != target) {
+					sources[coarseEdges] = source;
+					targets[coarseEdges] = target;
+					weights[coarseEdges++] = level.weights[edge];
+				}
+			}
+		}
+		return createLevel(coarseCount, sources, targets, weights, coarseEdges,
+				Arrays.copyOf(coarseMass, coarseCount));
+	}
+
+	/**
+	 * Places the nodes of a level near the node of the coarser level they were
+	 * merged into. The coarser layout is scaled up, since a level with more nodes
+	 * covers a larger area at the same spring length.
+	 */
+	private static void interpolate(Level fine, Level coarse, Random random) {
+		double scale = Math.sqrt((double) fine.count / coarse.count);
+		for (int i = 0; i < fine.count; i++) {
+			int c = fine.coarseNodes[i];
+			fine.xs[i] = coarse.xs[c] * scale + (random.nextDouble() - 0.5) * 0.1;
+			fine.ys[i] = coarse.ys[c] * scale + (random.nextDouble() - 0.5) * 0.1;
+		}
+	}
+
+	/**
+	 * Moves the nodes of a level along their forces for at most the given number
+	 * of iterations. The natural spring length is 1. Each node moves by the same
+	 * step length, which grows while the energy decreases steadily and shrinks
+	 * otherwise.
+	 * <p>
+	 * A node of a coarser level stands for the nodes merged into it, so the
+	 * repulsion between two nodes grows with the product of their masses and each
+	 * spring is as strong as the sum of the edges merged into it.
+	 */
+	private void refine(Level level, int maxIterations) {
+		int count = level.count;
+		if (count < 2) {
+			return;
+		}
+		double[] xs = level.xs;
+		double[] ys = level.ys;
+		double[] forcesX = new double[count];
+		double[] forcesY = new double[count];
+		BarnesHutTree tree = new BarnesHutTree();
+		StepLengthController stepLength = new StepLengthController(COOLING, Double.POSITIVE_INFINITY);
+		for (int iteration = 0; iteration < maxIterations && stepLength.getStep() > TOLERANCE
+				&& !layoutStopped; iteration++) {
+			Arrays.fill(forcesX, 0);
+			Arrays.fill(forcesY, 0);
+			tree.build(xs, ys, level.mass, count);
+			tree.accumulateRepulsion(xs, ys, forcesX, forcesY, 0, count, THETA, REPULSION, MIN_DISTANCE);
+			for (int i = 0; i < count; i++) {
+				forcesX[i] *= level.mass[i];
+				forcesY[i] *= level.mass[i];
+			}
+			for (int i = 0; i < count; i++) {
+				for (int edge = level.start[i]; edge < level.start[i + 1]; edge++) {
+					int j = level.targets[edge];
+					if (j > i) {
+						// attraction of distance squared
+						double dx = xs[i] - xs[j];
+						double dy = ys[i] - ys[j];
+						double f = level.weights[edge] * Math.sqrt(dx * dx + dy * dy);
+						forcesX[i] -= f * dx;
+						forcesY[i] -= f * dy;
+						forcesX[j] += f * dx;
+						forcesY[j] += f * dy;
+					}
+				}
+			}
+
+			double step = stepLength.getStep();
+			double energy = 0;
+			for (int i = 0; i < count; i++) {
+				double force = Math.sqrt(forcesX[i] * forcesX[i] + forcesY[i] * forcesY[i]);
+				if (force > 0) {
+					xs[i] += step * forcesX[i] / force;
+					ys[i] += step * forcesY[i] / force;
+				}
+				energy += force * force;
+			}
+			stepLength.update(energy);
+		}
+	}
+
+}
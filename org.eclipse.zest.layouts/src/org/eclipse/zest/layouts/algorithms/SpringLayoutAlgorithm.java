@@ -12,14 +12,24 @@
  *******************************************************************************/
 package org.eclipse.zest.layouts.algorithms;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
+import org.eclipse.zest.layouts.LayoutEntity;
 import org.eclipse.zest.layouts.LayoutStyles;
+import org.eclipse.zest.layouts.algorithms.internal.BarnesHutTree;
+import org.eclipse.zest.layouts.algorithms.internal.StepLengthController;
 import org.eclipse.zest.layouts.dataStructures.DisplayIndependentRectangle;
 import org.eclipse.zest.layouts.dataStructures.InternalNode;
 import org.eclipse.zest.layouts.dataStructures.InternalRelationship;
+import org.eclipse.zest.layouts.progress.IterationProgressEvent;
+import org.eclipse.zest.layouts.progress.ProgressEvent;
 
 /**
  * The SpringLayoutAlgorithm has its own data repository and relation
@@ -88,28 +98,74 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 	 */
 	public static final double DEFAULT_SPRING_GRAVITATION = 1.0f;
 
+	/**
+	 * The default accuracy of the repulsion approximation. A value of 0 selects the
+	 * exact all-pairs computation.
+	 *
+	 * @since 1.6
+	 */
+	public static final double DEFAULT_REPULSION_THETA = 0;
+
+	/**
+	 * The default convergence tolerance. A value of 0 disables the convergence
+	 * detection.
+	 *
+	 * @since 1.6
+	 */
+	public static final double DEFAULT_CONVERGENCE_TOLERANCE = 0;
+
+	/**
+	 * The default cooling factor. A value of 1 keeps the step length constant.
+	 *
+	 * @since 1.6
+	 */
+	public static final double DEFAULT_COOLING = 1;
+
+	/**
+	 * The maximum number of iterations of an incremental layout.
+	 */
+	private static final int INCREMENTAL_ITERATIONS = 100;
+
+	/**
+	 * The accuracy of the repulsion in an incremental layout, unless a more
+	 * accurate theta is set.
+	 */
+	private static final double INCREMENTAL_THETA = 0.8;
+
+	/**
+	 * The strength with which moved entities of an incremental layout are pulled
+	 * back to their previous locations.
+	 */
+	private static final double ANCHOR_STRENGTH = 2;
+
 	/**
 	 * The variable can be customized to set the number of iterations used.
 	 */
-	private static int sprIterations = DEFAULT_SPRING_ITERATIONS;
+	private int sprIterations = DEFAULT_SPRING_ITERATIONS;
 
 	/**
 	 * This variable can be customized to set the max number of MS the algorithm
 	 * should run
 	 */
-	private static long maxTimeMS = MAX_SPRING_TIME;
+	private long maxTimeMS = MAX_SPRING_TIME;
 
 	/**
 	 * The variable can be customized to set whether or not the spring layout nodes
 	 * are positioned randomly before beginning iterations.
 	 */
-	private static boolean sprRandom = DEFAULT_SPRING_RANDOM;
+	private boolean sprRandom = DEFAULT_SPRING_RANDOM;
 
 	/**
 	 * Minimum distance considered between nodes
 	 */
 	protected static final double MIN_DISTANCE = 0.001d;
 
+	/**
+	 * The smallest number of nodes for which the forces are computed by another
+	 * thread of the fork join pool.
+	 */
+	private static final int MIN_PARTITION_SIZE = 256;
+
 	/**
 	 * An arbitrarily small value in mathematics.
 	 */
@@ -118,22 +174,22 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 	/**
 	 * The variable can be customerized to set the spring layout move-control.
 	 */
-	private static double sprMove = DEFAULT_SPRING_MOVE;
+	private double sprMove = DEFAULT_SPRING_MOVE;
 
 	/**
 	 * The variable can be customized to set the spring layout strain-control.
 	 */
-	private static double sprStrain = DEFAULT_SPRING_STRAIN;
+	private double sprStrain = DEFAULT_SPRING_STRAIN;
 
 	/**
 	 * The variable can be customized to set the spring layout length-control.
 	 */
-	private static double sprLength = DEFAULT_SPRING_LENGTH;
+	private double sprLength = DEFAULT_SPRING_LENGTH;
 
 	/**
 	 * The variable can be customized to set the spring layout gravitation-control.
 	 */
-	private static double sprGravitation = DEFAULT_SPRING_GRAVITATION;
+	private double sprGravitation = DEFAULT_SPRING_GRAVITATION;
 
 	/**
 	 * The largest movement of all vertices that has occured in the most recent
@@ -142,37 +198,166 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 	private double largestMovement = 0;
 
 	/**
-	 * Maps a src and dest object to the number of relations between them. Key is
-	 * src.toString() + dest.toString(), value is an Integer
+	 * Maps a relationship type to a weight. Key is a string, value is a Double
 	 */
-	private Map<String, Integer> srcDestToNumRelsMap;
+	private final Map<String, Double> relTypeToWeightMap = new HashMap<>();
+
+	private int iteration;
+
+	private double[] tempLocationsX;
+
+	private double[] tempLocationsY;
+
+	private double[] forcesX;
+
+	private double[] forcesY;
+
+	private boolean[] anchors;
 
 	/**
-	 * Maps a src and dest object to the average weight of the relations between
-	 * them. Key is src.toString() + dest.toString(), value is a Double
+	 * The accuracy of the Barnes-Hut approximation of the repulsion, or 0 to
+	 * compute it exactly.
 	 */
-	private Map<String, Double> srcDestToRelsAvgWeightMap;
+	private double repulsionTheta = DEFAULT_REPULSION_THETA;
+
+	private BarnesHutTree repulsionTree;
 
 	/**
-	 * Maps a relationship type to a weight. Key is a string, value is a Double
+	 * The springs between related nodes in compressed sparse row form. The springs
+	 * of node i to the nodes j &gt; i are stored from index
+	 * <code>springStart[i]</code> up to <code>springStart[i + 1]</code> of
+	 * {@link #springTargets} and {@link #springStrengths}.
 	 */
-	private static Map<String, Double> relTypeToWeightMap = new HashMap<>();
+	private int[] springStart;
 
-	private int iteration;
+	private int[] springTargets;
+
+	/**
+	 * The strength of each spring, which is the number of relations between both
+	 * nodes times their average weight.
+	 */
+	private double[] springStrengths;
 
-	private int[][] srcDestToNumRels;
+	/**
+	 * The spring strengths of the node whose forces are being computed exactly,
+	 * indexed by the other node.
+	 */
+	private double[] rowStrengths;
 
-	private double[][] srcDestToRelsAvgWeight;
+	private boolean hasPreferredLocations;
 
-	private double[] tempLocationsX;
+	private double convergenceTolerance = DEFAULT_CONVERGENCE_TOLERANCE;
 
-	private double[] tempLocationsY;
+	private double cooling = DEFAULT_COOLING;
 
-	private double[] forcesX;
+	/**
+	 * The step length relative to {@link #sprMove}.
+	 */
+	private StepLengthController stepLength;
 
-	private double[] forcesY;
+	private int computedIterations;
 
-	private boolean[] anchors;
+	private double energy;
+
+	private double displacement;
+
+	private boolean converged;
+
+	/**
+	 * A hash of the set of entities each entity of the previous incremental layout
+	 * was related to, used to find the entities affected by changes. Layouts in the
+	 * background run on copies, so the original entities are the keys.
+	 */
+	private Map<LayoutEntity, Long> previousNeighbours;
+
+	/**
+	 * Whether the current layout started from the locations of the previous one.
+	 */
+	private boolean warmStart;
+
+	/**
+	 * The number of iterations of an incremental layout, none if no entity moves.
+	 */
+	private int incrementalIterations;
+
+	/**
+	 * The factor from the locations of the entities to the coordinates of an
+	 * incremental layout.
+	 */
+	private double warmStartScale;
+
+	/**
+	 * The nodes which move in an incremental layout, all other nodes are anchored.
+	 */
+	private int[] mobileNodes;
+
+	/**
+	 * The previous locations of the mobile nodes, or NaN for new nodes.
+	 */
+	private double[] anchorLocationsX;
+
+	private double[] anchorLocationsY;
+
+	/**
+	 * The repulsion of the anchored nodes, which is built only once.
+	 */
+	private BarnesHutTree anchoredTree;
+
+	private double[] mobileLocationsX;
+
+	private double[] mobileLocationsY;
+
+	private double[] mobileForcesX;
+
+	private double[] mobileForcesY;
+
+	/**
+	 * The index of each node among the mobile nodes, or -1 if it is anchored.
+	 */
+	private int[] mobileIndices;
+
+	/**
+	 * The springs with at least one mobile node in an incremental layout, as the
+	 * source and target nodes and the index of each spring.
+	 */
+	private int[] mobileSpringSources;
+
+	private int[] mobileSpringTargets;
+
+	private int[] mobileSprings;
+
+	/**
+	 * The pool used to compute the forces in parallel, or <code>null</code>.
+	 */
+	private ForkJoinPool forkJoinPool;
+
+	/**
+	 * The first node of each partition whose repulsion is computed by one task,
+	 * followed by the number of nodes.
+	 */
+	private int[] nodePartitions;
+
+	/**
+	 * The first node whose springs are computed by each task, followed by the
+	 * number of nodes. The partitions contain about the same number of springs.
+	 */
+	private int[] springPartitions;
+
+	/**
+	 * The spring forces computed by each task, which are added up in the order of
+	 * the tasks so that the result does not depend on the scheduling.
+	 */
+	private double[][] partitionForcesX;
+
+	private double[][] partitionForcesY;
+
+	private int[][] partitionStacks;
+
+	private boolean seeded;
+
+	private long randomSeed;
+
+	private Random random;
 
 	private DisplayIndependentRectangle bounds = null;
 
@@ -183,8 +368,6 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 	 */
 	public SpringLayoutAlgorithm(int styles) {
 		super(styles);
-		srcDestToNumRelsMap = new HashMap<>();
-		srcDestToRelsAvgWeightMap = new HashMap<>();
 		date = new Date();
 	}
 
@@ -295,6 +478,166 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 		return sprGravitation;
 	}
 
+	/**
+	 * Sets the accuracy of the repulsion between the nodes. With a theta of 0, the
+	 * repulsion is computed exactly for all pairs of nodes, which takes O(n^2) per
+	 * iteration. A positive theta approximates the repulsion of distant groups of
+	 * nodes by their center of mass (Barnes-Hut), which takes O(n log n) per
+	 * iteration. Larger values are faster and less accurate, values between 0.5
+	 * and 1.0 are common. In this mode, the springs are computed only for the
+	 * related pairs of nodes.
+	 * <p>
+	 * Note that a theta of 0 without a {@link #setForkJoinPool(ForkJoinPool) pool}
+	 * keeps the historical force model of this algorithm, which is not the exact
+	 * counterpart of the approximation: the opposite force given to each node is
+	 * the force accumulated so far by the node it is compared with, rather than the
+	 * force between the two nodes. A positive theta or a pool uses equal and
+	 * opposite forces between each pair of nodes, so switching to either of them
+	 * changes the layout, not only its accuracy.
+	 *
+	 * @param theta the largest ratio of the size of a group of nodes to its
+	 *              distance for which the group is approximated, or 0
+	 * @since 1.6
+	 */
+	public void setRepulsionTheta(double theta) {
+		if (theta < 0) {
+			throw new IllegalArgumentException("Theta must not be negative"); //$NON-NLS-1$
+		}
+		repulsionTheta = theta;
+	}
+
+	/**
+	 * Returns the accuracy of the repulsion between the nodes.
+	 *
+	 * @return the theta of the repulsion approximation, or 0 if it is computed
+	 *         exactly
+	 * @see #setRepulsionTheta(double)
+	 * @since 1.6
+	 */
+	public double getRepulsionTheta() {
+		return repulsionTheta;
+	}
+
+	/**
+	 * Sets the pool used to compute the forces in parallel. The nodes are divided
+	 * into one partition per thread of the pool. Each task accumulates the forces
+	 * of its partition into its own buffers, which are added up in a fixed order
+	 * at the end of each iteration, so that the layout does not depend on the
+	 * scheduling of the tasks. The result may differ in the last bits between
+	 * pools of different parallelism.
+	 * <p>
+	 * With a pool, the forces are computed like with a positive
+	 * {@link #setRepulsionTheta(double) theta}: the repulsion between all nodes
+	 * and the springs between the related nodes, with equal and opposite forces
+	 * between each pair of nodes. If theta is 0, the repulsion is summed exactly.
+	 * This differs from the historical force model used with a theta of 0 and no
+	 * pool, so setting a pool changes the layout even for small graphs. Layouts of
+	 * fewer than a few hundred nodes are computed on the calling thread.
+	 *
+	 * @param pool the pool, or <code>null</code> to compute the forces on the
+	 *             calling thread
+	 * @since 1.6
+	 */
+	public void setForkJoinPool(ForkJoinPool pool) {
+		forkJoinPool = pool;
+	}
+
+	/**
+	 * Returns the pool used to compute the forces in parallel.
+	 *
+	 * @return the pool, or <code>null</code> if the forces are computed on the
+	 *         calling thread
+	 * @see #setForkJoinPool(ForkJoinPool)
+	 * @since 1.6
+	 */
+	public ForkJoinPool getForkJoinPool() {
+		return forkJoinPool;
+	}
+
+	/**
+	 * Sets the seed used to place the nodes randomly before beginning iterations.
+	 * With a seed, the same input always results in the same layout.
+	 *
+	 * @param seed the seed of the random placement
+	 * @see #setRandom(boolean)
+	 * @since 1.6
+	 */
+	public void setRandomSeed(long seed) {
+		randomSeed = seed;
+		seeded = true;
+	}
+
+	/**
+	 * Sets the tolerance below which the layout is considered converged. The
+	 * layout stops before the maximum number of iterations once the nodes moved
+	 * by less than the tolerance on average in one iteration. The tolerance is
+	 * measured in the coordinates of the algorithm, in which the natural length
+	 * of a spring is the {@link #setSpringLength(double) spring length}.
+	 *
+	 * @param tolerance the average distance a node may move in a converged
+	 *                  layout, or 0 to always compute all iterations
+	 * @since 1.6
+	 */
+	public void setConvergenceTolerance(double tolerance) {
+		if (tolerance < 0) {
+			throw new IllegalArgumentException("Tolerance must not be negative"); //$NON-NLS-1$
+		}
+		convergenceTolerance = tolerance;
+	}
+
+	/**
+	 * Returns the tolerance below which the layout is considered converged.
+	 *
+	 * @return the convergence tolerance
+	 * @see #setConvergenceTolerance(double)
+	 * @since 1.6
+	 */
+	public double getConvergenceTolerance() {
+		return convergenceTolerance;
+	}
+
+	/**
+	 * Sets the cooling factor of the adaptive step length. The nodes move by their
+	 * force times the {@link #setSpringMove(double) move-control} times the step
+	 * length, which starts at 1. Whenever the energy, the sum of the squared
+	 * forces, does not decrease in an iteration, the step length is multiplied by
+	 * the cooling factor. After several iterations of decreasing energy, it is
+	 * divided by the factor again, up to 1.
+	 *
+	 * @param cooling the cooling factor, greater than 0 and at most 1, where 1
+	 *                keeps the step length constant
+	 * @since 1.6
+	 */
+	public void setCooling(double cooling) {
+		if (cooling <= 0 || cooling > 1) {
+			throw new IllegalArgumentException("Cooling must be in (0, 1]"); //$NON-NLS-1$
+		}
+		this.cooling = cooling;
+	}
+
+	/**
+	 * @see AbstractLayoutAlgorithm#setIncremental(boolean)
+	 */
+	@Override
+	public void setIncremental(boolean incremental) {
+		super.setIncremental(incremental);
+		if (!incremental) {
+			// the next incremental layout starts from scratch
+			previousNeighbours = null;
+		}
+	}
+
+	/**
+	 * Returns the cooling factor of the adaptive step length.
+	 *
+	 * @return the cooling factor
+	 * @see #setCooling(double)
+	 * @since 1.6
+	 */
+	public double getCooling() {
+		return cooling;
+	}
+
 	/**
 	 * Sets the number of iterations to be used.
 	 *
@@ -362,10 +705,31 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 		forcesX = null;
 		forcesY = null;
 		anchors = null;
+		repulsionTree = null;
+		springStart = null;
+		springTargets = null;
+		springStrengths = null;
+		rowStrengths = null;
+		nodePartitions = null;
+		springPartitions = null;
+		partitionForcesX = null;
+		partitionForcesY = null;
+		partitionStacks = null;
+		random = null;
+		mobileNodes = null;
+		anchorLocationsX = null;
+		anchorLocationsY = null;
+		anchoredTree = null;
+		mobileLocationsX = null;
+		mobileLocationsY = null;
+		mobileForcesX = null;
+		mobileForcesY = null;
+		mobileIndices = null;
+		mobileSpringSources = null;
+		mobileSpringTargets = null;
+		mobileSprings = null;
 		setDefaultConditions();
-		srcDestToNumRelsMap = new HashMap<>();
-		srcDestToRelsAvgWeightMap = new HashMap<>();
-		relTypeToWeightMap = new HashMap<>();
+		relTypeToWeightMap.clear();
 	}
 
 	private long startTime = 0;
@@ -388,12 +752,8 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 		for (int i = 0; i < entitiesToLayout.length; i++) {
 			anchors[i] = DEFAULT_ANCHOR;
 		}
-		for (InternalRelationship layoutRelationship : relationshipsToConsider) {
-			addRelation(layoutRelationship);
-		}
-
 		// do the calculations
-		preCompute(entitiesToLayout);
+		preCompute(entitiesToLayout, relationshipsToConsider);
 		startTime = date.getTime();
 	}
 
@@ -403,56 +763,23 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 		reset(entitiesToLayout);
 	}
 
-	/**
-	 * Adds a simple relation between two nodes to the relation repository.
-	 *
-	 * @param layoutRelationship The simple relation to be added
-	 * @throws java.lang.NullPointerExcetption If <code>sr</code> is null
-	 * @see SimpleRelation
-	 */
-	private void addRelation(InternalRelationship layoutRelationship) {
-		if (layoutRelationship == null) {
-			throw new IllegalArgumentException("The arguments can not be null!"); //$NON-NLS-1$
-		}
-		double weight = layoutRelationship.getWeight();
-		weight = (weight <= 0 ? 0.1 : weight);
-		String key1 = layoutRelationship.getSource().toString() + layoutRelationship.getDestination().toString();
-		String key2 = layoutRelationship.getDestination().toString() + layoutRelationship.getSource().toString();
-		String[] keys = { key1, key2 };
-		for (String key : keys) {
-			Integer count = srcDestToNumRelsMap.get(key);
-			Double avgWeight = srcDestToRelsAvgWeightMap.get(key);
-			if (count == null) {
-				count = Integer.valueOf(1);
-				avgWeight = Double.valueOf(weight);
-			} else {
-				int newCount = count.intValue() + 1;
-				double newAverage = (avgWeight.doubleValue() * count.doubleValue() + weight) / newCount;
-				avgWeight = Double.valueOf(newAverage);
-				count = Integer.valueOf(newCount);
-			}
-			srcDestToNumRelsMap.put(key, count);
-			srcDestToRelsAvgWeightMap.put(key, avgWeight);
+	private void preCompute(InternalNode[] entitiesToLayout, InternalRelationship[] relationshipsToConsider) {
+		createSprings(entitiesToLayout, relationshipsToConsider);
+		rowStrengths = new double[entitiesToLayout.length];
+		if (repulsionTheta > 0 || forkJoinPool != null) {
+			repulsionTree = new BarnesHutTree();
 		}
-	}
-
-	private void preCompute(InternalNode[] entitiesToLayout) {
-		// count number of relationships between all nodes and the average
-		// weight between them
-		srcDestToNumRels = new int[entitiesToLayout.length][entitiesToLayout.length];
-		srcDestToRelsAvgWeight = new double[entitiesToLayout.length][entitiesToLayout.length];
-
-		for (int i = 0; i < entitiesToLayout.length - 1; i++) {
-			InternalNode layoutEntity1 = entitiesToLayout[i];
-			for (int j = i + 1; j < entitiesToLayout.length; j++) {
-				InternalNode layoutEntity2 = entitiesToLayout[j];
-				srcDestToNumRels[i][j] = numRelations(layoutEntity1, layoutEntity2);
-				srcDestToNumRels[i][j] += numRelations(layoutEntity2, layoutEntity1);
-				srcDestToRelsAvgWeight[i][j] = avgWeight(layoutEntity1, layoutEntity2);
-			}
+		createPartitions(entitiesToLayout.length);
+		random = seeded ? new Random(randomSeed) : null;
+		hasPreferredLocations = false;
+		for (InternalNode entity : entitiesToLayout) {
+			hasPreferredLocations |= entity.hasPreferredLocation();
 		}
 
-		if (sprRandom) {
+		warmStart = startFromPreviousLayout(entitiesToLayout);
+		if (warmStart) {
+			// the previous locations are used
+		} else if (sprRandom) {
 			placeRandomly(entitiesToLayout); // put vertices in random places
 		} else {
 			convertToUnitCoordinates(entitiesToLayout);
@@ -460,6 +787,11 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 
 		iteration = 1;
 		largestMovement = Double.MAX_VALUE;
+		stepLength = new StepLengthController(cooling, 1);
+		computedIterations = 0;
+		energy = Double.MAX_VALUE;
+		displacement = 0;
+		converged = false;
 	}
 
 	// TODO: This is a complete Clone! (and not in a good way)
@@ -550,7 +882,14 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 	@Override
 	protected boolean performAnotherNonContinuousIteration() {
 		setSprIterationsBasedOnTime();
-		return iteration <= sprIterations && largestMovement >= sprMove;
+		return iteration <= getMaxIterations() && largestMovement >= sprMove && !converged;
+	}
+
+	private int getMaxIterations() {
+		if (!warmStart) {
+			return sprIterations;
+		}
+		return incrementalIterations;
 	}
 
 	@Override
@@ -560,7 +899,20 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 
 	@Override
 	protected int getTotalNumberOfLayoutSteps() {
-		return sprIterations;
+		return getMaxIterations();
+	}
+
+	/**
+	 * Returns an {@link IterationProgressEvent} with the energy and displacement
+	 * of the most recent iteration.
+	 *
+	 * @see AbstractLayoutAlgorithm#createProgressEvent(int, int)
+	 * @since 1.6
+	 */
+	@Override
+	protected ProgressEvent createProgressEvent(int currentStep, int totalNumberOfSteps) {
+		return new IterationProgressEvent(currentStep, totalNumberOfSteps, computedIterations,
+				computedIterations > 0 ? energy : 0, displacement, converged);
 	}
 
 	@Override
@@ -569,11 +921,23 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 		if (bounds == null) {
 			bounds = new DisplayIndependentRectangle(x, y, width, height);
 		}
-		checkPreferredLocation(entitiesToLayout, bounds);
+		if (hasPreferredLocations) {
+			checkPreferredLocation(entitiesToLayout, bounds);
+		}
 		computeForces(entitiesToLayout);
 		largestMovement = Double.MAX_VALUE;
 		computePositions(entitiesToLayout);
 
+		if (warmStart) {
+			// the anchored entities keep their locations
+			for (int i : mobileNodes) {
+				entitiesToLayout[i].setInternalLocation(tempLocationsX[i] / warmStartScale,
+						tempLocationsY[i] / warmStartScale);
+			}
+			iteration++;
+			return;
+		}
+
 		for (int i = 0; i < entitiesToLayout.length; i++) {
 			InternalNode layoutEntity = entitiesToLayout[i];
 			layoutEntity.setInternalLocation(tempLocationsX[i], tempLocationsY[i]);
@@ -602,8 +966,8 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 					tempLocationsX[i] = 1.0;
 					tempLocationsY[i] = 1.0;
 				} else {
-					tempLocationsX[i] = Math.random();
-					tempLocationsY[i] = Math.random();
+					tempLocationsX[i] = random != null ? random.nextDouble() : Math.random();
+					tempLocationsY[i] = random != null ? random.nextDouble() : Math.random();
 				}
 			}
 		}
@@ -613,11 +977,130 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 	// /// Protected Methods /////
 	// /////////////////////////////////////////////////////////////////
 
+	/**
+	 * Collects the springs between the related nodes. Relationships between the
+	 * same pair of nodes are combined into one spring, in either direction. The
+	 * storage is proportional to the number of relationships.
+	 */
+	private void createSprings(InternalNode[] entitiesToLayout, InternalRelationship[] relationshipsToConsider) {
+		int count = entitiesToLayout.length;
+		Map<InternalNode, Integer> indices = new IdentityHashMap<>(count);
+		for (int i = 0; i < count; i++) {
+			indices.put(entitiesToLayout[i], Integer.valueOf(i));
+		}
+
+		// Each relationship is stored in the row of its node with the smaller index
+		int[] rows = new int[relationshipsToConsider.length];
+		int[] columns = new int[relationshipsToConsider.length];
+		double[] weights = new double[relationshipsToConsider.length];
+		int[] rowSizes = new int[count + 1];
+		int edges = 0;
+		for (InternalRelationship relationship : relationshipsToConsider) {
+			if (relationship == null) {
+				throw new IllegalArgumentException("The arguments can not be null!"); //$NON-NLS-1$
+			}
+			Integer source = indices.get(relationship.getSource());
+			Integer destination = indices.get(relationship.getDestination());
+			if (source == null || destination == null || source.equals(destination)) {
+				continue;
+			}
+			double weight = relationship.getWeight();
+			rows[edges] = Math.min(source.intValue(), destination.intValue());
+			columns[edges] = Math.max(source.intValue(), destination.intValue());
+			// A relationship counts in both directions
+			weights[edges] = 2 * (weight <= 0 ? 0.1 : weight);
+			rowSizes[rows[edges]]++;
+			edges++;
+		}
+
+		int[] start = new int[count + 1];
+		for (int i = 0; i < count; i++) {
+			start[i + 1] = start[i] + rowSizes[i];
+		}
+		int[] targets = new int[edges];
+		double[] strengths = new double[edges];
+		int[] next = Arrays.copyOf(start, count);
+		for (int edge = 0; edge < edges; edge++) {
+			int slot = next[rows[edge]]++;
+			targets[slot] = columns[edge];
+			strengths[slot] = weights[edge];
+		}
+
+		// Combine the relationships between the same nodes, compacting the rows
+		int[] lastSlot = new int[count];
+		Arrays.fill(lastSlot, -1);
+		springStart = new int[count + 1];
+		int size = 0;
+		for (int i = 0; i < count; i++) {
+			springStart[i] = size;
+			for (int slot = start[i]; slot < start[i + 1]; slot++) {
+				int j = targets[slot];
+				if (lastSlot[j] >= springStart[i]) {
+					strengths[lastSlot[j]] += strengths[slot];
+				} else {
+					lastSlot[j] = size;
+					targets[size] = j;
+					strengths[size] = strengths[slot];
+					size++;
+				}
+			}
+		}
+		springStart[count] = size;
+		springTargets = Arrays.copyOf(targets, size);
+		springStrengths = Arrays.copyOf(strengths, size);
+	}
+
+	/**
+	 * Divides the nodes among the threads of the fork join pool, if there is one
+	 * and there are enough nodes.
+	 */
+	private void createPartitions(int count) {
+		int partitions = 1;
+		if (forkJoinPool != null) {
+			partitions = Math.max(1, Math.min(forkJoinPool.getParallelism(), count / MIN_PARTITION_SIZE));
+		}
+		if (partitions == 1) {
+			return;
+		}
+		nodePartitions = new int[partitions + 1];
+		springPartitions = new int[partitions + 1];
+		int springs = springStart[count];
+		int node = 0;
+		for (int p = 0; p <= partitions; p++) {
+			nodePartitions[p] = (int) ((long) count * p / partitions);
+			// The first node whose springs do not belong to the previous partitions
+			long firstSpring = (long) springs * p / partitions;
+			while (node < count && springStart[node] < firstSpring) {
+				node++;
+			}
+			springPartitions[p] = node;
+		}
+		springPartitions[partitions] = count;
+		partitionForcesX = new double[partitions][count];
+		partitionForcesY = new double[partitions][count];
+		partitionStacks = new int[partitions][];
+		for (int p = 0; p < partitions; p++) {
+			partitionStacks[p] = BarnesHutTree.createStack();
+		}
+	}
+
 	/**
 	 * Computes the force for each node in this SpringLayoutAlgorithm. The computed
 	 * force will be stored in the data repository
 	 */
 	protected void computeForces(InternalNode[] entitiesToLayout) {
+		if (warmStart) {
+			computeIncrementalForces();
+			return;
+		}
+		if (nodePartitions != null) {
+			computeParallelForces(entitiesToLayout.length);
+			return;
+		}
+		if (repulsionTheta > 0 || forkJoinPool != null) {
+			computeApproximateForces(entitiesToLayout.length);
+			return;
+		}
 
 		// initialize all forces to zero
 		for (int i = 0; i < entitiesToLayout.length; i++) {
@@ -634,6 +1117,9 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 			double srcLocationY = tempLocationsY[i];
 			double fx = forcesX[i]; // force in x direction
 			double fy = forcesY[i]; // force in y direction
+			for (int spring = springStart[i]; spring < springStart[i + 1]; spring++) {
+				rowStrengths[springTargets[spring]] = springStrengths[spring];
+			}
 
 			for (int j = i + 1; j < entitiesToLayout.length; j++) {
 				InternalNode destinationEntity = entitiesToLayout[j];
@@ -652,11 +1138,10 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 					// then decrease force on srcObj (a pull) in direction of destObj
 					// If no relation between srcObj and destObj then increase
 					// force on srcObj (a push) from direction of destObj.
-					int numRels = srcDestToNumRels[i][j];
-					double avgWeight = srcDestToRelsAvgWeight[i][j];
-					if (numRels > 0) {
+					double strength = rowStrengths[j];
+					if (strength > 0) {
 						// nodes are pulled towards each other
-						double f = sprStrain * Math.log(distance / sprLength) * numRels * avgWeight;
+						double f = sprStrain * Math.log(distance / sprLength) * strength;
 
 						fx = fx - (f * dx / distance);
 						fy = fy - (f * dy / distance);
@@ -684,6 +1169,9 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 			 */
 			forcesX[i] = fx;
 			forcesY[i] = fy;
+			for (int spring = springStart[i]; spring < springStart[i + 1]; spring++) {
+				rowStrengths[springTargets[spring]] = 0;
+			}
 			// Remove the src object from the list of destinations since
 			// we've already calculated the force from it on all other
 			// objects.
@@ -692,21 +1180,435 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 		}
 	}
 
+	/**
+	 * Computes the forces with a Barnes-Hut approximation of the repulsion between
+	 * all nodes, and the springs between the related nodes. Like in the exact
+	 * computation, related nodes attract but do not repel each other, so their
+	 * approximated repulsion is taken back.
+	 */
+	private void computeApproximateForces(int count) {
+		for (int i = 0; i < count; i++) {
+			forcesX[i] = 0.0;
+			forcesY[i] = 0.0;
+		}
+		repulsionTree.build(tempLocationsX, tempLocationsY, count);
+		repulsionTree.accumulateRepulsion(tempLocationsX, tempLocationsY, forcesX, forcesY, 0, count,
+				repulsionTheta, sprGravitation, MIN_DISTANCE);
+
+		accumulateSprings(forcesX, forcesY, 0, count);
+	}
+
+	/**
+	 * Computes the same forces as {@link #computeApproximateForces(int)} with one
+	 * task per partition of the nodes. The tasks add the repulsion of their nodes
+	 * directly, since no other task writes it, and the springs into their own
+	 * buffers. The buffers are then added up, again divided among the tasks.
+	 */
+	private void computeParallelForces(int count) {
+		int partitions = nodePartitions.length - 1;
+		repulsionTree.build(tempLocationsX, tempLocationsY, count);
+		ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[partitions];
+		for (int p = 0; p < partitions; p++) {
+			int partition = p;
+			tasks[p] = forkJoinPool.submit(() -> {
+				int from = nodePartitions[partition];
+				int to = nodePartitions[partition + 1];
+				Arrays.fill(forcesX, from, to, 0.0);
+				Arrays.fill(forcesY, from, to, 0.0);
+				repulsionTree.accumulateRepulsion(tempLocationsX, tempLocationsY, forcesX, forcesY, from, to,
+						repulsionTheta, sprGravitation, MIN_DISTANCE, partitionStacks[partition]);
+				Arrays.fill(partitionForcesX[partition], 0.0);
+				Arrays.fill(partitionForcesY[partition], 0.0);
+				accumulateSprings(partitionForcesX[partition], partitionForcesY[partition],
+						springPartitions[partition], springPartitions[partition + 1]);
+			});
+		}
+		joinAll(tasks);
+		for (int p = 0; p < partitions; p++) {
+			int partition = p;
+			tasks[p] = forkJoinPool.submit(() -> {
+				for (int i = nodePartitions[partition]; i < nodePartitions[partition + 1]; i++) {
+					double fx = 0;
+					double fy = 0;
+					for (int q = 0; q < partitions; q++) {
+						fx += partitionForcesX[q][i];
+						fy += partitionForcesY[q][i];
+					}
+					forcesX[i] += fx;
+					forcesY[i] += fy;
+				}
+			});
+		}
+		joinAll(tasks);
+	}
+
+	private static void joinAll(ForkJoinTask<?>[] tasks) {
+		for (ForkJoinTask<?> task : tasks) {
+			task.join();
+		}
+	}
+
+	/**
+	 * Computes the forces of an incremental layout, only for the mobile nodes. The
+	 * repulsion of the anchored nodes comes from a tree which is built only once,
+	 * the repulsion between the mobile nodes from a tree over these nodes alone.
+	 * Existing nodes which move are pulled back to their previous locations. Only
+	 * the springs of the mobile nodes are computed.
+	 */
+	private void computeIncrementalForces() {
+		double theta = repulsionTheta > 0 ? Math.min(repulsionTheta, INCREMENTAL_THETA) : INCREMENTAL_THETA;
+		int mobileCount = mobileNodes.length;
+		for (int k = 0; k < mobileCount; k++) {
+			mobileLocationsX[k] = tempLocationsX[mobileNodes[k]];
+			mobileLocationsY[k] = tempLocationsY[mobileNodes[k]];
+		}
+		Arrays.fill(mobileForcesX, 0.0);
+		Arrays.fill(mobileForcesY, 0.0);
+		anchoredTree.accumulateExternalRepulsion(mobileLocationsX, mobileLocationsY, mobileForcesX, mobileForcesY, 0,
+				mobileCount, theta, sprGravitation, MIN_DISTANCE);
+		repulsionTree.build(mobileLocationsX, mobileLocationsY, mobileCount);
+		repulsionTree.accumulateRepulsion(mobileLocationsX, mobileLocationsY, mobileForcesX, mobileForcesY, 0,
+				mobileCount, theta, sprGravitation, MIN_DISTANCE);
+
+		for (int k = 0; k < mobileCount; k++) {
+			if (!Double.isNaN(anchorLocationsX[k])) {
+				mobileForcesX[k] -= ANCHOR_STRENGTH * (mobileLocationsX[k] - anchorLocationsX[k]);
+				mobileForcesY[k] -= ANCHOR_STRENGTH * (mobileLocationsY[k] - anchorLocationsY[k]);
+			}
+		}
+		accumulateMobileSprings();
+		// the forces of the anchored nodes are not read
+		for (int k = 0; k < mobileCount; k++) {
+			forcesX[mobileNodes[k]] = mobileForcesX[k];
+			forcesY[mobileNodes[k]] = mobileForcesY[k];
+		}
+	}
+
+	/**
+	 * Adds the forces of the springs of the mobile nodes to the mobile forces,
+	 * like {@link #accumulateSprings(double[], double[], int, int)}.
+	 */
+	private void accumulateMobileSprings() {
+		for (int s = 0; s < mobileSprings.length; s++) {
+			int i = mobileSpringSources[s];
+			int j = mobileSpringTargets[s];
+			double dx = tempLocationsX[i] - tempLocationsX[j];
+			double dy = tempLocationsY[i] - tempLocationsY[j];
+			double distanceSq = dx * dx + dy * dy;
+			if (distanceSq == 0) {
+				continue;
+			}
+			double distance = Math.max(MIN_DISTANCE, Math.sqrt(distanceSq));
+			double attraction = sprStrain * Math.log(distance / sprLength) * springStrengths[mobileSprings[s]];
+			double repulsion = sprGravitation / (distance * distance);
+			double f = (attraction + repulsion) / distance;
+			int k = mobileIndices[i];
+			if (k >= 0) {
+				mobileForcesX[k] -= f * dx;
+				mobileForcesY[k] -= f * dy;
+			}
+			k = mobileIndices[j];
+			if (k >= 0) {
+				mobileForcesX[k] += f * dx;
+				mobileForcesY[k] += f * dy;
+			}
+		}
+	}
+
+	/**
+	 * Prepares an incremental layout if it is enabled and some of the entities
+	 * were laid out before. Entities which are related to the same entities as
+	 * before are anchored, the others are mobile. New entities are placed near
+	 * their related entities. Returns whether the layout starts from the previous
+	 * locations.
+	 */
+	private boolean startFromPreviousLayout(InternalNode[] entitiesToLayout) {
+		if (!isIncremental()) {
+			previousNeighbours = null;
+			return false;
+		}
+		int count = entitiesToLayout.length;
+		int[] adjacencyStart = new int[count + 1];
+		int[] adjacency = createAdjacency(count, adjacencyStart);
+		long[] neighbours = new long[count];
+		Map<LayoutEntity, Long> previous = previousNeighbours;
+		previousNeighbours = new IdentityHashMap<>(count);
+		for (int i = 0; i < count; i++) {
+			neighbours[i] = hashNeighbours(entitiesToLayout, adjacencyStart, adjacency, i);
+			previousNeighbours.put(LayoutSnapshot.getOriginal(entitiesToLayout[i].getLayoutEntity()),
+					Long.valueOf(neighbours[i]));
+		}
+		if (previous == null) {
+			return false;
+		}
+
+		boolean[] placed = new boolean[count];
+		int placedCount = 0;
+		int mobileCount = 0;
+		for (int i = 0; i < count; i++) {
+			Long hash = previous.get(LayoutSnapshot.getOriginal(entitiesToLayout[i].getLayoutEntity()));
+			placed[i] = hash != null;
+			anchors[i] = placed[i] && hash.longValue() == neighbours[i] && !entitiesToLayout[i].hasPreferredLocation();
+			if (placed[i]) {
+				placedCount++;
+			}
+			if (!anchors[i]) {
+				mobileCount++;
+			}
+		}
+		if (placedCount == 0) {
+			Arrays.fill(anchors, DEFAULT_ANCHOR);
+			return false;
+		}
+
+		warmStartScale = getWarmStartScale(entitiesToLayout, placed, placedCount);
+		double minX = Double.MAX_VALUE;
+		double minY = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE;
+		double maxY = -Double.MAX_VALUE;
+		for (int i = 0; i < count; i++) {
+			if (placed[i]) {
+				tempLocationsX[i] = entitiesToLayout[i].getInternalX() * warmStartScale;
+				tempLocationsY[i] = entitiesToLayout[i].getInternalY() * warmStartScale;
+				minX = Math.min(minX, tempLocationsX[i]);
+				minY = Math.min(minY, tempLocationsY[i]);
+				maxX = Math.max(maxX, tempLocationsX[i]);
+				maxY = Math.max(maxY, tempLocationsY[i]);
+			}
+		}
+		placeNewNodes(count, placed, adjacencyStart, adjacency, minX, minY, maxX, maxY);
+
+		mobileNodes = new int[mobileCount];
+		anchorLocationsX = new double[mobileCount];
+		anchorLocationsY = new double[mobileCount];
+		double[] anchoredX = new double[count - mobileCount];
+		double[] anchoredY = new double[count - mobileCount];
+		mobileIndices = new int[count];
+		int k = 0;
+		int anchored = 0;
+		for (int i = 0; i < count; i++) {
+			if (anchors[i]) {
+				anchoredX[anchored] = tempLocationsX[i];
+				anchoredY[anchored++] = tempLocationsY[i];
+				mobileIndices[i] = -1;
+			} else {
+				mobileIndices[i] = k;
+				mobileNodes[k] = i;
+				anchorLocationsX[k] = placed[i] ? tempLocationsX[i] : Double.NaN;
+				anchorLocationsY[k++] = placed[i] ? tempLocationsY[i] : Double.NaN;
+			}
+		}
+		anchoredTree = new BarnesHutTree();
+		anchoredTree.build(anchoredX, anchoredY, anchored);
+		if (repulsionTree == null) {
+			repulsionTree = new BarnesHutTree();
+		}
+		mobileLocationsX = new double[mobileCount];
+		mobileLocationsY = new double[mobileCount];
+		mobileForcesX = new double[mobileCount];
+		mobileForcesY = new double[mobileCount];
+		createMobileSprings(count);
+		incrementalIterations = mobileCount == 0 ? 0 : Math.min(sprIterations, INCREMENTAL_ITERATIONS);
+		return true;
+	}
+
+	/**
+	 * Collects the springs with at least one mobile node, in the order of the
+	 * springs.
+	 */
+	private void createMobileSprings(int count) {
+		int mobileSpringCount = 0;
+		for (int i = 0; i < count; i++) {
+			for (int spring = springStart[i]; spring < springStart[i + 1]; spring++) {
+				if (!anchors[i] || !anchors[springTargets[spring]]) {
+					mobileSpringCount++;
+				}
+			}
+		}
+		mobileSpringSources = new int[mobileSpringCount];
+		mobileSpringTargets = new int[mobileSpringCount];
+		mobileSprings = new int[mobileSpringCount];
+		int s = 0;
+		for (int i = 0; i < count; i++) {
+			for (int spring = springStart[i]; spring < springStart[i + 1]; spring++) {
+				int j = springTargets[spring];
+				if (!anchors[i] || !anchors[j]) {
+					mobileSpringSources[s] = i;
+					mobileSpringTargets[s] = j;
+					mobileSprings[s++] = spring;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns a hash of the set of entities the given node is related to, which
+	 * does not depend on the order of the relationships.
+	 */
+	private static long hashNeighbours(InternalNode[] entitiesToLayout, int[] adjacencyStart, int[] adjacency,
+			int i) {
+		long hash = adjacencyStart[i + 1] - adjacencyStart[i];
+		for (int a = adjacencyStart[i]; a < adjacencyStart[i + 1]; a++) {
+			// a sum of well mixed identities, as the set is unordered
+			LayoutEntity entity = LayoutSnapshot.getOriginal(entitiesToLayout[adjacency[a]].getLayoutEntity());
+			long h = System.identityHashCode(entity) * 0x9E3779B97F4A7C15L;
+			hash += h ^ (h >>> 29);
+		}
+		return hash;
+	}
+
+	/**
+	 * Returns the related nodes of all nodes in compressed sparse row form, in
+	 * both directions.
+	 */
+	private int[] createAdjacency(int count, int[] start) {
+		for (int i = 0; i < count; i++) {
+			for (int spring = springStart[i]; spring < springStart[i + 1]; spring++) {
+				start[i + 1]++;
+				start[springTargets[spring] + 1]++;
+			}
+		}
+		for (int i = 0; i < count; i++) {
+			start[i + 1] += start[i];
+		}
+		int[] adjacency = new int[start[count]];
+		int[] next = Arrays.copyOf(start, count);
+		for (int i = 0; i < count; i++) {
+			for (int spring = springStart[i]; spring < springStart[i + 1]; spring++) {
+				int j = springTargets[spring];
+				adjacency[next[i]++] = j;
+				adjacency[next[j]++] = i;
+			}
+		}
+		return adjacency;
+	}
+
+	/**
+	 * Returns the factor from the locations of the entities to coordinates in
+	 * which the median length of the springs between placed nodes is the spring
+	 * length.
+	 */
+	private double getWarmStartScale(InternalNode[] entitiesToLayout, boolean[] placed, int placedCount) {
+		double[] lengths = new double[springTargets.length];
+		int size = 0;
+		double minX = Double.MAX_VALUE;
+		double minY = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE;
+		double maxY = -Double.MAX_VALUE;
+		for (int i = 0; i < entitiesToLayout.length; i++) {
+			if (!placed[i]) {
+				continue;
+			}
+			minX = Math.min(minX, entitiesToLayout[i].getInternalX());
+			minY = Math.min(minY, entitiesToLayout[i].getInternalY());
+			maxX = Math.max(maxX, entitiesToLayout[i].getInternalX());
+			maxY = Math.max(maxY, entitiesToLayout[i].getInternalY());
+			for (int spring = springStart[i]; spring < springStart[i + 1]; spring++) {
+				int j = springTargets[spring];
+				if (placed[j]) {
+					double length = Math.hypot(entitiesToLayout[i].getInternalX() - entitiesToLayout[j].getInternalX(),
+							entitiesToLayout[i].getInternalY() - entitiesToLayout[j].getInternalY());
+					if (length > 0) {
+						lengths[size++] = length;
+					}
+				}
+			}
+		}
+		if (size > 0) {
+			Arrays.sort(lengths, 0, size);
+			return sprLength / lengths[size / 2];
+		}
+		double span = Math.max(maxX - minX, maxY - minY);
+		return span > EPSILON ? Math.sqrt(placedCount) * sprLength / span : 1;
+	}
+
+	/**
+	 * Places each new node near the centroid of its placed related nodes. Nodes
+	 * whose related nodes are all new are placed in later passes, nodes without
+	 * placed related nodes randomly in the given area.
+	 */
+	private void placeNewNodes(int count, boolean[] placed, int[] adjacencyStart, int[] adjacency, double minX,
+			double minY, double maxX, double maxY) {
+		Random jitter = random != null ? random : new Random();
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int i = 0; i < count; i++) {
+				if (placed[i]) {
+					continue;
+				}
+				double x = 0;
+				double y = 0;
+				int neighbors = 0;
+				for (int a = adjacencyStart[i]; a < adjacencyStart[i + 1]; a++) {
+					int j = adjacency[a];
+					if (placed[j]) {
+						x += tempLocationsX[j];
+						y += tempLocationsY[j];
+						neighbors++;
+					}
+				}
+				if (neighbors > 0) {
+					tempLocationsX[i] = x / neighbors + (jitter.nextDouble() - 0.5) * sprLength;
+					tempLocationsY[i] = y / neighbors + (jitter.nextDouble() - 0.5) * sprLength;
+					placed[i] = true;
+					changed = true;
+				}
+			}
+		}
+		for (int i = 0; i < count; i++) {
+			if (!placed[i]) {
+				tempLocationsX[i] = minX + jitter.nextDouble() * (maxX - minX);
+				tempLocationsY[i] = minY + jitter.nextDouble() * (maxY - minY);
+			}
+		}
+	}
+
+	/**
+	 * Adds the forces of the springs of the nodes <code>from</code> (inclusive) to
+	 * <code>to</code> (exclusive) to the given forces. Related nodes attract but
+	 * do not repel each other, so their repulsion is taken back.
+	 */
+	private void accumulateSprings(double[] fxs, double[] fys, int from, int to) {
+		for (int i = from; i < to; i++) {
+			for (int spring = springStart[i]; spring < springStart[i + 1]; spring++) {
+				int j = springTargets[spring];
+				double dx = tempLocationsX[i] - tempLocationsX[j];
+				double dy = tempLocationsY[i] - tempLocationsY[j];
+				double distanceSq = dx * dx + dy * dy;
+				if (distanceSq == 0) {
+					continue;
+				}
+				double distance = Math.max(MIN_DISTANCE, Math.sqrt(distanceSq));
+				double attraction = sprStrain * Math.log(distance / sprLength) * springStrengths[spring];
+				double repulsion = sprGravitation / (distance * distance);
+				double f = (attraction + repulsion) / distance;
+				fxs[i] -= f * dx;
+				fys[i] -= f * dy;
+				fxs[j] += f * dx;
+				fys[j] += f * dy;
+			}
+		}
+	}
+
 	/**
 	 * Computes the position for each node in this SpringLayoutAlgorithm. The
 	 * computed position will be stored in the data repository. position = position
-	 * + sprMove * force
+	 * + sprMove * step * force
 	 */
 	protected void computePositions(InternalNode[] entitiesToLayout) {
+		double step = stepLength.getStep();
+		double totalEnergy = 0;
+		double totalDisplacement = 0;
 		for (int i = 0; i < entitiesToLayout.length; i++) {
 			if (!anchors[i] || entitiesToLayout[i].hasPreferredLocation()) {
 				double oldX = tempLocationsX[i];
 				double oldY = tempLocationsY[i];
-				double deltaX = sprMove * forcesX[i];
-				double deltaY = sprMove * forcesY[i];
+				double deltaX = sprMove * step * forcesX[i];
+				double deltaY = sprMove * step * forcesY[i];
 
 				// constrain movement, so that nodes don't shoot way off to the edge
-				double maxMovement = 0.2d * sprMove;
+				double maxMovement = 0.2d * sprMove * step;
 				if (deltaX >= 0) {
 					deltaX = Math.min(deltaX, maxMovement);
 				} else {
@@ -720,6 +1622,8 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 
 				largestMovement = Math.max(largestMovement, Math.abs(deltaX));
 				largestMovement = Math.max(largestMovement, Math.abs(deltaY));
+				totalEnergy += forcesX[i] * forcesX[i] + forcesY[i] * forcesY[i];
+				totalDisplacement += Math.sqrt(deltaX * deltaX + deltaY * deltaY);
 
 				double newX = oldX + deltaX;
 				double newY = oldY + deltaY;
@@ -729,6 +1633,11 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 
 		}
 
+		stepLength.update(totalEnergy);
+		energy = totalEnergy;
+		displacement = totalDisplacement;
+		computedIterations++;
+		converged = convergenceTolerance > 0 && totalDisplacement <= convergenceTolerance * entitiesToLayout.length;
 	}
 
 	/**
@@ -765,34 +1674,6 @@ public class SpringLayoutAlgorithm extends ContinuousLayoutAlgorithm {
 		}
 	}
 
-	/**
-	 * Examines the number of specified relation between the <code>src</code> and
-	 * the <code>dest</code> that exist in this SpringLayoutAlgorithm's relation
-	 * repository.
-	 *
-	 * @param src  The source part of the relaton to be examined.
-	 * @param dest The destination part of the relation to be examined.
-	 * @return The number of relations between src and dest.
-	 */
-	private int numRelations(Object src, Object dest) {
-		String key = src.toString() + dest.toString();
-		Integer count = srcDestToNumRelsMap.get(key);
-		return (count == null) ? 0 : count.intValue();
-	}
-
-	/**
-	 * Returns the average weight between a src and dest object.
-	 *
-	 * @param src
-	 * @param dest
-	 * @return The average weight between the given src and dest nodes
-	 */
-	private double avgWeight(Object src, Object dest) {
-		String key = src.toString() + dest.toString();
-		Double avgWeight = srcDestToRelsAvgWeightMap.get(key);
-		return (avgWeight == null) ? 1 : avgWeight.doubleValue();
-	}
-
 	@Override
 	protected boolean isValidConfiguration(boolean asynchronous, boolean continueous) {
 		return asynchronous || !continueous;
@@ -17,10 +17,13 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.zest.layouts.LayoutStyles;
+import org.eclipse.zest.layouts.algorithms.internal.TidyTree;
 import org.eclipse.zest.layouts.dataStructures.DisplayIndependentRectangle;
 import org.eclipse.zest.layouts.dataStructures.InternalNode;
 import org.eclipse.zest.layouts.dataStructures.InternalRelationship;
@@ -30,7 +33,8 @@ import org.eclipse.zest.layouts.exampleStructures.SimpleRelationship;
  * The TreeLayoutAlgorithm class implements a simple algorithm to arrange graph
  * nodes in a layered vertical tree-like layout.
  *
- * This is by no means an efficiently coded algorithm.
+ * This is by no means an efficiently coded algorithm, unless the tidy tree
+ * layout is enabled with {@link #setTidy(boolean)}.
  *
  * @version 2.0
  * @author Casey Best and Rob Lintern (version 1.0 by Jingwei Wu)
@@ -59,6 +63,8 @@ public class TreeLayoutAlgorithm extends AbstractLayoutAlgorithm {
 	private double[] weights;
 	private boolean[] markedArr;
 
+	private boolean tidy;
+
 	/////////////////////////////////////////////////////////////////////////
 	///// Constructors /////
 	/////////////////////////////////////////////////////////////////////////
@@ -87,6 +93,33 @@ public class TreeLayoutAlgorithm extends AbstractLayoutAlgorithm {
 		throw new RuntimeException();
 	}
 
+	/**
+	 * Sets whether the tidy tree layout is used. It places the subtrees as close
+	 * to each other as possible and centers every parent above its children, in
+	 * time linear in the number of entities and relationships (Walker's algorithm
+	 * as improved by Buchheim et al.). If an entity has several parents, it is
+	 * placed below the first one which reaches it. The children of an entity are
+	 * ordered by the comparator, if there is one, or else by the order of the
+	 * relationships.
+	 *
+	 * @param tidy <code>true</code> to use the tidy tree layout
+	 * @since 1.6
+	 */
+	public void setTidy(boolean tidy) {
+		this.tidy = tidy;
+	}
+
+	/**
+	 * Returns whether the tidy tree layout is used.
+	 *
+	 * @return <code>true</code> if the tidy tree layout is used
+	 * @see #setTidy(boolean)
+	 * @since 1.6
+	 */
+	public boolean isTidy() {
+		return tidy;
+	}
+
 	@Override
 	protected int getCurrentLayoutStep() {
 		return 0;
@@ -124,6 +157,15 @@ public class TreeLayoutAlgorithm extends AbstractLayoutAlgorithm {
 		// super.applyLayout (entitiesToLayout, relationshipsToConsider, boundsX,
 		// boundsY, boundsWidth, boundsHeight);
 
+		this.boundsHeight = height;
+		this.boundsWidth = width;
+		this.boundsX = x;
+		this.boundsY = y;
+		layoutBounds = new DisplayIndependentRectangle(boundsX, boundsY, boundsWidth, boundsHeight);
+		if (tidy) {
+			return;
+		}
+
 		parentLists = new List[entitiesToLayout.length];
 		childrenLists = new List[entitiesToLayout.length];
 		weights = new double[entitiesToLayout.length];
@@ -134,13 +176,6 @@ public class TreeLayoutAlgorithm extends AbstractLayoutAlgorithm {
 			weights[i] = DEFAULT_WEIGHT;
 			markedArr[i] = DEFAULT_MARKED;
 		}
-
-		this.boundsHeight = height;
-		this.boundsWidth = width;
-		this.boundsX = x;
-		this.boundsY = y;
-		layoutBounds = new DisplayIndependentRectangle(boundsX, boundsY, boundsWidth, boundsHeight);
-
 	}
 
 	@Override
@@ -152,9 +187,13 @@ public class TreeLayoutAlgorithm extends AbstractLayoutAlgorithm {
 			fireProgressEvent(1, totalProgress);
 
 			treeRoots = new ArrayList<>();
-			buildForest(treeRoots, entitiesToLayout, relationshipsToConsider);
-			fireProgressEvent(2, totalProgress);
-			computePositions(treeRoots, entitiesToLayout);
+			if (tidy) {
+				computeTidyPositions(entitiesToLayout, relationshipsToConsider);
+			} else {
+				buildForest(treeRoots, entitiesToLayout, relationshipsToConsider);
+				fireProgressEvent(2, totalProgress);
+				computePositions(treeRoots, entitiesToLayout);
+			}
 			fireProgressEvent(3, totalProgress);
 			defaultFitWithinBounds(entitiesToLayout, layoutBounds);
 
@@ -227,6 +266,139 @@ public class TreeLayoutAlgorithm extends AbstractLayoutAlgorithm {
 	///// Private Methods /////
 	/////////////////////////////////////////////////////////////////////////
 
+	/**
+	 * Builds the same forest as {@link #buildForest(List, InternalNode[],
+	 * InternalRelationship[])} in primitive arrays, and lays it out as a tidy tree.
+	 * The trees are built depth first, so that an entity becomes a child of the
+	 * first entity which reaches it.
+	 */
+	private void computeTidyPositions(InternalNode[] entities, InternalRelationship[] relationships) {
+		int count = entities.length;
+		Map<InternalNode, Integer> indices = new IdentityHashMap<>(count);
+		for (int i = 0; i < count; i++) {
+			indices.put(entities[i], Integer.valueOf(i));
+		}
+
+		// the destinations of each entity and the first source of each entity
+		int[] sourceOf = new int[relationships.length];
+		int[] destinationOf = new int[relationships.length];
+		int[] outStart = new int[count + 1];
+		int[] firstParent = new int[count];
+		Arrays.fill(firstParent, -1);
+		for (int r = 0; r < relationships.length; r++) {
+			sourceOf[r] = indices.get(relationships[r].getSource()).intValue();
+			destinationOf[r] = indices.get(relationships[r].getDestination()).intValue();
+			outStart[sourceOf[r] + 1]++;
+			if (firstParent[destinationOf[r]] < 0) {
+				firstParent[destinationOf[r]] = sourceOf[r];
+			}
+		}
+		for (int i = 0; i < count; i++) {
+			outStart[i + 1] += outStart[i];
+		}
+		int[] out = new int[relationships.length];
+		int[] next = Arrays.copyOf(outStart, count);
+		for (int r = 0; r < relationships.length; r++) {
+			out[next[sourceOf[r]]++] = destinationOf[r];
+		}
+		if (comparator != null) {
+			sortDestinations(entities, outStart, out);
+		}
+
+		// the tree parent of each entity, in the order in which they are reached
+		int[] treeParent = new int[count];
+		int[] reached = new int[count];
+		int reachedCount = 0;
+		int[] visit = new int[count];
+		Arrays.fill(visit, -1);
+		int[] stack = new int[count];
+		int[] cursor = new int[count];
+		List<Integer> roots = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			if (visit[i] >= 0) {
+				continue;
+			}
+			// follow the first sources up to a root, stopping at a cycle
+			int root = i;
+			while (firstParent[root] >= 0 && visit[firstParent[root]] != i) {
+				root = firstParent[root];
+				visit[root] = i;
+			}
+			roots.add(Integer.valueOf(root));
+			treeParent[root] = -1;
+			reached[reachedCount++] = root;
+			visit[root] = count;
+			int top = 0;
+			stack[top] = root;
+			cursor[top++] = outStart[root];
+			while (top > 0) {
+				int v = stack[top - 1];
+				if (cursor[top - 1] == outStart[v + 1]) {
+					top--;
+					continue;
+				}
+				int child = out[cursor[top - 1]++];
+				if (visit[child] < count) {
+					visit[child] = count;
+					treeParent[child] = v;
+					reached[reachedCount++] = child;
+					stack[top] = child;
+					cursor[top++] = outStart[child];
+				}
+			}
+		}
+
+		int[] childStart = new int[count + 1];
+		for (int i = 0; i < count; i++) {
+			if (treeParent[i] >= 0) {
+				childStart[treeParent[i] + 1]++;
+			}
+		}
+		for (int i = 0; i < count; i++) {
+			childStart[i + 1] += childStart[i];
+		}
+		int[] children = new int[count];
+		System.arraycopy(childStart, 0, next, 0, count);
+		for (int k = 0; k < reachedCount; k++) {
+			int v = reached[k];
+			if (treeParent[v] >= 0) {
+				children[next[treeParent[v]]++] = v;
+			}
+		}
+
+		int[] rootIndices = new int[roots.size()];
+		for (int r = 0; r < rootIndices.length; r++) {
+			rootIndices[r] = roots.get(r).intValue();
+			treeRoots.add(entities[rootIndices[r]]);
+		}
+		double[] xs = new double[count];
+		double[] ys = new double[count];
+		new TidyTree(childStart, children).layout(rootIndices, 1, xs, ys);
+		for (int i = 0; i < count; i++) {
+			entities[i].setInternalLocation(xs[i], ys[i]);
+		}
+	}
+
+	@SuppressWarnings("unchecked") // the comparator of the base class is raw
+	private void sortDestinations(InternalNode[] entities, int[] outStart, int[] out) {
+		List<InternalNode> destinations = new ArrayList<>();
+		Map<InternalNode, Integer> indices = new IdentityHashMap<>();
+		for (int i = 0; i < entities.length; i++) {
+			if (outStart[i + 1] - outStart[i] < 2) {
+				continue;
+			}
+			destinations.clear();
+			for (int o = outStart[i]; o < outStart[i + 1]; o++) {
+				destinations.add(entities[out[o]]);
+				indices.put(entities[out[o]], Integer.valueOf(out[o]));
+			}
+			Collections.sort(destinations, comparator);
+			for (int o = outStart[i]; o < outStart[i + 1]; o++) {
+				out[o] = indices.get(destinations.get(o - outStart[i])).intValue();
+			}
+		}
+	}
+
 	/**
 	 * Builds the tree forest that is used to calculate positions for each node in
 	 * this TreeLayoutAlgorithm.
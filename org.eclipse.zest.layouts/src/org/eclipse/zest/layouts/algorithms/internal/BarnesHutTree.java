@@ -0,0 +1,320 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.zest.layouts.algorithms.internal;
+
+/**
+ * A quadtree over a set of points, used to approximate the sum of inverse
+ * square repulsion forces acting on each point in O(n log n) instead of O(n^2)
+ * (Barnes-Hut). A cell which is small compared to its distance from a point is
+ * treated as a single body at its center of mass. The accuracy is controlled by
+ * theta, the largest ratio of cell size to distance for which a cell is not
+ * opened; a theta of 0 opens every cell and computes the exact sum.
+ * <p>
+ * The cells are stored in primitive arrays which are reused when the tree is
+ * rebuilt, so that rebuilding it in every iteration of a layout does not
+ * allocate once the arrays have grown large enough. Points which share the same
+ * location beyond the maximum depth are merged into one cell.
+ *
+ * @since 1.6
+ */
+public class BarnesHutTree {
+
+	private static final int MAX_DEPTH = 40;
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private int cellCount;
+	private double[] cellX = new double[INITIAL_CAPACITY];
+	private double[] cellY = new double[INITIAL_CAPACITY];
+	private double[] cellSize = new double[INITIAL_CAPACITY];
+	private double[] sumX = new double[INITIAL_CAPACITY];
+	private double[] sumY = new double[INITIAL_CAPACITY];
+	private int[] mass = new int[INITIAL_CAPACITY];
+	/** Index of the first of four consecutive children, or -1 for a leaf. */
+	private int[] firstChild = new int[INITIAL_CAPACITY];
+	/** The point held by a leaf, or -1 if it is empty or merged. */
+	private int[] body = new int[INITIAL_CAPACITY];
+
+	private final int[] stack = createStack();
+
+	/**
+	 * Rebuilds the tree from the first <code>count</code> points of the given
+	 * coordinates.
+	 *
+	 * @param xs    the x coordinates
+	 * @param ys    the y coordinates
+	 * @param count the number of points
+	 */
+	public void build(double[] xs, double[] ys, int count) {
+		build(xs, ys, null, count);
+	}
+
+	/**
+	 * Rebuilds the tree from the first <code>count</code> points of the given
+	 * coordinates, each of which counts as the given number of points.
+	 *
+	 * @param xs     the x coordinates
+	 * @param ys     the y coordinates
+	 * @param masses the positive masses of the points, or <code>null</code> if
+	 *               each point has a mass of 1
+	 * @param count  the number of points
+	 */
+	public void build(double[] xs, double[] ys, int[] masses, int count) {
+		double minX = Double.MAX_VALUE;
+		double minY = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE;
+		double maxY = -Double.MAX_VALUE;
+		for (int i = 0; i < count; i++) {
+			minX = Math.min(minX, xs[i]);
+			minY = Math.min(minY, ys[i]);
+			maxX = Math.max(maxX, xs[i]);
+			maxY = Math.max(maxY, ys[i]);
+		}
+		double size = Math.max(maxX - minX, maxY - minY);
+		// Points on the far edges must fall into the root
+		size = size > 0 ? size * (1 + 1e-9) + Double.MIN_NORMAL : 1;
+		cellCount = 0;
+		initCell(allocate(1), minX, minY, size);
+		for (int i = 0; i < count; i++) {
+			insert(i, xs[i], ys[i], masses == null ? 1 : masses[i]);
+		}
+	}
+
+	/**
+	 * Returns a new stack which is large enough for
+	 * {@link #accumulateRepulsion(double[], double[], double[], double[], int, int, double, double, double, int[])}.
+	 * Each thread computing forces concurrently needs its own stack.
+	 *
+	 * @return a new stack
+	 */
+	public static int[] createStack() {
+		return new int[3 * MAX_DEPTH + 4];
+	}
+
+	/**
+	 * Adds the repulsion acting on the points <code>from</code> (inclusive) to
+	 * <code>to</code> (exclusive) to the given forces. The repulsion between two
+	 * points at distance d is <code>strength / d^2</code>, times the mass of the
+	 * repelling point, where d is at least
+	 * <code>minDistance</code>. Points sharing the same location do not repel each
+	 * other. The tree must have been built from the same coordinates.
+	 *
+	 * @param xs          the x coordinates
+	 * @param ys          the y coordinates
+	 * @param forcesX     the forces in x direction
+	 * @param forcesY     the forces in y direction
+	 * @param from        the first point
+	 * @param to          the point after the last point
+	 * @param theta       the accuracy, 0 for the exact sum
+	 * @param strength    the strength of the repulsion
+	 * @param minDistance the minimum distance considered between points
+	 * @param stack       a stack returned by {@link #createStack()}
+	 */
+	public void accumulateRepulsion(double[] xs, double[] ys, double[] forcesX, double[] forcesY, int from, int to,
+			double theta, double strength, double minDistance, int[] stack) {
+		accumulateRepulsion(xs, ys, forcesX, forcesY, from, to, theta, strength, minDistance, stack, true);
+	}
+
+	/**
+	 * Adds the repulsion which the points of this tree exert on other points, the
+	 * points <code>from</code> (inclusive) to <code>to</code> (exclusive) of the
+	 * given coordinates, to the given forces. Unlike
+	 * {@link #accumulateRepulsion(double[], double[], double[], double[], int, int, double, double, double, int[])},
+	 * the given points need not be part of the tree. Must not be called
+	 * concurrently.
+	 *
+	 * @param xs          the x coordinates of the other points
+	 * @param ys          the y coordinates of the other points
+	 * @param forcesX     the forces in x direction
+	 * @param forcesY     the forces in y direction
+	 * @param from        the first point
+	 * @param to          the point after the last point
+	 * @param theta       the accuracy, 0 for the exact sum
+	 * @param strength    the strength of the repulsion
+	 * @param minDistance the minimum distance considered between points
+	 */
+	public void accumulateExternalRepulsion(double[] xs, double[] ys, double[] forcesX, double[] forcesY, int from,
+			int to, double theta, double strength, double minDistance) {
+		accumulateRepulsion(xs, ys, forcesX, forcesY, from, to, theta, strength, minDistance, stack, false);
+	}
+
+	private void accumulateRepulsion(double[] xs, double[] ys, double[] forcesX, double[] forcesY, int from, int to,
+			double theta, double strength, double minDistance, int[] stack, boolean inTree) {
+		double theta2 = theta * theta;
+		for (int i = from; i < to; i++) {
+			double x = xs[i];
+			double y = ys[i];
+			double fx = 0;
+			double fy = 0;
+			int sp = 0;
+			stack[sp++] = 0;
+			while (sp > 0) {
+				int c = stack[--sp];
+				int m = mass[c];
+				if (m == 0) {
+					continue;
+				}
+				if (firstChild[c] >= 0) {
+					double size = cellSize[c];
+					double dx = x - sumX[c] / m;
+					double dy = y - sumY[c] / m;
+					boolean contains = x >= cellX[c] && y >= cellY[c] && x < cellX[c] + size && y < cellY[c] + size;
+					if (contains || size * size >= theta2 * (dx * dx + dy * dy)) {
+						int first = firstChild[c];
+						stack[sp++] = first;
+						stack[sp++] = first + 1;
+						stack[sp++] = first + 2;
+						stack[sp++] = first + 3;
+						continue;
+					}
+				} else if (inTree && body[c] == i) {
+					continue;
+				}
+				double dx = x - sumX[c] / m;
+				double dy = y - sumY[c] / m;
+				double distanceSq = dx * dx + dy * dy;
+				if (distanceSq == 0) {
+					continue;
+				}
+				double distance = Math.max(minDistance, Math.sqrt(distanceSq));
+				double f = strength * m / (distance * distance * distance);
+				fx += f * dx;
+				fy += f * dy;
+			}
+			forcesX[i] += fx;
+			forcesY[i] += fy;
+		}
+	}
+
+	/**
+	 * Adds the repulsion acting on the points <code>from</code> (inclusive) to
+	 * <code>to</code> (exclusive) to the given forces, using a stack owned by this
+	 * tree. Must not be called concurrently.
+	 *
+	 * @param xs          the x coordinates
+	 * @param ys          the y coordinates
+	 * @param forcesX     the forces in x direction
+	 * @param forcesY     the forces in y direction
+	 * @param from        the first point
+	 * @param to          the point after the last point
+	 * @param theta       the accuracy, 0 for the exact sum
+	 * @param strength    the strength of the repulsion
+	 * @param minDistance the minimum distance considered between points
+	 */
+	public void accumulateRepulsion(double[] xs, double[] ys, double[] forcesX, double[] forcesY, int from, int to,
+			double theta, double strength, double minDistance) {
+		accumulateRepulsion(xs, ys, forcesX, forcesY, from, to, theta, strength, minDistance, stack);
+	}
+
+	/**
+	 * Returns the number of cells of the tree.
+	 *
+	 * @return the number of cells
+	 */
+	public int getCellCount() {
+		return cellCount;
+	}
+
+	private void insert(int point, double x, double y, int m) {
+		int c = 0;
+		for (int depth = 0;; depth++) {
+			if (firstChild[c] >= 0) {
+				addMass(c, x, y, m);
+				c = firstChild[c] + quadrant(c, x, y);
+				continue;
+			}
+			if (mass[c] == 0) {
+				body[c] = point;
+				addMass(c, x, y, m);
+				return;
+			}
+			if (depth >= MAX_DEPTH) {
+				body[c] = -1;
+				addMass(c, x, y, m);
+				return;
+			}
+			// Split the leaf and move its point into one of the new children
+			int old = body[c];
+			int oldMass = mass[c];
+			double oldX = sumX[c] / oldMass;
+			double oldY = sumY[c] / oldMass;
+			int first = allocate(4);
+			double half = cellSize[c] / 2;
+			for (int q = 0; q < 4; q++) {
+				initCell(first + q, cellX[c] + (q & 1) * half, cellY[c] + (q >> 1) * half, half);
+			}
+			firstChild[c] = first;
+			body[c] = -1;
+			int child = first + quadrant(c, oldX, oldY);
+			body[child] = old;
+			addMass(child, oldX, oldY, oldMass);
+		}
+	}
+
+	private void addMass(int c, double x, double y, int m) {
+		mass[c] += m;
+		sumX[c] += m * x;
+		sumY[c] += m * y;
+	}
+
+	private int quadrant(int c, double x, double y) {
+		double half = cellSize[c] / 2;
+		int q = x >= cellX[c] + half ? 1 : 0;
+		if (y >= cellY[c] + half) {
+			q += 2;
+		}
+		return q;
+	}
+
+	private void initCell(int c, double x, double y, double size) {
+		cellX[c] = x;
+		cellY[c] = y;
+		cellSize[c] = size;
+		sumX[c] = 0;
+		sumY[c] = 0;
+		mass[c] = 0;
+		firstChild[c] = -1;
+		body[c] = -1;
+	}
+
+	private int allocate(int cells) {
+		int first = cellCount;
+		cellCount += cells;
+		if (cellCount > mass.length) {
+			int capacity = Math.max(cellCount, mass.length * 2);
+			cellX = grow(cellX, capacity);
+			cellY = grow(cellY, capacity);
+			cellSize = grow(cellSize, capacity);
+			sumX = grow(sumX, capacity);
+			sumY = grow(sumY, capacity);
+			mass = grow(mass, capacity);
+			firstChild = grow(firstChild, capacity);
+			body = grow(body, capacity);
+		}
+		return first;
+	}
+
+	private static double[] grow(double[] array, int capacity) {
+		double[] result = new double[capacity];
+		System.arraycopy(array, 0, result, 0, array.length);
+		return result;
+	}
+
+	private static int[] grow(int[] array, int capacity) {
+		int[] result = new int[capacity];
+		System.arraycopy(array, 0, result, 0, array.length);
+		return result;
+	}
+
+}
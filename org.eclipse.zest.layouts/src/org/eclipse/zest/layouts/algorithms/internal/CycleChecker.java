@@ -25,10 +25,55 @@ import org.eclipse.zest.layouts.algorithms.AbstractLayoutAlgorithm;
 
 /**
  * Checks for cycles in the given graph.
+ * <p>
+ * The graph is converted into an adjacency index in primitive arrays, and all
+ * traversals are iterative and take time linear in the number of entities and
+ * relationships, so that large and deep graphs can be checked.
  *
  * @author Casey Best
  */
 public class CycleChecker {
+
+	private static final int UNVISITED = 0;
+	private static final int ON_PATH = 1;
+	private static final int DONE = 2;
+
+	/**
+	 * The relationships of a graph in compressed sparse row form: the
+	 * destinations of the relationships of the entity <code>i</code> are
+	 * <code>targets[start[i]]</code> to <code>targets[start[i + 1] - 1]</code>.
+	 */
+	private static final class Adjacency {
+		final int[] start;
+		final int[] targets;
+
+		Adjacency(LayoutEntity[] entities, LayoutRelationship[] relationships) {
+			if (!AbstractLayoutAlgorithm.verifyInput(entities, relationships)) {
+				throw new RuntimeException("The endpoints of the relationships aren't contained in the entities list."); //$NON-NLS-1$
+			}
+			Map<LayoutEntity, Integer> indices = new HashMap<>();
+			for (int i = 0; i < entities.length; i++) {
+				indices.putIfAbsent(entities[i], Integer.valueOf(i));
+			}
+			int[] sources = new int[relationships.length];
+			int[] destinations = new int[relationships.length];
+			start = new int[entities.length + 1];
+			for (int r = 0; r < relationships.length; r++) {
+				sources[r] = indices.get(relationships[r].getSourceInLayout()).intValue();
+				destinations[r] = indices.get(relationships[r].getDestinationInLayout()).intValue();
+				start[sources[r] + 1]++;
+			}
+			for (int i = 0; i < entities.length; i++) {
+				start[i + 1] += start[i];
+			}
+			targets = new int[relationships.length];
+			int[] next = Arrays.copyOf(start, entities.length);
+			for (int r = 0; r < relationships.length; r++) {
+				targets[next[sources[r]]++] = destinations[r];
+			}
+		}
+	}
+
 	/**
 	 * Tests if there is a directed cirlce in the graph formed by the given entities
 	 * and relationships.
@@ -36,6 +81,8 @@ public class CycleChecker {
 	 * @param entities      The entities in the graph to check
 	 * @param relationships The relationships in the graph to check
 	 * @param cycle         Populated with the cycle encountered, if there is one.
+	 *                      It starts with the path leading to the cycle, and ends
+	 *                      with the entity which closes the cycle.
 	 * @throws RuntimeException Thrown if entities doesn't contain all of the
 	 *                          endpoints for each relationship in relationships
 	 * @return <code>true</code> if there is a directed circle. Otherwise,
@@ -43,70 +90,152 @@ public class CycleChecker {
 	 */
 	public static boolean hasDirectedCircles(LayoutEntity[] entities, LayoutRelationship[] relationships,
 			List<LayoutEntity> cycle) {
-		if (!AbstractLayoutAlgorithm.verifyInput(entities, relationships)) {
-			throw new RuntimeException("The endpoints of the relationships aren't contained in the entities list."); //$NON-NLS-1$
-		}
-
-		Map<LayoutEntity, List<LayoutRelationship>> endPoints = new HashMap<>();
-
-		// Initialize the relation(transitive) vector.
-		for (LayoutRelationship rel : relationships) {
-			// Add the relationship to the source endpoint
-			LayoutEntity subject = rel.getSourceInLayout();
-			List<LayoutRelationship> rels = endPoints.computeIfAbsent(subject, sub -> new ArrayList<>());
-			if (!rels.contains(rel)) {
-				rels.add(rel);
+		Adjacency adjacency = new Adjacency(entities, relationships);
+		int[] start = adjacency.start;
+		int[] targets = adjacency.targets;
+		int[] state = new int[entities.length];
+		int[] cursor = new int[entities.length];
+		int[] path = new int[entities.length];
+		for (int root = 0; root < entities.length; root++) {
+			if (state[root] != UNVISITED) {
+				continue;
+			}
+			int length = 0;
+			path[length++] = root;
+			state[root] = ON_PATH;
+			cursor[root] = start[root];
+			while (length > 0) {
+				int node = path[length - 1];
+				if (cursor[node] == start[node + 1]) {
+					state[node] = DONE;
+					length--;
+					continue;
+				}
+				int next = targets[cursor[node]++];
+				if (state[next] == ON_PATH) {
+					if (cycle != null) {
+						for (int i = 0; i < length; i++) {
+							cycle.add(entities[path[i]]);
+						}
+						cycle.add(entities[next]);
+					}
+					return true;
+				}
+				if (state[next] == UNVISITED) {
+					state[next] = ON_PATH;
+					cursor[next] = start[next];
+					path[length++] = next;
+				}
 			}
 		}
-		return hasCycle(new ArrayList<>(Arrays.asList(entities)), endPoints, cycle);
+		return false;
 	}
 
 	/**
-	 * Check passed in nodes for a cycle
+	 * Returns the strongly connected components of the graph formed by the given
+	 * entities and relationships. Two entities belong to the same component if
+	 * each can be reached from the other. Each entity which is not part of a
+	 * cycle forms a component of its own. The components are sorted
+	 * topologically: if a relationship leads from one component to another, the
+	 * first comes before the second. The entities of each component are in the
+	 * order of the given entities.
+	 * <p>
+	 * Collapsing every component into a single entity turns the graph into a
+	 * directed acyclic graph.
+	 *
+	 * @param entities      the entities of the graph
+	 * @param relationships the relationships of the graph
+	 * @return the strongly connected components
+	 * @throws RuntimeException if entities doesn't contain all of the endpoints
+	 *                          for each relationship in relationships
+	 * @since 1.6
 	 */
-	private static boolean hasCycle(List<LayoutEntity> nodesToCheck,
-			Map<LayoutEntity, List<LayoutRelationship>> endPoints, List<LayoutEntity> cycle) {
-		while (!nodesToCheck.isEmpty()) {
-			LayoutEntity checkNode = nodesToCheck.get(0);
-			List<LayoutEntity> checkedNodes = new ArrayList<>();
-			if (hasCycle(checkNode, new ArrayList<>(), null, endPoints, checkedNodes, cycle)) {
-				return true;
-			}
-			nodesToCheck.removeAll(checkedNodes);
+	public static List<List<LayoutEntity>> getStronglyConnectedComponents(LayoutEntity[] entities,
+			LayoutRelationship[] relationships) {
+		Adjacency adjacency = new Adjacency(entities, relationships);
+		int[] components = findStronglyConnectedComponents(adjacency.start, adjacency.targets);
+		int componentCount = 0;
+		for (int component : components) {
+			componentCount = Math.max(componentCount, component + 1);
 		}
-		return false;
+		List<List<LayoutEntity>> result = new ArrayList<>(componentCount);
+		for (int c = 0; c < componentCount; c++) {
+			result.add(new ArrayList<>(1));
+		}
+		for (int i = 0; i < entities.length; i++) {
+			// Tarjan's algorithm completes the components in reverse topological order
+			result.get(componentCount - 1 - components[i]).add(entities[i]);
+		}
+		return result;
 	}
 
 	/**
-	 * Checks all the nodes attached to the nodeToCheck node for a cycle. All nodes
-	 * checked are placed in nodePathSoFar.
+	 * Computes the strongly connected components of a graph given in compressed
+	 * sparse row form with Tarjan's algorithm, without recursion. The destinations
+	 * of the edges of node <code>i</code> are <code>targets[start[i]]</code> to
+	 * <code>targets[start[i + 1] - 1]</code>. Returns the component of each node.
+	 * The components are numbered in reverse topological order: if an edge leads
+	 * from one component to another, the first has the higher number.
 	 *
-	 * @returns true if there is a cycle
+	 * @param start   the start of the edges of each node, with one more entry than
+	 *                there are nodes
+	 * @param targets the destinations of the edges
+	 * @return the component of each node
+	 * @since 1.6
 	 */
-	private static boolean hasCycle(LayoutEntity nodeToCheck, List<LayoutEntity> nodePathSoFar,
-			LayoutRelationship cameFrom, Map<LayoutEntity, List<LayoutRelationship>> endPoints,
-			List<LayoutEntity> nodesChecked, List<LayoutEntity> cycle) {
-		if (nodePathSoFar.contains(nodeToCheck)) {
-			cycle.addAll(nodePathSoFar);
-			cycle.add(nodeToCheck);
-			return true;
-		}
-		nodePathSoFar.add(nodeToCheck);
-		nodesChecked.add(nodeToCheck);
-
-		List<LayoutRelationship> relations = endPoints.get(nodeToCheck);
-		if (relations != null) {
-			for (LayoutRelationship rel : relations) {
-				if (cameFrom == null || !rel.equals(cameFrom)) {
-					LayoutEntity currentNode = rel.getDestinationInLayout();
-					if (hasCycle(currentNode, nodePathSoFar, rel, endPoints, nodesChecked, cycle)) {
-						return true;
+	public static int[] findStronglyConnectedComponents(int[] start, int[] targets) {
+		int count = start.length - 1;
+		int[] index = new int[count];
+		int[] lowLink = new int[count];
+		int[] components = new int[count];
+		int[] cursor = new int[count];
+		int[] callStack = new int[count];
+		int[] componentStack = new int[count];
+		Arrays.fill(index, -1);
+		Arrays.fill(components, -1);
+		int nextIndex = 0;
+		int componentCount = 0;
+		for (int root = 0; root < count; root++) {
+			if (index[root] >= 0) {
+				continue;
+			}
+			int calls = 0;
+			int stacked = 0;
+			index[root] = lowLink[root] = nextIndex++;
+			cursor[root] = start[root];
+			callStack[calls++] = root;
+			componentStack[stacked++] = root;
+			while (calls > 0) {
+				int node = callStack[calls - 1];
+				if (cursor[node] < start[node + 1]) {
+					int next = targets[cursor[node]++];
+					if (index[next] < 0) {
+						index[next] = lowLink[next] = nextIndex++;
+						cursor[next] = start[next];
+						callStack[calls++] = next;
+						componentStack[stacked++] = next;
+					} else if (components[next] < 0) {
+						// still on the component stack
+						lowLink[node] = Math.min(lowLink[node], index[next]);
 					}
+					continue;
+				}
+				calls--;
+				if (lowLink[node] == index[node]) {
+					int member;
+					do {
+						member = componentStack[--stacked];
+						components[member] = componentCount;
+					} while (member != node);
+					componentCount++;
+				}
+				if (calls > 0) {
+					int caller = callStack[calls - 1];
+					lowLink[caller] = Math.min(lowLink[caller], lowLink[node]);
 				}
 			}
 		}
-		nodePathSoFar.remove(nodeToCheck);
-		return false;
+		return components;
 	}
 
 }
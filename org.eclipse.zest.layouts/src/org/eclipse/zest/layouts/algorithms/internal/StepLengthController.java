@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.zest.layouts.algorithms.internal;
+
+/**
+ * The adaptive step length of a force directed layout. The step length starts
+ * at 1. Whenever the energy of an iteration, the sum of the squared forces, does
+ * not decrease, the step length is multiplied by the cooling factor. After
+ * several iterations of decreasing energy, it is divided by the factor again,
+ * up to a maximum.
+ *
+ * @since 1.6
+ */
+public class StepLengthController {
+
+	/**
+	 * The number of iterations with decreasing energy after which the step length
+	 * is increased again.
+	 */
+	private static final int PROGRESS_STEPS = 5;
+
+	private final double cooling;
+
+	private final double maxStep;
+
+	private double step = 1;
+
+	private double energy = Double.MAX_VALUE;
+
+	/**
+	 * The number of consecutive iterations in which the energy decreased.
+	 */
+	private int progress;
+
+	/**
+	 * Creates a controller with a step length of 1.
+	 *
+	 * @param cooling the cooling factor, greater than 0 and at most 1, where 1
+	 *                keeps the step length constant
+	 * @param maxStep the largest step length
+	 */
+	public StepLengthController(double cooling, double maxStep) {
+		if (cooling <= 0 || cooling > 1) {
+			throw new IllegalArgumentException("Cooling must be in (0, 1]"); //$NON-NLS-1$
+		}
+		this.cooling = cooling;
+		this.maxStep = maxStep;
+	}
+
+	/**
+	 * Returns the current step length.
+	 *
+	 * @return the step length
+	 */
+	public double getStep() {
+		return step;
+	}
+
+	/**
+	 * Adapts the step length to the energy of the iteration which has just been
+	 * computed.
+	 *
+	 * @param newEnergy the sum of the squared forces of the iteration
+	 */
+	public void update(double newEnergy) {
+		if (newEnergy < energy) {
+			if (++progress >= PROGRESS_STEPS) {
+				progress = 0;
+				step = Math.min(maxStep, step / cooling);
+			}
+		} else {
+			progress = 0;
+			step *= cooling;
+		}
+		energy = newEnergy;
+	}
+
+}
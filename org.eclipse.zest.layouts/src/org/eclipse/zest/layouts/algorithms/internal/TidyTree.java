@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.zest.layouts.algorithms.internal;
+
+import java.util.Arrays;
+
+/**
+ * Computes a tidy drawing of a forest in linear time, following Walker's
+ * algorithm with the improvements of Buchheim, Juenger and Leipert. Subtrees
+ * are placed as close to each other as possible, parents are centered above
+ * their children, and isomorphic subtrees are drawn identically.
+ * <p>
+ * The forest is given in compressed sparse row form: the children of node
+ * <code>v</code>, from left to right, are
+ * <code>children[childStart[v]]</code> to
+ * <code>children[childStart[v + 1] - 1]</code>. All state is kept in primitive
+ * arrays and the traversals are iterative, so that deep trees do not overflow
+ * the stack.
+ *
+ * @since 1.6
+ */
+public class TidyTree {
+
+	private final int count;
+	private final int[] childStart;
+	private final int[] children;
+
+	private final int[] parent;
+	/** The index of a node among its siblings. */
+	private final int[] number;
+	private final int[] thread;
+	private final int[] ancestor;
+	/** The default ancestor of Buchheim et al. of the children of each node. */
+	private final int[] defaultAncestor;
+	private final double[] prelim;
+	private final double[] mod;
+	private final double[] shift;
+	private final double[] change;
+	/** The nodes of the tree being laid out in preorder, children right to left. */
+	private final int[] order;
+
+	/**
+	 * Creates a new tidy tree over the given forest.
+	 *
+	 * @param childStart the start of the children of each node, with one more
+	 *                   entry than there are nodes
+	 * @param children   the children of all nodes
+	 */
+	public TidyTree(int[] childStart, int[] children) {
+		this.count = childStart.length - 1;
+		this.childStart = childStart;
+		this.children = children;
+		parent = new int[count];
+		number = new int[count];
+		thread = new int[count];
+		ancestor = new int[count];
+		defaultAncestor = new int[count];
+		prelim = new double[count];
+		mod = new double[count];
+		shift = new double[count];
+		change = new double[count];
+		order = new int[count];
+		Arrays.fill(parent, -1);
+		for (int v = 0; v < count; v++) {
+			for (int c = childStart[v]; c < childStart[v + 1]; c++) {
+				parent[children[c]] = v;
+				number[children[c]] = c - childStart[v];
+			}
+		}
+	}
+
+	/**
+	 * Lays out the trees of the given roots next to each other, from left to
+	 * right. The x coordinate of each node is stored in <code>xs</code>, its depth
+	 * in <code>ys</code>. Nodes which are not reachable from the roots are not
+	 * changed.
+	 *
+	 * @param roots    the roots of the trees, which must not have a parent
+	 * @param distance the minimum horizontal distance between two nodes on the same
+	 *                 level
+	 * @param xs       the x coordinates
+	 * @param ys       the depths
+	 */
+	public void layout(int[] roots, double distance, double[] xs, double[] ys) {
+		double right = 0;
+		for (int r = 0; r < roots.length; r++) {
+			int root = roots[r];
+			int size = collect(root);
+			firstWalk(size, distance);
+			double left = secondWalk(size, xs, ys);
+			// place the tree to the right of the previous one
+			double offset = r == 0 ? -left : right + distance - left;
+			double max = -Double.MAX_VALUE;
+			for (int k = 0; k < size; k++) {
+				int v = order[k];
+				xs[v] += offset;
+				max = Math.max(max, xs[v]);
+			}
+			right = max;
+		}
+	}
+
+	/**
+	 * Stores the nodes of the tree of the given root in preorder with the children
+	 * from right to left and resets their state. Returns the number of nodes.
+	 */
+	private int collect(int root) {
+		int size = 0;
+		int top = 0;
+		// the ancestors double as the stack, they are reset below
+		int[] stack = ancestor;
+		stack[top++] = root;
+		while (top > 0) {
+			int v = stack[--top];
+			order[size++] = v;
+			for (int c = childStart[v]; c < childStart[v + 1]; c++) {
+				stack[top++] = children[c];
+			}
+		}
+		for (int k = 0; k < size; k++) {
+			int v = order[k];
+			thread[v] = -1;
+			ancestor[v] = v;
+			prelim[v] = 0;
+			mod[v] = 0;
+			shift[v] = 0;
+			change[v] = 0;
+		}
+		return size;
+	}
+
+	/**
+	 * Computes the preliminary x coordinates bottom up. The reversed order visits
+	 * every node after its children and after its left siblings.
+	 */
+	private void firstWalk(int size, double distance) {
+		for (int k = size - 1; k >= 0; k--) {
+			int v = order[k];
+			int first = childStart[v];
+			int last = childStart[v + 1] - 1;
+			int leftSibling = number[v] > 0 ? children[childStart[parent[v]] + number[v] - 1] : -1;
+			if (first > last) {
+				prelim[v] = leftSibling >= 0 ? prelim[leftSibling] + distance : 0;
+			} else {
+				executeShifts(v);
+				double midpoint = (prelim[children[first]] + prelim[children[last]]) / 2;
+				if (leftSibling >= 0) {
+					prelim[v] = prelim[leftSibling] + distance;
+					mod[v] = prelim[v] - midpoint;
+				} else {
+					prelim[v] = midpoint;
+				}
+			}
+			if (parent[v] < 0) {
+				continue;
+			}
+			if (leftSibling < 0) {
+				defaultAncestor[parent[v]] = v;
+			} else {
+				apportion(v, leftSibling, distance);
+			}
+		}
+	}
+
+	/**
+	 * Moves the subtree of <code>v</code> to the right of the subtrees of its
+	 * left siblings, following the contours of both.
+	 */
+	private void apportion(int v, int leftSibling, double distance) {
+		int p = parent[v];
+		int vip = v;
+		int vop = v;
+		int vim = leftSibling;
+		int vom = children[childStart[p]];
+		double sip = mod[vip];
+		double sop = mod[vop];
+		double sim = mod[vim];
+		double som = mod[vom];
+		while (nextRight(vim) >= 0 && nextLeft(vip) >= 0) {
+			vim = nextRight(vim);
+			vip = nextLeft(vip);
+			vom = nextLeft(vom);
+			vop = nextRight(vop);
+			ancestor[vop] = v;
+			double difference = prelim[vim] + sim - (prelim[vip] + sip) + distance;
+			if (difference > 0) {
+				int left = parent[ancestor[vim]] == p ? ancestor[vim] : defaultAncestor[p];
+				moveSubtree(left, v, difference);
+				sip += difference;
+				sop += difference;
+			}
+			sim += mod[vim];
+			sip += mod[vip];
+			som += mod[vom];
+			sop += mod[vop];
+		}
+		if (nextRight(vim) >= 0 && nextRight(vop) < 0) {
+			thread[vop] = nextRight(vim);
+			mod[vop] += sim - sop;
+		}
+		if (nextLeft(vip) >= 0 && nextLeft(vom) < 0) {
+			thread[vom] = nextLeft(vip);
+			mod[vom] += sip - som;
+			defaultAncestor[p] = v;
+		}
+	}
+
+	private void moveSubtree(int left, int right, double difference) {
+		int subtrees = number[right] - number[left];
+		change[right] -= difference / subtrees;
+		shift[right] += difference;
+		change[left] += difference / subtrees;
+		prelim[right] += difference;
+		mod[right] += difference;
+	}
+
+	private void executeShifts(int v) {
+		double totalShift = 0;
+		double totalChange = 0;
+		for (int c = childStart[v + 1] - 1; c >= childStart[v]; c--) {
+			int w = children[c];
+			prelim[w] += totalShift;
+			mod[w] += totalShift;
+			totalChange += change[w];
+			totalShift += shift[w] + totalChange;
+		}
+	}
+
+	private int nextLeft(int v) {
+		return childStart[v] < childStart[v + 1] ? children[childStart[v]] : thread[v];
+	}
+
+	private int nextRight(int v) {
+		return childStart[v] < childStart[v + 1] ? children[childStart[v + 1] - 1] : thread[v];
+	}
+
+	/**
+	 * Computes the final coordinates top down and returns the leftmost x
+	 * coordinate. The modifiers of the ancestors are summed up in the modifier of
+	 * each node.
+	 */
+	private double secondWalk(int size, double[] xs, double[] ys) {
+		double left = Double.MAX_VALUE;
+		for (int k = 0; k < size; k++) {
+			int v = order[k];
+			int p = parent[v];
+			double sum = p < 0 ? 0 : mod[p];
+			xs[v] = prelim[v] + sum;
+			ys[v] = p < 0 ? 0 : ys[p] + 1;
+			mod[v] += sum;
+			left = Math.min(left, xs[v]);
+		}
+		return left;
+	}
+
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.zest.layouts.progress;
+
+/**
+ * A progress event of an iterative layout algorithm, which also describes the
+ * state of the layout after the most recent iteration. The energy is the sum of
+ * the squared forces acting on the nodes, the displacement is the total
+ * distance the nodes moved. Both are measured in the coordinates of the
+ * algorithm, they can be compared between the iterations of one layout.
+ *
+ * @since 1.6
+ */
+public class IterationProgressEvent extends ProgressEvent {
+	private final int iterations;
+	private final double energy;
+	private final double displacement;
+	private final boolean converged;
+
+	/**
+	 * Creates an iteration progress event.
+	 *
+	 * @param stepsCompleted     The current progress out of the total
+	 * @param totalNumberOfSteps The number used to indicate when the algorithm will
+	 *                           finish
+	 * @param iterations         The number of iterations computed so far
+	 * @param energy             The energy after the most recent iteration
+	 * @param displacement       The displacement of the most recent iteration
+	 * @param converged          Whether the layout has converged
+	 */
+	public IterationProgressEvent(int stepsCompleted, int totalNumberOfSteps, int iterations, double energy,
+			double displacement, boolean converged) {
+		super(stepsCompleted, totalNumberOfSteps);
+		this.iterations = iterations;
+		this.energy = energy;
+		this.displacement = displacement;
+		this.converged = converged;
+	}
+
+	/**
+	 * Returns the number of iterations computed so far.
+	 */
+	public int getIterations() {
+		return iterations;
+	}
+
+	/**
+	 * Returns the sum of the squared forces acting on the nodes in the most recent
+	 * iteration.
+	 */
+	public double getEnergy() {
+		return energy;
+	}
+
+	/**
+	 * Returns the total distance the nodes moved in the most recent iteration.
+	 */
+	public double getDisplacement() {
+		return displacement;
+	}
+
+	/**
+	 * Returns whether the layout has converged, so that no more iterations are
+	 * computed.
+	 */
+	public boolean isConverged() {
+		return converged;
+	}
+}
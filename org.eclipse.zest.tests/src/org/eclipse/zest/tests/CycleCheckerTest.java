@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.zest.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.zest.layouts.LayoutEntity;
+import org.eclipse.zest.layouts.LayoutRelationship;
+import org.eclipse.zest.layouts.algorithms.internal.CycleChecker;
+import org.eclipse.zest.layouts.exampleStructures.SimpleNode;
+import org.eclipse.zest.layouts.exampleStructures.SimpleRelationship;
+
+import org.junit.Test;
+
+public class CycleCheckerTest {
+
+	private static LayoutEntity[] createNodes(int count) {
+		LayoutEntity[] nodes = new LayoutEntity[count];
+		for (int i = 0; i < count; i++) {
+			nodes[i] = new SimpleNode("node" + i); //$NON-NLS-1$
+		}
+		return nodes;
+	}
+
+	private static LayoutRelationship[] createRelationships(LayoutEntity[] nodes, int... endpoints) {
+		LayoutRelationship[] relationships = new LayoutRelationship[endpoints.length / 2];
+		for (int i = 0; i < relationships.length; i++) {
+			relationships[i] = new SimpleRelationship(nodes[endpoints[2 * i]], nodes[endpoints[2 * i + 1]], false);
+		}
+		return relationships;
+	}
+
+	@Test
+	public void testAcyclicGraph() {
+		LayoutEntity[] nodes = createNodes(4);
+		LayoutRelationship[] relationships = createRelationships(nodes, 0, 1, 0, 2, 1, 3, 2, 3);
+		List<LayoutEntity> cycle = new ArrayList<>();
+		assertFalse(CycleChecker.hasDirectedCircles(nodes, relationships, cycle));
+		assertTrue(cycle.isEmpty());
+		assertEquals(4, CycleChecker.getStronglyConnectedComponents(nodes, relationships).size());
+	}
+
+	@Test
+	public void testCycle() {
+		LayoutEntity[] nodes = createNodes(4);
+		LayoutRelationship[] relationships = createRelationships(nodes, 0, 1, 1, 2, 2, 3, 3, 1);
+		List<LayoutEntity> cycle = new ArrayList<>();
+		assertTrue(CycleChecker.hasDirectedCircles(nodes, relationships, cycle));
+		assertEquals(List.of(nodes[0], nodes[1], nodes[2], nodes[3], nodes[1]), cycle);
+	}
+
+	@Test
+	public void testSelfLoop() {
+		LayoutEntity[] nodes = createNodes(2);
+		LayoutRelationship[] relationships = createRelationships(nodes, 0, 1, 1, 1);
+		assertTrue(CycleChecker.hasDirectedCircles(nodes, relationships, new ArrayList<>()));
+	}
+
+	@Test
+	public void testStronglyConnectedComponents() {
+		LayoutEntity[] nodes = createNodes(7);
+		// 6 -> {0, 1, 2} -> {3, 4} -> 5
+		LayoutRelationship[] relationships = createRelationships(nodes, 0, 1, 1, 2, 2, 0, 2, 3, 3, 4, 4, 3, 4, 5, 6,
+				0);
+		List<List<LayoutEntity>> components = CycleChecker.getStronglyConnectedComponents(nodes, relationships);
+		assertEquals(List.of(List.of(nodes[6]), List.of(nodes[0], nodes[1], nodes[2]), List.of(nodes[3], nodes[4]),
+				List.of(nodes[5])), components);
+	}
+
+	@Test
+	public void testDeepGraph() {
+		int count = 200000;
+		int[] start = new int[count + 1];
+		int[] targets = new int[count];
+		for (int i = 0; i < count; i++) {
+			start[i + 1] = i + 1;
+			targets[i] = (i + 1) % count;
+		}
+		int[] components = CycleChecker.findStronglyConnectedComponents(start, targets);
+		for (int component : components) {
+			assertEquals(0, component);
+		}
+		// break the ring into a chain
+		targets[count - 1] = count - 1;
+		start[count] = count - 1;
+		components = CycleChecker.findStronglyConnectedComponents(start, targets);
+		for (int i = 1; i < count; i++) {
+			assertTrue(components[i - 1] > components[i]);
+		}
+	}
+
+}
@@ -13,31 +13,55 @@
 
 package org.eclipse.zest.tests;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.zest.layouts.InvalidLayoutConfiguration;
 import org.eclipse.zest.layouts.LayoutAlgorithm;
 import org.eclipse.zest.layouts.LayoutEntity;
 import org.eclipse.zest.layouts.LayoutRelationship;
+import org.eclipse.zest.layouts.LayoutStyles;
 import org.eclipse.zest.layouts.algorithms.GridLayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.HeadlessLayout;
+import org.eclipse.zest.layouts.algorithms.LayoutSnapshot;
+import org.eclipse.zest.layouts.algorithms.SpringLayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.TreeLayoutAlgorithm;
 import org.eclipse.zest.layouts.exampleStructures.SimpleNode;
+import org.eclipse.zest.layouts.progress.IterationProgressEvent;
 import org.eclipse.zest.layouts.progress.ProgressEvent;
 import org.eclipse.zest.layouts.progress.ProgressListener;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 public class LayoutAlgorithmTest {
 	private LayoutAlgorithm layoutAlgorithm;
 	private Set<String> logger;
+	private ExecutorService executor;
 
 	@Before
 	public void setUp() {
 		logger = new HashSet<>();
 		layoutAlgorithm = new GridLayoutAlgorithm();
+		executor = Executors.newSingleThreadExecutor();
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
 	}
 
 	// Check for ConcurrentModificationException when the listeners are
@@ -83,6 +107,166 @@ public class LayoutAlgorithmTest {
 		});
 	}
 
+	@Test
+	public void testComputeLayoutInBackground() throws Exception {
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		LayoutEntity[] nodes = SpringLayoutAlgorithmTest.createGrid(5, 4, relationships);
+		LayoutRelationship[] relationshipArray = relationships.toArray(new LayoutRelationship[0]);
+		List<LayoutRelationship> expectedRelationships = new ArrayList<>();
+		LayoutEntity[] expected = SpringLayoutAlgorithmTest.createGrid(5, 4, expectedRelationships);
+		new TreeLayoutAlgorithm().applyLayout(expected, expectedRelationships.toArray(new LayoutRelationship[0]), 0,
+				0, 500, 400, false, false);
+
+		CompletableFuture<LayoutSnapshot> layout = new TreeLayoutAlgorithm().computeLayout(nodes, relationshipArray,
+				0, 0, 500, 400, executor);
+		LayoutSnapshot snapshot = layout.get(10, TimeUnit.SECONDS);
+		for (int i = 0; i < nodes.length; i++) {
+			// nothing is changed before the snapshot is applied
+			assertEquals(0, nodes[i].getXInLayout(), 0);
+			assertEquals(0, nodes[i].getYInLayout(), 0);
+			assertEquals(expected[i].getXInLayout(), snapshot.getX(i), 1e-9);
+			assertEquals(expected[i].getYInLayout(), snapshot.getY(i), 1e-9);
+		}
+		snapshot.apply();
+		for (int i = 0; i < nodes.length; i++) {
+			assertEquals(expected[i].getXInLayout(), nodes[i].getXInLayout(), 1e-9);
+			assertEquals(expected[i].getYInLayout(), nodes[i].getYInLayout(), 1e-9);
+			assertEquals(expected[i].getWidthInLayout(), nodes[i].getWidthInLayout(), 1e-9);
+		}
+	}
+
+	@Test
+	public void testCancelLayoutInBackground() throws Exception {
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		LayoutEntity[] nodes = SpringLayoutAlgorithmTest.createGrid(10, 10, relationships);
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch cancelled = new CountDownLatch(1);
+		CountDownLatch ended = new CountDownLatch(1);
+		IterationProgressEvent[] lastEvent = new IterationProgressEvent[1];
+		algorithm.addProgressListener(new ProgressListener.Stub() {
+			@Override
+			public void progressStarted(ProgressEvent e) {
+				started.countDown();
+				try {
+					cancelled.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+
+			@Override
+			public void progressEnded(ProgressEvent e) {
+				lastEvent[0] = (IterationProgressEvent) e;
+				ended.countDown();
+			}
+		});
+		CompletableFuture<LayoutSnapshot> layout = algorithm.computeLayout(nodes,
+				relationships.toArray(new LayoutRelationship[0]), 0, 0, 500, 500, executor);
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		assertTrue(layout.cancel(false));
+		cancelled.countDown();
+		assertTrue(ended.await(10, TimeUnit.SECONDS));
+		assertTrue(lastEvent[0].getIterations() < SpringLayoutAlgorithm.DEFAULT_SPRING_ITERATIONS);
+		assertTrue(layout.isCancelled());
+		for (LayoutEntity node : nodes) {
+			assertEquals(0, node.getXInLayout(), 0);
+			assertEquals(0, node.getYInLayout(), 0);
+		}
+		// the algorithm can be used again
+		layout = algorithm.computeLayout(nodes, relationships.toArray(new LayoutRelationship[0]), 0, 0, 500, 500,
+				executor);
+		layout.get(30, TimeUnit.SECONDS).apply();
+		SpringLayoutAlgorithmTest.assertWithinBounds(nodes, 500, 500);
+	}
+
+	@Test
+	public void testIncrementalLayoutInBackground() throws Exception {
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		LayoutEntity[] nodes = SpringLayoutAlgorithmTest.createGrid(5, 5, relationships);
+		LayoutRelationship[] relationshipArray = relationships.toArray(new LayoutRelationship[0]);
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		algorithm.setIterations(100);
+		algorithm.setRandomSeed(9);
+		algorithm.setIncremental(true);
+		int[] iterations = new int[1];
+		algorithm.addProgressListener(new ProgressListener.Stub() {
+			@Override
+			public void progressEnded(ProgressEvent e) {
+				iterations[0] = ((IterationProgressEvent) e).getIterations();
+			}
+		});
+		algorithm.computeLayout(nodes, relationshipArray, 0, 0, 500, 500, executor).get(30, TimeUnit.SECONDS)
+				.apply();
+		assertEquals(100, iterations[0]);
+		double[] xs = new double[nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			xs[i] = nodes[i].getXInLayout();
+		}
+
+		// each snapshot has new copies, the previous layout is found by the originals
+		algorithm.computeLayout(nodes, relationshipArray, 0, 0, 500, 500, executor).get(30, TimeUnit.SECONDS)
+				.apply();
+		assertEquals(0, iterations[0]);
+		for (int i = 0; i < nodes.length; i++) {
+			assertEquals(xs[i], nodes[i].getXInLayout(), 0);
+		}
+	}
+
+	private static HeadlessLayout createHeadlessGrid(int columns, int rows) {
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		LayoutEntity[] nodes = SpringLayoutAlgorithmTest.createGrid(columns, rows, relationships);
+		double[] sizes = new double[nodes.length];
+		Arrays.fill(sizes, 10);
+		int[] sources = new int[relationships.size()];
+		int[] destinations = new int[relationships.size()];
+		List<LayoutEntity> nodeList = Arrays.asList(nodes);
+		for (int r = 0; r < sources.length; r++) {
+			sources[r] = nodeList.indexOf(relationships.get(r).getSourceInLayout());
+			destinations[r] = nodeList.indexOf(relationships.get(r).getDestinationInLayout());
+		}
+		return new HeadlessLayout(sizes, sizes, sources, destinations);
+	}
+
+	@Test
+	public void testHeadlessLayout() throws InvalidLayoutConfiguration {
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		LayoutEntity[] nodes = SpringLayoutAlgorithmTest.createGrid(6, 5, relationships);
+		new TreeLayoutAlgorithm().applyLayout(nodes, relationships.toArray(new LayoutRelationship[0]), 0, 0, 600, 500,
+				false, false);
+		double[] bounds = createHeadlessGrid(6, 5).layout(new TreeLayoutAlgorithm(), 0, 0, 600, 500);
+		assertEquals(4 * nodes.length, bounds.length);
+		for (int i = 0; i < nodes.length; i++) {
+			assertEquals(nodes[i].getXInLayout(), bounds[4 * i], 1e-9);
+			assertEquals(nodes[i].getYInLayout(), bounds[4 * i + 1], 1e-9);
+			assertEquals(nodes[i].getWidthInLayout(), bounds[4 * i + 2], 1e-9);
+			assertEquals(nodes[i].getHeightInLayout(), bounds[4 * i + 3], 1e-9);
+		}
+	}
+
+	@Test
+	public void testHeadlessLayoutInParallel() throws InvalidLayoutConfiguration {
+		HeadlessLayout[] graphs = new HeadlessLayout[16];
+		for (int g = 0; g < graphs.length; g++) {
+			graphs[g] = createHeadlessGrid(2 + g % 5, 3 + g % 3);
+		}
+		double[][] bounds = HeadlessLayout.layoutAll(graphs, () -> {
+			SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+			algorithm.setRandomSeed(5);
+			return algorithm;
+		}, 0, 0, 500, 500);
+		for (int g = 0; g < graphs.length; g++) {
+			SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+			algorithm.setRandomSeed(5);
+			assertArrayEquals(graphs[g].layout(algorithm, 0, 0, 500, 500), bounds[g], 1e-9);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testHeadlessLayoutWithInvalidEdge() {
+		new HeadlessLayout(new double[2], new double[2], new int[] { 0 }, new int[] { 2 });
+	}
+
 	private void testWith(ProgressListener progressListener) throws InvalidLayoutConfiguration {
 		LayoutEntity[] nodes = { new SimpleNode(new Object()) };
 		layoutAlgorithm.addProgressListener(progressListener);
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.zest.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.zest.layouts.InvalidLayoutConfiguration;
+import org.eclipse.zest.layouts.LayoutEntity;
+import org.eclipse.zest.layouts.LayoutRelationship;
+import org.eclipse.zest.layouts.LayoutStyles;
+import org.eclipse.zest.layouts.algorithms.MultilevelLayoutAlgorithm;
+import org.eclipse.zest.layouts.exampleStructures.SimpleNode;
+
+import org.junit.Test;
+
+public class MultilevelLayoutAlgorithmTest {
+
+	private static double distance(LayoutEntity node1, LayoutEntity node2) {
+		return Math.hypot(node1.getXInLayout() - node2.getXInLayout(), node1.getYInLayout() - node2.getYInLayout());
+	}
+
+	@Test
+	public void testGridIsUnfolded() throws InvalidLayoutConfiguration {
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		LayoutEntity[] nodes = SpringLayoutAlgorithmTest.createGrid(30, 30, relationships);
+		MultilevelLayoutAlgorithm algorithm = new MultilevelLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		algorithm.applyLayout(nodes, relationships.toArray(new LayoutRelationship[0]), 0, 0, 1000, 1000, false,
+				false);
+		SpringLayoutAlgorithmTest.assertWithinBounds(nodes, 1000, 1000);
+		assertTrue(algorithm.getLevelCount() > 1);
+
+		// in an unfolded grid, neighbors are much closer than two nodes on average
+		double edgeLength = 0;
+		for (LayoutRelationship relationship : relationships) {
+			edgeLength += distance(relationship.getSourceInLayout(), relationship.getDestinationInLayout());
+		}
+		edgeLength /= relationships.size();
+		double pairDistance = 0;
+		for (int i = 0; i < nodes.length; i++) {
+			pairDistance += distance(nodes[i], nodes[(i * 7919) % nodes.length]);
+		}
+		pairDistance /= nodes.length;
+		assertTrue(edgeLength < 0.15 * pairDistance);
+	}
+
+	@Test
+	public void testLayoutIsDeterministic() throws InvalidLayoutConfiguration {
+		List<LayoutRelationship> relationships1 = new ArrayList<>();
+		LayoutEntity[] nodes1 = SpringLayoutAlgorithmTest.createGrid(20, 10, relationships1);
+		List<LayoutRelationship> relationships2 = new ArrayList<>();
+		LayoutEntity[] nodes2 = SpringLayoutAlgorithmTest.createGrid(20, 10, relationships2);
+		for (int i = 0; i < 2; i++) {
+			MultilevelLayoutAlgorithm algorithm = new MultilevelLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+			algorithm.setRandomSeed(7);
+			algorithm.applyLayout(i == 0 ? nodes1 : nodes2,
+					(i == 0 ? relationships1 : relationships2).toArray(new LayoutRelationship[0]), 0, 0, 500, 500,
+					false, false);
+		}
+		for (int i = 0; i < nodes1.length; i++) {
+			assertEquals(nodes1[i].getXInLayout(), nodes2[i].getXInLayout(), 0);
+			assertEquals(nodes1[i].getYInLayout(), nodes2[i].getYInLayout(), 0);
+		}
+	}
+
+	@Test
+	public void testHeavyRelationshipsAreShorter() throws InvalidLayoutConfiguration {
+		int size = 20;
+		LayoutEntity[] nodes = new LayoutEntity[size * size];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = new SimpleNode("node" + i, 0, 0, 10, 10); //$NON-NLS-1$
+		}
+		// a grid whose vertical relationships are ten times as heavy
+		List<LayoutRelationship> horizontal = new ArrayList<>();
+		List<LayoutRelationship> vertical = new ArrayList<>();
+		for (int row = 0; row < size; row++) {
+			for (int column = 0; column < size; column++) {
+				int node = row * size + column;
+				if (column + 1 < size) {
+					horizontal.add(SpringLayoutAlgorithmTest.createRelationship(nodes[node], nodes[node + 1], 1));
+				}
+				if (row + 1 < size) {
+					vertical.add(SpringLayoutAlgorithmTest.createRelationship(nodes[node], nodes[node + size], 10));
+				}
+			}
+		}
+		List<LayoutRelationship> relationships = new ArrayList<>(horizontal);
+		relationships.addAll(vertical);
+		MultilevelLayoutAlgorithm algorithm = new MultilevelLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		algorithm.setRandomSeed(5);
+		algorithm.applyLayout(nodes, relationships.toArray(new LayoutRelationship[0]), 0, 0, 1000, 1000, false,
+				false);
+		SpringLayoutAlgorithmTest.assertWithinBounds(nodes, 1000, 1000);
+		assertTrue(algorithm.getLevelCount() > 1);
+		assertTrue(averageLength(vertical) < 0.5 * averageLength(horizontal));
+	}
+
+	private static double averageLength(List<LayoutRelationship> relationships) {
+		double length = 0;
+		for (LayoutRelationship relationship : relationships) {
+			length += distance(relationship.getSourceInLayout(), relationship.getDestinationInLayout());
+		}
+		return length / relationships.size();
+	}
+
+	@Test
+	public void testUnrelatedNodes() throws InvalidLayoutConfiguration {
+		LayoutEntity[] nodes = new LayoutEntity[50];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = new SimpleNode("node" + i, 0, 0, 10, 10); //$NON-NLS-1$
+		}
+		MultilevelLayoutAlgorithm algorithm = new MultilevelLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		algorithm.applyLayout(nodes, new LayoutRelationship[0], 0, 0, 500, 500, false, false);
+		assertEquals(1, algorithm.getLevelCount());
+		SpringLayoutAlgorithmTest.assertWithinBounds(nodes, 500, 500);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidCoarsestSize() {
+		new MultilevelLayoutAlgorithm().setCoarsestSize(1);
+	}
+
+}
@@ -0,0 +1,457 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.zest.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.zest.layouts.InvalidLayoutConfiguration;
+import org.eclipse.zest.layouts.LayoutEntity;
+import org.eclipse.zest.layouts.LayoutRelationship;
+import org.eclipse.zest.layouts.LayoutStyles;
+import org.eclipse.zest.layouts.algorithms.SpringLayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.internal.BarnesHutTree;
+import org.eclipse.zest.layouts.constraints.BasicEdgeConstraints;
+import org.eclipse.zest.layouts.constraints.LayoutConstraint;
+import org.eclipse.zest.layouts.exampleStructures.SimpleNode;
+import org.eclipse.zest.layouts.exampleStructures.SimpleRelationship;
+import org.eclipse.zest.layouts.progress.IterationProgressEvent;
+import org.eclipse.zest.layouts.progress.ProgressEvent;
+import org.eclipse.zest.layouts.progress.ProgressListener;
+
+import org.junit.Test;
+
+public class SpringLayoutAlgorithmTest {
+
+	private static final double MIN_DISTANCE = 0.001;
+
+	private static double[][] createPoints(int count, long seed) {
+		Random random = new Random(seed);
+		double[][] points = new double[2][count];
+		for (int i = 0; i < count; i++) {
+			points[0][i] = random.nextDouble();
+			points[1][i] = random.nextDouble();
+		}
+		return points;
+	}
+
+	private static double[][] pairwiseRepulsion(double[] xs, double[] ys, int[] masses) {
+		double[][] forces = new double[2][xs.length];
+		for (int i = 0; i < xs.length; i++) {
+			for (int j = 0; j < xs.length; j++) {
+				double dx = xs[i] - xs[j];
+				double dy = ys[i] - ys[j];
+				if (i != j && (dx != 0 || dy != 0)) {
+					double distance = Math.max(MIN_DISTANCE, Math.sqrt(dx * dx + dy * dy));
+					double mass = masses == null ? 1 : masses[j];
+					forces[0][i] += mass * dx / (distance * distance * distance);
+					forces[1][i] += mass * dy / (distance * distance * distance);
+				}
+			}
+		}
+		return forces;
+	}
+
+	private static double[][] treeRepulsion(double[] xs, double[] ys, int[] masses, double theta) {
+		double[][] forces = new double[2][xs.length];
+		BarnesHutTree tree = new BarnesHutTree();
+		tree.build(xs, ys, masses, xs.length);
+		tree.accumulateRepulsion(xs, ys, forces[0], forces[1], 0, xs.length, theta, 1, MIN_DISTANCE);
+		return forces;
+	}
+
+	private static double relativeError(double[][] expected, double[][] actual) {
+		double error = 0;
+		double total = 0;
+		for (int i = 0; i < expected[0].length; i++) {
+			error += Math.hypot(expected[0][i] - actual[0][i], expected[1][i] - actual[1][i]);
+			total += Math.hypot(expected[0][i], expected[1][i]);
+		}
+		return error / total;
+	}
+
+	@Test
+	public void testExactRepulsion() {
+		double[][] points = createPoints(300, 1);
+		double[][] expected = pairwiseRepulsion(points[0], points[1], null);
+		double[][] actual = treeRepulsion(points[0], points[1], null, 0);
+		assertEquals(0, relativeError(expected, actual), 1e-9);
+	}
+
+	@Test
+	public void testApproximatedRepulsion() {
+		double[][] points = createPoints(2000, 2);
+		double[][] expected = pairwiseRepulsion(points[0], points[1], null);
+		assertTrue(relativeError(expected, treeRepulsion(points[0], points[1], null, 0.5)) < 0.02);
+		assertTrue(relativeError(expected, treeRepulsion(points[0], points[1], null, 1.0)) < 0.1);
+	}
+
+	@Test
+	public void testWeightedRepulsion() {
+		double[][] points = createPoints(500, 3);
+		int[] masses = new int[500];
+		Random random = new Random(3);
+		for (int i = 0; i < masses.length; i++) {
+			masses[i] = 1 + random.nextInt(4);
+		}
+		double[][] expected = pairwiseRepulsion(points[0], points[1], masses);
+		assertEquals(0, relativeError(expected, treeRepulsion(points[0], points[1], masses, 0)), 1e-9);
+		assertTrue(relativeError(expected, treeRepulsion(points[0], points[1], masses, 0.5)) < 0.02);
+	}
+
+	@Test
+	public void testCoincidentPoints() {
+		double[] xs = new double[100];
+		double[] ys = new double[100];
+		xs[0] = 1;
+		ys[0] = 1;
+		double[][] forces = treeRepulsion(xs, ys, null, 0.8);
+		// only the single point is pushed away from the others
+		for (int i = 1; i < xs.length; i++) {
+			assertEquals(-1 / Math.sqrt(2), forces[0][i] * 2, 1e-9);
+			assertEquals(forces[0][i], forces[1][i], 1e-12);
+		}
+		assertEquals(99 / Math.sqrt(2) / 2, forces[0][0], 1e-9);
+	}
+
+	static LayoutEntity[] createGrid(int columns, int rows, List<LayoutRelationship> relationships) {
+		LayoutEntity[] nodes = new LayoutEntity[columns * rows];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = new SimpleNode("node" + i, 0, 0, 10, 10); //$NON-NLS-1$
+		}
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				int node = row * columns + column;
+				if (column + 1 < columns) {
+					relationships.add(new SimpleRelationship(nodes[node], nodes[node + 1], false));
+				}
+				if (row + 1 < rows) {
+					relationships.add(new SimpleRelationship(nodes[node], nodes[node + columns], false));
+				}
+			}
+		}
+		return nodes;
+	}
+
+	static void assertWithinBounds(LayoutEntity[] nodes, double width, double height) {
+		for (LayoutEntity node : nodes) {
+			double x = node.getXInLayout();
+			double y = node.getYInLayout();
+			assertTrue(Double.isFinite(x) && Double.isFinite(y));
+			assertTrue(x >= -1 && x <= width + 1 && y >= -1 && y <= height + 1);
+		}
+	}
+
+	@Test
+	public void testApproximatedLayout() throws InvalidLayoutConfiguration {
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		LayoutEntity[] nodes = createGrid(10, 10, relationships);
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		algorithm.setIterations(200);
+		algorithm.setRepulsionTheta(0.8);
+		algorithm.applyLayout(nodes, relationships.toArray(new LayoutRelationship[0]), 0, 0, 500, 500, false,
+				false);
+		assertWithinBounds(nodes, 500, 500);
+	}
+
+	static LayoutRelationship createRelationship(LayoutEntity source, LayoutEntity destination, int weight) {
+		return new SimpleRelationship(source, destination, false) {
+			@Override
+			public void populateLayoutConstraint(LayoutConstraint constraint) {
+				if (constraint instanceof BasicEdgeConstraints edgeConstraints) {
+					edgeConstraints.weight = weight;
+				}
+			}
+		};
+	}
+
+	private static LayoutEntity[] layoutTriangle(boolean duplicateRelationships) throws InvalidLayoutConfiguration {
+		LayoutEntity[] nodes = { new SimpleNode("a", 10, 10, 10, 10), new SimpleNode("b", 200, 40, 10, 10), //$NON-NLS-1$ //$NON-NLS-2$
+				new SimpleNode("c", 90, 250, 10, 10) }; //$NON-NLS-1$
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		if (duplicateRelationships) {
+			relationships.add(createRelationship(nodes[0], nodes[1], 1));
+			relationships.add(createRelationship(nodes[1], nodes[0], 3));
+			relationships.add(createRelationship(nodes[2], nodes[2], 1));
+		} else {
+			relationships.add(createRelationship(nodes[0], nodes[1], 4));
+		}
+		relationships.add(createRelationship(nodes[2], nodes[1], 1));
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		algorithm.setRandom(false);
+		algorithm.setIterations(50);
+		algorithm.applyLayout(nodes, relationships.toArray(new LayoutRelationship[0]), 0, 0, 300, 300, false,
+				false);
+		return nodes;
+	}
+
+	@Test
+	public void testDuplicateRelationshipsAreCombined() throws InvalidLayoutConfiguration {
+		LayoutEntity[] expected = layoutTriangle(false);
+		LayoutEntity[] actual = layoutTriangle(true);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i].getXInLayout(), actual[i].getXInLayout(), 1e-9);
+			assertEquals(expected[i].getYInLayout(), actual[i].getYInLayout(), 1e-9);
+		}
+		assertWithinBounds(actual, 300, 300);
+	}
+
+	private static double[] layoutGrid(ForkJoinPool pool, double theta, int iterations)
+			throws InvalidLayoutConfiguration {
+		return layoutGrid(40, 20, pool, theta, iterations);
+	}
+
+	private static double[] layoutGrid(int columns, int rows, ForkJoinPool pool, double theta, int iterations)
+			throws InvalidLayoutConfiguration {
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		LayoutEntity[] nodes = createGrid(columns, rows, relationships);
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		algorithm.setIterations(iterations);
+		algorithm.setRepulsionTheta(theta);
+		algorithm.setForkJoinPool(pool);
+		algorithm.setRandomSeed(42);
+		algorithm.applyLayout(nodes, relationships.toArray(new LayoutRelationship[0]), 0, 0, 1000, 1000, false,
+				false);
+		assertWithinBounds(nodes, 1000, 1000);
+		double[] locations = new double[2 * nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			locations[2 * i] = nodes[i].getXInLayout();
+			locations[2 * i + 1] = nodes[i].getYInLayout();
+		}
+		return locations;
+	}
+
+	@Test
+	public void testParallelLayoutIsDeterministic() throws InvalidLayoutConfiguration {
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			assertArrayEquals(layoutGrid(pool, 0.8, 100), layoutGrid(pool, 0.8, 100), 0);
+			assertArrayEquals(layoutGrid(pool, 0, 20), layoutGrid(pool, 0, 20), 0);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelLayoutMatchesSequentialLayout() throws InvalidLayoutConfiguration {
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			assertArrayEquals(layoutGrid(null, 0.8, 3), layoutGrid(pool, 0.8, 3), 1e-6);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testPoolUsesPairwiseForceModel() throws InvalidLayoutConfiguration {
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			// a tiny theta opens every cell, so the repulsion is exact but pairwise
+			double[] pairwise = layoutGrid(5, 5, null, 1e-9, 50);
+			assertArrayEquals(pairwise, layoutGrid(5, 5, pool, 0, 50), 1e-9);
+			// the historical model of theta 0 without a pool gives another layout
+			double[] legacy = layoutGrid(5, 5, null, 0, 50);
+			double difference = 0;
+			for (int i = 0; i < legacy.length; i++) {
+				difference = Math.max(difference, Math.abs(legacy[i] - pairwise[i]));
+			}
+			assertTrue(difference > 1e-4);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private static IterationProgressEvent layoutUntilEnd(SpringLayoutAlgorithm algorithm)
+			throws InvalidLayoutConfiguration {
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		LayoutEntity[] nodes = createGrid(10, 10, relationships);
+		IterationProgressEvent[] lastEvent = new IterationProgressEvent[1];
+		algorithm.addProgressListener(new ProgressListener.Stub() {
+			@Override
+			public void progressEnded(ProgressEvent e) {
+				lastEvent[0] = (IterationProgressEvent) e;
+			}
+		});
+		algorithm.setRandomSeed(3);
+		algorithm.applyLayout(nodes, relationships.toArray(new LayoutRelationship[0]), 0, 0, 500, 500, false,
+				false);
+		assertWithinBounds(nodes, 500, 500);
+		return lastEvent[0];
+	}
+
+	@Test
+	public void testConvergence() throws InvalidLayoutConfiguration {
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		algorithm.setCooling(0.9);
+		algorithm.setConvergenceTolerance(0.001);
+		IterationProgressEvent event = layoutUntilEnd(algorithm);
+		assertTrue(event.isConverged());
+		assertTrue(event.getIterations() < SpringLayoutAlgorithm.DEFAULT_SPRING_ITERATIONS);
+		assertTrue(event.getDisplacement() <= 0.001 * 100);
+		assertTrue(Double.isFinite(event.getEnergy()));
+	}
+
+	@Test
+	public void testAllIterationsWithoutTolerance() throws InvalidLayoutConfiguration {
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		algorithm.setIterations(50);
+		IterationProgressEvent event = layoutUntilEnd(algorithm);
+		assertFalse(event.isConverged());
+		assertEquals(50, event.getIterations());
+		assertTrue(event.getDisplacement() > 0);
+	}
+
+	private static int relayout(SpringLayoutAlgorithm algorithm, LayoutEntity[] nodes,
+			List<LayoutRelationship> relationships) throws InvalidLayoutConfiguration {
+		int[] iterations = new int[1];
+		ProgressListener listener = new ProgressListener.Stub() {
+			@Override
+			public void progressEnded(ProgressEvent e) {
+				iterations[0] = ((IterationProgressEvent) e).getIterations();
+			}
+		};
+		algorithm.addProgressListener(listener);
+		algorithm.applyLayout(nodes, relationships.toArray(new LayoutRelationship[0]), 0, 0, 500, 500, false,
+				false);
+		algorithm.removeProgressListener(listener);
+		return iterations[0];
+	}
+
+	@Test
+	public void testIncrementalLayout() throws InvalidLayoutConfiguration {
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		LayoutEntity[] nodes = createGrid(10, 10, relationships);
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		algorithm.setIterations(200);
+		algorithm.setRepulsionTheta(0.8);
+		algorithm.setRandomSeed(5);
+		algorithm.setIncremental(true);
+		assertEquals(200, relayout(algorithm, nodes, relationships));
+		double[] xs = new double[nodes.length];
+		double[] ys = new double[nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			xs[i] = nodes[i].getXInLayout();
+			ys[i] = nodes[i].getYInLayout();
+		}
+
+		LayoutEntity added = new SimpleNode("added", 0, 0, 10, 10); //$NON-NLS-1$
+		LayoutEntity[] grown = Arrays.copyOf(nodes, nodes.length + 1);
+		grown[nodes.length] = added;
+		relationships.add(new SimpleRelationship(nodes[55], added, false));
+		assertTrue(relayout(algorithm, grown, relationships) <= 100);
+		for (int i = 0; i < nodes.length; i++) {
+			if (i != 55) {
+				assertEquals(xs[i], nodes[i].getXInLayout(), 0);
+				assertEquals(ys[i], nodes[i].getYInLayout(), 0);
+			}
+		}
+		double distance = Math.hypot(added.getXInLayout() - nodes[55].getXInLayout(),
+				added.getYInLayout() - nodes[55].getYInLayout());
+		assertTrue(distance < 100);
+		assertTrue(Math.hypot(xs[55] - nodes[55].getXInLayout(), ys[55] - nodes[55].getYInLayout()) < 40);
+		assertWithinBounds(nodes, 500, 500);
+	}
+
+	@Test
+	public void testIncrementalLayoutWithoutChanges() throws InvalidLayoutConfiguration {
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		LayoutEntity[] nodes = createGrid(5, 5, relationships);
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		algorithm.setIterations(100);
+		algorithm.setRandomSeed(6);
+		algorithm.setIncremental(true);
+		relayout(algorithm, nodes, relationships);
+		double[] xs = new double[nodes.length];
+		double[] ys = new double[nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			xs[i] = nodes[i].getXInLayout();
+			ys[i] = nodes[i].getYInLayout();
+		}
+		assertEquals(0, relayout(algorithm, nodes, relationships));
+		for (int i = 0; i < nodes.length; i++) {
+			assertEquals(xs[i], nodes[i].getXInLayout(), 0);
+			assertEquals(ys[i], nodes[i].getYInLayout(), 0);
+		}
+	}
+
+	@Test
+	public void testIncrementalLayoutWithRewiredRelationships() throws InvalidLayoutConfiguration {
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		LayoutEntity[] nodes = createGrid(5, 5, relationships);
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		algorithm.setIterations(100);
+		algorithm.setRandomSeed(7);
+		algorithm.setIncremental(true);
+		relayout(algorithm, nodes, relationships);
+		double x24 = nodes[24].getXInLayout();
+		double y24 = nodes[24].getYInLayout();
+
+		// 0-1 and 5-6 become 0-6 and 5-1, so every node keeps its degree
+		assertEquals(nodes[1], relationships.get(0).getDestinationInLayout());
+		assertEquals(nodes[6], relationships.get(9).getDestinationInLayout());
+		relationships.set(0, new SimpleRelationship(nodes[0], nodes[6], false));
+		relationships.set(9, new SimpleRelationship(nodes[5], nodes[1], false));
+		assertTrue(relayout(algorithm, nodes, relationships) > 0);
+		assertEquals(x24, nodes[24].getXInLayout(), 0);
+		assertEquals(y24, nodes[24].getYInLayout(), 0);
+	}
+
+	@Test
+	public void testIncrementalLayoutSwitchedOff() throws InvalidLayoutConfiguration {
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		LayoutEntity[] nodes = createGrid(5, 5, relationships);
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		algorithm.setIterations(100);
+		algorithm.setRandomSeed(8);
+		algorithm.setIncremental(true);
+		relayout(algorithm, nodes, relationships);
+		algorithm.setIncremental(false);
+		algorithm.setIncremental(true);
+		// the previous layout is forgotten
+		assertEquals(100, relayout(algorithm, nodes, relationships));
+		assertEquals(0, relayout(algorithm, nodes, relationships));
+	}
+
+	@Test
+	public void testSettingsPerInstance() {
+		SpringLayoutAlgorithm first = new SpringLayoutAlgorithm();
+		SpringLayoutAlgorithm second = new SpringLayoutAlgorithm();
+		first.setIterations(10);
+		first.setSpringLength(3);
+		first.setWeight("type", 5); //$NON-NLS-1$
+		assertEquals(SpringLayoutAlgorithm.DEFAULT_SPRING_ITERATIONS, second.getIterations());
+		assertEquals(SpringLayoutAlgorithm.DEFAULT_SPRING_LENGTH, second.getSpringLength(), 0);
+		assertEquals(1, second.getWeight("type"), 0); //$NON-NLS-1$
+		assertEquals(5, first.getWeight("type"), 0); //$NON-NLS-1$
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidCooling() {
+		new SpringLayoutAlgorithm().setCooling(0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeTheta() {
+		new SpringLayoutAlgorithm().setRepulsionTheta(-1);
+	}
+
+}
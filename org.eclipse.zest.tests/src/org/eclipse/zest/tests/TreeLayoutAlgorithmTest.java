@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse contributors and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse contributors - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.zest.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.zest.layouts.InvalidLayoutConfiguration;
+import org.eclipse.zest.layouts.LayoutEntity;
+import org.eclipse.zest.layouts.LayoutRelationship;
+import org.eclipse.zest.layouts.LayoutStyles;
+import org.eclipse.zest.layouts.algorithms.HorizontalTreeLayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.TreeLayoutAlgorithm;
+import org.eclipse.zest.layouts.algorithms.internal.TidyTree;
+import org.eclipse.zest.layouts.dataStructures.InternalNode;
+import org.eclipse.zest.layouts.exampleStructures.SimpleNode;
+import org.eclipse.zest.layouts.exampleStructures.SimpleRelationship;
+
+import org.junit.Test;
+
+public class TreeLayoutAlgorithmTest {
+
+	/**
+	 * Creates a tree in which every node at a depth below the given depth has the
+	 * given number of children, in breadth first order.
+	 */
+	private static LayoutEntity[] createTree(int depth, int degree, List<LayoutRelationship> relationships) {
+		List<LayoutEntity> nodes = new ArrayList<>();
+		nodes.add(new SimpleNode("root", 0, 0, 10, 10)); //$NON-NLS-1$
+		int levelStart = 0;
+		for (int level = 1; level <= depth; level++) {
+			int levelEnd = nodes.size();
+			for (int parent = levelStart; parent < levelEnd; parent++) {
+				for (int i = 0; i < degree; i++) {
+					LayoutEntity child = new SimpleNode("node" + nodes.size(), 0, 0, 10, 10); //$NON-NLS-1$
+					relationships.add(new SimpleRelationship(nodes.get(parent), child, false));
+					nodes.add(child);
+				}
+			}
+			levelStart = levelEnd;
+		}
+		return nodes.toArray(new LayoutEntity[0]);
+	}
+
+	private static void layout(TreeLayoutAlgorithm algorithm, LayoutEntity[] nodes,
+			List<LayoutRelationship> relationships) throws InvalidLayoutConfiguration {
+		algorithm.setTidy(true);
+		algorithm.applyLayout(nodes, relationships.toArray(new LayoutRelationship[0]), 0, 0, 1000, 500, false,
+				false);
+		SpringLayoutAlgorithmTest.assertWithinBounds(nodes, 1000, 500);
+	}
+
+	@Test
+	public void testParentsAreCentered() throws InvalidLayoutConfiguration {
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		LayoutEntity[] nodes = createTree(4, 3, relationships);
+		layout(new TreeLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING), nodes, relationships);
+		for (int parent = 0; 3 * parent + 3 < nodes.length; parent++) {
+			LayoutEntity first = nodes[3 * parent + 1];
+			LayoutEntity last = nodes[3 * parent + 3];
+			assertEquals((first.getXInLayout() + last.getXInLayout()) / 2, nodes[parent].getXInLayout(), 1e-6);
+			assertTrue(first.getYInLayout() > nodes[parent].getYInLayout());
+			assertEquals(first.getYInLayout(), last.getYInLayout(), 1e-6);
+		}
+		// the leaves are evenly spaced
+		double spacing = nodes[41].getXInLayout() - nodes[40].getXInLayout();
+		assertTrue(spacing > 0);
+		for (int i = 41; i < nodes.length; i++) {
+			assertEquals(spacing, nodes[i].getXInLayout() - nodes[i - 1].getXInLayout(), 1e-6);
+		}
+	}
+
+	@Test
+	public void testSubtreesAreCompact() {
+		// 0 has the children 1 and 2, 1 has the leaf 3, 2 has the children 4, 5, 6
+		int[] childStart = { 0, 2, 3, 6, 6, 6, 6, 6 };
+		int[] children = { 1, 2, 3, 4, 5, 6 };
+		double[] xs = new double[7];
+		double[] ys = new double[7];
+		new TidyTree(childStart, children).layout(new int[] { 0 }, 1, xs, ys);
+		assertEquals(1, xs[4] - xs[3], 1e-9);
+		assertEquals(xs[3], xs[1], 1e-9);
+		assertEquals(xs[5], xs[2], 1e-9);
+		assertEquals((xs[1] + xs[2]) / 2, xs[0], 1e-9);
+		assertEquals(0, ys[0], 0);
+		assertEquals(2, ys[6], 0);
+	}
+
+	@Test
+	public void testSmallSubtreesBetweenLargeOnesAreSpread() {
+		// the root has the children 1 to 4, 1 has the leaves 5 to 7 and 4 the
+		// leaves 8 to 12, so 4 is moved and the leaves 2 and 3 are spread evenly
+		int[] childStart = { 0, 4, 7, 7, 7, 12, 12, 12, 12, 12, 12, 12, 12, 12 };
+		int[] children = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 };
+		double[] xs = new double[13];
+		double[] ys = new double[13];
+		new TidyTree(childStart, children).layout(new int[] { 0 }, 1, xs, ys);
+		assertEquals(1, xs[8] - xs[7], 1e-9);
+		assertEquals(4, xs[4] - xs[1], 1e-9);
+		assertEquals(xs[2] - xs[1], xs[3] - xs[2], 1e-9);
+		assertEquals(xs[3] - xs[2], xs[4] - xs[3], 1e-9);
+	}
+
+	@Test
+	public void testDeepTree() throws InvalidLayoutConfiguration {
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		LayoutEntity[] nodes = createTree(20000, 1, relationships);
+		layout(new TreeLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING), nodes, relationships);
+		for (int i = 1; i < nodes.length; i++) {
+			assertEquals(nodes[0].getXInLayout(), nodes[i].getXInLayout(), 1e-6);
+			assertTrue(nodes[i].getYInLayout() > nodes[i - 1].getYInLayout());
+		}
+	}
+
+	@Test
+	public void testForestWithCycle() throws InvalidLayoutConfiguration {
+		LayoutEntity[] nodes = new LayoutEntity[5];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = new SimpleNode("node" + i, 0, 0, 10, 10); //$NON-NLS-1$
+		}
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		relationships.add(new SimpleRelationship(nodes[0], nodes[1], false));
+		relationships.add(new SimpleRelationship(nodes[1], nodes[0], false));
+		relationships.add(new SimpleRelationship(nodes[2], nodes[3], false));
+		relationships.add(new SimpleRelationship(nodes[2], nodes[4], false));
+		relationships.add(new SimpleRelationship(nodes[3], nodes[4], false));
+		TreeLayoutAlgorithm algorithm = new TreeLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING);
+		layout(algorithm, nodes, relationships);
+		List<?> roots = algorithm.getRoots();
+		assertEquals(2, roots.size());
+		assertEquals(nodes[0], ((InternalNode) roots.get(0)).getLayoutEntity());
+		assertEquals(nodes[2], ((InternalNode) roots.get(1)).getLayoutEntity());
+		// 4 is reached through 3 first
+		assertTrue(nodes[4].getYInLayout() > nodes[3].getYInLayout());
+		assertTrue(nodes[2].getXInLayout() > nodes[0].getXInLayout());
+	}
+
+	@Test
+	public void testHorizontalTree() throws InvalidLayoutConfiguration {
+		List<LayoutRelationship> relationships = new ArrayList<>();
+		LayoutEntity[] nodes = createTree(3, 2, relationships);
+		layout(new HorizontalTreeLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING), nodes, relationships);
+		assertTrue(nodes[1].getXInLayout() > nodes[0].getXInLayout());
+		assertEquals((nodes[1].getYInLayout() + nodes[2].getYInLayout()) / 2, nodes[0].getYInLayout(), 1e-6);
+	}
+
+}
@@ -30,6 +30,10 @@ import org.junit.runners.Suite;
 	GraphSelectionTests.class,
 	GraphViewerTests.class,
 	LayoutAlgorithmTest.class,
+	SpringLayoutAlgorithmTest.class,
+	MultilevelLayoutAlgorithmTest.class,
+	TreeLayoutAlgorithmTest.class,
+	CycleCheckerTest.class,
 	GraphJFaceTests.class,
 	GraphSWTTests.class,
 	GraphUMLTests.class